@@ -11,6 +11,13 @@ dependencies {
     jmh(project(":rewrite-core"))
     jmh(project(":rewrite-java-17"))
     jmh(project(":rewrite-maven"))
+    jmh(project(":rewrite-groovy"))
+    jmh(project(":rewrite-gradle"))
+    jmh(project(":rewrite-hcl"))
+    jmh(project(":rewrite-json"))
+    jmh(project(":rewrite-protobuf"))
+    jmh(project(":rewrite-xml"))
+    jmh("org.codehaus.groovy:groovy:latest.release")
     jmh("org.rocksdb:rocksdbjni:latest.release")
     jmh("org.openjdk.jmh:jmh-core:latest.release")
     jmh("io.github.fastfilter:fastfilter:latest.release")
@@ -0,0 +1,158 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.benchmarks.antlr;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.Parser;
+import org.openrewrite.hcl.HclParser;
+import org.openrewrite.json.JsonParser;
+import org.openrewrite.protobuf.ProtoParser;
+import org.openrewrite.xml.XmlParser;
+
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parses corpora of large generated pom.xml, Terraform, .proto and JSON files with the ANTLR-based parsers.
+ */
+@Fork(1)
+@Measurement(iterations = 2)
+@Warmup(iterations = 2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class AntlrParserBenchmark {
+    private static final int FILES = 20;
+    private static final int ELEMENTS = 500;
+
+    List<Parser.Input> poms;
+    List<Parser.Input> terraform;
+    List<Parser.Input> protos;
+    List<Parser.Input> json;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        poms = new ArrayList<>(FILES);
+        terraform = new ArrayList<>(FILES);
+        protos = new ArrayList<>(FILES);
+        json = new ArrayList<>(FILES);
+        for (int i = 0; i < FILES; i++) {
+            poms.add(Parser.Input.fromString(Paths.get("module-" + i + "/pom.xml"), pom(i)));
+            terraform.add(Parser.Input.fromString(Paths.get("module-" + i + "/main.tf"), terraform(i)));
+            protos.add(Parser.Input.fromString(Paths.get("module-" + i + "/messages.proto"), proto(i)));
+            json.add(Parser.Input.fromString(Paths.get("module-" + i + "/package.json"), json(i)));
+        }
+    }
+
+    @Benchmark
+    public void xml(Blackhole blackhole) {
+        XmlParser.builder().build().parseInputs(poms, null, new InMemoryExecutionContext()).forEach(blackhole::consume);
+    }
+
+    @Benchmark
+    public void hcl(Blackhole blackhole) {
+        HclParser.builder().build().parseInputs(terraform, null, new InMemoryExecutionContext()).forEach(blackhole::consume);
+    }
+
+    @Benchmark
+    public void protobuf(Blackhole blackhole) {
+        ProtoParser.builder().build().parseInputs(protos, null, new InMemoryExecutionContext()).forEach(blackhole::consume);
+    }
+
+    @Benchmark
+    public void json(Blackhole blackhole) {
+        JsonParser.builder().build().parseInputs(json, null, new InMemoryExecutionContext()).forEach(blackhole::consume);
+    }
+
+    private static String pom(int module) {
+        StringBuilder pom = new StringBuilder("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" +
+                                              "<project xmlns=\"http://maven.apache.org/POM/4.0.0\">\n" +
+                                              "  <modelVersion>4.0.0</modelVersion>\n" +
+                                              "  <groupId>org.example</groupId>\n" +
+                                              "  <artifactId>module-" + module + "</artifactId>\n" +
+                                              "  <version>1.0.0</version>\n" +
+                                              "  <!-- generated dependencies -->\n" +
+                                              "  <dependencies>\n");
+        for (int i = 0; i < ELEMENTS; i++) {
+            pom.append("    <dependency>\n" +
+                       "      <groupId>org.example.group").append(i).append("</groupId>\n" +
+                       "      <artifactId>artifact-").append(i).append("</artifactId>\n" +
+                       "      <version>${artifact.version}</version>\n" +
+                       "      <scope>").append(i % 2 == 0 ? "compile" : "test").append("</scope>\n" +
+                       "    </dependency>\n");
+        }
+        return pom.append("  </dependencies>\n</project>\n").toString();
+    }
+
+    private static String terraform(int module) {
+        StringBuilder tf = new StringBuilder("variable \"region\" {\n" +
+                                             "  default = \"us-east-1\"\n" +
+                                             "}\n");
+        for (int i = 0; i < ELEMENTS; i++) {
+            tf.append("\nresource \"aws_instance\" \"server_").append(module).append('_').append(i).append("\" {\n" +
+                      "  ami           = \"ami-").append(i).append("\"\n" +
+                      "  instance_type = var.region == \"us-east-1\" ? \"t3.micro\" : \"t2.micro\"\n" +
+                      "  count         = ").append(i % 3).append(" + 1\n" +
+                      "  tags = {\n" +
+                      "    Name = \"server-${count.index}\"\n" +
+                      "  }\n" +
+                      "}\n");
+        }
+        return tf.toString();
+    }
+
+    private static String proto(int module) {
+        StringBuilder proto = new StringBuilder("syntax = \"proto2\";\n" +
+                                                "package example.module" + module + ";\n");
+        for (int i = 0; i < ELEMENTS; i++) {
+            proto.append("\n// message ").append(i).append("\n" +
+                         "message Message").append(i).append(" {\n" +
+                         "  required string name = 1;\n" +
+                         "  optional int64 id = 2 [default = ").append(i).append("];\n" +
+                         "  repeated string tags = 3;\n" +
+                         "}\n");
+        }
+        return proto.toString();
+    }
+
+    private static String json(int module) {
+        StringBuilder json = new StringBuilder("{\n" +
+                                               "  \"name\": \"module-" + module + "\",\n" +
+                                               "  \"dependencies\": {\n");
+        for (int i = 0; i < ELEMENTS; i++) {
+            json.append("    \"artifact-").append(i).append("\": \"^").append(i).append(".0.0\"")
+                    .append(i < ELEMENTS - 1 ? ",\n" : "\n");
+        }
+        return json.append("  }\n}\n").toString();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(AntlrParserBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(opt).run();
+    }
+}
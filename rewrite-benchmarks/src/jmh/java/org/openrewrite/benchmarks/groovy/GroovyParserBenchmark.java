@@ -0,0 +1,110 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.benchmarks.groovy;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.Parser;
+import org.openrewrite.gradle.GradleParser;
+import org.openrewrite.groovy.GroovyParser;
+
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parses a batch of Groovy sources and of Gradle build scripts with one parser, the way a multi-module
+ * build is parsed.
+ */
+@Fork(1)
+@Measurement(iterations = 2)
+@Warmup(iterations = 2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class GroovyParserBenchmark {
+
+    @Param({"10", "100"})
+    int files;
+
+    List<Parser.Input> groovySources;
+    List<Parser.Input> buildScripts;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        groovySources = new ArrayList<>(files);
+        buildScripts = new ArrayList<>(files);
+        for (int i = 0; i < files; i++) {
+            groovySources.add(Parser.Input.fromString(Paths.get("src/main/groovy/org/example/Service" + i + ".groovy"),
+                    "package org.example\n" +
+                    "\n" +
+                    "class Service" + i + " {\n" +
+                    "    List<String> names = []\n" +
+                    "\n" +
+                    "    def register(String name) {\n" +
+                    "        names << name.trim()\n" +
+                    "        names.findAll { it.startsWith('a') }.collect { it.toUpperCase() }\n" +
+                    "    }\n" +
+                    "}\n"));
+            buildScripts.add(Parser.Input.fromString(Paths.get("module-" + i + "/build.gradle"),
+                    "plugins {\n" +
+                    "    id 'java-library'\n" +
+                    "}\n" +
+                    "\n" +
+                    "repositories {\n" +
+                    "    mavenCentral()\n" +
+                    "}\n" +
+                    "\n" +
+                    "dependencies {\n" +
+                    "    implementation 'com.google.guava:guava:29.0-jre'\n" +
+                    "    testImplementation 'org.junit.jupiter:junit-jupiter:5.10.0'\n" +
+                    "}\n" +
+                    "\n" +
+                    "tasks.named('test') {\n" +
+                    "    useJUnitPlatform()\n" +
+                    "}\n"));
+        }
+    }
+
+    @Benchmark
+    public void groovy(Blackhole blackhole) {
+        GroovyParser.builder().build()
+                .parseInputs(groovySources, null, new InMemoryExecutionContext())
+                .forEach(blackhole::consume);
+    }
+
+    @Benchmark
+    public void gradle(Blackhole blackhole) {
+        GradleParser.builder().build()
+                .parseInputs(buildScripts, null, new InMemoryExecutionContext())
+                .forEach(blackhole::consume);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(GroovyParserBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.benchmarks.java;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openrewrite.Cursor;
+import org.openrewrite.SourceFile;
+import org.openrewrite.Tree;
+import org.openrewrite.java.format.*;
+import org.openrewrite.java.style.*;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaSourceFile;
+import org.openrewrite.style.GeneralFormatStyle;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.openrewrite.java.format.AutodetectGeneralFormatStyle.autodetectGeneralFormatStyle;
+
+/**
+ * Formats the benchmark compilation units with the whole {@link AutoFormatVisitor}, which runs its nine steps
+ * in six traversals, and with the same nine steps each run as a traversal of its own.
+ */
+@Fork(1)
+@Measurement(iterations = 2)
+@Warmup(iterations = 2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(4)
+public class AutoFormatBenchmark {
+
+    @Benchmark
+    public void autoFormat(JavaCompilationUnitState state, Blackhole blackhole) {
+        AutoFormatVisitor<Integer> autoFormat = new AutoFormatVisitor<>();
+        for (SourceFile cu : state.getSourceFiles()) {
+            blackhole.consume(autoFormat.visit(cu, 0, new Cursor(null, "root")));
+        }
+    }
+
+    @Benchmark
+    public void separateTraversals(JavaCompilationUnitState state, Blackhole blackhole) {
+        for (SourceFile cu : state.getSourceFiles()) {
+            blackhole.consume(separateTraversals((JavaSourceFile) cu));
+        }
+    }
+
+    private static Tree separateTraversals(JavaSourceFile cu) {
+        SourceFile s = cu;
+        J t = new NormalizeFormatVisitor<Integer>().visit(cu, 0, new Cursor(null, "root"));
+        t = new MinimumViableSpacingVisitor<Integer>(null).visit(t, 0, new Cursor(null, "root"));
+        t = new BlankLinesVisitor<Integer>(Optional.ofNullable(s.getStyle(BlankLinesStyle.class))
+                .orElse(IntelliJ.blankLines())).visit(t, 0, new Cursor(null, "root"));
+        t = new WrappingAndBracesVisitor<Integer>(Optional.ofNullable(s.getStyle(WrappingAndBracesStyle.class))
+                .orElse(IntelliJ.wrappingAndBraces())).visit(t, 0, new Cursor(null, "root"));
+        t = new SpacesVisitor<Integer>(Optional.ofNullable(s.getStyle(SpacesStyle.class)).orElse(IntelliJ.spaces()),
+                s.getStyle(EmptyForInitializerPadStyle.class), s.getStyle(EmptyForIteratorPadStyle.class))
+                .visit(t, 0, new Cursor(null, "root"));
+        TabsAndIndentsStyle tabsAndIndents = Optional.ofNullable(s.getStyle(TabsAndIndentsStyle.class))
+                .orElse(IntelliJ.tabsAndIndents());
+        t = new NormalizeTabsOrSpacesVisitor<Integer>(tabsAndIndents).visit(t, 0, new Cursor(null, "root"));
+        t = new TabsAndIndentsVisitor<Integer>(tabsAndIndents).visit(t, 0, new Cursor(null, "root"));
+        GeneralFormatStyle general = Optional.ofNullable(s.getStyle(GeneralFormatStyle.class))
+                .orElse(autodetectGeneralFormatStyle(cu));
+        t = new NormalizeLineBreaksVisitor<Integer>(general).visit(t, 0, new Cursor(null, "root"));
+        return new RemoveTrailingWhitespaceVisitor<Integer>().visit(t, 0, new Cursor(null, "root"));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(AutoFormatBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.benchmarks.java;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.JavaTemplate;
+import org.openrewrite.java.tree.J;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applies a template to a method invocation, so that every application compiles the template stub again.
+ */
+@Fork(1)
+@Measurement(iterations = 2)
+@Warmup(iterations = 2)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class JavaTemplateBenchmark {
+    J.CompilationUnit cu;
+    JavaTemplate contextFree;
+    JavaTemplate contextSensitive;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        cu = JavaParser.fromJavaVersion().build()
+                .parse(new InMemoryExecutionContext(),
+                        "class Test {\n" +
+                        "    int count;\n" +
+                        "    void test(int i) {\n" +
+                        "        System.out.println(i);\n" +
+                        "    }\n" +
+                        "}")
+                .findFirst()
+                .map(J.CompilationUnit.class::cast)
+                .orElseThrow(IllegalStateException::new);
+        contextFree = JavaTemplate.builder("System.out.println(#{any(int)} + 1)")
+                .build();
+        contextSensitive = JavaTemplate.builder("System.out.println(#{any(int)} + count)")
+                .contextSensitive()
+                .build();
+    }
+
+    @Benchmark
+    public J.CompilationUnit contextFree() {
+        return apply(contextFree);
+    }
+
+    @Benchmark
+    public J.CompilationUnit contextSensitive() {
+        return apply(contextSensitive);
+    }
+
+    private J.CompilationUnit apply(JavaTemplate template) {
+        return (J.CompilationUnit) new JavaIsoVisitor<Integer>() {
+            @Override
+            public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, Integer p) {
+                return template.apply(getCursor(), method.getCoordinates().replace(), method.getArguments().get(0));
+            }
+        }.visitNonNull(cu, 0);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(JavaTemplateBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(opt).run();
+    }
+}
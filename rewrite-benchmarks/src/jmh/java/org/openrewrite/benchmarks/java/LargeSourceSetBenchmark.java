@@ -0,0 +1,176 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.benchmarks.java;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.LargeSourceSet;
+import org.openrewrite.RecipeRun;
+import org.openrewrite.SourceFile;
+import org.openrewrite.SourceFileSerializer;
+import org.openrewrite.internal.DiskBackedLargeSourceSet;
+import org.openrewrite.internal.InMemoryLargeSourceSet;
+import org.openrewrite.java.ChangeType;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Compares throughput and peak heap of running a recipe over source sets
+ * that hold every source file in memory and that spill source files to disk.
+ * The disk-backed source set is fed from a corpus that was serialized once per trial,
+ * so that no source file is held on the heap other than by the source set itself.
+ */
+@Fork(1)
+@Measurement(iterations = 2)
+@Warmup(iterations = 2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Thread)
+public class LargeSourceSetBenchmark {
+
+    /**
+     * The benchmark compilation units, parsed and serialized to a directory once per trial,
+     * without keeping them on the heap.
+     */
+    @State(Scope.Benchmark)
+    public static class SerializedCorpus {
+        Path directory;
+        int size;
+
+        @Setup(Level.Trial)
+        public void setup() throws URISyntaxException, IOException {
+            JavaCompilationUnitState parsed = new JavaCompilationUnitState();
+            parsed.setup();
+            List<SourceFile> sourceFiles = parsed.getSourceFiles();
+
+            directory = Files.createTempDirectory("rewrite-benchmark-corpus");
+            SourceFileSerializer serializer = new SourceFileSerializer();
+            for (int i = 0; i < sourceFiles.size(); i++) {
+                try (OutputStream out = Files.newOutputStream(file(i))) {
+                    serializer.write(sourceFiles.get(i), out);
+                }
+            }
+            size = sourceFiles.size();
+        }
+
+        /**
+         * @return The source files of the corpus, each read from its file only when the stream reaches it.
+         */
+        Stream<SourceFile> sourceFiles() {
+            SourceFileSerializer serializer = new SourceFileSerializer();
+            return IntStream.range(0, size).mapToObj(i -> {
+                try (InputStream in = Files.newInputStream(file(i))) {
+                    return serializer.read(in);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            for (int i = 0; i < size; i++) {
+                Files.deleteIfExists(file(i));
+            }
+            Files.deleteIfExists(directory);
+        }
+
+        private Path file(int index) {
+            return directory.resolve(index + ".lst");
+        }
+    }
+
+    /**
+     * Reports the peak heap of each iteration alongside its timing, rather than as a separate line of output.
+     */
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class PeakHeap {
+        public long peakHeapMb;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            // so that garbage left over from setup or the last iteration does not count towards the peak
+            System.gc();
+            peakHeapMb = 0;
+            for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+                if (pool.getType() == MemoryType.HEAP) {
+                    pool.resetPeakUsage();
+                }
+            }
+        }
+
+        void record() {
+            long peak = 0;
+            for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+                if (pool.getType() == MemoryType.HEAP) {
+                    peak += pool.getPeakUsage().getUsed();
+                }
+            }
+            peakHeapMb = peak / (1024 * 1024);
+        }
+    }
+
+    @Benchmark
+    public void inMemory(JavaCompilationUnitState state, PeakHeap peakHeap, Blackhole blackhole) {
+        changeType(new InMemoryLargeSourceSet(state.getSourceFiles()), peakHeap, blackhole);
+    }
+
+    @Benchmark
+    public void diskBacked(SerializedCorpus corpus, PeakHeap peakHeap, Blackhole blackhole) {
+        changeType(new DiskBackedLargeSourceSet(corpus.sourceFiles()), peakHeap, blackhole);
+    }
+
+    private static void changeType(LargeSourceSet lss, PeakHeap peakHeap, Blackhole blackhole) {
+        try {
+            RecipeRun run = new ChangeType("java.util.List", "java.util.Collection", true)
+                    .run(lss, new InMemoryExecutionContext());
+            blackhole.consume(run.getChangeset().getAllResults());
+        } finally {
+            if (lss instanceof DiskBackedLargeSourceSet) {
+                ((DiskBackedLargeSourceSet) lss).close();
+            }
+            peakHeap.record();
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(LargeSourceSetBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(opt).run();
+    }
+}
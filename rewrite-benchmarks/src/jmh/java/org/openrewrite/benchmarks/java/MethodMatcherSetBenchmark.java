@@ -0,0 +1,106 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.benchmarks.java;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openrewrite.SourceFile;
+import org.openrewrite.java.MethodMatcher;
+import org.openrewrite.java.MethodMatcherSet;
+import org.openrewrite.java.tree.JavaSourceFile;
+import org.openrewrite.java.tree.JavaType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Asks which of many method patterns match each method used in a set of source files, with one
+ * {@link MethodMatcher} at a time and with a {@link MethodMatcherSet}.
+ */
+@Fork(1)
+@Measurement(iterations = 2)
+@Warmup(iterations = 2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class MethodMatcherSetBenchmark {
+
+    @Param({"10", "100", "1000"})
+    int patterns;
+
+    List<JavaType.Method> methods;
+    List<MethodMatcher> matchers;
+    MethodMatcherSet matcherSet;
+
+    @Setup(Level.Trial)
+    public void setup(JavaCompilationUnitState state) {
+        methods = new ArrayList<>();
+        for (SourceFile sourceFile : state.getSourceFiles()) {
+            methods.addAll(((JavaSourceFile) sourceFile).getTypesInUse().getUsedMethods());
+        }
+
+        matchers = new ArrayList<>(patterns);
+        for (int i = 0; i < patterns; i++) {
+            switch (i % 10) {
+                case 0:
+                    // patterns that match methods in the source files
+                    matchers.add(new MethodMatcher(methods.get(i % methods.size())));
+                    break;
+                case 1:
+                    matchers.add(new MethodMatcher("java.util.* *" + i + "(..)"));
+                    break;
+                case 2:
+                    matchers.add(new MethodMatcher("java.lang.Object method" + i + "()", true));
+                    break;
+                default:
+                    matchers.add(new MethodMatcher("org.example.Type" + i + " method" + i + "(String, ..)"));
+            }
+        }
+        matcherSet = new MethodMatcherSet(matchers);
+    }
+
+    @Benchmark
+    public void individualMatchers(Blackhole blackhole) {
+        for (JavaType.Method method : methods) {
+            for (MethodMatcher matcher : matchers) {
+                if (matcher.matches(method)) {
+                    blackhole.consume(matcher);
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public void matcherSet(Blackhole blackhole) {
+        for (JavaType.Method method : methods) {
+            blackhole.consume(matcherSet.matching(method));
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(MethodMatcherSetBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.benchmarks.java;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.java.JavaParser;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures parse throughput as the number of threads parsing at the same time grows, which
+ * shows contention on state that parsers share, such as the whitespace flyweights.
+ */
+@Fork(1)
+@Measurement(iterations = 2)
+@Warmup(iterations = 2)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class ParallelParsingBenchmark {
+    String[] sources;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        sources = new String[20];
+        for (int i = 0; i < sources.length; i++) {
+            StringBuilder source = new StringBuilder("package test;\n\nclass Test" + i + " {\n");
+            for (int m = 0; m < 20; m++) {
+                source.append("    int method").append(m).append("(int a, int b) {\n")
+                        .append("        if (a > b) {\n")
+                        .append("            for (int j = 0; j < a; j++) {\n")
+                        .append("                b += j * ").append(m).append(";\n")
+                        .append("            }\n")
+                        .append("        }\n")
+                        .append("        return a + b;\n")
+                        .append("    }\n\n");
+            }
+            sources[i] = source.append("}\n").toString();
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void parse1(Blackhole blackhole) {
+        parse(blackhole);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void parse4(Blackhole blackhole) {
+        parse(blackhole);
+    }
+
+    @Benchmark
+    @Threads(16)
+    public void parse16(Blackhole blackhole) {
+        parse(blackhole);
+    }
+
+    private void parse(Blackhole blackhole) {
+        JavaParser.fromJavaVersion().build()
+                .parse(new InMemoryExecutionContext(), sources)
+                .forEach(blackhole::consume);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(ParallelParsingBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(opt).run();
+    }
+}
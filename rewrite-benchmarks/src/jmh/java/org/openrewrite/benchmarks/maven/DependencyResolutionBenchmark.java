@@ -0,0 +1,129 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.benchmarks.maven;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.maven.MavenExecutionContextView;
+import org.openrewrite.maven.MavenParser;
+import org.openrewrite.maven.cache.InMemoryMavenPomCache;
+import org.openrewrite.maven.tree.MavenRepository;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Resolves a dependency graph from a local repository in which version ranges deep in the graph repeatedly change
+ * the versions selected for dependencies that have already been resolved.
+ */
+@Fork(1)
+@Measurement(iterations = 2)
+@Warmup(iterations = 2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class DependencyResolutionBenchmark {
+    private static final int LIBRARIES = 60;
+    private static final int SHARED = 20;
+
+    Path repository;
+    InMemoryMavenPomCache pomCache;
+    String project;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        repository = Files.createTempDirectory("repository");
+        pomCache = new InMemoryMavenPomCache();
+
+        for (int i = 0; i < SHARED; i++) {
+            publish("shared-" + i, "1", "");
+            publish("shared-" + i, "2", "");
+        }
+
+        StringBuilder projectDependencies = new StringBuilder();
+        for (int i = 0; i < LIBRARIES; i++) {
+            // the first library to require a shared artifact asks for a soft version, and a later one for a range
+            publish("lib-" + i, "1", dependency("shared-" + (i % SHARED), i < SHARED ? "1" : "[2,3)"));
+            projectDependencies.append(dependency("lib-" + i, "1"));
+        }
+        project = project("app", "1", projectDependencies.toString());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(repository)) {
+            files.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public void resolve(Blackhole blackhole) {
+        MavenExecutionContextView ctx = MavenExecutionContextView.view(new InMemoryExecutionContext());
+        ctx.setPomCache(pomCache);
+        ctx.setAddCentralRepository(false);
+        ctx.setLocalRepository(MavenRepository.builder()
+                .id("local")
+                .uri(repository.toUri().toString())
+                .knownToExist(true)
+                .deriveMetadataIfMissing(true)
+                .build());
+        MavenParser.builder().build().parse(ctx, project).forEach(blackhole::consume);
+    }
+
+    private void publish(String artifactId, String version, String dependencies) throws IOException {
+        Path dir = repository.resolve("org/example/" + artifactId + "/" + version);
+        Files.createDirectories(dir);
+        Files.write(dir.resolve(artifactId + "-" + version + ".pom"),
+                project(artifactId, version, dependencies).getBytes(StandardCharsets.UTF_8));
+        Files.write(dir.resolve(artifactId + "-" + version + ".jar"), new byte[]{0});
+    }
+
+    private static String project(String artifactId, String version, String dependencies) {
+        return "<project>" +
+               "  <groupId>org.example</groupId>" +
+               "  <artifactId>" + artifactId + "</artifactId>" +
+               "  <version>" + version + "</version>" +
+               "  <dependencies>" + dependencies + "</dependencies>" +
+               "</project>";
+    }
+
+    private static String dependency(String artifactId, String version) {
+        return "<dependency>" +
+               "  <groupId>org.example</groupId>" +
+               "  <artifactId>" + artifactId + "</artifactId>" +
+               "  <version>" + version + "</version>" +
+               "</dependency>";
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(DependencyResolutionBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(opt).run();
+    }
+}
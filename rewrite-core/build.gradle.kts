@@ -17,6 +17,9 @@ dependencies {
     // https://github.com/openrewrite/rewrite/issues/1479
     compileOnly("com.squareup.okhttp3:okhttp:4.9.3")
 
+    // for the parsers of languages built on ANTLR, each of which depends on the runtime itself
+    compileOnly("org.antlr:antlr4-runtime:4.11.1")
+
     implementation("org.apache.commons:commons-compress:latest.release")
 
     implementation("io.micrometer:micrometer-core:1.9.+")
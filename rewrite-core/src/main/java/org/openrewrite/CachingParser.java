@@ -0,0 +1,308 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite;
+
+import org.openrewrite.internal.lang.Nullable;
+import org.openrewrite.tree.ParseError;
+import org.openrewrite.tree.ParsingEventListener;
+import org.openrewrite.tree.ParsingExecutionContextView;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static java.util.Collections.emptyList;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * A parser that keeps the source files another parser produces in a local cache directory, so that inputs that
+ * have not changed since an earlier run are read back rather than parsed again.
+ * <p>
+ * Each entry is keyed by a hash of the input's content and path together with a fingerprint of everything else
+ * that determines the result of parsing, such as the parser's configuration and classpath. Entries are written
+ * with {@link SourceFileSerializer}, which preserves the type attribution of each source file. Source files that
+ * failed to parse are never cached.
+ * <p>
+ * Parsers such as the Java and Maven parsers resolve references between the inputs they are given at the same time.
+ * By default, if any one input is not in the cache, all inputs are parsed together again, so that no cached source
+ * file refers to the old version of one that changed. Parsers that treat each input independently can opt out of
+ * this with {@link #parseIndependently()}, in which case only the inputs that are missing from the cache are parsed.
+ * <p>
+ * Entries are evicted once they have not been used for longer than a maximum age and, oldest first, when the
+ * cache grows beyond a maximum size.
+ */
+@Incubating(since = "8.19.0")
+public class CachingParser implements Parser {
+    private static final String ENTRY_SUFFIX = ".lst";
+
+    private final Parser delegate;
+    private final Path cacheDirectory;
+    private final String fingerprint;
+    private final long maxSizeBytes;
+    private final Duration maxAge;
+    private final SourceFileSerializer serializer = new SourceFileSerializer();
+
+    private boolean parseIndependently;
+
+    /**
+     * @param delegate       The parser to parse inputs with when they are not in the cache.
+     * @param cacheDirectory The directory to keep cache entries in, which is created if it doesn't exist.
+     * @param fingerprint    Identifies the configuration of the delegate parser, such as the value of
+     *                       {@link #fingerprint(Parser, Iterable, String...)}. Entries written under another
+     *                       fingerprint are never returned.
+     * @param maxSizeBytes   The total size beyond which the least recently used entries are evicted.
+     * @param maxAge         The time after which an entry that has not been used is evicted.
+     */
+    public CachingParser(Parser delegate, Path cacheDirectory, String fingerprint, long maxSizeBytes, Duration maxAge) {
+        this.delegate = delegate;
+        this.cacheDirectory = cacheDirectory;
+        this.fingerprint = fingerprint;
+        this.maxSizeBytes = maxSizeBytes;
+        this.maxAge = maxAge;
+        try {
+            Files.createDirectories(cacheDirectory);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Parse only the inputs that are missing from the cache, for parsers whose result for one input does not
+     * depend on the other inputs, such as the YAML, XML and properties parsers.
+     */
+    public CachingParser parseIndependently() {
+        this.parseIndependently = true;
+        return this;
+    }
+
+    /**
+     * @param parser    The parser whose results are cached.
+     * @param classpath The classpath the parser resolves types from, if any. Each entry is identified by its
+     *                  path, size and last modified time rather than its content.
+     * @param options   Any other configuration of the parser that affects what it produces.
+     * @return A fingerprint for use as a cache key.
+     */
+    public static String fingerprint(Parser parser, Iterable<Path> classpath, String... options) {
+        MessageDigest md = sha256();
+        update(md, parser.getClass().getName());
+        update(md, String.valueOf(parser.getClass().getPackage().getImplementationVersion()));
+        update(md, String.valueOf(SourceFile.class.getPackage().getImplementationVersion()));
+        for (Path entry : classpath) {
+            update(md, entry.toString());
+            try {
+                BasicFileAttributes attributes = Files.readAttributes(entry, BasicFileAttributes.class);
+                update(md, attributes.size() + ":" + attributes.lastModifiedTime().toMillis());
+            } catch (IOException e) {
+                update(md, "missing");
+            }
+        }
+        for (String option : options) {
+            update(md, option);
+        }
+        return new Checksum("SHA-256", md.digest()).getHexValue();
+    }
+
+    @Override
+    public Stream<SourceFile> parseInputs(Iterable<Input> sources, @Nullable Path relativeTo, ExecutionContext ctx) {
+        evict();
+
+        List<Input> inputs = delegate.acceptedInputs(sources).collect(toList());
+        Map<Input, Path> entries = new HashMap<>();
+        boolean allCached = true;
+        for (Input input : inputs) {
+            Path entry = entry(input, relativeTo, ctx);
+            entries.put(input, entry);
+            allCached &= Files.exists(entry);
+        }
+        if (!allCached && !parseIndependently) {
+            return parseAndCache(inputs, entries, relativeTo, ctx);
+        }
+
+        ParsingEventListener listener = ParsingExecutionContextView.view(ctx).getParsingListener();
+        Map<Input, SourceFile> hits = new LinkedHashMap<>();
+        List<Input> toParse = new ArrayList<>();
+        for (Input input : inputs) {
+            SourceFile sourceFile = read(entries.get(input));
+            if (sourceFile == null) {
+                toParse.add(input);
+                if (!parseIndependently) {
+                    return parseAndCache(inputs, entries, relativeTo, ctx);
+                }
+            } else {
+                hits.put(input, sourceFile);
+            }
+        }
+
+        // each input an independent parser is given produces one source file, in the order of its inputs,
+        // so the source files read from the cache are put back in between them where their inputs were
+        Iterator<SourceFile> parsed = parseAndCache(toParse, entries, relativeTo, ctx).iterator();
+        return Stream.concat(
+                inputs.stream().flatMap(input -> {
+                    SourceFile hit = hits.get(input);
+                    if (hit != null) {
+                        listener.parsed(input, hit);
+                        return Stream.of(hit);
+                    }
+                    return parsed.hasNext() ? Stream.of(parsed.next()) : Stream.empty();
+                }),
+                StreamSupport.stream(Spliterators.spliteratorUnknownSize(parsed, Spliterator.ORDERED), false));
+    }
+
+    private Stream<SourceFile> parseAndCache(List<Input> inputs, Map<Input, Path> entries,
+                                             @Nullable Path relativeTo, ExecutionContext ctx) {
+        if (inputs.isEmpty()) {
+            return Stream.empty();
+        }
+        Map<Path, Path> entriesBySourcePath = new HashMap<>();
+        for (Input input : inputs) {
+            entriesBySourcePath.put(input.getRelativePath(relativeTo), entries.get(input));
+        }
+        return delegate.parseInputs(inputs, relativeTo, ctx).peek(sourceFile -> {
+            Path entry = entriesBySourcePath.get(sourceFile.getSourcePath());
+            if (entry != null && !(sourceFile instanceof ParseError) &&
+                !sourceFile.getMarkers().findFirst(ParseExceptionResult.class).isPresent()) {
+                write(entry, sourceFile);
+            }
+        });
+    }
+
+    private Path entry(Input input, @Nullable Path relativeTo, ExecutionContext ctx) {
+        MessageDigest md = sha256();
+        update(md, fingerprint);
+        update(md, input.getRelativePath(relativeTo).toString());
+        update(md, getCharset(ctx).name());
+        md.update(Checksum.checksum(input, "SHA-256", ctx).getValue());
+        return cacheDirectory.resolve(new Checksum("SHA-256", md.digest()).getHexValue() + ENTRY_SUFFIX);
+    }
+
+    @Nullable
+    private SourceFile read(Path entry) {
+        try (InputStream is = Files.newInputStream(entry)) {
+            SourceFile sourceFile = serializer.read(is);
+            Files.setLastModifiedTime(entry, FileTime.from(Instant.now()));
+            return sourceFile;
+        } catch (IOException | UncheckedIOException e) {
+            // written by an incompatible version, or truncated
+            try {
+                Files.deleteIfExists(entry);
+            } catch (IOException ignored) {
+            }
+            return null;
+        }
+    }
+
+    private void write(Path entry, SourceFile sourceFile) {
+        try {
+            Path temp = Files.createTempFile(cacheDirectory, entry.getFileName().toString(), ".tmp");
+            try (OutputStream os = Files.newOutputStream(temp)) {
+                serializer.write(sourceFile, os);
+            }
+            Files.move(temp, entry, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | UncheckedIOException ignored) {
+            // the source file will just be parsed again next time
+        }
+    }
+
+    /**
+     * Remove entries that are older than the maximum age, and then the least recently used
+     * entries until the cache is no larger than the maximum size.
+     */
+    public void evict() {
+        List<Path> entries;
+        try (Stream<Path> list = Files.list(cacheDirectory)) {
+            entries = list.collect(toList());
+        } catch (IOException e) {
+            entries = emptyList();
+        }
+
+        Instant expired = Instant.now().minus(maxAge);
+        List<Map.Entry<Path, BasicFileAttributes>> live = new ArrayList<>(entries.size());
+        long size = 0;
+        for (Path entry : entries) {
+            try {
+                BasicFileAttributes attributes = Files.readAttributes(entry, BasicFileAttributes.class);
+                if (attributes.lastModifiedTime().toInstant().isBefore(expired)) {
+                    Files.deleteIfExists(entry);
+                } else if (entry.getFileName().toString().endsWith(ENTRY_SUFFIX)) {
+                    live.add(new AbstractMap.SimpleEntry<>(entry, attributes));
+                    size += attributes.size();
+                }
+            } catch (IOException ignored) {
+                // removed concurrently
+            }
+        }
+
+        if (size > maxSizeBytes) {
+            live.sort(Comparator.comparing(e -> e.getValue().lastModifiedTime()));
+            for (Map.Entry<Path, BasicFileAttributes> entry : live) {
+                if (size <= maxSizeBytes) {
+                    break;
+                }
+                try {
+                    Files.deleteIfExists(entry.getKey());
+                    size -= entry.getValue().size();
+                } catch (IOException ignored) {
+                }
+            }
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void update(MessageDigest md, String value) {
+        md.update(value.getBytes(StandardCharsets.UTF_8));
+        md.update((byte) 0);
+    }
+
+    @Override
+    public boolean accept(Path path) {
+        return delegate.accept(path);
+    }
+
+    @Override
+    public boolean accept(Input input) {
+        return delegate.accept(input);
+    }
+
+    @Override
+    public Parser reset() {
+        delegate.reset();
+        return this;
+    }
+
+    @Override
+    public Path sourcePathFromSourceText(Path prefix, String sourceCode) {
+        return delegate.sourcePathFromSourceText(prefix, sourceCode);
+    }
+}
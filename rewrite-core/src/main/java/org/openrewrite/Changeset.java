@@ -15,6 +15,14 @@
  */
 package org.openrewrite;
 
+import org.openrewrite.internal.PatchWriter;
+import org.openrewrite.internal.lang.Nullable;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
 
 public interface Changeset {
@@ -25,4 +33,29 @@ public interface Changeset {
     default List<Result> getAllResults() {
         return getPage(0, size());
     }
+
+    /**
+     * Write the diffs of every result in this changeset, in order, as one patch. Results are read a page
+     * at a time, so the changeset need not fit in memory at once when it is backed by storage.
+     *
+     * @param out         The stream to write the patch to, which is not closed.
+     * @param relativeTo  Optional relative path that is used to relativize file paths of reported differences.
+     * @param parallelism The number of threads to format diffs on.
+     */
+    @Incubating(since = "8.19.0")
+    default void writePatch(OutputStream out, @Nullable Path relativeTo, int parallelism) throws IOException {
+        PatchWriter.write(this, out, relativeTo, parallelism);
+    }
+
+    /**
+     * Write the diffs of every result in this changeset, in order, as one patch file.
+     *
+     * @see #writePatch(OutputStream, Path, int)
+     */
+    @Incubating(since = "8.19.0")
+    default void writePatch(Path patchFile, @Nullable Path relativeTo, int parallelism) throws IOException {
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(patchFile))) {
+            writePatch(out, relativeTo, parallelism);
+        }
+    }
 }
@@ -93,6 +93,22 @@ public static SourceFile sha256(SourceFile sourceFile, ExecutionContext ctx) {
         return checksum(sourceFile, "SHA-256", ctx);
     }
 
+    public static Checksum checksum(Parser.Input input, String algorithm, ExecutionContext ctx) {
+        try {
+            MessageDigest md = MessageDigest.getInstance(algorithm);
+            try (InputStream is = input.getSource(ctx)) {
+                byte[] buffer = new byte[8192];
+                int n;
+                while ((n = is.read(buffer)) != -1) {
+                    md.update(buffer, 0, n);
+                }
+            }
+            return new Checksum(algorithm, md.digest());
+        } catch (NoSuchAlgorithmException | IOException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
     public static SourceFile checksum(SourceFile sourceFile, @Nullable String algorithm, ExecutionContext ctx) {
         if(algorithm == null) {
             return sourceFile;
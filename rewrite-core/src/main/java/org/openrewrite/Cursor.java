@@ -353,6 +353,15 @@ public <T> T pollMessage(String key) {
         return messages == null ? null : (T) messages.remove(key);
     }
 
+    /**
+     * Guard the messages on this cursor so that visitors running on several threads
+     * at once can share them, as they do on the root cursor when source files are
+     * edited in parallel.
+     */
+    void synchronizeMessages() {
+        messages = Collections.synchronizedMap(messages == null ? new HashMap<>() : new HashMap<>(messages));
+    }
+
     public void clearMessages() {
         if (messages != null) {
             messages.clear();
@@ -82,10 +82,19 @@ public TypeReference<List<Row>> getRowsTypeReference() {
 
     public void insertRow(ExecutionContext ctx, Row row) {
         if (enabled && ctx.getCycle() <= maxCycle) {
+            DataTableStore store = ctx.getMessage(ExecutionContext.DATA_TABLE_STORE);
+            if (store != null) {
+                store.insertRow(this, row);
+                return;
+            }
             ctx.computeMessage(ExecutionContext.DATA_TABLES, row, ConcurrentHashMap::new, (extract, allDataTables) -> {
                 //noinspection unchecked
                 List<Row> dataTablesOfType = (List<Row>) allDataTables.computeIfAbsent(this, c -> new ArrayList<>());
-                dataTablesOfType.add(row);
+                // rows may be inserted concurrently when source files are edited in parallel
+                //noinspection SynchronizationOnLocalVariableOrMethodParameter
+                synchronized (dataTablesOfType) {
+                    dataTablesOfType.add(row);
+                }
                 return allDataTables;
             });
         }
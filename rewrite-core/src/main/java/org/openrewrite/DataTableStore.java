@@ -0,0 +1,49 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite;
+
+import java.util.Collection;
+import java.util.stream.Stream;
+
+/**
+ * Receives the rows of data tables as recipes insert them, and reads them back once a run has completed.
+ * A store is installed for a run by putting it in the {@link ExecutionContext} under
+ * {@link ExecutionContext#DATA_TABLE_STORE}.
+ * <p>
+ * Rows may be inserted concurrently when source files are edited in parallel.
+ *
+ * @see InMemoryDataTableStore
+ * @see LocalDiskDataTableStore
+ */
+@Incubating(since = "8.19.0")
+public interface DataTableStore {
+
+    <Row> void insertRow(DataTable<Row> dataTable, Row row);
+
+    /**
+     * @return The data tables that have had at least one row inserted, in no particular order.
+     */
+    Collection<DataTable<?>> getDataTables();
+
+    /**
+     * Read the rows of a data table in the order they were inserted. Rows are read lazily, so
+     * the returned stream should be closed once it is no longer needed.
+     *
+     * @param dataTable The data table to read.
+     * @return The rows of the data table, or an empty stream if none were inserted.
+     */
+    Stream<?> getRows(DataTable<?> dataTable);
+}
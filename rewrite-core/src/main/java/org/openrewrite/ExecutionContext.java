@@ -22,6 +22,7 @@
 import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.Supplier;
 
 import static java.util.Objects.requireNonNull;
@@ -37,6 +38,27 @@ public interface ExecutionContext {
     String RUN_TIMEOUT = "org.openrewrite.runTimeout";
     String REQUIRE_PRINT_EQUALS_INPUT = "org.openrewrite.requirePrintEqualsInput";
 
+    /**
+     * When set to {@code true}, a recipe that found a source file not applicable or made no change
+     * to it in one cycle is not run again on the same source file instance in the next cycle.
+     */
+    @Incubating(since = "8.19.0")
+    String SKIP_UNCHANGED_SOURCE_FILES = "org.openrewrite.skipUnchangedSourceFiles";
+
+    /**
+     * When set to {@code false}, the time and memory each recipe spends on each source file are not measured,
+     * and the "Recipe performance" data table is left empty. Measured by default.
+     */
+    @Incubating(since = "8.19.0")
+    String PROFILE_RECIPES = "org.openrewrite.profileRecipes";
+
+    /**
+     * A {@link DataTableStore} that receives data table rows as they are inserted. When absent, rows are
+     * accumulated in memory under {@link #DATA_TABLES}.
+     */
+    @Incubating(since = "8.19.0")
+    String DATA_TABLE_STORE = "org.openrewrite.dataTableStore";
+
     @Incubating(since = "7.20.0")
     default ExecutionContext addObserver(TreeObserver.Subscription observer) {
         putMessageInCollection("org.openrewrite.internal.treeObservers", observer,
@@ -63,6 +85,24 @@ default <V, T> T computeMessage(String key, V value, Supplier<T> defaultValue, B
         return newMessage;
     }
 
+    /**
+     * Get a message, adding the value computed from its key first if there is none, atomically for this execution
+     * context. Meant for state such as a cache or a counter that is shared by everything using the execution context.
+     * Because whichever recipe asks for it first would add the same message, adding it is not counted as a change
+     * made by the recipe that is running.
+     */
+    @Incubating(since = "8.19.0")
+    default <T> T computeMessageIfAbsent(String key, Function<String, ? extends T> mappingFunction) {
+        synchronized (this) {
+            T message = getMessage(key);
+            if (message == null) {
+                message = mappingFunction.apply(key);
+                putMessage(key, message);
+            }
+            return message;
+        }
+    }
+
     default <V, C extends Collection<V>> C putMessageInCollection(String key, V value, Supplier<C> newCollection) {
         return computeMessage(key, value, newCollection, (v, acc) -> {
             C c = newCollection.get();
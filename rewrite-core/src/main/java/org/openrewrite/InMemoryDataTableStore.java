@@ -0,0 +1,57 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Holds every row in memory, which is how data tables are kept when no store is configured.
+ */
+@Incubating(since = "8.19.0")
+public class InMemoryDataTableStore implements DataTableStore {
+    private final Map<DataTable<?>, List<Object>> rows = new ConcurrentHashMap<>();
+
+    @Override
+    public <Row> void insertRow(DataTable<Row> dataTable, Row row) {
+        List<Object> dataTableRows = rows.computeIfAbsent(dataTable, d -> new ArrayList<>());
+        //noinspection SynchronizationOnLocalVariableOrMethodParameter
+        synchronized (dataTableRows) {
+            dataTableRows.add(row);
+        }
+    }
+
+    @Override
+    public Collection<DataTable<?>> getDataTables() {
+        return rows.keySet();
+    }
+
+    @Override
+    public Stream<?> getRows(DataTable<?> dataTable) {
+        List<Object> dataTableRows = rows.get(dataTable);
+        if (dataTableRows == null) {
+            return Stream.empty();
+        }
+        //noinspection SynchronizationOnLocalVariableOrMethodParameter
+        synchronized (dataTableRows) {
+            return new ArrayList<>(dataTableRows).stream();
+        }
+    }
+}
@@ -22,6 +22,7 @@
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
+import java.util.function.Function;
 
 public class InMemoryExecutionContext implements ExecutionContext {
     private final Map<String, Object> messages = new ConcurrentHashMap<>();
@@ -66,6 +67,22 @@ public <T> T getMessage(String key) {
         return (T) messages.get(key);
     }
 
+    @Override
+    public <T> T computeMessageIfAbsent(String key, Function<String, ? extends T> mappingFunction) {
+        T message = getMessage(key);
+        if (message == null) {
+            // not ConcurrentHashMap#computeIfAbsent, because the mapping function may read other messages
+            synchronized (messages) {
+                message = getMessage(key);
+                if (message == null) {
+                    message = mappingFunction.apply(key);
+                    messages.put(key, message);
+                }
+            }
+        }
+        return message;
+    }
+
     @Override
     @Nullable
     public <T> T pollMessage(String key) {
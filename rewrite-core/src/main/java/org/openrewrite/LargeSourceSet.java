@@ -20,6 +20,7 @@
 import java.nio.file.Path;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
 import java.util.function.UnaryOperator;
 
 /**
@@ -70,6 +71,20 @@ default void beforeCycle(boolean definitelyLastCycle) {
      */
     LargeSourceSet edit(UnaryOperator<SourceFile> map);
 
+    /**
+     * Execute a transformation on all items, potentially applying it to several items at once.
+     * Implementations must produce the same result as {@link #edit(UnaryOperator)}, including the
+     * order of items. The default implementation ignores the executor and edits sequentially.
+     *
+     * @param map      A transformation on T that is safe to apply from several threads at once
+     * @param executor The executor on which to apply the transformation
+     * @return A new source set if the map function results in any changes, otherwise this source set is returned.
+     */
+    @Incubating(since = "8.19.0")
+    default LargeSourceSet edit(UnaryOperator<SourceFile> map, ExecutorService executor) {
+        return edit(map);
+    }
+
     /**
      * Concatenate new items. Where possible, implementations should not iterate the entire source set in order
      * to accomplish this, since the ordering of {@link SourceFile} is not significant.
@@ -0,0 +1,331 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import org.openrewrite.internal.lang.Nullable;
+
+import java.io.*;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Writes the rows of each data table to its own file on local disk as they are inserted, so that the memory
+ * a run needs does not grow with the number of rows its recipes produce. Rows are encoded with Smile, the binary
+ * form of JSON, and are read back lazily, one at a time.
+ * <p>
+ * Like the CSV export of a {@link RecipeRun}, only the {@link Column} fields of a row are kept, each row as an
+ * array of their values in declaration order. Rows are rebuilt with a constructor that takes exactly those
+ * columns, in that order, or else with a no-argument constructor and the fields set one by one. A row type
+ * with neither is rejected when its first row is inserted, rather than when its rows are read back.
+ * <p>
+ * The store must stay open for as long as the {@link RecipeRun} it backs is being read, and deletes its files
+ * when it is closed.
+ */
+@Incubating(since = "8.19.0")
+public class LocalDiskDataTableStore implements DataTableStore, AutoCloseable {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Path directory;
+    private final boolean temporary;
+    private final ObjectMapper mapper;
+    private final Map<DataTable<?>, RowFile> rowFiles = new ConcurrentHashMap<>();
+    private final Map<Class<?>, RowSchema> schemas = new ConcurrentHashMap<>();
+    private final AtomicInteger fileCount = new AtomicInteger();
+
+    /**
+     * Store rows in a temporary directory that is deleted when the store is closed.
+     */
+    public LocalDiskDataTableStore() {
+        try {
+            this.directory = Files.createTempDirectory("rewrite-data-tables");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        this.temporary = true;
+        this.mapper = mapper();
+    }
+
+    /**
+     * @param directory The directory to write rows to, which is created if it doesn't exist.
+     */
+    public LocalDiskDataTableStore(Path directory) {
+        this.directory = directory;
+        this.temporary = false;
+        this.mapper = mapper();
+    }
+
+    private static ObjectMapper mapper() {
+        SmileFactory f = new SmileFactory();
+        f.configure(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES, true);
+
+        // rows are written as arrays of their column values, so only the values themselves are serialized
+        return new ObjectMapper(f);
+    }
+
+    @Override
+    public <Row> void insertRow(DataTable<Row> dataTable, Row row) {
+        rowFiles.computeIfAbsent(dataTable, this::createRowFile).write(row);
+    }
+
+    @Override
+    public Collection<DataTable<?>> getDataTables() {
+        return rowFiles.keySet();
+    }
+
+    @Override
+    public Stream<?> getRows(DataTable<?> dataTable) {
+        RowFile rowFile = rowFiles.get(dataTable);
+        if (rowFile == null) {
+            return Stream.empty();
+        }
+        rowFile.flush();
+        try {
+            JsonParser parser = mapper.getFactory().createParser(
+                    new BufferedInputStream(Files.newInputStream(rowFile.path), BUFFER_SIZE));
+            Iterator<Object> rows = new Iterator<Object>() {
+                @Nullable
+                JsonToken next;
+
+                @Override
+                public boolean hasNext() {
+                    if (next == null) {
+                        try {
+                            next = parser.nextToken();
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    }
+                    return next != null;
+                }
+
+                @Override
+                public Object next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    next = null;
+                    return rowFile.schema.read(mapper, parser);
+                }
+            };
+            return StreamSupport.stream(Spliterators.spliteratorUnknownSize(rows, Spliterator.ORDERED), false)
+                    .onClose(() -> {
+                        try {
+                            parser.close();
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private RowFile createRowFile(DataTable<?> dataTable) {
+        RowSchema schema = schemas.computeIfAbsent(dataTable.getType(), type -> RowSchema.of(mapper, type));
+        try {
+            Files.createDirectories(directory);
+            Path path = directory.resolve(fileCount.incrementAndGet() + "-" +
+                                          dataTable.getName().replaceAll("[^\\w.-]", "_") + ".smile");
+            OutputStream out = new BufferedOutputStream(Files.newOutputStream(path), BUFFER_SIZE);
+            return new RowFile(path, schema, mapper.writer().writeValues(out));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        for (RowFile rowFile : rowFiles.values()) {
+            rowFile.delete();
+        }
+        rowFiles.clear();
+        if (temporary) {
+            try {
+                Files.deleteIfExists(directory);
+            } catch (IOException ignored) {
+                // the directory is left behind if something else was written to it
+            }
+        }
+    }
+
+    /**
+     * The {@link Column} fields of a row type, and how to build a row from their values.
+     */
+    private static class RowSchema {
+        private final Field[] columns;
+        private final JavaType[] columnTypes;
+
+        @Nullable
+        private final Constructor<?> columnsConstructor;
+
+        @Nullable
+        private final Constructor<?> noArgsConstructor;
+
+        private RowSchema(Field[] columns, JavaType[] columnTypes,
+                          @Nullable Constructor<?> columnsConstructor, @Nullable Constructor<?> noArgsConstructor) {
+            this.columns = columns;
+            this.columnTypes = columnTypes;
+            this.columnsConstructor = columnsConstructor;
+            this.noArgsConstructor = noArgsConstructor;
+        }
+
+        static RowSchema of(ObjectMapper mapper, Class<?> rowType) {
+            List<Field> columns = new ArrayList<>();
+            for (Field field : rowType.getDeclaredFields()) {
+                if (field.getAnnotation(Column.class) != null && !Modifier.isStatic(field.getModifiers())) {
+                    field.setAccessible(true);
+                    columns.add(field);
+                }
+            }
+
+            Class<?>[] parameterTypes = new Class<?>[columns.size()];
+            JavaType[] columnTypes = new JavaType[columns.size()];
+            for (int i = 0; i < columns.size(); i++) {
+                parameterTypes[i] = columns.get(i).getType();
+                columnTypes[i] = mapper.getTypeFactory().constructType(columns.get(i).getGenericType());
+            }
+
+            Constructor<?> columnsConstructor = constructor(rowType, parameterTypes);
+            Constructor<?> noArgsConstructor = constructor(rowType);
+            if (columnsConstructor == null && noArgsConstructor == null) {
+                throw new IllegalArgumentException("Data table row type " + rowType.getName() + " can not be " +
+                                                   "stored on disk, because it has neither a constructor taking " +
+                                                   "its @Column fields in declaration order nor a no-argument " +
+                                                   "constructor.");
+            }
+            if (columnsConstructor == null) {
+                for (Field column : columns) {
+                    if (Modifier.isFinal(column.getModifiers())) {
+                        throw new IllegalArgumentException("Data table row type " + rowType.getName() +
+                                                           " can not be stored on disk, because its @Column field " +
+                                                           column.getName() + " is final and it has no " +
+                                                           "constructor taking its @Column fields in declaration order.");
+                    }
+                }
+            }
+            return new RowSchema(columns.toArray(new Field[0]), columnTypes, columnsConstructor, noArgsConstructor);
+        }
+
+        @Nullable
+        private static Constructor<?> constructor(Class<?> rowType, Class<?>... parameterTypes) {
+            try {
+                Constructor<?> constructor = rowType.getDeclaredConstructor(parameterTypes);
+                constructor.setAccessible(true);
+                return constructor;
+            } catch (NoSuchMethodException e) {
+                return null;
+            }
+        }
+
+        Object[] values(Object row) {
+            Object[] values = new Object[columns.length];
+            try {
+                for (int i = 0; i < columns.length; i++) {
+                    values[i] = columns[i].get(row);
+                }
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException(e);
+            }
+            return values;
+        }
+
+        /**
+         * Read the row whose start array token the parser is positioned at.
+         */
+        Object read(ObjectMapper mapper, JsonParser parser) {
+            try {
+                if (parser.currentToken() != JsonToken.START_ARRAY) {
+                    throw new IOException("Expected the start of a row but found " + parser.currentToken());
+                }
+                Object[] values = new Object[columns.length];
+                for (int i = 0; i < columns.length; i++) {
+                    parser.nextToken();
+                    values[i] = mapper.readValue(parser, columnTypes[i]);
+                }
+                if (parser.nextToken() != JsonToken.END_ARRAY) {
+                    throw new IOException("Expected the end of a row but found " + parser.currentToken());
+                }
+
+                if (columnsConstructor != null) {
+                    return columnsConstructor.newInstance(values);
+                }
+                assert noArgsConstructor != null;
+                Object row = noArgsConstructor.newInstance();
+                for (int i = 0; i < columns.length; i++) {
+                    columns[i].set(row, values[i]);
+                }
+                return row;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    private static class RowFile {
+        private final Path path;
+        private final RowSchema schema;
+        private final SequenceWriter writer;
+
+        RowFile(Path path, RowSchema schema, SequenceWriter writer) {
+            this.path = path;
+            this.schema = schema;
+            this.writer = writer;
+        }
+
+        synchronized void write(Object row) {
+            try {
+                writer.write(schema.values(row));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        synchronized void flush() {
+            try {
+                writer.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        synchronized void delete() {
+            try {
+                writer.close();
+                Files.deleteIfExists(path);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite;
+
+import org.openrewrite.internal.lang.Nullable;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+
+/**
+ * Compares what is printed with the characters of the original input as they are printed, rather than
+ * capturing the printed output. Nothing more is compared after the first difference.
+ */
+class PrintEqualsInputCapture extends PrintOutputCapture<Integer> {
+    private final Reader input;
+    private final char[] buffer = new char[8192];
+    private int position;
+    private int limit;
+    private boolean different;
+
+    PrintEqualsInputCapture(Reader input) {
+        super(0);
+        this.input = input;
+    }
+
+    @Override
+    public PrintOutputCapture<Integer> append(@Nullable String text) {
+        if (text == null || different) {
+            return this;
+        }
+        for (int i = 0; i < text.length(); i++) {
+            if (next() != text.charAt(i)) {
+                different = true;
+                break;
+            }
+        }
+        return this;
+    }
+
+    @Override
+    public PrintOutputCapture<Integer> append(char c) {
+        if (!different && next() != c) {
+            different = true;
+        }
+        return this;
+    }
+
+    /**
+     * @return Whether everything printed so far is the same as the whole of the input.
+     */
+    boolean isEqualToInput() {
+        return !different && next() == -1;
+    }
+
+    private int next() {
+        if (position == limit) {
+            try {
+                int n = input.read(buffer);
+                if (n <= 0) {
+                    // a reader only returns 0 for an empty buffer, so this is the end of the input
+                    return -1;
+                }
+                limit = n;
+                position = 0;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return buffer[position++];
+    }
+}
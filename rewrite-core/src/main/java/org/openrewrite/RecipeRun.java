@@ -15,6 +15,7 @@
  */
 package org.openrewrite;
 
+import lombok.AllArgsConstructor;
 import lombok.Value;
 import lombok.With;
 import org.openrewrite.config.ColumnDescriptor;
@@ -25,15 +26,15 @@
 import java.lang.reflect.Field;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
 import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
-import static java.util.Collections.emptyList;
 import static org.openrewrite.internal.RecipeIntrospectionUtils.dataTableDescriptorFromDataTable;
 
 @Value
+@AllArgsConstructor
 public class RecipeRun {
 
     @With
@@ -42,9 +43,38 @@ public class RecipeRun {
     @With
     Map<DataTable<?>, List<?>> dataTables;
 
+    /**
+     * Holds the rows of data tables that were inserted while a {@link DataTableStore} was configured
+     * on the {@link ExecutionContext}.
+     */
+    @Incubating(since = "8.19.0")
+    @Nullable
+    DataTableStore dataTableStore;
+
+    public RecipeRun(Changeset changeset, Map<DataTable<?>, List<?>> dataTables) {
+        this(changeset, dataTables, null);
+    }
+
+    /**
+     * @return Every data table with its rows. Rows held in a {@link DataTableStore} are all read into memory,
+     * so prefer {@link #streamDataTableRows(String)} when there may be many of them.
+     */
+    public Map<DataTable<?>, List<?>> getDataTables() {
+        if (dataTableStore == null) {
+            return dataTables;
+        }
+        Map<DataTable<?>, List<?>> all = new LinkedHashMap<>(dataTables);
+        for (DataTable<?> dataTable : dataTableStore.getDataTables()) {
+            try (Stream<?> rows = dataTableStore.getRows(dataTable)) {
+                all.put(dataTable, rows.collect(Collectors.toList()));
+            }
+        }
+        return all;
+    }
+
     @Nullable
     public DataTable<?> getDataTable(String name) {
-        for (DataTable<?> dataTable : dataTables.keySet()) {
+        for (DataTable<?> dataTable : allDataTables()) {
             if (dataTable.getName().equals(name)) {
                 return dataTable;
             }
@@ -52,15 +82,54 @@ public DataTable<?> getDataTable(String name) {
         return null;
     }
 
+    /**
+     * @return The rows of a data table. Without a {@link DataTableStore}, this is the list the rows were
+     * inserted into. Rows held in a store are instead read into a new list on every call, so prefer
+     * {@link #streamDataTableRows(String)} when there may be many of them.
+     */
     @Nullable
     public <E> List<E> getDataTableRows(String name) {
-        for (Map.Entry<DataTable<?>, List<?>> dataTableAndRows : dataTables.entrySet()) {
-            if (dataTableAndRows.getKey().getName().equals(name)) {
-                //noinspection unchecked
-                return (List<E>) dataTableAndRows.getValue();
+        if (dataTableStore == null) {
+            for (Map.Entry<DataTable<?>, List<?>> dataTableAndRows : dataTables.entrySet()) {
+                if (dataTableAndRows.getKey().getName().equals(name)) {
+                    //noinspection unchecked
+                    return (List<E>) dataTableAndRows.getValue();
+                }
             }
+            return Collections.emptyList();
+        }
+        try (Stream<E> rows = streamDataTableRows(name)) {
+            return rows.collect(Collectors.toList());
         }
-        return emptyList();
+    }
+
+    /**
+     * Read the rows of a data table lazily, without holding all of them in memory when they are kept
+     * in a {@link DataTableStore}. The returned stream should be closed once it is no longer needed.
+     */
+    @Incubating(since = "8.19.0")
+    public <E> Stream<E> streamDataTableRows(String name) {
+        DataTable<?> dataTable = getDataTable(name);
+        //noinspection unchecked
+        return dataTable == null ? Stream.empty() : (Stream<E>) rows(dataTable);
+    }
+
+    private Collection<DataTable<?>> allDataTables() {
+        if (dataTableStore == null) {
+            return dataTables.keySet();
+        }
+        Set<DataTable<?>> all = new LinkedHashSet<>(dataTables.keySet());
+        all.addAll(dataTableStore.getDataTables());
+        return all;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Stream<Object> rows(DataTable<?> dataTable) {
+        List<?> rows = dataTables.get(dataTable);
+        if (rows != null) {
+            return (Stream<Object>) rows.stream();
+        }
+        return dataTableStore == null ? Stream.empty() : (Stream<Object>) dataTableStore.getRows(dataTable);
     }
 
     public void exportDatatablesToCsv(Path filePath, ExecutionContext ctx) {
@@ -69,12 +138,11 @@ public void exportDatatablesToCsv(Path filePath, ExecutionContext ctx) {
         } catch (IOException e) {
             ctx.getOnError().accept(e);
         }
-        for (Map.Entry<DataTable<?>, List<?>> entry : dataTables.entrySet()) {
-            DataTable<?> dataTable = entry.getKey();
-            List<?> rows = entry.getValue();
+        for (DataTable<?> dataTable : allDataTables()) {
             File csv = filePath.resolve(dataTable.getName() + ".csv").toFile();
-            try (PrintWriter printWriter = new PrintWriter(new FileOutputStream(csv, false))) {
-                exportCsv(ctx, dataTable, printWriter::println, rows);
+            try (PrintWriter printWriter = new PrintWriter(new FileOutputStream(csv, false));
+                 Stream<Object> rows = rows(dataTable)) {
+                exportCsv(ctx, dataTable, printWriter::println, rows::iterator);
             } catch (FileNotFoundException e) {
                 ctx.getOnError().accept(e);
             }
@@ -83,6 +151,12 @@ public void exportDatatablesToCsv(Path filePath, ExecutionContext ctx) {
 
     public static void exportCsv(final ExecutionContext ctx, final DataTable<?> dataTable, final Consumer<String> output,
             final List<?> rows) {
+        exportCsv(ctx, dataTable, output, (Iterable<?>) rows);
+    }
+
+    @Incubating(since = "8.19.0")
+    public static void exportCsv(final ExecutionContext ctx, final DataTable<?> dataTable, final Consumer<String> output,
+            final Iterable<?> rows) {
         DataTableDescriptor descriptor = dataTableDescriptorFromDataTable(dataTable);
         List<String> fieldNames = new ArrayList<>();
         List<String> fieldTitles = new ArrayList<>();
@@ -99,7 +173,7 @@ public static void exportCsv(final ExecutionContext ctx, final DataTable<?> data
         exportRowData(output, rows, fieldNames, ctx);
     }
 
-    private static void exportRowData(Consumer<String> output, List<?> rows, List<String> fieldNames,
+    private static void exportRowData(Consumer<String> output, Iterable<?> rows, List<String> fieldNames,
             ExecutionContext ctx) {
         for (Object row : rows) {
             List<String> rowValues = new ArrayList<>();
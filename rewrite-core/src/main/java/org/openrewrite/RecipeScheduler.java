@@ -15,7 +15,9 @@
  */
 package org.openrewrite;
 
+import org.openrewrite.scheduling.ParallelEditExecutionContextView;
 import org.openrewrite.scheduling.RecipeRunCycle;
+import org.openrewrite.scheduling.UnchangedEdits;
 import org.openrewrite.scheduling.WatchableExecutionContext;
 import org.openrewrite.table.RecipeRunStats;
 import org.openrewrite.table.SourcesFileErrors;
@@ -24,6 +26,7 @@
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Stream;
 
 import static java.util.Collections.emptyMap;
@@ -41,7 +44,8 @@ public RecipeRun scheduleRun(Recipe recipe,
             LargeSourceSet after = runRecipeCycles(recipe, sourceSet, ctx, maxCycles, minCycles);
             return new RecipeRun(
                     after.getChangeset(),
-                    ctx.getMessage(ExecutionContext.DATA_TABLES, emptyMap())
+                    ctx.getMessage(ExecutionContext.DATA_TABLES, emptyMap()),
+                    ctx.getMessage(ExecutionContext.DATA_TABLE_STORE)
             );
         } finally {
             Path workingDirectoryRoot = ctx.getMessage(WORKING_DIRECTORY_ROOT);
@@ -54,12 +58,21 @@ public RecipeRun scheduleRun(Recipe recipe,
     private LargeSourceSet runRecipeCycles(Recipe recipe, LargeSourceSet sourceSet, ExecutionContext ctx, int maxCycles, int minCycles) {
         WatchableExecutionContext ctxWithWatch = new WatchableExecutionContext(ctx);
 
-        RecipeRunStats recipeRunStats = new RecipeRunStats(Recipe.noop());
+        RecipeRunStats recipeRunStats = new RecipeRunStats(Recipe.noop(), ctx.getMessage(ExecutionContext.PROFILE_RECIPES, true));
         SourcesFileErrors errorsTable = new SourcesFileErrors(Recipe.noop());
         SourcesFileResults sourceFileResults = new SourcesFileResults(Recipe.noop());
 
         LargeSourceSet after = sourceSet;
 
+        boolean parallelEdits = ParallelEditExecutionContextView.view(ctx).getParallelism() > 1;
+        if (parallelEdits && ctx.getMessage(ExecutionContext.DATA_TABLES) == null) {
+            // seed the data table store up front so that concurrent inserts don't race to create it
+            ctx.putMessage(ExecutionContext.DATA_TABLES, new ConcurrentHashMap<>());
+        }
+
+        UnchangedEdits unchangedEdits = ctx.getMessage(ExecutionContext.SKIP_UNCHANGED_SOURCE_FILES, false) ?
+                new UnchangedEdits() : null;
+
         for (int i = 1; i <= maxCycles; i++) {
             if (ctx.getMessage(PANIC) != null) {
                 break;
@@ -69,9 +82,13 @@ private LargeSourceSet runRecipeCycles(Recipe recipe, LargeSourceSet sourceSet,
             // single source applicable tests so that data can be shared at the root (especially for caching
             // use cases like sharing a `JavaTypeCache` between `JavaTemplate` parsers).
             Cursor rootCursor = new Cursor(null, Cursor.ROOT_VALUE);
+            if (parallelEdits) {
+                rootCursor.synchronizeMessages();
+            }
             try {
                 RecipeRunCycle<LargeSourceSet> cycle = new RecipeRunCycle<>(recipe, i, rootCursor, ctxWithWatch,
-                        recipeRunStats, sourceFileResults, errorsTable, LargeSourceSet::edit);
+                        recipeRunStats, sourceFileResults, errorsTable, LargeSourceSet::edit, LargeSourceSet::edit,
+                        unchangedEdits);
                 ctxWithWatch.putCycle(cycle);
                 after.beforeCycle(i == maxCycles);
 
@@ -18,6 +18,7 @@
 import lombok.Getter;
 import org.openrewrite.config.RecipeDescriptor;
 import org.openrewrite.internal.InMemoryDiffEntry;
+import org.openrewrite.internal.PatchWriter;
 import org.openrewrite.internal.lang.Nullable;
 import org.openrewrite.jgit.lib.FileMode;
 import org.openrewrite.marker.RecipesThatMadeChanges;
@@ -194,39 +195,8 @@ public String diff(@Nullable Path relativeTo, @Nullable PrintOutputCapture.Marke
 
     @Incubating(since = "7.34.0")
     public String diff(@Nullable Path relativeTo, @Nullable PrintOutputCapture.MarkerPrinter markerPrinter, @Nullable Boolean ignoreAllWhitespace) {
-        Path beforePath = before == null ? null : before.getSourcePath();
-        Path afterPath = null;
-        if (before == null && after == null) {
-            afterPath = (relativeTo == null ? Paths.get(".") : relativeTo).resolve("partial-" + System.nanoTime());
-        } else if (after != null) {
-            afterPath = after.getSourcePath();
-        }
-
-        PrintOutputCapture<Integer> out = markerPrinter == null ?
-                new PrintOutputCapture<>(0) :
-                new PrintOutputCapture<>(0, markerPrinter);
-
-        FileMode beforeMode = before != null && before.getFileAttributes() != null && before.getFileAttributes().isExecutable() ? FileMode.EXECUTABLE_FILE : FileMode.REGULAR_FILE;
-        FileMode afterMode = after != null && after.getFileAttributes() != null && after.getFileAttributes().isExecutable() ? FileMode.EXECUTABLE_FILE : FileMode.REGULAR_FILE;
-
-        Set<Recipe> recipeSet = new HashSet<>(recipes.size());
-        for (List<Recipe> rs : recipes) {
-            if (!rs.isEmpty()) {
-                recipeSet.add(rs.get(0));
-            }
-        }
-
-        try (InMemoryDiffEntry diffEntry = new InMemoryDiffEntry(
-                beforePath,
-                afterPath,
-                relativeTo,
-                before == null ? "" : before.printAll(out),
-                after == null ? "" : after.printAll(out.clone()),
-                recipeSet,
-                beforeMode,
-                afterMode
-        )) {
-            return diffEntry.getDiff(ignoreAllWhitespace);
+        try (PatchWriter patchWriter = new PatchWriter(relativeTo, markerPrinter, Boolean.TRUE.equals(ignoreAllWhitespace))) {
+            return patchWriter.diff(this);
         }
     }
 
@@ -15,11 +15,14 @@
  */
 package org.openrewrite;
 
-import org.openrewrite.internal.StringUtils;
 import org.openrewrite.internal.lang.Nullable;
 import org.openrewrite.style.NamedStyles;
 import org.openrewrite.style.Style;
 
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
@@ -36,12 +39,15 @@ public interface SourceFile extends Tree {
      * @return <code>true</code> if the parse-to-print loop is idempotent, <code>false</code> otherwise.
      */
     default boolean printEqualsInput(Parser.Input input, ExecutionContext ctx) {
-        String printed = printAll();
         Charset charset = getCharset();
-        if (charset != null) {
-            return printed.equals(StringUtils.readFully(input.getSource(ctx), charset));
+        try (Reader source = new InputStreamReader(input.getSource(ctx), charset == null ? StandardCharsets.UTF_8 : charset)) {
+            // compare while printing, so that neither the printed output nor the input is held in memory in full
+            PrintEqualsInputCapture capture = new PrintEqualsInputCapture(source);
+            printAll(capture);
+            return capture.isEqualToInput();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
-        return printed.equals(StringUtils.readFully(input.getSource(ctx)));
     }
 
     /**
@@ -71,8 +71,18 @@ public static <T extends Tree, P> TreeVisitor<T, P> noop() {
 
     private List<TreeVisitor<?, P>> afterVisit;
 
+    /**
+     * Meters are looked up once per visitor class, rather than each time a visitor is constructed or
+     * visits a source file.
+     */
+    private static final ClassValue<VisitorMeters> METERS = new ClassValue<VisitorMeters>() {
+        @Override
+        protected VisitorMeters computeValue(Class<?> type) {
+            return new VisitorMeters(type.getName());
+        }
+    };
+
     private int visitCount;
-    private final DistributionSummary visitCountSummary = DistributionSummary.builder("rewrite.visitor.visit.method.count").description("Visit methods called per source file visited.").tag("visitor.class", getClass().getName()).register(Metrics.globalRegistry);
 
     public boolean isAcceptable(SourceFile sourceFile, P p) {
         return true;
@@ -266,8 +276,9 @@ public T visit(@Nullable Tree tree, P p) {
             setCursor(cursor.getParent());
 
             if (topLevel) {
-                sample.stop(Timer.builder("rewrite.visitor.visit").tag("visitor.class", getClass().getName()).register(Metrics.globalRegistry));
-                visitCountSummary.record(visitCount);
+                VisitorMeters meters = METERS.get(getClass());
+                sample.stop(meters.visit);
+                meters.visitCount.record(visitCount);
 
                 if (t != null && afterVisit != null) {
                     for (TreeVisitor<?, P> v : afterVisit) {
@@ -279,7 +290,7 @@ public T visit(@Nullable Tree tree, P p) {
                     }
                 }
 
-                sample.stop(Timer.builder("rewrite.visitor.visit.cumulative").tag("visitor.class", getClass().getName()).register(Metrics.globalRegistry));
+                sample.stop(meters.visitCumulative);
                 afterVisit = null;
                 visitCount = 0;
             }
@@ -396,4 +407,16 @@ public <R extends Tree, V extends TreeVisitor<R, P>> V adapt(Class<? extends V>
     public void stopAfterPreVisit() {
         getCursor().putMessage(STOP_AFTER_PRE_VISIT, true);
     }
+
+    private static class VisitorMeters {
+        private final Timer visit;
+        private final Timer visitCumulative;
+        private final DistributionSummary visitCount;
+
+        private VisitorMeters(String visitorClass) {
+            visit = Timer.builder("rewrite.visitor.visit").tag("visitor.class", visitorClass).register(Metrics.globalRegistry);
+            visitCumulative = Timer.builder("rewrite.visitor.visit.cumulative").tag("visitor.class", visitorClass).register(Metrics.globalRegistry);
+            visitCount = DistributionSummary.builder("rewrite.visitor.visit.method.count").description("Visit methods called per source file visited.").tag("visitor.class", visitorClass).register(Metrics.globalRegistry);
+        }
+    }
 }
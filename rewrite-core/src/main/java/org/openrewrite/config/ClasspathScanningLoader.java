@@ -103,6 +103,21 @@ public static ClasspathScanningLoader onlyYaml(Properties properties) {
         return classpathScanningLoader;
     }
 
+    /**
+     * Construct a ClasspathScanningLoader that scans the directories on the runtime classpath of the current java
+     * process for recipes, but none of its jars.
+     *
+     * @param properties                Yaml placeholder properties
+     * @param dependencyResourceLoaders Loaders for the recipes of the jars on the classpath
+     */
+    public static ClasspathScanningLoader onlyDirectories(Properties properties, Collection<? extends ResourceLoader> dependencyResourceLoaders) {
+        ClasspathScanningLoader classpathScanningLoader = new ClasspathScanningLoader();
+        classpathScanningLoader.scanClasses(new ClassGraph().disableJarScanning(), ClasspathScanningLoader.class.getClassLoader());
+        classpathScanningLoader.scanYaml(new ClassGraph().disableJarScanning().acceptPaths("META-INF/rewrite"),
+                properties, dependencyResourceLoaders, null);
+        return classpathScanningLoader;
+    }
+
     private ClasspathScanningLoader() {
     }
 
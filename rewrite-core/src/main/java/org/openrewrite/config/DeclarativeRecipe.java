@@ -125,6 +125,27 @@ private void initialize(List<Recipe> uninitialized, List<Recipe> initialized, Co
         }
     }
 
+    /**
+     * @return The names of the recipes that {@link #initialize} looks up among the available recipes, both those
+     * this recipe refers to by name and those that the declarative recipes it configures inline refer to.
+     */
+    Set<String> getRecipeReferences() {
+        Set<String> references = new LinkedHashSet<>();
+        addRecipeReferences(uninitializedRecipes, references);
+        addRecipeReferences(uninitializedPreconditions, references);
+        return references;
+    }
+
+    private static void addRecipeReferences(List<Recipe> uninitialized, Set<String> references) {
+        for (Recipe recipe : uninitialized) {
+            if (recipe instanceof LazyLoadedRecipe) {
+                references.add(((LazyLoadedRecipe) recipe).getRecipeFqn());
+            } else if (recipe instanceof DeclarativeRecipe) {
+                references.addAll(((DeclarativeRecipe) recipe).getRecipeReferences());
+            }
+        }
+    }
+
     @Value
     @EqualsAndHashCode(callSuper = false)
     @RequiredArgsConstructor
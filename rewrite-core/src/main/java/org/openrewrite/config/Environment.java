@@ -15,10 +15,13 @@
  */
 package org.openrewrite.config;
 
+import io.github.classgraph.ClassGraph;
 import org.apache.commons.lang3.StringUtils;
 import org.openrewrite.Contributor;
+import org.openrewrite.Incubating;
 import org.openrewrite.Recipe;
 import org.openrewrite.RecipeException;
+import org.openrewrite.internal.lang.Nullable;
 import org.openrewrite.style.NamedStyles;
 
 import java.io.File;
@@ -29,10 +32,10 @@
 import java.util.*;
 
 import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
 import static java.util.Comparator.comparingInt;
-import static java.util.function.Function.identity;
 import static java.util.stream.Collectors.toList;
-import static java.util.stream.Collectors.toMap;
+import static java.util.stream.Collectors.toSet;
 
 public class Environment {
     private final Collection<? extends ResourceLoader> resourceLoaders;
@@ -137,12 +140,16 @@ public Collection<RecipeDescriptor> listRecipeDescriptors() {
         return result;
     }
 
+    /**
+     * Construct and initialize only the named recipes and the recipes they include, rather than all recipes, which
+     * matters for loaders such as {@link RecipeCatalogLoader} that construct recipes on demand.
+     */
     public Recipe activateRecipes(Iterable<String> activeRecipes) {
-        Map<String, Recipe> recipesByName = listRecipes().stream().collect(toMap(Recipe::getName, identity()));
+        RecipeActivation activation = new RecipeActivation();
         List<String> recipesNotFound = new ArrayList<>();
         List<Recipe> activatedRecipes = new ArrayList<>();
         for (String activeRecipe : activeRecipes) {
-            Recipe recipe = recipesByName.get(activeRecipe);
+            Recipe recipe = activation.activate(activeRecipe);
             if (recipe == null) {
                 recipesNotFound.add(activeRecipe);
             } else {
@@ -150,8 +157,9 @@ public Recipe activateRecipes(Iterable<String> activeRecipes) {
             }
         }
         if (!recipesNotFound.isEmpty()) {
+            Set<String> recipeNames = listRecipes().stream().map(Recipe::getName).collect(toSet());
             List<String> suggestions = recipesNotFound.stream()
-                    .map(r -> recipesByName.keySet().stream()
+                    .map(r -> recipeNames.stream()
                             .min(comparingInt(a -> StringUtils.getLevenshteinDistance(a, r)))
                             .orElse(r))
                     .collect(toList());
@@ -163,6 +171,81 @@ public Recipe activateRecipes(Iterable<String> activeRecipes) {
         return new CompositeRecipe(activatedRecipes);
     }
 
+    /**
+     * Resolves recipes by name the way {@link #listRecipes()} does, looking in the dependency resource loaders
+     * before the resource loaders, but only for the recipes that are activated and those they include.
+     */
+    private class RecipeActivation {
+        private final Map<String, List<Contributor>> recipeToContributors = new HashMap<>();
+        private final Map<String, List<RecipeExample>> recipeExamples = new HashMap<>();
+        private final Map<ResourceLoader, Map<String, Recipe>> recipesByLoader = new IdentityHashMap<>();
+
+        RecipeActivation() {
+            for (ResourceLoader r : resourceLoaders) {
+                if (r instanceof YamlResourceLoader) {
+                    recipeExamples.putAll(r.listRecipeExamples());
+                    recipeToContributors.putAll(r.listContributors());
+                }
+            }
+        }
+
+        @Nullable
+        Recipe activate(String name) {
+            Recipe recipe = find(resourceLoaders, name);
+            if (recipe instanceof DeclarativeRecipe) {
+                List<Recipe> availableRecipes = new ArrayList<>();
+                Set<String> seen = new HashSet<>();
+                Deque<String> references = new ArrayDeque<>(((DeclarativeRecipe) recipe).getRecipeReferences());
+                while (!references.isEmpty()) {
+                    String reference = references.poll();
+                    if (!seen.add(reference)) {
+                        continue;
+                    }
+                    Recipe available = find(dependencyResourceLoaders, reference);
+                    if (available == null) {
+                        available = find(resourceLoaders, reference);
+                    }
+                    if (available != null) {
+                        availableRecipes.add(available);
+                        if (available instanceof DeclarativeRecipe) {
+                            references.addAll(((DeclarativeRecipe) available).getRecipeReferences());
+                        }
+                    }
+                }
+                ((DeclarativeRecipe) recipe).initialize(availableRecipes, recipeToContributors);
+            }
+            return recipe;
+        }
+
+        @Nullable
+        private Recipe find(Collection<? extends ResourceLoader> loaders, String name) {
+            for (ResourceLoader loader : loaders) {
+                Recipe recipe;
+                if (loader instanceof RecipeCatalogLoader) {
+                    recipe = ((RecipeCatalogLoader) loader).loadRecipe(name);
+                } else {
+                    recipe = recipesByLoader.computeIfAbsent(loader, l -> {
+                        Map<String, Recipe> byName = new HashMap<>();
+                        for (Recipe r : l.listRecipes()) {
+                            byName.putIfAbsent(r.getName(), r);
+                        }
+                        return byName;
+                    }).get(name);
+                }
+                if (recipe != null) {
+                    if (loaders == resourceLoaders) {
+                        recipe.setContributors(recipeToContributors.get(recipe.getName()));
+                        if (recipeExamples.containsKey(recipe.getName())) {
+                            recipe.setExamples(recipeExamples.get(recipe.getName()));
+                        }
+                    }
+                    return recipe;
+                }
+            }
+            return null;
+        }
+    }
+
     public Recipe activateRecipes(String... activeRecipes) {
         return activateRecipes(Arrays.asList(activeRecipes));
     }
@@ -231,6 +314,41 @@ public Builder scanRuntimeClasspath(String... acceptPackages) {
             return load(new ClasspathScanningLoader(properties, acceptPackages));
         }
 
+        /**
+         * Like {@link #scanRuntimeClasspath(String...)}, but keeps a {@link RecipeCatalog} of each jar on the runtime
+         * classpath in a directory, so that a jar is only scanned again when it, or a jar with recipes that its
+         * recipes include, changed since the last time. Jars are only hashed when their size or modification time
+         * changed. Directories on the classpath have no single artifact to fingerprint, so they are always scanned.
+         *
+         * @param catalogDirectory The directory to keep catalogs in.
+         * @return This builder.
+         */
+        @Incubating(since = "8.19.0")
+        public Builder scanRuntimeClasspath(Path catalogDirectory) {
+            ClassLoader classLoader = ClasspathScanningLoader.class.getClassLoader();
+            List<RecipeCatalogLoader> catalogLoaders = new ArrayList<>();
+            ResourceLoader runtimeClasspath = null;
+            Map<Path, RecipeCatalog.JarFingerprint> fingerprints = new HashMap<>();
+            for (File file : new ClassGraph().getClasspathFiles()) {
+                if (!file.isFile() || !file.getName().endsWith(".jar")) {
+                    continue;
+                }
+                Path jar = file.toPath();
+                RecipeCatalog catalog = RecipeCatalog.loadIfCurrent(jar, properties, catalogDirectory, fingerprints);
+                if (catalog == null) {
+                    if (runtimeClasspath == null) {
+                        // to describe declarative recipes that include recipes from elsewhere on the classpath
+                        runtimeClasspath = new ClasspathScanningLoader(properties, new String[0]);
+                    }
+                    catalog = RecipeCatalog.load(jar, properties, singletonList(runtimeClasspath), classLoader,
+                            catalogDirectory, fingerprints);
+                }
+                catalogLoaders.add(new RecipeCatalogLoader(catalog, properties, classLoader));
+            }
+            resourceLoaders.addAll(catalogLoaders);
+            return load(ClasspathScanningLoader.onlyDirectories(properties, catalogLoaders));
+        }
+
         @SuppressWarnings("unused")
         public Builder scanClassLoader(ClassLoader classLoader) {
             return load(new ClasspathScanningLoader(properties, classLoader));
@@ -255,6 +373,29 @@ public Builder scanJar(Path jar, Collection<Path> dependencies, ClassLoader clas
             return load(new ClasspathScanningLoader(jar, properties, list, classLoader), list);
         }
 
+        /**
+         * Like {@link #scanJar(Path, Collection, ClassLoader)}, but keeps a {@link RecipeCatalog} of each jar in a
+         * directory, so that a jar is only scanned when it, a dependency with recipes that its recipes include or the
+         * placeholder properties changed since the last time.
+         * Recipes are then constructed as they are activated rather than up front.
+         *
+         * @param jar              A path to a jar file to load recipes from.
+         * @param classLoader      A classloader that is populated with the transitive dependencies of the jar.
+         * @param catalogDirectory The directory to keep catalogs in.
+         * @return This builder.
+         */
+        @Incubating(since = "8.19.0")
+        public Builder scanJar(Path jar, Collection<Path> dependencies, ClassLoader classLoader, Path catalogDirectory) {
+            List<RecipeCatalogLoader> list = new ArrayList<>();
+            Map<Path, RecipeCatalog.JarFingerprint> fingerprints = new HashMap<>();
+            for (Path dep : dependencies) {
+                RecipeCatalog catalog = RecipeCatalog.load(dep, properties, emptyList(), classLoader, catalogDirectory, fingerprints);
+                list.add(new RecipeCatalogLoader(catalog, properties, classLoader));
+            }
+            RecipeCatalog catalog = RecipeCatalog.load(jar, properties, list, classLoader, catalogDirectory, fingerprints);
+            return load(new RecipeCatalogLoader(catalog, properties, classLoader), list);
+        }
+
         @SuppressWarnings("unused")
         public Builder scanUserHome() {
             File userHomeRewriteConfig = new File(System.getProperty("user.home") + "/.rewrite/rewrite.yml");
@@ -0,0 +1,474 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.config;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.cfg.ConstructorDetector;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.paramnames.ParameterNamesModule;
+import lombok.Value;
+import lombok.With;
+import org.openrewrite.Checksum;
+import org.openrewrite.Incubating;
+import org.openrewrite.Recipe;
+import org.openrewrite.internal.lang.Nullable;
+import org.openrewrite.style.NamedStyles;
+
+import java.io.*;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystemNotFoundException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+import static java.util.Collections.singletonList;
+import static org.openrewrite.RecipeSerializer.maybeAddKotlinModule;
+
+/**
+ * A snapshot of what a {@link ClasspathScanningLoader} finds in a recipe jar: the descriptors of all of its recipes
+ * and categories, the names of its recipe and style classes, and the YAML sources of its declarative recipes and
+ * styles. A {@link RecipeCatalogLoader} answers questions about recipes from the snapshot, and only constructs those
+ * recipes and styles that are asked for.
+ * <p>
+ * A catalog is kept in a directory with {@link #load(Path, Properties, Collection, ClassLoader, Path, Map)}, and is
+ * only valid for the YAML placeholder properties and the content of the jar it was made from, and of the other jars
+ * whose recipes its recipes include, since those are part of how its recipes are described. Whether a jar still has
+ * the same content is decided by its {@link JarFingerprint}, which is only hashed again when its size or
+ * modification time changed.
+ */
+@Incubating(since = "8.19.0")
+@Value
+public class RecipeCatalog {
+    private static final String CATALOG_SUFFIX = ".catalog";
+
+    /**
+     * Incremented whenever the catalog format changes, so that catalogs written by older versions are scanned again.
+     */
+    private static final String FORMAT_VERSION = "2";
+
+    private static final ObjectMapper MAPPER;
+
+    static {
+        SmileFactory f = new SmileFactory();
+        f.configure(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES, true);
+
+        ObjectMapper m = JsonMapper.builder(f)
+                .constructorDetector(ConstructorDetector.USE_PROPERTIES_BASED)
+                .build()
+                .registerModule(new ParameterNamesModule())
+                .registerModule(new JavaTimeModule())
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .setSerializationInclusion(JsonInclude.Include.NON_NULL);
+        maybeAddKotlinModule(m);
+
+        MAPPER = m.setVisibility(m.getSerializationConfig().getDefaultVisibilityChecker()
+                .withCreatorVisibility(JsonAutoDetect.Visibility.PUBLIC_ONLY)
+                .withGetterVisibility(JsonAutoDetect.Visibility.NONE)
+                .withIsGetterVisibility(JsonAutoDetect.Visibility.NONE)
+                .withFieldVisibility(JsonAutoDetect.Visibility.ANY));
+    }
+
+    /**
+     * A hash of the catalog format and the YAML placeholder properties.
+     */
+    String propertiesChecksum;
+
+    @With
+    JarFingerprint jarFingerprint;
+
+    /**
+     * The other jars that recipes of the jar include recipes from, by absolute path.
+     */
+    @With
+    Map<String, JarFingerprint> referencedJars;
+
+    /**
+     * The class name of each recipe that is not declarative, by recipe name.
+     */
+    Map<String, String> recipeClasses;
+
+    List<String> styleClasses;
+
+    List<YamlResource> yamlResources;
+
+    /**
+     * The descriptors of all recipes in the jar, including declarative recipes, with their contributors and examples.
+     */
+    List<RecipeDescriptor> recipeDescriptors;
+
+    List<CategoryDescriptor> categoryDescriptors;
+
+    /**
+     * What a jar looked like when a catalog was made from it. The size and modification time are cheap to compare,
+     * and the content is only hashed again when either of them changed.
+     */
+    @Value
+    public static class JarFingerprint {
+        long size;
+        long lastModified;
+        String contentChecksum;
+
+        /**
+         * @param jar          A path to a jar file.
+         * @param fingerprints The fingerprints of jars already taken during this load, by absolute path, so
+         *                     that a jar is hashed at most once. The fingerprint of this jar is added.
+         * @return The fingerprint of the jar as it is now.
+         */
+        public static JarFingerprint of(Path jar, Map<Path, JarFingerprint> fingerprints) {
+            Path path = normalize(jar);
+            JarFingerprint known = fingerprints.get(path);
+            if (known != null) {
+                return known;
+            }
+            try {
+                JarFingerprint fingerprint = new JarFingerprint(Files.size(path),
+                        Files.getLastModifiedTime(path).toMillis(), contentChecksum(path));
+                fingerprints.put(path, fingerprint);
+                return fingerprint;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        /**
+         * @return The fingerprint of the jar as it is now if its content is the same as when this fingerprint was
+         * taken, or {@code null} if it changed or is gone.
+         */
+        @Nullable
+        JarFingerprint current(Path jar, Map<Path, JarFingerprint> fingerprints) {
+            Path path = normalize(jar);
+            JarFingerprint now = fingerprints.get(path);
+            if (now == null) {
+                try {
+                    if (!Files.isRegularFile(path)) {
+                        return null;
+                    }
+                    long size = Files.size(path);
+                    long lastModified = Files.getLastModifiedTime(path).toMillis();
+                    now = size == this.size && lastModified == this.lastModified ?
+                            this :
+                            new JarFingerprint(size, lastModified, contentChecksum(path));
+                } catch (IOException | UncheckedIOException e) {
+                    return null;
+                }
+                fingerprints.put(path, now);
+            }
+            return now.contentChecksum.equals(contentChecksum) ? now : null;
+        }
+    }
+
+    @Value
+    public static class YamlResource {
+        URI source;
+
+        /**
+         * The YAML as it appears in the jar, before placeholders are replaced.
+         */
+        String yaml;
+
+        List<String> recipeNames;
+    }
+
+    /**
+     * Read the catalog of a jar from a catalog directory, or scan the jar and write its catalog there if the
+     * directory holds none for it or the one it holds is stale.
+     *
+     * @param jar                       A path to a jar file to catalog.
+     * @param properties                YAML placeholder properties.
+     * @param dependencyResourceLoaders Loaders for the recipes of the jar's dependencies, used to describe declarative
+     *                                  recipes that include them when the jar has to be scanned.
+     * @param classLoader               A classloader that is populated with the transitive dependencies of the jar.
+     * @param catalogDirectory          The directory to keep catalogs in, which is created if it doesn't exist.
+     * @param fingerprints              The fingerprints of jars already taken while loading other catalogs, by
+     *                                  absolute path, so that a jar is hashed at most once. New ones are added.
+     * @return The catalog of the jar.
+     */
+    public static RecipeCatalog load(Path jar, Properties properties,
+                                     Collection<? extends ResourceLoader> dependencyResourceLoaders,
+                                     ClassLoader classLoader, Path catalogDirectory,
+                                     Map<Path, JarFingerprint> fingerprints) {
+        RecipeCatalog catalog = loadIfCurrent(jar, properties, catalogDirectory, fingerprints);
+        if (catalog != null) {
+            return catalog;
+        }
+
+        catalog = scan(jar, properties, dependencyResourceLoaders, classLoader, fingerprints);
+        write(catalogDirectory, catalogFile(jar, catalogDirectory), catalog);
+        return catalog;
+    }
+
+    /**
+     * Read the catalog of a jar from a catalog directory, without scanning the jar. A catalog that is current, but
+     * of a jar whose size or modification time changed without a change to its content, is written back with the
+     * new fingerprint, so that the jar is not hashed again the next time.
+     *
+     * @param jar              A path to a jar file.
+     * @param properties       YAML placeholder properties.
+     * @param catalogDirectory The directory catalogs are kept in.
+     * @param fingerprints     The fingerprints of jars already taken while loading other catalogs, by absolute path.
+     * @return The catalog of the jar, or {@code null} if the directory holds none for it or the one it holds is stale.
+     */
+    @Nullable
+    public static RecipeCatalog loadIfCurrent(Path jar, Properties properties, Path catalogDirectory,
+                                              Map<Path, JarFingerprint> fingerprints) {
+        Path catalogFile = catalogFile(jar, catalogDirectory);
+        RecipeCatalog catalog = read(catalogFile);
+        if (catalog == null || !catalog.getPropertiesChecksum().equals(propertiesChecksum(properties))) {
+            return null;
+        }
+
+        JarFingerprint jarFingerprint = catalog.getJarFingerprint().current(jar, fingerprints);
+        if (jarFingerprint == null) {
+            return null;
+        }
+        Map<String, JarFingerprint> referencedJars = new TreeMap<>();
+        for (Map.Entry<String, JarFingerprint> referenced : catalog.getReferencedJars().entrySet()) {
+            JarFingerprint current = referenced.getValue().current(Paths.get(referenced.getKey()), fingerprints);
+            if (current == null) {
+                return null;
+            }
+            referencedJars.put(referenced.getKey(), current);
+        }
+
+        if (!jarFingerprint.equals(catalog.getJarFingerprint()) || !referencedJars.equals(catalog.getReferencedJars())) {
+            catalog = catalog.withJarFingerprint(jarFingerprint).withReferencedJars(referencedJars);
+            write(catalogDirectory, catalogFile, catalog);
+        }
+        return catalog;
+    }
+
+    /**
+     * Scan a jar with a {@link ClasspathScanningLoader}, constructing all of its recipes and styles once to
+     * describe them.
+     */
+    public static RecipeCatalog scan(Path jar, Properties properties,
+                                     Collection<? extends ResourceLoader> dependencyResourceLoaders,
+                                     ClassLoader classLoader, Map<Path, JarFingerprint> fingerprints) {
+        ClasspathScanningLoader loader = new ClasspathScanningLoader(jar, properties, dependencyResourceLoaders, classLoader);
+
+        Map<String, String> recipeClasses = new LinkedHashMap<>();
+        for (Recipe recipe : loader.listRecipes()) {
+            if (!(recipe instanceof DeclarativeRecipe)) {
+                recipeClasses.putIfAbsent(recipe.getName(), recipe.getClass().getName());
+            }
+        }
+
+        List<String> styleClasses = new ArrayList<>();
+        for (NamedStyles style : loader.listStyles()) {
+            if (!(style instanceof DeclarativeNamedStyles)) {
+                styleClasses.add(style.getClass().getName());
+            }
+        }
+
+        List<YamlResource> yamlResources = new ArrayList<>();
+        try (JarFile jarFile = new JarFile(jar.toFile())) {
+            // in the same order as the classpath scan, so that the first of two recipes with the same name wins
+            for (String extension : Arrays.asList(".yml", ".yaml")) {
+                for (Enumeration<JarEntry> entries = jarFile.entries(); entries.hasMoreElements(); ) {
+                    JarEntry entry = entries.nextElement();
+                    if (entry.isDirectory() || !entry.getName().startsWith("META-INF/rewrite/") ||
+                        !entry.getName().endsWith(extension)) {
+                        continue;
+                    }
+                    URI source = URI.create("jar:" + jar.toUri() + "!/" + entry.getName());
+                    String yaml;
+                    try (InputStream is = jarFile.getInputStream(entry)) {
+                        yaml = new String(readAllBytes(is), StandardCharsets.UTF_8);
+                    }
+                    List<String> recipeNames = new ArrayList<>();
+                    YamlResourceLoader yamlLoader = new YamlResourceLoader(
+                            new ByteArrayInputStream(yaml.getBytes(StandardCharsets.UTF_8)), source, properties, classLoader);
+                    for (Recipe recipe : yamlLoader.listRecipes()) {
+                        recipeNames.add(recipe.getName());
+                    }
+                    yamlResources.add(new YamlResource(source, yaml, recipeNames));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        List<RecipeDescriptor> recipeDescriptors = new ArrayList<>(new Environment(singletonList(loader)).listRecipeDescriptors());
+        Set<Path> referencedPaths = new TreeSet<>();
+        addReferencedJars(recipeDescriptors, referencedPaths);
+        referencedPaths.remove(normalize(jar));
+        Map<String, JarFingerprint> referencedJars = new TreeMap<>();
+        for (Path referenced : referencedPaths) {
+            referencedJars.put(referenced.toString(), JarFingerprint.of(referenced, fingerprints));
+        }
+
+        return new RecipeCatalog(
+                propertiesChecksum(properties),
+                JarFingerprint.of(jar, fingerprints),
+                referencedJars,
+                recipeClasses,
+                styleClasses,
+                yamlResources,
+                recipeDescriptors,
+                new ArrayList<>(loader.listCategoryDescriptors())
+        );
+    }
+
+    /**
+     * Collect the jars that the recipes described, and the recipes they include, come from.
+     */
+    private static void addReferencedJars(List<RecipeDescriptor> recipeDescriptors, Set<Path> jars) {
+        for (RecipeDescriptor recipeDescriptor : recipeDescriptors) {
+            Path jar = jarOf(recipeDescriptor.getSource());
+            if (jar != null) {
+                jars.add(jar);
+            }
+            addReferencedJars(recipeDescriptor.getRecipeList(), jars);
+        }
+    }
+
+    /**
+     * @param source The source of a recipe, which is the jar of its class or the YAML resource that declares it.
+     * @return The jar the recipe comes from, or {@code null} if it comes from elsewhere, such as a directory.
+     */
+    @Nullable
+    private static Path jarOf(@Nullable URI source) {
+        if (source == null) {
+            return null;
+        }
+        try {
+            URI file = source;
+            if ("jar".equals(source.getScheme())) {
+                String path = source.getRawSchemeSpecificPart();
+                int separator = path.indexOf("!/");
+                file = URI.create(separator < 0 ? path : path.substring(0, separator));
+            }
+            if (!"file".equals(file.getScheme()) || file.getPath() == null || !file.getPath().endsWith(".jar")) {
+                return null;
+            }
+            return normalize(Paths.get(file));
+        } catch (IllegalArgumentException | FileSystemNotFoundException e) {
+            return null;
+        }
+    }
+
+    private static String propertiesChecksum(Properties properties) {
+        MessageDigest md = sha256();
+        update(md, FORMAT_VERSION);
+        for (String name : new TreeSet<>(properties.stringPropertyNames())) {
+            update(md, name);
+            update(md, properties.getProperty(name));
+        }
+        return new Checksum("SHA-256", md.digest()).getHexValue();
+    }
+
+    /**
+     * @return A hash of the bytes of a jar alone.
+     */
+    public static String contentChecksum(Path jar) {
+        MessageDigest md = sha256();
+        try (InputStream is = Files.newInputStream(jar)) {
+            byte[] buffer = new byte[8192];
+            int n;
+            while ((n = is.read(buffer)) != -1) {
+                md.update(buffer, 0, n);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return new Checksum("SHA-256", md.digest()).getHexValue();
+    }
+
+    /**
+     * Catalogs are named for the absolute path of their jar, so that jars of the same name in different directories,
+     * like the build output of the modules of one project, don't replace each other's catalog.
+     */
+    private static Path catalogFile(Path jar, Path catalogDirectory) {
+        MessageDigest md = sha256();
+        update(md, normalize(jar).toString());
+        String pathHash = new Checksum("SHA-256", md.digest()).getHexValue().substring(0, 16);
+        return catalogDirectory.resolve(jar.getFileName() + "-" + pathHash + CATALOG_SUFFIX);
+    }
+
+    @Nullable
+    private static RecipeCatalog read(Path catalogFile) {
+        if (!Files.exists(catalogFile)) {
+            return null;
+        }
+        try (InputStream is = Files.newInputStream(catalogFile)) {
+            return MAPPER.readValue(is, RecipeCatalog.class);
+        } catch (IOException e) {
+            // written by an incompatible version, or truncated, so it will be replaced
+            return null;
+        }
+    }
+
+    private static void write(Path catalogDirectory, Path catalogFile, RecipeCatalog catalog) {
+        Path temp = null;
+        try {
+            Files.createDirectories(catalogDirectory);
+            temp = Files.createTempFile(catalogDirectory, catalogFile.getFileName().toString(), ".tmp");
+            try (OutputStream os = Files.newOutputStream(temp)) {
+                MAPPER.writeValue(os, catalog);
+            }
+            Files.move(temp, catalogFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            // the jar will just be scanned again next time
+            if (temp != null) {
+                try {
+                    Files.deleteIfExists(temp);
+                } catch (IOException ignored) {
+                    // left for the next write to this directory to replace
+                }
+            }
+        }
+    }
+
+    private static Path normalize(Path path) {
+        return path.toAbsolutePath().normalize();
+    }
+
+    private static byte[] readAllBytes(InputStream is) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        byte[] data = new byte[8192];
+        int n;
+        while ((n = is.read(data)) != -1) {
+            buffer.write(data, 0, n);
+        }
+        return buffer.toByteArray();
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void update(MessageDigest md, String value) {
+        md.update(value.getBytes(StandardCharsets.UTF_8));
+        md.update((byte) 0);
+    }
+}
@@ -0,0 +1,189 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.config;
+
+import org.openrewrite.Contributor;
+import org.openrewrite.Incubating;
+import org.openrewrite.Recipe;
+import org.openrewrite.internal.RecipeIntrospectionUtils;
+import org.openrewrite.internal.lang.Nullable;
+import org.openrewrite.style.NamedStyles;
+
+import java.io.ByteArrayInputStream;
+import java.lang.reflect.Constructor;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+import static org.openrewrite.internal.RecipeIntrospectionUtils.constructRecipe;
+
+/**
+ * Loads recipes, styles and descriptors from a {@link RecipeCatalog}. Descriptors are returned as the catalog
+ * holds them, and a recipe is only constructed when it is listed or loaded by name, which
+ * {@link Environment#activateRecipes(Iterable)} does for just the recipes it activates and the recipes they include.
+ */
+@Incubating(since = "8.19.0")
+public class RecipeCatalogLoader implements ResourceLoader {
+    private final RecipeCatalog catalog;
+    private final Properties properties;
+    private final ClassLoader classLoader;
+
+    private final Map<String, Recipe> recipes = new HashMap<>();
+
+    /**
+     * Parallel to the YAML resources of the catalog, and filled in as each is first needed.
+     */
+    private final YamlResourceLoader[] yamlResourceLoaders;
+
+    @Nullable
+    private List<NamedStyles> styles;
+
+    /**
+     * @param catalog     The catalog of a jar.
+     * @param properties  YAML placeholder properties.
+     * @param classLoader A classloader that is populated with the jar and its transitive dependencies.
+     */
+    public RecipeCatalogLoader(RecipeCatalog catalog, Properties properties, ClassLoader classLoader) {
+        this.catalog = catalog;
+        this.properties = properties;
+        this.classLoader = classLoader;
+        this.yamlResourceLoaders = new YamlResourceLoader[catalog.getYamlResources().size()];
+    }
+
+    public RecipeCatalog getCatalog() {
+        return catalog;
+    }
+
+    /**
+     * @param name The name of a recipe.
+     * @return The recipe, constructed the first time it is asked for, or {@code null} if the catalog has no recipe
+     * of this name.
+     */
+    @Nullable
+    public Recipe loadRecipe(String name) {
+        Recipe recipe = recipes.get(name);
+        if (recipe != null) {
+            return recipe;
+        }
+
+        String className = catalog.getRecipeClasses().get(name);
+        if (className != null) {
+            recipe = constructRecipe(loadClass(className));
+            recipes.put(name, recipe);
+            return recipe;
+        }
+
+        List<RecipeCatalog.YamlResource> yamlResources = catalog.getYamlResources();
+        for (int i = 0; i < yamlResources.size(); i++) {
+            if (yamlResources.get(i).getRecipeNames().contains(name)) {
+                // all recipes of a YAML resource are constructed together
+                for (Recipe declarative : yamlResourceLoader(i).listRecipes()) {
+                    recipes.putIfAbsent(declarative.getName(), declarative);
+                }
+                return recipes.get(name);
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public Collection<Recipe> listRecipes() {
+        Set<Recipe> all = new LinkedHashSet<>();
+        for (String name : catalog.getRecipeClasses().keySet()) {
+            all.add(loadRecipe(name));
+        }
+        for (RecipeCatalog.YamlResource yamlResource : catalog.getYamlResources()) {
+            for (String name : yamlResource.getRecipeNames()) {
+                Recipe recipe = loadRecipe(name);
+                if (recipe != null) {
+                    all.add(recipe);
+                }
+            }
+        }
+        return all;
+    }
+
+    @Override
+    public Collection<RecipeDescriptor> listRecipeDescriptors() {
+        return catalog.getRecipeDescriptors();
+    }
+
+    @Override
+    public Collection<NamedStyles> listStyles() {
+        if (styles == null) {
+            List<NamedStyles> loaded = new ArrayList<>();
+            for (String className : catalog.getStyleClasses()) {
+                Constructor<?> constructor = RecipeIntrospectionUtils.getZeroArgsConstructor(loadClass(className));
+                if (constructor != null) {
+                    constructor.setAccessible(true);
+                    try {
+                        loaded.add((NamedStyles) constructor.newInstance());
+                    } catch (Exception e) {
+                        throw new RuntimeException(e);
+                    }
+                }
+            }
+            for (int i = 0; i < yamlResourceLoaders.length; i++) {
+                loaded.addAll(yamlResourceLoader(i).listStyles());
+            }
+            styles = loaded;
+        }
+        return styles;
+    }
+
+    @Override
+    public Collection<CategoryDescriptor> listCategoryDescriptors() {
+        return catalog.getCategoryDescriptors();
+    }
+
+    @Override
+    public Map<String, List<Contributor>> listContributors() {
+        Map<String, List<Contributor>> contributors = new HashMap<>();
+        for (int i = 0; i < yamlResourceLoaders.length; i++) {
+            contributors.putAll(yamlResourceLoader(i).listContributors());
+        }
+        return contributors;
+    }
+
+    @Override
+    public Map<String, List<RecipeExample>> listRecipeExamples() {
+        Map<String, List<RecipeExample>> examples = new HashMap<>();
+        for (int i = 0; i < yamlResourceLoaders.length; i++) {
+            examples.putAll(yamlResourceLoader(i).listRecipeExamples());
+        }
+        return examples;
+    }
+
+    private YamlResourceLoader yamlResourceLoader(int i) {
+        YamlResourceLoader yamlResourceLoader = yamlResourceLoaders[i];
+        if (yamlResourceLoader == null) {
+            RecipeCatalog.YamlResource yamlResource = catalog.getYamlResources().get(i);
+            yamlResourceLoader = new YamlResourceLoader(
+                    new ByteArrayInputStream(yamlResource.getYaml().getBytes(StandardCharsets.UTF_8)),
+                    yamlResource.getSource(), properties, classLoader);
+            yamlResourceLoaders[i] = yamlResourceLoader;
+        }
+        return yamlResourceLoader;
+    }
+
+    private Class<?> loadClass(String className) {
+        try {
+            return Class.forName(className, false, classLoader);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException("The recipe catalog refers to " + className +
+                                            ", which the classloader cannot load. The catalog may be stale.", e);
+        }
+    }
+}
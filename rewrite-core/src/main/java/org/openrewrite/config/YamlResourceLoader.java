@@ -67,6 +67,13 @@ public class YamlResourceLoader implements ResourceLoader {
 
     private final Collection<? extends ResourceLoader> dependencyResourceLoaders;
 
+    /**
+     * Every mapping document in the YAML source, parsed on first use and then shared by the list methods.
+     * They are only ever read.
+     */
+    @Nullable
+    private List<Map<String, Object>> documents;
+
     @Nullable
     private Map<String, List<Contributor>> contributors;
 
@@ -174,18 +181,29 @@ public YamlResourceLoader(InputStream yamlInput,
 
     private Collection<Map<String, Object>> loadResources(ResourceType resourceType) {
         Collection<Map<String, Object>> resources = new ArrayList<>();
-        Yaml yaml = new Yaml(new SafeConstructor(new LoaderOptions()));
-        for (Object resource : yaml.loadAll(yamlSource)) {
-            if (resource instanceof Map) {
-                @SuppressWarnings("unchecked") Map<String, Object> resourceMap = (Map<String, Object>) resource;
-                if (resourceType.equals(ResourceType.fromSpec((String) resourceMap.get("type")))) {
-                    resources.add(resourceMap);
-                }
+        for (Map<String, Object> resourceMap : documents()) {
+            if (resourceType.equals(ResourceType.fromSpec((String) resourceMap.get("type")))) {
+                resources.add(resourceMap);
             }
         }
         return resources;
     }
 
+    private List<Map<String, Object>> documents() {
+        if (documents == null) {
+            List<Map<String, Object>> parsed = new ArrayList<>();
+            Yaml yaml = new Yaml(new SafeConstructor(new LoaderOptions()));
+            for (Object resource : yaml.loadAll(yamlSource)) {
+                if (resource instanceof Map) {
+                    //noinspection unchecked
+                    parsed.add((Map<String, Object>) resource);
+                }
+            }
+            documents = parsed;
+        }
+        return documents;
+    }
+
     @SuppressWarnings("unchecked")
     @Override
     public Collection<Recipe> listRecipes() {
@@ -0,0 +1,234 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.internal;
+
+import org.antlr.v4.runtime.*;
+import org.antlr.v4.runtime.atn.*;
+import org.antlr.v4.runtime.dfa.DFA;
+import org.antlr.v4.runtime.misc.Interval;
+import org.antlr.v4.runtime.misc.ParseCancellationException;
+import org.openrewrite.Incubating;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Lexes and parses with the generated lexer and parser of one ANTLR grammar, for the parsers of the languages that
+ * are built on ANTLR. Keep one instance per grammar, shared by every thread parsing that language.
+ * <ul>
+ *     <li>Parsing is first attempted with SLL prediction, which is much cheaper, and only when that fails with
+ *     full LL prediction. An input that SLL parses without a syntax error has the same parse tree under LL, and
+ *     syntax errors are only reported by the LL attempt.</li>
+ *     <li>The DFA that ANTLR builds up while predicting is shared by the lexers and parsers made through the same
+ *     instance, and is discarded once it grows past a bound, instead of growing for the life of the process in
+ *     the static fields of the generated classes.</li>
+ *     <li>The lexer reads the already decoded source text directly rather than a copy of it.</li>
+ * </ul>
+ */
+@Incubating(since = "8.19.0")
+public class AntlrParsing {
+    private static final int DEFAULT_MAXIMUM_DFA_STATES = 20_000;
+
+    private final int maximumDfaStates;
+    private final AtomicReference<PredictionCache> lexerCache = new AtomicReference<>();
+    private final AtomicReference<PredictionCache> parserCache = new AtomicReference<>();
+
+    public AntlrParsing() {
+        this(DEFAULT_MAXIMUM_DFA_STATES);
+    }
+
+    /**
+     * @param maximumDfaStates The number of DFA states the lexer or the parser may accumulate before the cache of
+     *                         either is discarded and built up again.
+     */
+    public AntlrParsing(int maximumDfaStates) {
+        this.maximumDfaStates = maximumDfaStates;
+    }
+
+    /**
+     * @param source Decoded source text.
+     * @return A char stream over the source text. As with {@link CharStreams#fromString(String)}, its indices are
+     * code point offsets, which coincide with the string's char offsets unless the source has surrogate pairs.
+     */
+    public static CharStream charStream(String source) {
+        for (int i = 0; i < source.length(); i++) {
+            if (Character.isSurrogate(source.charAt(i))) {
+                return CharStreams.fromString(source);
+            }
+        }
+        return new StringCharStream(source);
+    }
+
+    /**
+     * Make a lexer share this grammar's bounded DFA cache.
+     */
+    public <L extends Lexer> L lexer(L lexer) {
+        PredictionCache cache = cache(lexerCache, lexer.getATN());
+        lexer.setInterpreter(new LexerATNSimulator(lexer, lexer.getATN(), cache.decisionToDFA, cache.contextCache));
+        return lexer;
+    }
+
+    /**
+     * Parse a rule, first with SLL prediction and then, if that fails, again with LL prediction. The error listeners
+     * and error strategy the parser is configured with only take part in the LL attempt.
+     *
+     * @param parser A parser over a {@link BufferedTokenStream}, such as a {@link CommonTokenStream}.
+     * @param rule   The start rule, e.g. {@code XMLParser::document}.
+     */
+    public <P extends Parser, T extends ParserRuleContext> T parse(P parser, Function<P, T> rule) {
+        PredictionCache cache = cache(parserCache, parser.getATN());
+        ParserATNSimulator interpreter = new ParserATNSimulator(parser, parser.getATN(), cache.decisionToDFA, cache.contextCache);
+        parser.setInterpreter(interpreter);
+
+        List<ANTLRErrorListener> errorListeners = new ArrayList<>(parser.getErrorListeners());
+        ANTLRErrorStrategy errorHandler = parser.getErrorHandler();
+        interpreter.setPredictionMode(PredictionMode.SLL);
+        parser.removeErrorListeners();
+        parser.setErrorHandler(new BailErrorStrategy());
+        try {
+            return rule.apply(parser);
+        } catch (ParseCancellationException e) {
+            parser.reset();
+            restore(parser, errorListeners, errorHandler);
+            interpreter.setPredictionMode(PredictionMode.LL);
+            return rule.apply(parser);
+        } finally {
+            restore(parser, errorListeners, errorHandler);
+        }
+    }
+
+    private static void restore(Parser parser, List<ANTLRErrorListener> errorListeners, ANTLRErrorStrategy errorHandler) {
+        parser.removeErrorListeners();
+        for (ANTLRErrorListener errorListener : errorListeners) {
+            parser.addErrorListener(errorListener);
+        }
+        parser.setErrorHandler(errorHandler);
+    }
+
+    private PredictionCache cache(AtomicReference<PredictionCache> ref, ATN atn) {
+        PredictionCache cache = ref.get();
+        if (cache != null && cache.atn == atn && cache.states() <= maximumDfaStates) {
+            return cache;
+        }
+        PredictionCache fresh = new PredictionCache(atn);
+        if (ref.compareAndSet(cache, fresh)) {
+            return fresh;
+        }
+        // another thread replaced it first
+        cache = ref.get();
+        return cache != null && cache.atn == atn ? cache : fresh;
+    }
+
+    private static class PredictionCache {
+        private final ATN atn;
+        private final DFA[] decisionToDFA;
+        private final PredictionContextCache contextCache = new PredictionContextCache();
+
+        PredictionCache(ATN atn) {
+            this.atn = atn;
+            this.decisionToDFA = new DFA[atn.getNumberOfDecisions()];
+            for (int i = 0; i < decisionToDFA.length; i++) {
+                decisionToDFA[i] = new DFA(atn.getDecisionState(i), i);
+            }
+        }
+
+        int states() {
+            int states = 0;
+            for (DFA dfa : decisionToDFA) {
+                states += dfa.states.size();
+            }
+            return states;
+        }
+    }
+
+    /**
+     * A {@link CharStream} over a string with no surrogate pairs, in which code point and char offsets are the same.
+     * Behaves as the stream {@link CharStreams#fromString(String)} makes, without copying the string.
+     */
+    private static class StringCharStream implements CharStream {
+        private final String data;
+        private int position;
+
+        StringCharStream(String data) {
+            this.data = data;
+        }
+
+        @Override
+        public String getText(Interval interval) {
+            int startIdx = Math.min(interval.a, data.length());
+            int len = Math.min(interval.b - interval.a + 1, data.length() - startIdx);
+            return data.substring(startIdx, startIdx + len);
+        }
+
+        @Override
+        public void consume() {
+            if (position >= data.length()) {
+                throw new IllegalStateException("cannot consume EOF");
+            }
+            position++;
+        }
+
+        @Override
+        @SuppressWarnings("DuplicatedCode")
+        public int LA(int i) {
+            int offset;
+            if (i > 0) {
+                offset = position + i - 1;
+                return offset >= data.length() ? IntStream.EOF : data.charAt(offset);
+            } else if (i < 0) {
+                offset = position + i;
+                return offset < 0 ? IntStream.EOF : data.charAt(offset);
+            }
+            return 0;
+        }
+
+        @Override
+        public int mark() {
+            return -1;
+        }
+
+        @Override
+        public void release(int marker) {
+        }
+
+        @Override
+        public int index() {
+            return position;
+        }
+
+        @Override
+        public void seek(int index) {
+            position = index;
+        }
+
+        @Override
+        public int size() {
+            return data.length();
+        }
+
+        @Override
+        public String getSourceName() {
+            return IntStream.UNKNOWN_SOURCE_NAME;
+        }
+
+        @Override
+        public String toString() {
+            return data;
+        }
+    }
+}
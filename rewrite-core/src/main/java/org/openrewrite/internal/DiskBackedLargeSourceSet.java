@@ -0,0 +1,311 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.internal;
+
+import lombok.RequiredArgsConstructor;
+import org.openrewrite.*;
+import org.openrewrite.internal.lang.Nullable;
+import org.openrewrite.marker.Generated;
+import org.openrewrite.marker.RecipesThatMadeChanges;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+
+/**
+ * A source set that spills the initial state of every source file to a local directory and
+ * only materializes a source file while it is being scanned or edited. Source files that have
+ * been changed, generated, or deleted are retained in memory in their after state, so peak heap
+ * is proportional to the size of the changes rather than to the size of the repository.
+ * <p>
+ * Every pass over this source set deserializes each unchanged source file again, trading
+ * throughput for heap.
+ */
+@Incubating(since = "8.19.0")
+public class DiskBackedLargeSourceSet implements LargeSourceSet, AutoCloseable {
+    private final Store store;
+
+    /**
+     * Source files of the initial state that have changed, keyed by their position in the initial state.
+     */
+    private final SortedMap<Integer, SourceFile> edited;
+
+    private final List<SourceFile> generated;
+
+    /**
+     * Source files of the initial state that have been deleted, keyed by their position in the initial state.
+     */
+    private final Map<Integer, List<Recipe>> deletions;
+
+    private final ThreadLocal<List<Recipe>> currentRecipeStack = new ThreadLocal<>();
+
+    /**
+     * Spill serialized source files to a temporary directory that is deleted on {@link #close()}.
+     *
+     * @param sourceFiles The source files making up the initial state. These are consumed one
+     *                    at a time, so they may be produced lazily by a parser.
+     */
+    public DiskBackedLargeSourceSet(Stream<? extends SourceFile> sourceFiles) {
+        this(createTempDirectory(), true, sourceFiles);
+    }
+
+    /**
+     * @param directory   The directory to spill serialized source files to. It is not deleted
+     *                    on {@link #close()}, but the files written to it are.
+     * @param sourceFiles The source files making up the initial state. These are consumed one
+     *                    at a time, so they may be produced lazily by a parser.
+     */
+    public DiskBackedLargeSourceSet(Path directory, Stream<? extends SourceFile> sourceFiles) {
+        this(directory, false, sourceFiles);
+    }
+
+    private DiskBackedLargeSourceSet(Path directory, boolean temporary, Stream<? extends SourceFile> sourceFiles) {
+        this(new Store(directory, temporary, new SourceFileSerializer()), new TreeMap<>(), Collections.emptyList(),
+                Collections.emptyMap());
+        sourceFiles.forEach(store::add);
+    }
+
+    private DiskBackedLargeSourceSet(Store store, SortedMap<Integer, SourceFile> edited,
+                                     List<SourceFile> generated, Map<Integer, List<Recipe>> deletions) {
+        this.store = store;
+        this.edited = edited;
+        this.generated = generated;
+        this.deletions = deletions;
+    }
+
+    @Override
+    public void setRecipe(List<Recipe> recipeStack) {
+        this.currentRecipeStack.set(recipeStack);
+    }
+
+    @Override
+    public LargeSourceSet edit(UnaryOperator<SourceFile> map) {
+        SortedMap<Integer, SourceFile> nextEdited = edited;
+        Map<Integer, List<Recipe>> nextDeletions = deletions;
+
+        for (int i = 0; i < store.size(); i++) {
+            if (deletions.containsKey(i)) {
+                continue;
+            }
+
+            SourceFile before = edited.get(i);
+            if (before == null) {
+                before = store.load(i);
+            }
+
+            SourceFile after = map.apply(before);
+            if (after == before) {
+                continue;
+            }
+
+            if (nextEdited == edited) {
+                nextEdited = new TreeMap<>(edited);
+            }
+            if (after == null) {
+                if (nextDeletions == deletions) {
+                    nextDeletions = new LinkedHashMap<>(deletions);
+                }
+                nextDeletions.put(i, currentRecipeStack.get());
+                nextEdited.remove(i);
+            } else {
+                nextEdited.put(i, after);
+            }
+        }
+
+        List<SourceFile> nextGenerated = ListUtils.map(generated, map);
+        if (nextEdited == edited && nextDeletions == deletions && nextGenerated == generated) {
+            return this;
+        }
+        return new DiskBackedLargeSourceSet(store, nextEdited, nextGenerated, nextDeletions);
+    }
+
+    @Override
+    public LargeSourceSet generate(@Nullable Collection<? extends SourceFile> t) {
+        if (t == null || t.isEmpty()) {
+            return this;
+        }
+        List<SourceFile> nextGenerated = new ArrayList<>(generated);
+        nextGenerated.addAll(t);
+        return new DiskBackedLargeSourceSet(store, edited, nextGenerated, deletions);
+    }
+
+    @Override
+    public Changeset getChangeset() {
+        List<Change> changes = new ArrayList<>(edited.size() + generated.size() + deletions.size());
+        for (Map.Entry<Integer, SourceFile> entry : edited.entrySet()) {
+            if (!store.isGenerated(entry.getKey())) {
+                changes.add(new Change(entry.getKey(), entry.getValue(), null));
+            }
+        }
+        for (SourceFile s : generated) {
+            changes.add(new Change(-1, s, null));
+        }
+        for (Map.Entry<Integer, List<Recipe>> entry : deletions.entrySet()) {
+            changes.add(new Change(entry.getKey(), null, entry.getValue()));
+        }
+        return new DiskBackedChangeset(store, changes);
+    }
+
+    @Nullable
+    @Override
+    public SourceFile getBefore(Path sourcePath) {
+        Integer index = store.indexOf(sourcePath);
+        return index == null ? null : store.load(index);
+    }
+
+    /**
+     * Delete the serialized source files, and the directory they were spilled to if this source set
+     * created it. Source files that have not yet been materialized can no longer be read from this
+     * or any derived source set.
+     */
+    @Override
+    public void close() {
+        store.close();
+    }
+
+    private static Path createTempDirectory() {
+        try {
+            return Files.createTempDirectory("rewrite-lst");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static class Store {
+        private final Path directory;
+
+        /**
+         * Whether the directory was created for this store, and so is deleted with it.
+         */
+        private final boolean temporary;
+
+        private final SourceFileSerializer serializer;
+        private final List<Path> sourcePaths = new ArrayList<>();
+        private final Map<Path, Integer> indexBySourcePath = new HashMap<>();
+        private final BitSet generatedMarkers = new BitSet();
+
+        Store(Path directory, boolean temporary, SourceFileSerializer serializer) {
+            this.directory = directory;
+            this.temporary = temporary;
+            this.serializer = serializer;
+        }
+
+        void add(SourceFile sourceFile) {
+            int index = sourcePaths.size();
+            try (OutputStream out = Files.newOutputStream(file(index))) {
+                serializer.write(sourceFile, out);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            sourcePaths.add(sourceFile.getSourcePath());
+            indexBySourcePath.putIfAbsent(sourceFile.getSourcePath(), index);
+            if (sourceFile.getMarkers().findFirst(Generated.class).isPresent()) {
+                generatedMarkers.set(index);
+            }
+        }
+
+        SourceFile load(int index) {
+            try (InputStream in = Files.newInputStream(file(index))) {
+                return serializer.read(in);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        int size() {
+            return sourcePaths.size();
+        }
+
+        @Nullable
+        Integer indexOf(Path sourcePath) {
+            return indexBySourcePath.get(sourcePath);
+        }
+
+        boolean isGenerated(int index) {
+            return generatedMarkers.get(index);
+        }
+
+        void close() {
+            for (int i = 0; i < sourcePaths.size(); i++) {
+                try {
+                    Files.deleteIfExists(file(i));
+                } catch (IOException ignored) {
+                }
+            }
+            if (temporary) {
+                try {
+                    Files.deleteIfExists(directory);
+                } catch (IOException ignored) {
+                    // the directory is left behind if something else was written to it
+                }
+            }
+        }
+
+        private Path file(int index) {
+            return directory.resolve(index + ".lst");
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static class Change {
+        /**
+         * The position of the source file in the initial state, or -1 for generated source files.
+         */
+        final int index;
+
+        @Nullable
+        final SourceFile after;
+
+        @Nullable
+        final List<Recipe> deletedBy;
+    }
+
+    @RequiredArgsConstructor
+    private static class DiskBackedChangeset implements Changeset {
+        final Store store;
+        final List<Change> changes;
+
+        @Override
+        public int size() {
+            return changes.size();
+        }
+
+        @Override
+        public List<Result> getPage(int start, int count) {
+            List<Change> page = changes.subList(start, Math.min(changes.size(), start + count));
+            List<Result> results = new ArrayList<>(page.size());
+            for (Change change : page) {
+                if (change.after == null) {
+                    results.add(new Result(store.load(change.index), null, Collections.singleton(change.deletedBy)));
+                } else if (change.index < 0) {
+                    Collection<List<Recipe>> recipes = change.after.getMarkers().findFirst(RecipesThatMadeChanges.class)
+                            .map(RecipesThatMadeChanges::getRecipes)
+                            .orElse(Collections.emptyList());
+                    results.add(new Result(null, change.after, recipes));
+                } else {
+                    results.add(new Result(store.load(change.index), change.after));
+                }
+            }
+            return results;
+        }
+    }
+}
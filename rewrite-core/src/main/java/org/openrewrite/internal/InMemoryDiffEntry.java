@@ -41,7 +41,9 @@ public class InMemoryDiffEntry extends DiffEntry implements AutoCloseable {
     static final AbbreviatedObjectId A_ZERO = AbbreviatedObjectId
             .fromObjectId(ObjectId.zeroId());
 
+    @Nullable
     private final InMemoryRepository repo;
+
     private final Set<Recipe> recipesThatMadeChanges;
 
     public InMemoryDiffEntry(@Nullable Path originalFilePath, @Nullable Path filePath, @Nullable Path relativeTo, String oldSource,
@@ -51,36 +53,37 @@ public InMemoryDiffEntry(@Nullable Path originalFilePath, @Nullable Path filePat
 
     public InMemoryDiffEntry(@Nullable Path originalFilePath, @Nullable Path filePath, @Nullable Path relativeTo, String oldSource,
                              String newSource, Set<Recipe> recipesThatMadeChanges, FileMode oldMode, FileMode newMode) {
+        this(new InMemoryRepository.Builder()
+                        .setRepositoryDescription(new DfsRepositoryDescription())
+                        .build(), null, originalFilePath, filePath, relativeTo, oldSource, newSource,
+                recipesThatMadeChanges, oldMode, newMode);
+    }
 
+    /**
+     * Insert the old and new source into an inserter that is shared with other entries rather than into
+     * a repository of this entry's own. The entry must be formatted with a reader of that inserter, as
+     * {@link PatchWriter} does, since {@link #getDiff()} has no repository to read from.
+     */
+    InMemoryDiffEntry(ObjectInserter inserter, @Nullable Path originalFilePath, @Nullable Path filePath, @Nullable Path relativeTo,
+                             String oldSource, String newSource, Set<Recipe> recipesThatMadeChanges, FileMode oldMode, FileMode newMode) {
+        this(null, inserter, originalFilePath, filePath, relativeTo, oldSource, newSource, recipesThatMadeChanges, oldMode, newMode);
+    }
+
+    private InMemoryDiffEntry(@Nullable InMemoryRepository repo, @Nullable ObjectInserter sharedInserter,
+                              @Nullable Path originalFilePath, @Nullable Path filePath, @Nullable Path relativeTo, String oldSource,
+                              String newSource, Set<Recipe> recipesThatMadeChanges, FileMode oldMode, FileMode newMode) {
+        this.repo = repo;
         this.recipesThatMadeChanges = recipesThatMadeChanges;
 
         try {
-            this.repo = new InMemoryRepository.Builder()
-                    .setRepositoryDescription(new DfsRepositoryDescription())
-                    .build();
-
-            try (ObjectInserter inserter = repo.getObjectDatabase().newInserter()) {
-
-                if (originalFilePath != null) {
-                    this.oldId = inserter.insert(Constants.OBJ_BLOB, oldSource.getBytes(StandardCharsets.UTF_8)).abbreviate(40);
-                    this.oldMode = oldMode;
-                    this.oldPath = (relativeTo == null ? originalFilePath : relativeTo.relativize(originalFilePath)).toString().replace("\\", "/");
-                } else {
-                    this.oldId = A_ZERO;
-                    this.oldMode = FileMode.MISSING;
-                    this.oldPath = DEV_NULL;
-                }
-
-                if (filePath != null) {
-                    this.newId = inserter.insert(Constants.OBJ_BLOB, newSource.getBytes(StandardCharsets.UTF_8)).abbreviate(40);
-                    this.newMode = newMode;
-                    this.newPath = (relativeTo == null ? filePath : relativeTo.relativize(filePath)).toString().replace("\\", "/");
-                } else {
-                    this.newId = A_ZERO;
-                    this.newMode = FileMode.MISSING;
-                    this.newPath = DEV_NULL;
+            if (sharedInserter != null) {
+                insert(sharedInserter, originalFilePath, filePath, relativeTo, oldSource, newSource, oldMode, newMode);
+            } else {
+                //noinspection DataFlowIssue
+                try (ObjectInserter inserter = repo.getObjectDatabase().newInserter()) {
+                    insert(inserter, originalFilePath, filePath, relativeTo, oldSource, newSource, oldMode, newMode);
+                    inserter.flush();
                 }
-                inserter.flush();
             }
         } catch (IOException e) {
             throw new UncheckedIOException(e);
@@ -97,6 +100,36 @@ public InMemoryDiffEntry(@Nullable Path originalFilePath, @Nullable Path filePat
         }
     }
 
+    private void insert(ObjectInserter inserter, @Nullable Path originalFilePath, @Nullable Path filePath, @Nullable Path relativeTo,
+                        String oldSource, String newSource, FileMode oldMode, FileMode newMode) throws IOException {
+        if (originalFilePath != null) {
+            this.oldId = inserter.insert(Constants.OBJ_BLOB, oldSource.getBytes(StandardCharsets.UTF_8)).abbreviate(40);
+            this.oldMode = oldMode;
+            this.oldPath = (relativeTo == null ? originalFilePath : relativeTo.relativize(originalFilePath)).toString().replace("\\", "/");
+        } else {
+            this.oldId = A_ZERO;
+            this.oldMode = FileMode.MISSING;
+            this.oldPath = DEV_NULL;
+        }
+
+        if (filePath != null) {
+            this.newId = inserter.insert(Constants.OBJ_BLOB, newSource.getBytes(StandardCharsets.UTF_8)).abbreviate(40);
+            this.newMode = newMode;
+            this.newPath = (relativeTo == null ? filePath : relativeTo.relativize(filePath)).toString().replace("\\", "/");
+        } else {
+            this.newId = A_ZERO;
+            this.newMode = FileMode.MISSING;
+            this.newPath = DEV_NULL;
+        }
+    }
+
+    /**
+     * @return {@code true} when the old and new source and path are the same, so that there is no patch to format.
+     */
+    public boolean isEmpty() {
+        return oldId.equals(newId) && oldPath.equals(newPath);
+    }
+
     public String getDiff() {
         return getDiff(false);
     }
@@ -106,21 +139,30 @@ public String getDiff(@Nullable Boolean ignoreAllWhitespace) {
             ignoreAllWhitespace = false;
         }
 
-        if (oldId.equals(newId) && oldPath.equals(newPath)) {
+        if (isEmpty()) {
             return "";
         }
 
+        if (repo == null) {
+            throw new IllegalStateException("An entry inserted into a shared inserter must be formatted with a reader of that inserter");
+        }
+
         ByteArrayOutputStream patch = new ByteArrayOutputStream();
         try (DiffFormatter formatter = new DiffFormatter(patch)) {
             formatter.setDiffComparator(ignoreAllWhitespace ? RawTextComparator.WS_IGNORE_ALL : RawTextComparator.DEFAULT);
             formatter.setRepository(repo);
             formatter.format(this);
+            formatter.flush();
+            return withRecipesThatMadeChanges(patch.toString(StandardCharsets.UTF_8.name()));
         } catch (IOException e) {
             throw new UncheckedIOException(e);
         }
+    }
 
-        String diff = patch.toString();
-
+    /**
+     * Add the names of the recipes that made changes to the first hunk header of a formatted patch.
+     */
+    String withRecipesThatMadeChanges(String diff) {
         AtomicBoolean addedComment = new AtomicBoolean(false);
         // NOTE: String.lines() would remove empty lines which we don't want
         return Arrays.stream(diff.split("\n"))
@@ -146,6 +188,8 @@ public String getDiff(@Nullable Boolean ignoreAllWhitespace) {
 
     @Override
     public void close() {
-        this.repo.close();
+        if (repo != null) {
+            repo.close();
+        }
     }
 }
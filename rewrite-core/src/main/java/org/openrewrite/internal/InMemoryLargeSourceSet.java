@@ -23,6 +23,9 @@
 
 import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.function.UnaryOperator;
 
 public class InMemoryLargeSourceSet implements LargeSourceSet {
@@ -37,7 +40,24 @@ public class InMemoryLargeSourceSet implements LargeSourceSet {
     @Nullable
     private Map<SourceFile, List<Recipe>> deletions;
 
-    private List<Recipe> currentRecipeStack;
+    /**
+     * Thread local so that the recipe responsible for a deletion is attributed
+     * correctly when source files are edited concurrently.
+     */
+    private final ThreadLocal<List<Recipe>> currentRecipeStack = new ThreadLocal<>();
+
+    /**
+     * Only built on the initial state, and shared by every source set derived from it.
+     */
+    @Nullable
+    private volatile Index index;
+
+    /**
+     * The source files that differ from the initial state, by id. Maintained from the source files
+     * each edit actually changes and those of the source set it was derived from, so that neither
+     * editing nor producing the changeset compares every source file to the initial state.
+     */
+    private Map<UUID, SourceFile> changes = Collections.emptyMap();
 
     public InMemoryLargeSourceSet(List<SourceFile> ls) {
         this(null, null, ls);
@@ -57,22 +77,81 @@ protected InMemoryLargeSourceSet withChanges(@Nullable Map<SourceFile, List<Reci
 
     @Override
     public void setRecipe(List<Recipe> recipeStack) {
-        this.currentRecipeStack = recipeStack;
+        this.currentRecipeStack.set(recipeStack);
     }
 
     @Override
     public LargeSourceSet edit(UnaryOperator<SourceFile> map) {
+        List<SourceFile> edited = new ArrayList<>();
         List<SourceFile> mapped = ListUtils.map(ls, before -> {
             SourceFile after = map.apply(before);
             if (after == null) {
                 if (deletions == null) {
                     deletions = new LinkedHashMap<>();
                 }
-                deletions.put(before, currentRecipeStack);
+                deletions.put(before, currentRecipeStack.get());
+            }
+            if (after != before) {
+                edited.add(before);
+                edited.add(after);
             }
             return after;
         });
-        return mapped != ls ? withChanges(deletions, mapped) : this;
+        return mapped != ls ? withEdits(deletions, mapped, edited) : this;
+    }
+
+    @Override
+    public LargeSourceSet edit(UnaryOperator<SourceFile> map, ExecutorService executor) {
+        List<Future<SourceFile>> edits = new ArrayList<>(ls.size());
+        List<List<Recipe>> deletedBy = new ArrayList<>(Collections.nCopies(ls.size(), null));
+        for (int i = 0; i < ls.size(); i++) {
+            int index = i;
+            SourceFile before = ls.get(i);
+            edits.add(executor.submit(() -> {
+                SourceFile after = map.apply(before);
+                if (after == null) {
+                    deletedBy.set(index, currentRecipeStack.get());
+                }
+                return after;
+            }));
+        }
+
+        // assemble the results in their original order, so that the
+        // changeset is the same as that of a sequential edit
+        List<SourceFile> mapped = new ArrayList<>(ls.size());
+        List<SourceFile> edited = new ArrayList<>();
+        try {
+            for (int i = 0; i < ls.size(); i++) {
+                SourceFile before = ls.get(i);
+                SourceFile after = edits.get(i).get();
+                if (after == null) {
+                    if (deletions == null) {
+                        deletions = new LinkedHashMap<>();
+                    }
+                    deletions.put(before, deletedBy.get(i));
+                } else {
+                    mapped.add(after);
+                }
+                if (after != before) {
+                    edited.add(before);
+                    edited.add(after);
+                }
+            }
+        } catch (InterruptedException e) {
+            edits.forEach(edit -> edit.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while editing source files", e);
+        } catch (ExecutionException e) {
+            edits.forEach(edit -> edit.cancel(true));
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+        return edited.isEmpty() ? this : withEdits(deletions, mapped, edited);
     }
 
     @Override
@@ -80,42 +159,94 @@ public LargeSourceSet generate(@Nullable Collection<? extends SourceFile> t) {
         if (t == null || t.isEmpty()) {
             //noinspection ConstantConditions
             return this;
-        } else if (ls.isEmpty()) {
+        }
+
+        InMemoryLargeSourceSet next;
+        if (ls.isEmpty()) {
             //noinspection unchecked
-            return withChanges(deletions, (List<SourceFile>) t);
+            next = withChanges(deletions, (List<SourceFile>) t);
+        } else {
+            List<SourceFile> newLs = new ArrayList<>(ls);
+            newLs.addAll(t);
+            next = withChanges(deletions, newLs);
+        }
+
+        // generated source files are never part of the initial state
+        Map<UUID, SourceFile> nextChanges = new LinkedHashMap<>(changes);
+        for (SourceFile s : t) {
+            nextChanges.put(s.getId(), s);
+        }
+        next.changes = nextChanges;
+        return next;
+    }
+
+    /**
+     * @param edited Pairs of a source file before and after an edit that changed it, where the
+     *               source file after the edit is null if it was deleted.
+     */
+    private InMemoryLargeSourceSet withEdits(@Nullable Map<SourceFile, List<Recipe>> deletions, List<SourceFile> mapped,
+                                             List<SourceFile> edited) {
+        Map<UUID, SourceFile> initialById = getInitialState().getIndex().byId;
+        Map<UUID, SourceFile> nextChanges = new LinkedHashMap<>(changes);
+        for (int i = 0; i < edited.size(); i += 2) {
+            SourceFile before = edited.get(i);
+            SourceFile after = edited.get(i + 1);
+            if (after == null || !after.getId().equals(before.getId())) {
+                nextChanges.remove(before.getId());
+            }
+            if (after != null) {
+                if (initialById.get(after.getId()) == after) {
+                    // edited back to its initial state
+                    nextChanges.remove(after.getId());
+                } else {
+                    nextChanges.put(after.getId(), after);
+                }
+            }
         }
 
-        List<SourceFile> newLs = new ArrayList<>(ls);
-        newLs.addAll(t);
-        return withChanges(deletions, newLs);
+        InMemoryLargeSourceSet next = withChanges(deletions, mapped);
+        next.changes = nextChanges;
+        return next;
     }
 
     protected InMemoryLargeSourceSet getInitialState() {
         return initialState == null ? this : initialState;
     }
 
-    @Override
-    public Changeset getChangeset() {
-        Map<UUID, SourceFile> sourceFileIdentities = new HashMap<>();
-        for (SourceFile sourceFile : getInitialState().ls) {
-            sourceFileIdentities.put(sourceFile.getId(), sourceFile);
+    private Index getIndex() {
+        Index i = index;
+        if (i == null) {
+            synchronized (this) {
+                i = index;
+                if (i == null) {
+                    i = new Index(ls);
+                    index = i;
+                }
+            }
         }
+        return i;
+    }
 
+    @Override
+    public Changeset getChangeset() {
+        Index initial = getInitialState().getIndex();
+        Map<UUID, SourceFile> initialById = initial.byId;
         List<Result> changes = new ArrayList<>();
 
-        // added or changed files
-        for (SourceFile s : ls) {
-            SourceFile original = sourceFileIdentities.get(s.getId());
-            if (original != s) {
-                if (original != null) {
-                    if (original.getMarkers().findFirst(Generated.class).isPresent()) {
-                        continue;
-                    }
-                    changes.add(new Result(original, s));
-                } else {
-                    Collection<List<Recipe>> recipes = s.getMarkers().findFirst(RecipesThatMadeChanges.class).map(RecipesThatMadeChanges::getRecipes).orElse(Collections.emptyList());
-                    changes.add(new Result(null, s, recipes));
+        // added or changed files, in the order they appear in this source set: source files from the
+        // initial state keep their position, and generated ones follow in the order they were generated
+        List<SourceFile> changed = new ArrayList<>(this.changes.values());
+        changed.sort(Comparator.comparingInt(s -> initial.positions.getOrDefault(s.getId(), Integer.MAX_VALUE)));
+        for (SourceFile s : changed) {
+            SourceFile original = initialById.get(s.getId());
+            if (original != null) {
+                if (original.getMarkers().findFirst(Generated.class).isPresent()) {
+                    continue;
                 }
+                changes.add(new Result(original, s));
+            } else {
+                Collection<List<Recipe>> recipes = s.getMarkers().findFirst(RecipesThatMadeChanges.class).map(RecipesThatMadeChanges::getRecipes).orElse(Collections.emptyList());
+                changes.add(new Result(null, s, recipes));
             }
         }
 
@@ -131,13 +262,26 @@ public Changeset getChangeset() {
     @Nullable
     @Override
     public SourceFile getBefore(Path sourcePath) {
-        List<SourceFile> sourceFiles = getInitialState().ls;
-        for (SourceFile s : sourceFiles) {
-            if (s.getSourcePath().equals(sourcePath)) {
-                return s;
+        return getInitialState().getIndex().byPath.get(sourcePath);
+    }
+
+    private static class Index {
+        final Map<UUID, SourceFile> byId;
+        final Map<Path, SourceFile> byPath;
+        final Map<UUID, Integer> positions;
+
+        Index(List<SourceFile> sourceFiles) {
+            byId = new HashMap<>(sourceFiles.size() * 4 / 3 + 1);
+            byPath = new HashMap<>(sourceFiles.size() * 4 / 3 + 1);
+            positions = new HashMap<>(sourceFiles.size() * 4 / 3 + 1);
+            for (int i = 0; i < sourceFiles.size(); i++) {
+                SourceFile s = sourceFiles.get(i);
+                byId.put(s.getId(), s);
+                positions.putIfAbsent(s.getId(), i);
+                // the first source file with a given path wins
+                byPath.putIfAbsent(s.getSourcePath(), s);
             }
         }
-        return null;
     }
 
     @RequiredArgsConstructor
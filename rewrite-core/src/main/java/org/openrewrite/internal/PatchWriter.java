@@ -0,0 +1,232 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.internal;
+
+import org.openrewrite.*;
+import org.openrewrite.internal.lang.Nullable;
+import org.openrewrite.jgit.diff.DiffFormatter;
+import org.openrewrite.jgit.diff.RawTextComparator;
+import org.openrewrite.jgit.internal.storage.dfs.DfsRepositoryDescription;
+import org.openrewrite.jgit.internal.storage.dfs.InMemoryRepository;
+import org.openrewrite.jgit.lib.Config;
+import org.openrewrite.jgit.lib.FileMode;
+import org.openrewrite.jgit.lib.ObjectInserter;
+import org.openrewrite.jgit.lib.ObjectReader;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Formats the diffs of many results with one diff formatter and one in-memory repository, rather than with
+ * a repository per result as {@link InMemoryDiffEntry#getDiff()} does. The repository only ever grows, so
+ * it is replaced after every {@link #RESULTS_PER_REPOSITORY} results to bound memory use.
+ * <p>
+ * A patch writer is not thread-safe. Use one per thread to format diffs in parallel.
+ */
+public class PatchWriter implements AutoCloseable {
+    static final int RESULTS_PER_REPOSITORY = 256;
+    private static final int PAGE_SIZE = 100;
+
+    @Nullable
+    private final Path relativeTo;
+
+    @Nullable
+    private final PrintOutputCapture.MarkerPrinter markerPrinter;
+
+    private final ByteArrayOutputStream patch = new ByteArrayOutputStream();
+    private final DiffFormatter formatter = new DiffFormatter(patch);
+
+    @Nullable
+    private InMemoryRepository repo;
+
+    @Nullable
+    private ObjectInserter inserter;
+
+    @Nullable
+    private ObjectReader reader;
+
+    private int resultsInRepository;
+
+    public PatchWriter(@Nullable Path relativeTo, @Nullable PrintOutputCapture.MarkerPrinter markerPrinter,
+                       boolean ignoreAllWhitespace) {
+        this.relativeTo = relativeTo;
+        this.markerPrinter = markerPrinter;
+        formatter.setDiffComparator(ignoreAllWhitespace ? RawTextComparator.WS_IGNORE_ALL : RawTextComparator.DEFAULT);
+    }
+
+    /**
+     * @return Git-style patch diff representing the changes of this result, the same as {@link Result#diff()}.
+     */
+    public String diff(Result result) {
+        SourceFile before = result.getBefore();
+        SourceFile after = result.getAfter();
+
+        Path beforePath = before == null ? null : before.getSourcePath();
+        Path afterPath = null;
+        if (before == null && after == null) {
+            afterPath = (relativeTo == null ? Paths.get(".") : relativeTo).resolve("partial-" + System.nanoTime());
+        } else if (after != null) {
+            afterPath = after.getSourcePath();
+        }
+
+        PrintOutputCapture<Integer> out = markerPrinter == null ?
+                new PrintOutputCapture<>(0) :
+                new PrintOutputCapture<>(0, markerPrinter);
+
+        Set<Recipe> recipeSet = new HashSet<>(result.getRecipes().size());
+        for (List<Recipe> rs : result.getRecipes()) {
+            if (!rs.isEmpty()) {
+                recipeSet.add(rs.get(0));
+            }
+        }
+
+        InMemoryDiffEntry diffEntry = new InMemoryDiffEntry(
+                inserter(),
+                beforePath,
+                afterPath,
+                relativeTo,
+                before == null ? "" : before.printAll(out),
+                after == null ? "" : after.printAll(out.clone()),
+                recipeSet,
+                fileMode(before),
+                fileMode(after)
+        );
+        if (diffEntry.isEmpty()) {
+            return "";
+        }
+
+        patch.reset();
+        try {
+            formatter.format(diffEntry);
+            formatter.flush();
+            return diffEntry.withRecipesThatMadeChanges(patch.toString(StandardCharsets.UTF_8.name()));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Write the diff of each result in turn.
+     */
+    public void write(Iterable<Result> results, OutputStream out) throws IOException {
+        for (Result result : results) {
+            out.write(diff(result).getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * Write the diffs of every result in a changeset, in order, formatting pages of results on several
+     * threads when parallelism is greater than one.
+     */
+    public static void write(Changeset changeset, OutputStream out, @Nullable Path relativeTo, int parallelism) throws IOException {
+        int size = changeset.size();
+        if (parallelism <= 1) {
+            try (PatchWriter patchWriter = new PatchWriter(relativeTo, null, false)) {
+                for (int start = 0; start < size; start += PAGE_SIZE) {
+                    patchWriter.write(changeset.getPage(start, Math.min(PAGE_SIZE, size - start)), out);
+                }
+            }
+            return;
+        }
+
+        AtomicInteger threadNumber = new AtomicInteger(1);
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism, r -> {
+            Thread t = new Thread(r, "rewrite-patch-writer-" + threadNumber.getAndIncrement());
+            t.setDaemon(true);
+            return t;
+        });
+        try {
+            // format pages only so far ahead of the one being written as to keep every thread busy
+            Deque<Future<byte[]>> pages = new ArrayDeque<>();
+            int start = 0;
+            while (start < size || !pages.isEmpty()) {
+                while (start < size && pages.size() < parallelism * 2) {
+                    List<Result> page = changeset.getPage(start, Math.min(PAGE_SIZE, size - start));
+                    pages.add(executor.submit(() -> {
+                        ByteArrayOutputStream patch = new ByteArrayOutputStream();
+                        try (PatchWriter patchWriter = new PatchWriter(relativeTo, null, false)) {
+                            patchWriter.write(page, patch);
+                        }
+                        return patch.toByteArray();
+                    }));
+                    start += PAGE_SIZE;
+                }
+                out.write(pages.remove().get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while writing patch");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IOException(e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private ObjectInserter inserter() {
+        if (inserter == null || resultsInRepository == RESULTS_PER_REPOSITORY) {
+            closeRepository();
+            repo = new InMemoryRepository.Builder()
+                    .setRepositoryDescription(new DfsRepositoryDescription())
+                    .build();
+            inserter = repo.getObjectDatabase().newInserter();
+            // the inserter's own reader sees the objects it has inserted without the cost of flushing them
+            reader = inserter.newReader();
+            formatter.setReader(reader, new Config());
+            resultsInRepository = 0;
+        }
+        resultsInRepository++;
+        return inserter;
+    }
+
+    private static FileMode fileMode(@Nullable SourceFile sourceFile) {
+        return sourceFile != null && sourceFile.getFileAttributes() != null && sourceFile.getFileAttributes().isExecutable() ?
+                FileMode.EXECUTABLE_FILE : FileMode.REGULAR_FILE;
+    }
+
+    private void closeRepository() {
+        // the formatter only closes readers it creates itself
+        if (reader != null) {
+            reader.close();
+            reader = null;
+        }
+        if (inserter != null) {
+            inserter.close();
+            inserter = null;
+        }
+        if (repo != null) {
+            repo.close();
+            repo = null;
+        }
+    }
+
+    @Override
+    public void close() {
+        formatter.close();
+        closeRepository();
+    }
+}
@@ -17,6 +17,7 @@
 
 import io.micrometer.core.instrument.util.StringUtils;
 import io.micrometer.core.lang.Nullable;
+import org.openrewrite.Incubating;
 
 import java.io.*;
 import java.net.MalformedURLException;
@@ -28,6 +29,7 @@
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 import java.util.zip.GZIPOutputStream;
@@ -41,6 +43,43 @@
 public interface HttpSender {
     Response send(Request request);
 
+    /**
+     * Send a request without waiting for its response. Senders that support it send requests concurrently,
+     * reuse connections between them, and send identical GET requests that are in flight at the same time
+     * only once, in which case the response body is read into memory.
+     * <p>
+     * The default implementation sends the request on the calling thread with {@link #send(Request)}.
+     *
+     * @param request The request to send.
+     * @return A future completed with the response, or exceptionally if the request could not be sent.
+     */
+    @Incubating(since = "8.19.0")
+    default CompletableFuture<Response> sendAsync(Request request) {
+        CompletableFuture<Response> response = new CompletableFuture<>();
+        try {
+            response.complete(send(request));
+        } catch (Throwable t) {
+            response.completeExceptionally(t);
+        }
+        return response;
+    }
+
+    /**
+     * Send a GET request whose response body the caller reads into memory anyway, such as a small metadata
+     * document. Senders that support it send identical requests that are in flight at the same time on other
+     * threads only once, on the thread of the first caller. Large bodies that should be streamed are better sent
+     * with {@link #send(Request)}.
+     * <p>
+     * The default implementation sends the request with {@link #send(Request)}.
+     *
+     * @param request The request to send.
+     * @return The response, whose body may already have been read into memory.
+     */
+    @Incubating(since = "8.19.0")
+    default Response sendCoalesced(Request request) {
+        return send(request);
+    }
+
     default Request.Builder post(String uri) {
         return newRequest(uri).withMethod(Method.POST);
     }
@@ -330,6 +369,11 @@ public Response send() {
                 return sender.send(build());
             }
 
+            @Incubating(since = "8.19.0")
+            public CompletableFuture<Response> sendAsync() {
+                return sender.sendAsync(build());
+            }
+
             public Request build() {
                 return new Request(url, entity, method, requestHeaders);
             }
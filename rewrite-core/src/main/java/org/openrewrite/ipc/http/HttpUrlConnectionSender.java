@@ -20,9 +20,13 @@
 import java.net.Proxy;
 import java.time.Duration;
 import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
- * {@link HttpURLConnection}-based {@link HttpSender}.
+ * {@link HttpURLConnection}-based {@link HttpSender}. Connections are returned to the JDK's keep-alive cache
+ * when a response is closed, so later requests to the same host reuse them. Asynchronous requests are sent
+ * on an executor, by default a small pool of daemon threads shared by every sender.
  *
  * @author Jonathan Schneider
  * @author Johnny Lim
@@ -30,10 +34,13 @@
 public class HttpUrlConnectionSender implements HttpSender {
     private static final int DEFAULT_CONNECT_TIMEOUT_MS = 1000;
     private static final int DEFAULT_READ_TIMEOUT_MS = 10000;
+    private static final Executor DEFAULT_EXECUTOR = defaultExecutor();
 
     private final int connectTimeoutMs;
     private final int readTimeoutMs;
     private final Proxy proxy;
+    private final Executor executor;
+    private final InFlightRequests inFlight = new InFlightRequests();
 
     /**
      * Creates a sender with the specified timeouts but uses the default proxy settings.
@@ -54,9 +61,23 @@ public HttpUrlConnectionSender(Duration connectTimeout, Duration readTimeout) {
      * @since 1.2.0
      */
     public HttpUrlConnectionSender(Duration connectTimeout, Duration readTimeout, Proxy proxy) {
+        this(connectTimeout, readTimeout, proxy, DEFAULT_EXECUTOR);
+    }
+
+    /**
+     * Creates a sender with the specified timeouts and proxy settings that sends asynchronous requests
+     * on the given executor.
+     *
+     * @param connectTimeout connect timeout when establishing a connection
+     * @param readTimeout    read timeout when receiving a response
+     * @param proxy          proxy to use when establishing a connection
+     * @param executor       executor to send asynchronous requests on
+     */
+    public HttpUrlConnectionSender(Duration connectTimeout, Duration readTimeout, Proxy proxy, Executor executor) {
         this.connectTimeoutMs = (int) connectTimeout.toMillis();
         this.readTimeoutMs = (int) readTimeout.toMillis();
         this.proxy = proxy;
+        this.executor = executor;
     }
 
     /**
@@ -66,6 +87,17 @@ public HttpUrlConnectionSender() {
         this.connectTimeoutMs = DEFAULT_CONNECT_TIMEOUT_MS;
         this.readTimeoutMs = DEFAULT_READ_TIMEOUT_MS;
         this.proxy = null;
+        this.executor = DEFAULT_EXECUTOR;
+    }
+
+    @Override
+    public Response sendCoalesced(Request request) {
+        return inFlight.sendSync(request, this::send);
+    }
+
+    @Override
+    public CompletableFuture<Response> sendAsync(Request request) {
+        return inFlight.send(request, r -> CompletableFuture.supplyAsync(() -> send(r), executor));
     }
 
     @Override
@@ -96,24 +128,41 @@ public Response send(Request request) {
 
             int status = con.getResponseCode();
 
-            Runnable onClose = () -> {
-                try {
-                    con.disconnect();
-                } catch (Exception ignore) {
-                }
-            };
-
             InputStream is;
             if (con.getErrorStream() != null) {
                 is = con.getErrorStream();
             } else if (status < 400 && con.getInputStream() != null) {
                 is = con.getInputStream();
             } else {
-                return new Response(status, new ByteArrayInputStream(new byte[0]), onClose);
+                return new Response(status, new ByteArrayInputStream(new byte[0]), () -> {
+                    try {
+                        con.disconnect();
+                    } catch (Exception ignore) {
+                    }
+                });
             }
-            return new Response(status, is, onClose);
+
+            // closing the stream rather than disconnecting leaves the connection open for reuse
+            return new Response(status, is, () -> {
+                try {
+                    is.close();
+                } catch (Exception ignore) {
+                }
+            });
         } catch (IOException e) {
             throw new UncheckedIOException(e);
         }
     }
+
+    private static Executor defaultExecutor() {
+        AtomicInteger threadNumber = new AtomicInteger(1);
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(16, 16, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), r -> {
+            Thread t = new Thread(r, "rewrite-http-" + threadNumber.getAndIncrement());
+            t.setDaemon(true);
+            return t;
+        });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
 }
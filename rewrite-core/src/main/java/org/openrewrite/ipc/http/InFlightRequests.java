@@ -0,0 +1,149 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.ipc.http;
+
+import java.io.ByteArrayInputStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Coalesces GET requests for the same URL with the same headers that are in flight at the same time, so that
+ * only the first of them is sent. The body of the shared response is read into memory, and every caller
+ * receives its own {@link HttpSender.Response} over it. Once a response has arrived, a later request for the
+ * same URL is sent again, so nothing is cached beyond the lifetime of a request.
+ * <p>
+ * Synchronous requests are sent on the calling thread of the first of them, and the others wait for it.
+ */
+class InFlightRequests {
+    private final Map<Key, CompletableFuture<BufferedResponse>> inFlight = new ConcurrentHashMap<>();
+
+    CompletableFuture<HttpSender.Response> send(HttpSender.Request request,
+                                                Function<HttpSender.Request, CompletableFuture<HttpSender.Response>> send) {
+        if (request.getMethod() != HttpSender.Method.GET) {
+            return send.apply(request);
+        }
+
+        Key key = new Key(request);
+        CompletableFuture<BufferedResponse> sent = new CompletableFuture<>();
+        CompletableFuture<BufferedResponse> existing = inFlight.putIfAbsent(key, sent);
+        if (existing != null) {
+            return existing.thenApply(BufferedResponse::toResponse);
+        }
+
+        try {
+            send.apply(request).whenComplete((response, t) -> {
+                BufferedResponse buffered = null;
+                if (t == null) {
+                    try (HttpSender.Response r = response) {
+                        buffered = new BufferedResponse(r.getCode(), r.getBodyAsBytes());
+                    } catch (Throwable t2) {
+                        t = t2;
+                    }
+                }
+                inFlight.remove(key, sent);
+                if (buffered == null) {
+                    sent.completeExceptionally(t);
+                } else {
+                    sent.complete(buffered);
+                }
+            });
+        } catch (Throwable t) {
+            inFlight.remove(key, sent);
+            sent.completeExceptionally(t);
+        }
+        return sent.thenApply(BufferedResponse::toResponse);
+    }
+
+    HttpSender.Response sendSync(HttpSender.Request request, Function<HttpSender.Request, HttpSender.Response> send) {
+        if (request.getMethod() != HttpSender.Method.GET) {
+            return send.apply(request);
+        }
+
+        Key key = new Key(request);
+        CompletableFuture<BufferedResponse> sent = new CompletableFuture<>();
+        CompletableFuture<BufferedResponse> existing = inFlight.putIfAbsent(key, sent);
+        if (existing != null) {
+            try {
+                return existing.join().toResponse();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw e;
+            }
+        }
+
+        BufferedResponse buffered;
+        try (HttpSender.Response response = send.apply(request)) {
+            buffered = new BufferedResponse(response.getCode(), response.getBodyAsBytes());
+        } catch (RuntimeException | Error t) {
+            inFlight.remove(key, sent);
+            sent.completeExceptionally(t);
+            throw t;
+        }
+        inFlight.remove(key, sent);
+        sent.complete(buffered);
+        return buffered.toResponse();
+    }
+
+    private static class BufferedResponse {
+        private final int code;
+        private final byte[] body;
+
+        BufferedResponse(int code, byte[] body) {
+            this.code = code;
+            this.body = body;
+        }
+
+        HttpSender.Response toResponse() {
+            return new HttpSender.Response(code, new ByteArrayInputStream(body), () -> {
+            });
+        }
+    }
+
+    private static class Key {
+        // compared as a string, because URL#equals resolves host names
+        private final String url;
+        private final Map<String, String> headers;
+
+        Key(HttpSender.Request request) {
+            this.url = request.getUrl().toString();
+            this.headers = new HashMap<>(request.getRequestHeaders());
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Key key = (Key) o;
+            return url.equals(key.url) && headers.equals(key.headers);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(url, headers);
+        }
+    }
+}
@@ -15,6 +15,8 @@
  */
 package org.openrewrite.ipc.http;
 
+import okhttp3.Call;
+import okhttp3.Callback;
 import okhttp3.MediaType;
 import okhttp3.OkHttpClient;
 import okhttp3.RequestBody;
@@ -23,15 +25,18 @@
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
- * OkHttp-based {@link HttpSender}.
+ * OkHttp-based {@link HttpSender}. Asynchronous requests are queued on the client's dispatcher and share its
+ * connection pool.
  */
 public class OkHttpSender implements HttpSender {
     private static final MediaType MEDIA_TYPE_APPLICATION_JSON = MediaType.get("application/json; charset=utf-8");
     private static final MediaType MEDIA_TYPE_TEXT_PLAIN = MediaType.get("text/plain; charset=utf-8");
 
     private final OkHttpClient client;
+    private final InFlightRequests inFlight = new InFlightRequests();
 
     public OkHttpSender(OkHttpClient client) {
         this.client = client;
@@ -43,6 +48,44 @@ public OkHttpSender() {
 
     @Override
     public Response send(Request request) {
+        try {
+            //noinspection resource
+            return toResponse(client.newCall(toOkHttpRequest(request)).execute());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public Response sendCoalesced(Request request) {
+        return inFlight.sendSync(request, this::send);
+    }
+
+    @Override
+    public CompletableFuture<Response> sendAsync(Request request) {
+        return inFlight.send(request, r -> {
+            CompletableFuture<Response> response = new CompletableFuture<>();
+            client.newCall(toOkHttpRequest(r)).enqueue(new Callback() {
+                @Override
+                public void onFailure(Call call, IOException e) {
+                    response.completeExceptionally(new UncheckedIOException(e));
+                }
+
+                @Override
+                public void onResponse(Call call, okhttp3.Response okHttpResponse) {
+                    response.complete(toResponse(okHttpResponse));
+                }
+            });
+            return response;
+        });
+    }
+
+    private static Response toResponse(okhttp3.Response response) {
+        ResponseBody body = response.body();
+        return new Response(response.code(), body == null ? null : body.byteStream(), response::close);
+    }
+
+    private static okhttp3.Request toOkHttpRequest(Request request) {
         okhttp3.Request.Builder requestBuilder = new okhttp3.Request.Builder().url(request.getUrl());
 
         for (Map.Entry<String, String> requestHeader : request.getRequestHeaders().entrySet()) {
@@ -67,15 +110,7 @@ public Response send(Request request) {
                 requestBuilder.method(methodValue, null);
             }
         }
-
-        try {
-            //noinspection resource
-            okhttp3.Response response = client.newCall(requestBuilder.build()).execute();
-            ResponseBody body = response.body();
-            return new Response(response.code(), body == null ? null : body.byteStream(), response::close);
-        } catch (IOException e) {
-            throw new UncheckedIOException(e);
-        }
+        return requestBuilder.build();
     }
 
     private static boolean requiresRequestBody(Method method) {
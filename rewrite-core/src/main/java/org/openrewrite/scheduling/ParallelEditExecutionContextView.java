@@ -0,0 +1,61 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.scheduling;
+
+import org.openrewrite.DelegatingExecutionContext;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.Incubating;
+
+/**
+ * Opts a recipe run into editing source files concurrently. Scanning and generation
+ * remain sequential, since accumulators are generally not safe for concurrent use, but
+ * the edit phase of each cycle applies the recipe stack to several source files at once
+ * on a bounded pool of threads.
+ * <p>
+ * The resulting {@link org.openrewrite.Changeset} is the same as that of a sequential run.
+ * The order in which data table rows are inserted is not guaranteed.
+ */
+@Incubating(since = "8.19.0")
+public class ParallelEditExecutionContextView extends DelegatingExecutionContext {
+    private static final String EDIT_PARALLELISM = "org.openrewrite.scheduling.editParallelism";
+
+    private ParallelEditExecutionContextView(ExecutionContext delegate) {
+        super(delegate);
+    }
+
+    public static ParallelEditExecutionContextView view(ExecutionContext ctx) {
+        if (ctx instanceof ParallelEditExecutionContextView) {
+            return (ParallelEditExecutionContextView) ctx;
+        }
+        return new ParallelEditExecutionContextView(ctx);
+    }
+
+    /**
+     * @param parallelism The maximum number of source files edited at the same time. A value
+     *                    of 1 (the default) edits source files sequentially on the calling thread.
+     */
+    public ParallelEditExecutionContextView setParallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Edit parallelism must be at least 1, but was " + parallelism);
+        }
+        putMessage(EDIT_PARALLELISM, parallelism);
+        return this;
+    }
+
+    public int getParallelism() {
+        return getMessage(EDIT_PARALLELISM, 1);
+    }
+}
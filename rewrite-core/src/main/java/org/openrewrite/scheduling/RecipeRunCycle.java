@@ -17,7 +17,6 @@
 
 import lombok.AccessLevel;
 import lombok.Getter;
-import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import org.openrewrite.*;
 import org.openrewrite.internal.ExceptionUtils;
@@ -32,7 +31,11 @@
 
 import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiFunction;
 import java.util.function.UnaryOperator;
 
@@ -40,7 +43,6 @@
 import static java.util.Objects.requireNonNull;
 import static org.openrewrite.Recipe.PANIC;
 
-@RequiredArgsConstructor
 @FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
 public class RecipeRunCycle<LSS extends LargeSourceSet> {
     /**
@@ -62,12 +64,53 @@
     SourcesFileErrors errorsTable;
     BiFunction<LSS, UnaryOperator<SourceFile>, LSS> sourceSetEditor;
 
-    RecipeStack allRecipeStack = new RecipeStack();
+    /**
+     * Used in place of {@link #sourceSetEditor} to edit source files concurrently when
+     * {@link ParallelEditExecutionContextView#getParallelism()} is greater than one.
+     */
+    ParallelSourceSetEditor<LSS> parallelSourceSetEditor;
+
+    /**
+     * When not null, edits that made no change to a source file in the previous
+     * cycle are skipped if presented with the same source file again.
+     */
+    @Nullable
+    UnchangedEdits unchangedEdits;
+
+    /**
+     * Resolved once per cycle and shared by every thread that edits source files concurrently.
+     */
+    RecipeStack allRecipeStack;
     long cycleStartTime = System.nanoTime();
     AtomicBoolean thrownErrorOnTimeout = new AtomicBoolean();
 
     @Getter
-    Set<Recipe> madeChangesInThisCycle = Collections.newSetFromMap(new IdentityHashMap<>());
+    Set<Recipe> madeChangesInThisCycle = Collections.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<>()));
+
+    public RecipeRunCycle(Recipe recipe, int cycle, Cursor rootCursor, WatchableExecutionContext ctx,
+                          RecipeRunStats recipeRunStats, SourcesFileResults sourcesFileResults,
+                          SourcesFileErrors errorsTable, BiFunction<LSS, UnaryOperator<SourceFile>, LSS> sourceSetEditor) {
+        this(recipe, cycle, rootCursor, ctx, recipeRunStats, sourcesFileResults, errorsTable, sourceSetEditor,
+                (sourceSet, edit, executor) -> sourceSetEditor.apply(sourceSet, edit), null);
+    }
+
+    @Incubating(since = "8.19.0")
+    public RecipeRunCycle(Recipe recipe, int cycle, Cursor rootCursor, WatchableExecutionContext ctx,
+                          RecipeRunStats recipeRunStats, SourcesFileResults sourcesFileResults,
+                          SourcesFileErrors errorsTable, BiFunction<LSS, UnaryOperator<SourceFile>, LSS> sourceSetEditor,
+                          ParallelSourceSetEditor<LSS> parallelSourceSetEditor, @Nullable UnchangedEdits unchangedEdits) {
+        this.recipe = recipe;
+        this.cycle = cycle;
+        this.rootCursor = rootCursor;
+        this.ctx = ctx;
+        this.recipeRunStats = recipeRunStats;
+        this.sourcesFileResults = sourcesFileResults;
+        this.errorsTable = errorsTable;
+        this.sourceSetEditor = sourceSetEditor;
+        this.parallelSourceSetEditor = parallelSourceSetEditor;
+        this.unchangedEdits = unchangedEdits;
+        this.allRecipeStack = new RecipeStack(recipe);
+    }
 
     public int getRecipePosition() {
         return allRecipeStack.getRecipePosition();
@@ -75,8 +118,8 @@ public int getRecipePosition() {
 
     public LSS scanSources(LSS sourceSet) {
         return sourceSetEditor.apply(sourceSet, sourceFile ->
-                allRecipeStack.reduce(sourceSet, recipe, ctx, (source, recipeStack) -> {
-                    Recipe recipe = recipeStack.peek();
+                allRecipeStack.reduce(sourceSet, ctx, (source, recipeStack) -> {
+                    Recipe recipe = recipeStack.get(recipeStack.size() - 1);
                     if (source == null) {
                         return null;
                     }
@@ -88,7 +131,7 @@ public LSS scanSources(LSS sourceSet) {
                             //noinspection unchecked
                             ScanningRecipe<Object> scanningRecipe = (ScanningRecipe<Object>) recipe;
                             Object acc = scanningRecipe.getAccumulator(rootCursor, ctx);
-                            recipeRunStats.recordScan(recipe, () -> {
+                            recipeRunStats.recordScan(recipe, source, () -> {
                                 TreeVisitor<?, ExecutionContext> scanner = scanningRecipe.getScanner(acc);
                                 if (scanner.isAcceptable(source, ctx)) {
                                     scanner.visit(source, ctx, rootCursor);
@@ -105,8 +148,8 @@ public LSS scanSources(LSS sourceSet) {
     }
 
     public LSS generateSources(LSS sourceSet) {
-        List<SourceFile> generatedInThisCycle = allRecipeStack.reduce(sourceSet, recipe, ctx, (acc, recipeStack) -> {
-            Recipe recipe = recipeStack.peek();
+        List<SourceFile> generatedInThisCycle = allRecipeStack.reduce(sourceSet, ctx, (acc, recipeStack) -> {
+            Recipe recipe = recipeStack.get(recipeStack.size() - 1);
             if (recipe instanceof ScanningRecipe) {
                 //noinspection unchecked
                 ScanningRecipe<Object> scanningRecipe = (ScanningRecipe<Object>) recipe;
@@ -130,9 +173,9 @@ public LSS editSources(LSS sourceSet) {
         // skip edits made to generated source files so that they don't show up in a diff
         // that later fails to apply on a freshly cloned repository
         // consider any recipes adding new messages as a changing recipe (which can request another cycle)
-        return sourceSetEditor.apply(sourceSet, sourceFile ->
-                allRecipeStack.reduce(sourceSet, recipe, ctx, (source, recipeStack) -> {
-                    Recipe recipe = recipeStack.peek();
+        UnaryOperator<SourceFile> edit = sourceFile ->
+                allRecipeStack.reduce(sourceSet, ctx, (source, recipeStack) -> {
+                    Recipe recipe = recipeStack.get(recipeStack.size() - 1);
                     if (source == null) {
                         return null;
                     }
@@ -154,11 +197,16 @@ public LSS editSources(LSS sourceSet) {
                             return source;
                         }
 
+                        if (unchangedEdits != null && unchangedEdits.isUnchanged(source, getRecipePosition())) {
+                            return source;
+                        }
+
                         TreeVisitor<?, ExecutionContext> visitor = recipe.getVisitor();
                         // set root cursor as it is required by the `ScanningRecipe#isAcceptable()`
                         visitor.setCursor(rootCursor);
 
-                        after = recipeRunStats.recordEdit(recipe, () -> {
+                        ctx.startEdit();
+                        after = recipeRunStats.recordEdit(recipe, source, () -> {
                             if (visitor.isAcceptable(source, ctx)) {
                                 // propagate shared root cursor
                                 return (SourceFile) visitor.visit(source, ctx, rootCursor);
@@ -175,26 +223,45 @@ public LSS editSources(LSS sourceSet) {
                                 return source;
                             }
                             recipeRunStats.recordSourceFileChanged(source, after);
-                        } else if (ctx.hasNewMessages()) {
+                        } else if (ctx.pollHasNewMessagesInEdit()) {
                             // consider any recipes adding new messages as a changing recipe (which can request another cycle)
                             madeChangesInThisCycle.add(recipe);
-                            ctx.resetHasNewMessages();
+                        } else if (unchangedEdits != null && !(recipe instanceof ScanningRecipe)) {
+                            // the visitor of a scanning recipe depends on an accumulator that is rebuilt every
+                            // cycle, so it may make a change in a later cycle to a source file it left alone before
+                            unchangedEdits.recordUnchanged(source, getRecipePosition());
                         }
                     } catch (Throwable t) {
                         after = handleError(recipe, source, after, t);
                     }
                     if (after != null && after != source) {
+                        if (unchangedEdits != null) {
+                            unchangedEdits.recordChanged(source);
+                        }
                         after = addRecipesThatMadeChanges(recipeStack, after);
                     }
                     return after;
-                }, sourceFile)
-        );
+                }, sourceFile);
+
+        int parallelism = ParallelEditExecutionContextView.view(ctx).getParallelism();
+        if (parallelism <= 1) {
+            return sourceSetEditor.apply(sourceSet, edit);
+        }
+
+        // the pool lives only as long as the edit phase of this cycle, so no thread
+        // local state of one cycle can leak into the next
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism, new EditThreadFactory(cycle));
+        try {
+            return parallelSourceSetEditor.apply(sourceSet, edit, executor);
+        } finally {
+            executor.shutdownNow();
+        }
     }
 
-    private void recordSourceFileResult(@Nullable SourceFile before, @Nullable SourceFile after, Stack<Recipe> recipeStack, ExecutionContext ctx) {
+    private void recordSourceFileResult(@Nullable SourceFile before, @Nullable SourceFile after, List<Recipe> recipeStack, ExecutionContext ctx) {
         String beforePath = (before == null) ? "" : before.getSourcePath().toString();
         String afterPath = (after == null) ? "" : after.getSourcePath().toString();
-        Recipe recipe = recipeStack.peek();
+        Recipe recipe = recipeStack.get(recipeStack.size() - 1);
         Long effortSeconds = (recipe.getEstimatedEffortPerOccurrence() == null) ? 0L : recipe.getEstimatedEffortPerOccurrence().getSeconds();
         String parentName = "";
         boolean hierarchical = recipeStack.size() > 1;
@@ -267,4 +334,29 @@ private static <S extends SourceFile> S addRecipesThatMadeChanges(List<Recipe> r
                 })
         );
     }
+
+    /**
+     * Applies an edit to every source file of a source set, potentially to several of them at once on the executor.
+     */
+    @Incubating(since = "8.19.0")
+    @FunctionalInterface
+    public interface ParallelSourceSetEditor<LSS extends LargeSourceSet> {
+        LSS apply(LSS sourceSet, UnaryOperator<SourceFile> edit, ExecutorService executor);
+    }
+
+    private static class EditThreadFactory implements ThreadFactory {
+        private final AtomicInteger threadNumber = new AtomicInteger(1);
+        private final int cycle;
+
+        EditThreadFactory(int cycle) {
+            this.cycle = cycle;
+        }
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread t = new Thread(r, "rewrite-edit-cycle" + cycle + "-" + threadNumber.getAndIncrement());
+            t.setDaemon(true);
+            return t;
+        }
+    }
 }
@@ -15,83 +15,87 @@
  */
 package org.openrewrite.scheduling;
 
-import lombok.Getter;
-import lombok.experimental.NonFinal;
 import org.openrewrite.ExecutionContext;
 import org.openrewrite.LargeSourceSet;
 import org.openrewrite.Recipe;
 
-import java.util.IdentityHashMap;
-import java.util.List;
-import java.util.Map;
-import java.util.Stack;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.*;
 import java.util.function.BiFunction;
 
+import static java.util.Collections.unmodifiableList;
 import static org.openrewrite.Recipe.PANIC;
 
+/**
+ * The recipe tree of a cycle, flattened into the order in which its recipes run.
+ * <p>
+ * The tree is resolved once, on the thread that creates the cycle, so that every phase of the
+ * cycle and every thread that edits source files concurrently sees the same recipe instances.
+ * Only the position of the recipe currently running is tracked per thread.
+ */
 class RecipeStack {
-    private final Map<Recipe, List<Recipe>> recipeLists = new IdentityHashMap<>();
-    private Stack<Stack<Recipe>> allRecipesStack;
+    /**
+     * Every recipe of the tree in depth-first order, each with the stack of recipes that leads to it.
+     */
+    private final List<List<Recipe>> recipeStacks;
 
     /**
-     * The zero-based position of the recipe that is currently doing a scan/generate/edit.
+     * The number of recipes beneath the recipe at the same index of {@link #recipeStacks}.
      */
-    @NonFinal
-    @Getter
-    int recipePosition;
+    private final int[] descendantCounts;
+
+    /**
+     * The zero-based position of the recipe that is currently doing a scan/generate/edit on this thread.
+     */
+    private final ThreadLocal<Integer> recipePosition = ThreadLocal.withInitial(() -> 0);
+
+    RecipeStack(Recipe recipe) {
+        List<List<Recipe>> recipeStacks = new ArrayList<>();
+        List<Integer> descendantCounts = new ArrayList<>();
+        flatten(Collections.singletonList(recipe), new IdentityHashMap<>(), recipeStacks, descendantCounts);
+        this.recipeStacks = unmodifiableList(recipeStacks);
+        this.descendantCounts = new int[descendantCounts.size()];
+        for (int i = 0; i < this.descendantCounts.length; i++) {
+            this.descendantCounts[i] = descendantCounts.get(i);
+        }
+    }
+
+    public int getRecipePosition() {
+        return recipePosition.get();
+    }
 
-    public <T> T reduce(LargeSourceSet sourceSet, Recipe recipe, ExecutionContext ctx,
-                        BiFunction<T, Stack<Recipe>, T> consumer, T acc) {
-        init(recipe);
-        AtomicInteger recipePosition = new AtomicInteger(0);
-        while (!allRecipesStack.isEmpty()) {
+    public <T> T reduce(LargeSourceSet sourceSet, ExecutionContext ctx,
+                        BiFunction<T, List<Recipe>, T> consumer, T acc) {
+        for (int i = 0; i < recipeStacks.size(); i++) {
             if (ctx.getMessage(PANIC) != null) {
                 break;
             }
 
-            this.recipePosition = recipePosition.getAndIncrement();
-            Stack<Recipe> recipeStack = allRecipesStack.pop();
-            if (recipeStack.peek().maxCycles() >= ctx.getCycle()) {
+            recipePosition.set(i);
+            List<Recipe> recipeStack = recipeStacks.get(i);
+            if (recipeStack.get(recipeStack.size() - 1).maxCycles() >= ctx.getCycle()) {
                 sourceSet.setRecipe(recipeStack);
                 acc = consumer.apply(acc, recipeStack);
-                recurseRecipeList(recipeStack);
             } else {
-                this.recipePosition = recipePosition.getAndAdd(countRecipes(recipeStack.peek()));
+                // skip the recipes beneath this one as well
+                i += descendantCounts[i];
             }
         }
         return acc;
     }
 
-    private void init(Recipe recipe) {
-        allRecipesStack = new Stack<>();
-        Stack<Recipe> rootRecipeStack = new Stack<>();
-        rootRecipeStack.push(recipe);
-        allRecipesStack.push(rootRecipeStack);
-    }
+    private static void flatten(List<Recipe> recipeStack, Map<Recipe, List<Recipe>> recipeLists,
+                                List<List<Recipe>> recipeStacks, List<Integer> descendantCounts) {
+        int index = recipeStacks.size();
+        recipeStacks.add(recipeStack);
+        descendantCounts.add(0);
 
-    private void recurseRecipeList(Stack<Recipe> recipeStack) {
-        List<Recipe> recipeList = getRecipeList(recipeStack.peek());
-        for (int i = recipeList.size() - 1; i >= 0; i--) {
-            Recipe r = recipeList.get(i);
-            Stack<Recipe> nextStack = new Stack<>();
+        Recipe recipe = recipeStack.get(recipeStack.size() - 1);
+        for (Recipe r : recipeLists.computeIfAbsent(recipe, Recipe::getRecipeList)) {
+            List<Recipe> nextStack = new ArrayList<>(recipeStack.size() + 1);
             nextStack.addAll(recipeStack);
-            nextStack.push(r);
-            allRecipesStack.push(nextStack);
+            nextStack.add(r);
+            flatten(unmodifiableList(nextStack), recipeLists, recipeStacks, descendantCounts);
         }
-    }
-
-    private int countRecipes(Recipe recipe) {
-        int count = 0;
-        List<Recipe> recipeList = getRecipeList(recipe);
-        for (Recipe subRecipe : recipeList) {
-            count++;
-            count += countRecipes(subRecipe);
-        }
-        return count;
-    }
-
-    private List<Recipe> getRecipeList(Recipe recipe) {
-        return recipeLists.computeIfAbsent(recipe, Recipe::getRecipeList);
+        descendantCounts.set(index, recipeStacks.size() - index - 1);
     }
 }
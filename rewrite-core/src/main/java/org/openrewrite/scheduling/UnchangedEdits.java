@@ -0,0 +1,73 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.scheduling;
+
+import org.openrewrite.Incubating;
+import org.openrewrite.SourceFile;
+
+import java.util.BitSet;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers, across the cycles of a recipe run, which recipes found a source file not applicable
+ * or made no change to it. A recipe is identified by its position in the recipe stack, which is stable
+ * from one cycle to the next, and a source file by its id, which is stable from one instance to the next.
+ * When a later cycle presents a recipe with a source file it already left unchanged, and no recipe has
+ * changed that source file since, the edit can be skipped.
+ * <p>
+ * Keying by id rather than by instance lets a source set hand out a new instance of an unchanged source
+ * file on every pass, as {@link org.openrewrite.internal.DiskBackedLargeSourceSet} does when it
+ * deserializes it again, so the caller must report every change with {@link #recordChanged(SourceFile)}.
+ * Memory use is bounded by one bit per recipe for each source file that was left unchanged.
+ */
+@Incubating(since = "8.19.0")
+public class UnchangedEdits {
+    private final Map<UUID, BitSet> unchangedById = new ConcurrentHashMap<>();
+
+    /**
+     * @return {@code true} if the recipe at this position left this source file unchanged in an
+     * earlier cycle, and no recipe has changed it since.
+     */
+    public boolean isUnchanged(SourceFile sourceFile, int recipePosition) {
+        BitSet unchanged = unchangedById.get(sourceFile.getId());
+        if (unchanged == null) {
+            return false;
+        }
+        //noinspection SynchronizationOnLocalVariableOrMethodParameter
+        synchronized (unchanged) {
+            return unchanged.get(recipePosition);
+        }
+    }
+
+    public void recordUnchanged(SourceFile sourceFile, int recipePosition) {
+        BitSet unchanged = unchangedById.computeIfAbsent(sourceFile.getId(), id -> new BitSet());
+        //noinspection SynchronizationOnLocalVariableOrMethodParameter
+        synchronized (unchanged) {
+            unchanged.set(recipePosition);
+        }
+    }
+
+    /**
+     * Forget what every recipe learned about a source file, since a recipe has changed it.
+     *
+     * @param before The source file before the change.
+     */
+    public void recordChanged(SourceFile before) {
+        unchangedById.remove(before.getId());
+    }
+}
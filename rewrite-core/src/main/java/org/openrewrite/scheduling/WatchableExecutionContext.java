@@ -19,28 +19,61 @@
 import org.openrewrite.ExecutionContext;
 import org.openrewrite.internal.lang.Nullable;
 
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
+import java.util.function.Function;
 
 @RequiredArgsConstructor
 public class WatchableExecutionContext implements ExecutionContext {
     private final ExecutionContext delegate;
-    private boolean hasNewMessages;
+
+    private final AtomicBoolean hasNewMessages = new AtomicBoolean();
+
+    /**
+     * Whether a message was added on this thread since the edit it is running began. Source files may be
+     * edited concurrently, so a message is only attributed to the edit of the thread that added it, which
+     * is the same edit that added it in a sequential run.
+     */
+    private final ThreadLocal<Boolean> hasNewMessagesInEdit = new ThreadLocal<>();
 
     public boolean hasNewMessages() {
-        return hasNewMessages;
+        return hasNewMessages.get();
     }
 
     public void resetHasNewMessages() {
-        this.hasNewMessages = false;
+        this.hasNewMessages.set(false);
+    }
+
+    /**
+     * Called by the thread about to edit a source file with a recipe, so that messages added before,
+     * by other edits or while scanning or generating, are not attributed to this edit.
+     */
+    void startEdit() {
+        hasNewMessagesInEdit.remove();
+    }
+
+    /**
+     * @return Whether this thread added a message since it called {@link #startEdit()}.
+     */
+    boolean pollHasNewMessagesInEdit() {
+        boolean hasNew = hasNewMessagesInEdit.get() != null;
+        hasNewMessagesInEdit.remove();
+        return hasNew;
     }
 
     @Override
     public void putMessage(String key, @Nullable Object value) {
-        hasNewMessages = true;
+        hasNewMessages.set(true);
+        hasNewMessagesInEdit.set(Boolean.TRUE);
         delegate.putMessage(key, value);
     }
 
+    @Override
+    public <T> T computeMessageIfAbsent(String key, Function<String, ? extends T> mappingFunction) {
+        return delegate.computeMessageIfAbsent(key, mappingFunction);
+    }
+
     public void putCycle(RecipeRunCycle<?> cycle) {
         delegate.putMessage(CURRENT_CYCLE, cycle);
     }
@@ -15,80 +15,245 @@
  */
 package org.openrewrite.table;
 
-import io.micrometer.core.instrument.MeterRegistry;
-import io.micrometer.core.instrument.Timer;
-import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import lombok.Value;
 import org.openrewrite.*;
 import org.openrewrite.internal.lang.Nullable;
 
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
 import java.nio.file.Path;
-import java.util.ArrayList;
-import java.util.HashSet;
-import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.TimeUnit;
-
-import static java.util.Objects.requireNonNull;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
 
+/**
+ * Measures the time each recipe spends scanning and editing each type of source file, and the memory it allocates
+ * doing so. Measurements are recorded into counters and histograms that are created once per recipe and source
+ * file type, so recording allocates nothing.
+ */
 public class RecipeRunStats extends DataTable<RecipeRunStats.Row> {
-    private final MeterRegistry registry = new SimpleMeterRegistry();
-    private final Set<Path> sourceFileChanged = new HashSet<>();
+    @Nullable
+    private static final com.sun.management.ThreadMXBean ALLOCATIONS = allocationMXBean();
+
+    private final boolean enabled;
+    private final Map<String, RecipeProfile> profiles = new ConcurrentHashMap<>();
+    private final Map<Class<?>, Set<Path>> sourceFileChanged = new ConcurrentHashMap<>();
 
     public RecipeRunStats(Recipe recipe) {
+        this(recipe, true);
+    }
+
+    /**
+     * @param enabled When false, nothing is measured and the data table is left empty.
+     */
+    @Incubating(since = "8.19.0")
+    public RecipeRunStats(Recipe recipe, boolean enabled) {
         super(recipe,
                 "Recipe performance",
                 "Statistics used in analyzing the performance of recipes.");
+        this.enabled = enabled;
+        // rows are only inserted by flush, once all cycles have run
+        this.maxCycle = Integer.MAX_VALUE;
     }
 
     public void recordSourceFileChanged(@Nullable SourceFile before, @Nullable SourceFile after) {
-        if(after != null) {
-            sourceFileChanged.add(after.getSourcePath());
-        } else if(before != null) {
-            sourceFileChanged.add(before.getSourcePath());
+        if (!enabled) {
+            return;
+        }
+        SourceFile sourceFile = after != null ? after : before;
+        if (sourceFile != null) {
+            sourceFileChanged.computeIfAbsent(sourceFile.getClass(), t -> ConcurrentHashMap.newKeySet())
+                    .add(sourceFile.getSourcePath());
         }
     }
 
     public void recordScan(Recipe recipe, Callable<SourceFile> scan) throws Exception {
-        Timer.builder("rewrite.recipe.scan")
-                .tag("name", recipe.getName())
-                .publishPercentiles(0.99)
-                .register(registry)
-                .recordCallable(scan);
+        recordScan(recipe, null, scan);
+    }
+
+    /**
+     * @param sourceFile The source file being scanned, whose type the measurement is attributed to.
+     */
+    @Incubating(since = "8.19.0")
+    public void recordScan(Recipe recipe, @Nullable SourceFile sourceFile, Callable<SourceFile> scan) throws Exception {
+        if (!enabled) {
+            scan.call();
+            return;
+        }
+        long allocatedBefore = allocatedBytes();
+        long start = System.nanoTime();
+        SourceFile scanned = scan.call();
+        long elapsed = System.nanoTime() - start;
+        profile(recipe, sourceFile == null ? scanned : sourceFile).scan.record(elapsed, allocatedBytes() - allocatedBefore);
     }
 
     @Nullable
     public SourceFile recordEdit(Recipe recipe, Callable<SourceFile> edit) throws Exception {
-        return Timer.builder("rewrite.recipe.edit")
-                .tag("name", recipe.getName())
-                .publishPercentiles(0.99)
-                .register(registry)
-                .recordCallable(edit);
+        return recordEdit(recipe, null, edit);
+    }
+
+    /**
+     * @param sourceFile The source file being edited, whose type the measurement is attributed to.
+     */
+    @Incubating(since = "8.19.0")
+    @Nullable
+    public SourceFile recordEdit(Recipe recipe, @Nullable SourceFile sourceFile, Callable<SourceFile> edit) throws Exception {
+        if (!enabled) {
+            return edit.call();
+        }
+        long allocatedBefore = allocatedBytes();
+        long start = System.nanoTime();
+        SourceFile edited = edit.call();
+        long elapsed = System.nanoTime() - start;
+        profile(recipe, sourceFile == null ? edited : sourceFile).edit.record(elapsed, allocatedBytes() - allocatedBefore);
+        return edited;
     }
 
     public void flush(ExecutionContext ctx) {
-        for (Timer editor : registry.find("rewrite.recipe.edit").timers()) {
-            String recipeName = requireNonNull(editor.getId().getTag("name"));
-            Timer scanner = registry.find("rewrite.recipe.scan").tag("name", recipeName).timer();
-            Row row = new Row(
-                    recipeName,
-                    Long.valueOf(editor.count()).intValue(),
-                    sourceFileChanged.size(),
-                    scanner == null ? 0 : (long) scanner.totalTime(TimeUnit.NANOSECONDS),
-                    scanner == null ? 0 : scanner.takeSnapshot().percentileValues()[0].percentile(),
-                    scanner == null ? 0 : (long) scanner.max(TimeUnit.NANOSECONDS),
-                    (long) editor.totalTime(TimeUnit.NANOSECONDS),
-                    editor.takeSnapshot().percentileValues()[0].percentile(),
-                    (long) editor.max(TimeUnit.NANOSECONDS));
-            //noinspection DuplicatedCode
-            ctx.computeMessage(ExecutionContext.DATA_TABLES, row, ConcurrentHashMap::new, (extract, allDataTables) -> {
-                //noinspection unchecked
-                List<Row> dataTablesOfType = (List<Row>) allDataTables.computeIfAbsent(this, c -> new ArrayList<>());
-                dataTablesOfType.add(row);
-                return allDataTables;
-            });
+        for (Map.Entry<String, RecipeProfile> recipeProfile : profiles.entrySet()) {
+            for (Map.Entry<Class<?>, SourceFileTypeProfile> typeProfile : recipeProfile.getValue().bySourceFileType.entrySet()) {
+                Phase scan = typeProfile.getValue().scan;
+                Phase edit = typeProfile.getValue().edit;
+                Set<Path> changed = sourceFileChanged.get(typeProfile.getKey());
+                Row row = new Row(
+                        recipeProfile.getKey(),
+                        typeProfile.getKey() == Object.class ? "" : typeProfile.getKey().getName(),
+                        (int) edit.count.sum(),
+                        changed == null ? 0 : changed.size(),
+                        scan.totalTime.sum(),
+                        (double) scan.latencies.percentile(0.99),
+                        scan.maxTime.get(),
+                        scan.allocatedBytes.sum(),
+                        edit.totalTime.sum(),
+                        (double) edit.latencies.percentile(0.99),
+                        edit.maxTime.get(),
+                        edit.allocatedBytes.sum());
+                insertRow(ctx, row);
+            }
+        }
+    }
+
+    private SourceFileTypeProfile profile(Recipe recipe, @Nullable SourceFile sourceFile) {
+        String name = recipe.getName();
+        RecipeProfile profile = profiles.get(name);
+        if (profile == null) {
+            profile = profiles.computeIfAbsent(name, n -> new RecipeProfile());
+        }
+        return profile.forType(sourceFile == null ? Object.class : sourceFile.getClass());
+    }
+
+    private static long allocatedBytes() {
+        return ALLOCATIONS == null ? 0 : ALLOCATIONS.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    @Nullable
+    private static com.sun.management.ThreadMXBean allocationMXBean() {
+        try {
+            ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+            if (threads instanceof com.sun.management.ThreadMXBean) {
+                com.sun.management.ThreadMXBean allocations = (com.sun.management.ThreadMXBean) threads;
+                if (allocations.isThreadAllocatedMemorySupported() && allocations.isThreadAllocatedMemoryEnabled()) {
+                    return allocations;
+                }
+            }
+        } catch (Throwable ignored) {
+            // allocation is not measured on virtual machines that don't support it
+        }
+        return null;
+    }
+
+    private static class RecipeProfile {
+        private final Map<Class<?>, SourceFileTypeProfile> bySourceFileType = new ConcurrentHashMap<>();
+
+        SourceFileTypeProfile forType(Class<?> sourceFileType) {
+            SourceFileTypeProfile profile = bySourceFileType.get(sourceFileType);
+            if (profile == null) {
+                profile = bySourceFileType.computeIfAbsent(sourceFileType, t -> new SourceFileTypeProfile());
+            }
+            return profile;
+        }
+    }
+
+    private static class SourceFileTypeProfile {
+        private final Phase scan = new Phase();
+        private final Phase edit = new Phase();
+    }
+
+    private static class Phase {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalTime = new LongAdder();
+        private final LongAccumulator maxTime = new LongAccumulator(Math::max, 0);
+        private final LongAdder allocatedBytes = new LongAdder();
+        private final LatencyHistogram latencies = new LatencyHistogram();
+
+        void record(long nanos, long allocated) {
+            count.increment();
+            totalTime.add(nanos);
+            maxTime.accumulate(nanos);
+            allocatedBytes.add(allocated);
+            latencies.record(nanos);
+        }
+    }
+
+    /**
+     * A histogram with buckets whose width grows with the magnitude of the values they hold, like an HDR
+     * histogram, so that every recorded value is within about 12% of the bucket it is counted in.
+     */
+    static class LatencyHistogram {
+        private static final int SUB_BUCKET_BITS = 3;
+        private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+        // values beyond 2^40 nanoseconds, about 18 minutes, are counted in the last bucket
+        private static final int MAX_EXPONENT = 40;
+        private static final long MAX_VALUE = (1L << MAX_EXPONENT) - 1;
+
+        private final AtomicLongArray counts = new AtomicLongArray(SUB_BUCKETS * (MAX_EXPONENT - SUB_BUCKET_BITS + 1));
+
+        void record(long value) {
+            counts.incrementAndGet(index(Math.min(Math.max(value, 0), MAX_VALUE)));
+        }
+
+        /**
+         * @return The highest value in the bucket that the given percentile of recorded values falls in.
+         */
+        long percentile(double percentile) {
+            long total = 0;
+            for (int i = 0; i < counts.length(); i++) {
+                total += counts.get(i);
+            }
+            if (total == 0) {
+                return 0;
+            }
+            long rank = (long) Math.ceil(percentile * total);
+            long seen = 0;
+            for (int i = 0; i < counts.length(); i++) {
+                seen += counts.get(i);
+                if (seen >= rank) {
+                    return highestValue(i);
+                }
+            }
+            return MAX_VALUE;
+        }
+
+        static int index(long value) {
+            if (value < SUB_BUCKETS) {
+                return (int) value;
+            }
+            int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+            return SUB_BUCKETS + shift * SUB_BUCKETS + (int) (value >>> shift) - SUB_BUCKETS;
+        }
+
+        static long highestValue(int index) {
+            if (index < SUB_BUCKETS) {
+                return index;
+            }
+            int shift = (index - SUB_BUCKETS) / SUB_BUCKETS;
+            long subBucket = SUB_BUCKETS + (index - SUB_BUCKETS) % SUB_BUCKETS;
+            return ((subBucket + 1) << shift) - 1;
         }
     }
 
@@ -98,12 +263,16 @@ public static class Row {
                 description = "The recipe whose stats are being measured both individually and cumulatively.")
         String recipe;
 
+        @Column(displayName = "Source file type",
+                description = "The type of source file the recipe ran over, such as a Java compilation unit.")
+        String sourceFileType;
+
         @Column(displayName = "Source file count",
-                description = "The number of source files the recipe ran over.")
+                description = "The number of source files of this type the recipe ran over.")
         Integer sourceFiles;
 
         @Column(displayName = "Source file changed count",
-                description = "The number of source files which were changed in the recipe run. Includes files created, deleted, and edited.")
+                description = "The number of source files of this type which were changed in the recipe run. Includes files created, deleted, and edited.")
         Integer sourceFilesChanged;
 
         @Column(displayName = "Cumulative scanning time",
@@ -118,6 +287,11 @@ public static class Row {
                 description = "The max time scanning any one source file.")
         Long scanMax;
 
+        @Column(displayName = "Scanning allocations",
+                description = "The number of bytes allocated across the scanning phase of this recipe, " +
+                              "or zero where the JVM does not measure allocation.")
+        Long scanAllocatedBytes;
+
         @Column(displayName = "Cumulative edit time",
                 description = "The total time spent across the editing phase of this recipe.")
         Long editTotalTime;
@@ -129,5 +303,10 @@ public static class Row {
         @Column(displayName = "Max edit time",
                 description = "The max time editing any one source file.")
         Long editMax;
+
+        @Column(displayName = "Edit allocations",
+                description = "The number of bytes allocated across the editing phase of this recipe, " +
+                              "or zero where the JVM does not measure allocation.")
+        Long editAllocatedBytes;
     }
 }
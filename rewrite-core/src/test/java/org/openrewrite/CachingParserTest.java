@@ -0,0 +1,97 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openrewrite.text.PlainText;
+import org.openrewrite.text.PlainTextParser;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CachingParserTest {
+
+    @Test
+    void unchangedInputIsReadFromCache(@TempDir Path cache) {
+        PlainText first = parse(cache, "hello");
+        PlainText second = parse(cache, "hello");
+        PlainText changed = parse(cache, "goodbye");
+
+        assertThat(second.getId()).isEqualTo(first.getId());
+        assertThat(second.getText()).isEqualTo("hello");
+        assertThat(changed.getId()).isNotEqualTo(first.getId());
+        assertThat(changed.getText()).isEqualTo("goodbye");
+    }
+
+    @Test
+    void evictsBeyondMaximumSize(@TempDir Path cache) throws IOException {
+        CachingParser parser = parser(cache, 0);
+        parser.parseInputs(singletonList(Parser.Input.fromString(Paths.get("a.txt"), "hello")), null,
+          new InMemoryExecutionContext()).forEach(s -> {
+        });
+        try (Stream<Path> entries = Files.list(cache)) {
+            assertThat(entries).hasSize(1);
+        }
+
+        parser.evict();
+        try (Stream<Path> entries = Files.list(cache)) {
+            assertThat(entries).isEmpty();
+        }
+    }
+
+    @Test
+    void independentlyParsedInputsKeepTheirOrder(@TempDir Path cache) {
+        Parser.Input b = Parser.Input.fromString(Paths.get("b.txt"), "b");
+        parser(cache, Long.MAX_VALUE).parseInputs(singletonList(b), null, new InMemoryExecutionContext()).forEach(s -> {
+        });
+
+        List<Parser.Input> inputs = List.of(
+          Parser.Input.fromString(Paths.get("a.txt"), "a"),
+          b,
+          Parser.Input.fromString(Paths.get("c.txt"), "c")
+        );
+        List<SourceFile> sourceFiles = parser(cache, Long.MAX_VALUE).parseIndependently()
+          .parseInputs(inputs, null, new InMemoryExecutionContext())
+          .collect(toList());
+
+        assertThat(sourceFiles).extracting(s -> ((PlainText) s).getText()).containsExactly("a", "b", "c");
+    }
+
+    private static PlainText parse(Path cache, String text) {
+        return (PlainText) parser(cache, Long.MAX_VALUE)
+          .parseInputs(singletonList(Parser.Input.fromString(Paths.get("a.txt"), text)), null,
+            new InMemoryExecutionContext())
+          .findFirst()
+          .orElseThrow(IllegalStateException::new);
+    }
+
+    private static CachingParser parser(Path cache, long maxSizeBytes) {
+        PlainTextParser plainTextParser = PlainTextParser.builder().build();
+        return new CachingParser(plainTextParser, cache,
+          CachingParser.fingerprint(plainTextParser, emptyList()), maxSizeBytes, Duration.ofDays(7));
+    }
+}
@@ -21,7 +21,11 @@
 import org.openrewrite.text.PlainText;
 import org.openrewrite.text.PlainTextVisitor;
 
+import java.util.stream.Stream;
+
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.openrewrite.test.RewriteTest.toRecipe;
 import static org.openrewrite.test.SourceSpecs.text;
 
@@ -55,6 +59,63 @@ public PlainText visitText(PlainText text, ExecutionContext ctx) {
         );
     }
 
+    @Test
+    void localDiskStore() {
+        ExecutionContext ctx = new InMemoryExecutionContext();
+        try (LocalDiskDataTableStore store = new LocalDiskDataTableStore()) {
+            ctx.putMessage(ExecutionContext.DATA_TABLE_STORE, store);
+            rewriteRun(
+              spec -> spec
+                .executionContext(ctx)
+                .recipe(toRecipe(r -> new PlainTextVisitor<>() {
+                    final WordTable wordTable = new WordTable(r);
+
+                    @Override
+                    public PlainText visitText(PlainText text, ExecutionContext ctx) {
+                        int i = 0;
+                        for (String s : text.getText().split(" ")) {
+                            wordTable.insertRow(ctx, new WordTable.Row(i++, s));
+                        }
+                        return text;
+                    }
+                }))
+                .afterRecipe(run -> {
+                    try (Stream<WordTable.Row> rows = run.streamDataTableRows(WordTable.class.getName())) {
+                        assertThat(rows.map(WordTable.Row::getText)).containsExactly("hello", "world");
+                    }
+                }),
+              text("hello world")
+            );
+        }
+    }
+
+    @Test
+    void localDiskStoreRebuildsRowsFromTheirColumns() {
+        Recipe recipe = toRecipe();
+        SizeTable sizeTable = new SizeTable(recipe);
+        try (LocalDiskDataTableStore store = new LocalDiskDataTableStore()) {
+            store.insertRow(sizeTable, new SizeTable.Row("a.txt", 3L));
+            store.insertRow(sizeTable, new SizeTable.Row("b.txt", 5_000_000_000L));
+
+            try (Stream<?> rows = store.getRows(sizeTable)) {
+                assertThat(rows.map(SizeTable.Row.class::cast))
+                  .extracting(SizeTable.Row::getPath, SizeTable.Row::getSize)
+                  .containsExactly(tuple("a.txt", 3L), tuple("b.txt", 5_000_000_000L));
+            }
+        }
+    }
+
+    @Test
+    void localDiskStoreRejectsRowsItCannotRebuildOnFirstInsert() {
+        Recipe recipe = toRecipe();
+        UnbuildableTable unbuildableTable = new UnbuildableTable(recipe);
+        try (LocalDiskDataTableStore store = new LocalDiskDataTableStore()) {
+            assertThatThrownBy(() -> store.insertRow(unbuildableTable, new UnbuildableTable.Row("a.txt")))
+              .isInstanceOf(IllegalArgumentException.class)
+              .hasMessageContaining(UnbuildableTable.Row.class.getName());
+        }
+    }
+
     @Test
     void descriptor() {
         Recipe recipe = toRecipe();
@@ -95,4 +156,54 @@ public String getText() {
             }
         }
     }
+
+    @JsonIgnoreType
+    static class SizeTable extends DataTable<SizeTable.Row> {
+        public SizeTable(Recipe recipe) {
+            super(recipe, Row.class, SizeTable.class.getName(),
+              "Sizes", "The size of each file.");
+        }
+
+        static class Row {
+            @Column(displayName = "Path", description = "The path of the file.")
+            private final String path;
+
+            @Column(displayName = "Size", description = "The size of the file in bytes.")
+            private final long size;
+
+            Row(String path, long size) {
+                this.path = path;
+                this.size = size;
+            }
+
+            public String getPath() {
+                return path;
+            }
+
+            public long getSize() {
+                return size;
+            }
+        }
+    }
+
+    @JsonIgnoreType
+    static class UnbuildableTable extends DataTable<UnbuildableTable.Row> {
+        public UnbuildableTable(Recipe recipe) {
+            super(recipe, Row.class, UnbuildableTable.class.getName(),
+              "Unbuildable", "Rows without a constructor taking their columns.");
+        }
+
+        static class Row {
+            @Column(displayName = "Path", description = "The path of the file.")
+            private final String path;
+
+            @Column(displayName = "Length", description = "The length of the path.")
+            private final int length;
+
+            Row(String path) {
+                this.path = path;
+                this.length = path.length();
+            }
+        }
+    }
 }
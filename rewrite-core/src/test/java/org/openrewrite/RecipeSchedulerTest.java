@@ -19,8 +19,11 @@
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 import org.openrewrite.config.DeclarativeRecipe;
+import org.openrewrite.internal.DiskBackedLargeSourceSet;
+import org.openrewrite.internal.InMemoryLargeSourceSet;
 import org.openrewrite.internal.lang.Nullable;
 import org.openrewrite.marker.Markup;
+import org.openrewrite.scheduling.ParallelEditExecutionContextView;
 import org.openrewrite.scheduling.WorkingDirectoryExecutionContextView;
 import org.openrewrite.test.RewriteTest;
 import org.openrewrite.text.PlainText;
@@ -35,9 +38,11 @@
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
 
 import static java.util.Collections.emptyList;
 import static java.util.Collections.emptySet;
+import static java.util.stream.Collectors.toList;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.openrewrite.scheduling.WorkingDirectoryExecutionContextView.WORKING_DIRECTORY_ROOT;
@@ -135,6 +140,178 @@ void managedWorkingDirectoryWithMultipleRecipes(@TempDir Path path) {
         );
         assertThat(path).doesNotExist();
     }
+
+    @Test
+    void parallelEditsProduceSameChangesetAsSequential() {
+        Recipe recipe = toRecipe(() -> new PlainTextVisitor<>() {
+            @Override
+            public PlainText visitText(PlainText text, ExecutionContext ctx) {
+                return "foo".equals(text.getText()) ? text.withText("bar") : text;
+            }
+        });
+
+        assertThat(runSequentialAndParallel(recipe)).hasSize(67);
+    }
+
+    @Test
+    void parallelEditsAttributeMessagesToTheRecipeThatAddedThem() {
+        // only the message added while editing 0.txt causes a second cycle, in which "baz" changes
+        Recipe recipe = new Recipe() {
+            @Override
+            public String getDisplayName() {
+                return "Message, then change";
+            }
+
+            @Override
+            public String getDescription() {
+                return "Adds a message in the first cycle, and changes files in the second.";
+            }
+
+            @Override
+            public List<Recipe> getRecipeList() {
+                return List.of(
+                  toRecipe(() -> new PlainTextVisitor<>() {
+                      @Override
+                      public PlainText visitText(PlainText text, ExecutionContext ctx) {
+                          if (ctx.getCycle() == 1 && "0.txt".equals(text.getSourcePath().toString())) {
+                              ctx.putMessage("sawFoo", true);
+                          }
+                          return text;
+                      }
+                  }).withCausesAnotherCycle(true),
+                  toRecipe(() -> new PlainTextVisitor<>() {
+                      @Override
+                      public PlainText visitText(PlainText text, ExecutionContext ctx) {
+                          return ctx.getCycle() > 1 && "baz".equals(text.getText()) ? text.withText("baz2") : text;
+                      }
+                  })
+                );
+            }
+        };
+
+        assertThat(runSequentialAndParallel(recipe))
+          .hasSize(133)
+          .allSatisfy(r -> assertThat(r.getAfter().printAll()).isEqualTo("baz2"));
+    }
+
+    @Test
+    void parallelEditsSeeAccumulatorOfScan() {
+        assertThat(runSequentialAndParallel(new CountFoos()))
+          .hasSize(200)
+          .allSatisfy(r -> assertThat(r.getAfter().printAll()).endsWith("67"));
+    }
+
+    @Test
+    void parallelEditsUseRecipeInstancesOfScan() {
+        // every call to getRecipeList() allocates new children, so the edit phase only sees the
+        // accumulator of the scan if it runs the same instances that scanned
+        Recipe recipe = new Recipe() {
+            @Override
+            public String getDisplayName() {
+                return "Count and change";
+            }
+
+            @Override
+            public String getDescription() {
+                return "Counts the files to change, then changes them.";
+            }
+
+            @Override
+            public List<Recipe> getRecipeList() {
+                return List.of(new CountFoos(), toRecipe(() -> new PlainTextVisitor<>() {
+                    @Override
+                    public PlainText visitText(PlainText text, ExecutionContext ctx) {
+                        return text.getText().startsWith("foo") ? text.withText("bar") : text;
+                    }
+                }));
+            }
+        };
+
+        assertThat(runSequentialAndParallel(recipe))
+          .hasSize(200)
+          .allSatisfy(r -> assertThat(r.getAfter().printAll()).matches("bar|baz67"));
+    }
+
+    private static List<Result> runSequentialAndParallel(Recipe recipe) {
+        List<SourceFile> sources = IntStream.range(0, 200)
+          .mapToObj(i -> PlainText.builder()
+            .sourcePath(Path.of(i + ".txt"))
+            .text(i % 3 == 0 ? "foo" : "baz")
+            .build())
+          .collect(toList());
+
+        List<Result> sequential = recipe.run(new InMemoryLargeSourceSet(sources), new InMemoryExecutionContext())
+          .getChangeset().getAllResults();
+
+        ExecutionContext ctx = new InMemoryExecutionContext();
+        ParallelEditExecutionContextView.view(ctx).setParallelism(4);
+        List<Result> parallel = recipe.run(new InMemoryLargeSourceSet(sources), ctx)
+          .getChangeset().getAllResults();
+
+        assertThat(parallel.stream().map(r -> r.getAfter().getSourcePath() + ":" + r.getAfter().printAll()))
+          .containsExactlyElementsOf(sequential.stream()
+            .map(r -> r.getAfter().getSourcePath() + ":" + r.getAfter().printAll())
+            .collect(toList()));
+        return parallel;
+    }
+
+    @Test
+    void skipUnchangedSourceFilesInLaterCycles(@TempDir Path spill) {
+        Recipe changeFoo = toRecipe(() -> new PlainTextVisitor<>() {
+            @Override
+            public PlainText visitText(PlainText text, ExecutionContext ctx) {
+                return "foo".equals(text.getText()) ? text.withText("bar") : text;
+            }
+        }).withCausesAnotherCycle(true);
+        AtomicInteger visits = new AtomicInteger();
+        Recipe countVisits = toRecipe(() -> new PlainTextVisitor<>() {
+            @Override
+            public PlainText visitText(PlainText text, ExecutionContext ctx) {
+                visits.incrementAndGet();
+                return text;
+            }
+        });
+        Recipe recipe = new Recipe() {
+            @Override
+            public String getDisplayName() {
+                return "Change and count";
+            }
+
+            @Override
+            public String getDescription() {
+                return "Changes one file and counts visits.";
+            }
+
+            @Override
+            public List<Recipe> getRecipeList() {
+                return List.of(changeFoo, countVisits);
+            }
+        };
+        List<SourceFile> sources = List.of(
+          PlainText.builder().sourcePath(Path.of("a.txt")).text("foo").build(),
+          PlainText.builder().sourcePath(Path.of("b.txt")).text("baz").build()
+        );
+
+        recipe.run(new InMemoryLargeSourceSet(sources), new InMemoryExecutionContext());
+        assertThat(visits.getAndSet(0)).isEqualTo(4);
+
+        ExecutionContext ctx = new InMemoryExecutionContext();
+        ctx.putMessage(ExecutionContext.SKIP_UNCHANGED_SOURCE_FILES, true);
+        Changeset changeset = recipe.run(new InMemoryLargeSourceSet(sources), ctx).getChangeset();
+        // the second cycle visits neither file, since the changed file was counted after its change
+        assertThat(visits.getAndSet(0)).isEqualTo(2);
+        assertThat(changeset.getAllResults()).singleElement()
+          .satisfies(r -> assertThat(r.getAfter().printAll()).isEqualTo("bar"));
+
+        // a disk-backed source set deserializes the unchanged file anew for every cycle
+        ExecutionContext diskCtx = new InMemoryExecutionContext();
+        diskCtx.putMessage(ExecutionContext.SKIP_UNCHANGED_SOURCE_FILES, true);
+        try (DiskBackedLargeSourceSet sourceSet = new DiskBackedLargeSourceSet(spill, sources.stream())) {
+            assertThat(recipe.run(sourceSet, diskCtx).getChangeset().getAllResults()).singleElement()
+              .satisfies(r -> assertThat(r.getAfter().printAll()).isEqualTo("bar"));
+        }
+        assertThat(visits.get()).isEqualTo(2);
+    }
 }
 
 @AllArgsConstructor
@@ -176,6 +353,49 @@ public StackTraceElement[] getStackTrace() {
     }
 }
 
+/**
+ * Appends the number of files containing "foo" to every file, as counted by the scan.
+ */
+class CountFoos extends ScanningRecipe<AtomicInteger> {
+    @Override
+    public String getDisplayName() {
+        return "Count foos";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Appends the number of files containing foo.";
+    }
+
+    @Override
+    public AtomicInteger getInitialValue(ExecutionContext ctx) {
+        return new AtomicInteger();
+    }
+
+    @Override
+    public TreeVisitor<?, ExecutionContext> getScanner(AtomicInteger acc) {
+        return new PlainTextVisitor<>() {
+            @Override
+            public PlainText visitText(PlainText text, ExecutionContext ctx) {
+                if ("foo".equals(text.getText())) {
+                    acc.incrementAndGet();
+                }
+                return text;
+            }
+        };
+    }
+
+    @Override
+    public TreeVisitor<?, ExecutionContext> getVisitor(AtomicInteger acc) {
+        return new PlainTextVisitor<>() {
+            @Override
+            public PlainText visitText(PlainText text, ExecutionContext ctx) {
+                return text.getText().matches("[a-z]+") ? text.withText(text.getText() + acc.get()) : text;
+            }
+        };
+    }
+}
+
 @AllArgsConstructor
 class RecipeWritingToFile extends ScanningRecipe<RecipeWritingToFile.Accumulator> {
 
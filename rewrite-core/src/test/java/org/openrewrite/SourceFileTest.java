@@ -62,4 +62,40 @@ void isNotPrintEqualForDifferentCharsets() {
           .isFalse();
     }
 
+    @Test
+    void isNotPrintEqualWhenInputIsLonger() {
+        ExecutionContext ctx = new InMemoryExecutionContext();
+        Parser.Input input = Parser.Input.fromString("hello world");
+        SourceFile sourceFile = PlainText.builder()
+          .text("hello")
+          .build();
+
+        assertThat(sourceFile.printEqualsInput(input, ctx))
+          .isFalse();
+    }
+
+    @Test
+    void isNotPrintEqualWhenPrintedIsLonger() {
+        ExecutionContext ctx = new InMemoryExecutionContext();
+        Parser.Input input = Parser.Input.fromString("hello");
+        SourceFile sourceFile = PlainText.builder()
+          .text("hello world")
+          .build();
+
+        assertThat(sourceFile.printEqualsInput(input, ctx))
+          .isFalse();
+    }
+
+    @Test
+    void isPrintEqualBeyondOneBuffer() {
+        ExecutionContext ctx = new InMemoryExecutionContext();
+        String text = "abcdefghij".repeat(2000);
+        Parser.Input input = Parser.Input.fromString(text);
+
+        assertThat(PlainText.builder().text(text).build().printEqualsInput(input, ctx))
+          .isTrue();
+        assertThat(PlainText.builder().text(text.substring(0, 10000) + "X" + text.substring(10001)).build()
+          .printEqualsInput(input, ctx))
+          .isFalse();
+    }
 }
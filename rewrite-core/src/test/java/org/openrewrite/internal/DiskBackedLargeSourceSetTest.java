@@ -0,0 +1,63 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.internal;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openrewrite.*;
+import org.openrewrite.text.PlainText;
+import org.openrewrite.text.PlainTextVisitor;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.openrewrite.test.RewriteTest.toRecipe;
+
+class DiskBackedLargeSourceSetTest {
+
+    @Test
+    void onlyChangedFilesAppearInChangeset(@TempDir Path dir) {
+        Recipe recipe = toRecipe(() -> new PlainTextVisitor<>() {
+            @Override
+            public PlainText visitText(PlainText text, ExecutionContext ctx) {
+                return "foo".equals(text.getText()) ? text.withText("bar") : text;
+            }
+        });
+
+        try (DiskBackedLargeSourceSet sourceSet = new DiskBackedLargeSourceSet(dir, Stream.of(
+          PlainText.builder().sourcePath(Paths.get("a.txt")).text("foo").build(),
+          PlainText.builder().sourcePath(Paths.get("b.txt")).text("baz").build()
+        ))) {
+            assertThat(sourceSet.getBefore(Paths.get("b.txt")))
+              .isNotNull()
+              .satisfies(b -> assertThat(b.printAll()).isEqualTo("baz"));
+
+            Changeset changeset = recipe.run(sourceSet, new InMemoryExecutionContext()).getChangeset();
+            assertThat(changeset.size()).isEqualTo(1);
+
+            List<Result> results = changeset.getPage(0, 10);
+            assertThat(results).hasSize(1);
+            Result result = results.get(0);
+            assertThat(result.getBefore()).isNotNull();
+            assertThat(result.getBefore().printAll()).isEqualTo("foo");
+            assertThat(result.getAfter()).isNotNull();
+            assertThat(result.getAfter().printAll()).isEqualTo("bar");
+        }
+    }
+}
@@ -49,6 +49,22 @@ void idempotent() {
         }
     }
 
+    @Test
+    void nonAsciiSourceIsDecodedAsUtf8() {
+        try (var diff = new InMemoryDiffEntry(
+          filePath,
+          filePath,
+          null,
+          "class Gr\u00fc\u00dfe {}",
+          "class \u3053\u3093\u306b\u3061\u306f {}",
+          emptySet()
+        )) {
+            assertThat(diff.getDiff())
+              .contains("-class Gr\u00fc\u00dfe {}")
+              .contains("+class \u3053\u3093\u306b\u3061\u306f {}");
+        }
+    }
+
     @Test
     void ignoreWhitespace() {
         try (var diff = new InMemoryDiffEntry(
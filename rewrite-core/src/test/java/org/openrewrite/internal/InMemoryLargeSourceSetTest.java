@@ -0,0 +1,71 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.internal;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.LargeSourceSet;
+import org.openrewrite.SourceFile;
+import org.openrewrite.text.PlainText;
+
+import java.nio.file.Paths;
+import java.util.List;
+
+import static java.util.Collections.singletonList;
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InMemoryLargeSourceSetTest {
+
+    @Test
+    void changesetFollowsSourceSetOrder() {
+        PlainText a = text("a.txt");
+        PlainText b = text("b.txt");
+        PlainText c = text("c.txt");
+        LargeSourceSet lss = new InMemoryLargeSourceSet(List.of(a, b, c));
+
+        lss = lss.edit(s -> s == b ? b.withText("b2") : s);
+        lss = lss.edit(s -> s == a ? a.withText("a2") : s);
+        assertThat(paths(lss)).containsExactly("a.txt", "b.txt");
+
+        lss = lss.generate(singletonList(text("d.txt")));
+        lss = lss.edit(s -> s.getSourcePath().equals(Paths.get("c.txt")) ? null : s);
+        assertThat(paths(lss)).containsExactly("a.txt", "b.txt", "d.txt", "c.txt");
+    }
+
+    @Test
+    void editBackToInitialStateIsNotAChange() {
+        PlainText a = text("a.txt");
+        LargeSourceSet lss = new InMemoryLargeSourceSet(List.of(a));
+
+        lss = lss.edit(s -> a.withText("changed"));
+        assertThat(paths(lss)).containsExactly("a.txt");
+
+        lss = lss.edit(s -> a);
+        assertThat(lss.getChangeset().getAllResults()).isEmpty();
+    }
+
+    private static PlainText text(String path) {
+        return PlainText.builder().sourcePath(Paths.get(path)).text(path).build();
+    }
+
+    private static List<String> paths(LargeSourceSet lss) {
+        return lss.getChangeset().getAllResults().stream()
+          .map(r -> (r.getAfter() == null ? r.getBefore() : r.getAfter()))
+          .map(SourceFile::getSourcePath)
+          .map(Object::toString)
+          .collect(toList());
+    }
+}
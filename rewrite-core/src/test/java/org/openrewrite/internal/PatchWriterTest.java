@@ -0,0 +1,91 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.internal;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.openrewrite.Changeset;
+import org.openrewrite.Recipe;
+import org.openrewrite.Result;
+import org.openrewrite.SourceFile;
+import org.openrewrite.text.PlainText;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Collections.singleton;
+import static java.util.Collections.singletonList;
+import static java.util.Objects.requireNonNull;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PatchWriterTest {
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 4})
+    void sameAsDiffOfEachResultInItsOwnRepository(int parallelism) throws IOException {
+        List<Result> results = new ArrayList<>();
+        for (int i = 0; i < PatchWriter.RESULTS_PER_REPOSITORY * 2 + 10; i++) {
+            PlainText before = PlainText.builder().sourcePath(Paths.get("file" + i + ".txt")).text("before " + i).build();
+            PlainText after = i % 7 == 0 ? null : before.withText("after " + i);
+            results.add(new Result(before, after, singletonList(singletonList(Recipe.noop()))));
+        }
+
+        StringBuilder expected = new StringBuilder();
+        for (Result result : results) {
+            expected.append(diffInOwnRepository(result));
+        }
+
+        ByteArrayOutputStream patch = new ByteArrayOutputStream();
+        changeset(results).writePatch(patch, null, parallelism);
+        assertThat(patch.toString(StandardCharsets.UTF_8)).isEqualTo(expected.toString());
+    }
+
+    /**
+     * How results were diffed before patch writers, with a new repository per result.
+     */
+    private static String diffInOwnRepository(Result result) {
+        SourceFile before = requireNonNull(result.getBefore());
+        SourceFile after = result.getAfter();
+        try (InMemoryDiffEntry diffEntry = new InMemoryDiffEntry(
+          before.getSourcePath(),
+          after == null ? null : after.getSourcePath(),
+          null,
+          before.printAll(),
+          after == null ? "" : after.printAll(),
+          singleton(Recipe.noop())
+        )) {
+            return diffEntry.getDiff(false);
+        }
+    }
+
+    private static Changeset changeset(List<Result> results) {
+        return new Changeset() {
+            @Override
+            public int size() {
+                return results.size();
+            }
+
+            @Override
+            public List<Result> getPage(int start, int count) {
+                return results.subList(start, start + count);
+            }
+        };
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.ipc.http;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InFlightRequestsTest {
+    private final HttpSender sender = new HttpUrlConnectionSender();
+
+    @Test
+    void coalescesIdenticalGets() {
+        InFlightRequests inFlight = new InFlightRequests();
+        AtomicInteger sent = new AtomicInteger();
+        CompletableFuture<HttpSender.Response> pending = new CompletableFuture<>();
+
+        HttpSender.Request request = sender.get("https://repo.example.com/parent.pom").build();
+        CompletableFuture<HttpSender.Response> first = inFlight.send(request, r -> {
+            sent.incrementAndGet();
+            return pending;
+        });
+        CompletableFuture<HttpSender.Response> second = inFlight.send(sender.get("https://repo.example.com/parent.pom").build(), r -> {
+            sent.incrementAndGet();
+            return pending;
+        });
+
+        pending.complete(new HttpSender.Response(200, new ByteArrayInputStream("pom".getBytes(StandardCharsets.UTF_8)), () -> {
+        }));
+
+        assertThat(sent).hasValue(1);
+        assertThat(new String(first.join().getBodyAsBytes(), StandardCharsets.UTF_8)).isEqualTo("pom");
+        assertThat(new String(second.join().getBodyAsBytes(), StandardCharsets.UTF_8)).isEqualTo("pom");
+    }
+
+    @Test
+    void sendsAgainOnceComplete() {
+        InFlightRequests inFlight = new InFlightRequests();
+        AtomicInteger sent = new AtomicInteger();
+
+        for (int i = 0; i < 2; i++) {
+            inFlight.send(sender.get("https://repo.example.com/parent.pom").build(), r -> {
+                sent.incrementAndGet();
+                return CompletableFuture.completedFuture(new HttpSender.Response(200, null, () -> {
+                }));
+            }).join();
+        }
+
+        assertThat(sent).hasValue(2);
+    }
+
+    @Test
+    void sendsSynchronousGetOnCallingThread() {
+        InFlightRequests inFlight = new InFlightRequests();
+        Thread caller = Thread.currentThread();
+
+        try (HttpSender.Response response = inFlight.sendSync(sender.get("https://repo.example.com/parent.pom").build(), r -> {
+            assertThat(Thread.currentThread()).isSameAs(caller);
+            return new HttpSender.Response(200, new ByteArrayInputStream("pom".getBytes(StandardCharsets.UTF_8)), () -> {
+            });
+        })) {
+            assertThat(new String(response.getBodyAsBytes(), StandardCharsets.UTF_8)).isEqualTo("pom");
+        }
+    }
+
+    @Test
+    void doesNotCoalesceOtherMethods() {
+        InFlightRequests inFlight = new InFlightRequests();
+        AtomicInteger sent = new AtomicInteger();
+        CompletableFuture<HttpSender.Response> pending = new CompletableFuture<>();
+
+        for (int i = 0; i < 2; i++) {
+            inFlight.send(sender.post("https://repo.example.com/upload").withPlainText("body").build(), r -> {
+                sent.incrementAndGet();
+                return pending;
+            });
+        }
+
+        assertThat(sent).hasValue(2);
+    }
+}
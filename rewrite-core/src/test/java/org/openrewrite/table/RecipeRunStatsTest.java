@@ -25,6 +25,7 @@
 import org.openrewrite.text.PlainTextVisitor;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.withinPercentage;
 import static org.openrewrite.test.SourceSpecs.text;
 
 class RecipeRunStatsTest implements RewriteTest {
@@ -77,6 +78,7 @@ void singleRow() {
                 .hasSize(1);
               RecipeRunStats.Row row = rows.get(0);
               assertThat(row.getRecipe()).endsWith("RecipeWithApplicabilityTest");
+              assertThat(row.getSourceFileType()).isEqualTo(PlainText.class.getName());
               assertThat(row.getSourceFiles())
                 .as("Test framework will invoke the recipe once when it is expected to make a change, " +
                     "then once again when it is expected to make no change")
@@ -89,4 +91,28 @@ void singleRow() {
           text("samuel", "sam")
         );
     }
+
+    @Test
+    void disabled() {
+        ExecutionContext ctx = new InMemoryExecutionContext();
+        ctx.putMessage(ExecutionContext.PROFILE_RECIPES, false);
+        rewriteRun(
+          spec -> spec
+            .executionContext(ctx)
+            .afterRecipe(run -> assertThat(run.getDataTables().keySet())
+              .noneMatch(RecipeRunStats.class::isInstance)),
+          text("samuel", "sam")
+        );
+    }
+
+    @Test
+    void latencyPercentiles() {
+        RecipeRunStats.LatencyHistogram histogram = new RecipeRunStats.LatencyHistogram();
+        for (long i = 1; i <= 1000; i++) {
+            histogram.record(i * 1000);
+        }
+        assertThat(histogram.percentile(0.5)).isCloseTo(500_000, withinPercentage(13));
+        assertThat(histogram.percentile(0.99)).isCloseTo(990_000, withinPercentage(13));
+        assertThat(histogram.percentile(1.0)).isGreaterThanOrEqualTo(1_000_000);
+    }
 }
@@ -35,7 +35,8 @@
 import org.openrewrite.marker.Markup;
 import org.openrewrite.maven.MavenDownloadingException;
 import org.openrewrite.maven.MavenDownloadingExceptions;
-import org.openrewrite.maven.internal.MavenPomDownloader;
+import org.openrewrite.maven.MavenExecutionContextView;
+import org.openrewrite.maven.MavenResolutionSession;
 import org.openrewrite.maven.table.MavenMetadataFailures;
 import org.openrewrite.maven.tree.*;
 import org.openrewrite.tree.ParseError;
@@ -158,11 +159,9 @@ static G.CompilationUnit addDependency(
                 resolvedGav = null;
                 transitiveDependencies = Collections.emptyList();
             } else {
-                MavenPomDownloader mpd = new MavenPomDownloader(ctx);
-                Pom pom = mpd.download(gav, null, null, gp.getMavenRepositories());
-                ResolvedPom resolvedPom = pom.resolve(emptyList(), mpd, gp.getMavenRepositories(), ctx);
-                resolvedGav = resolvedPom.getGav();
-                transitiveDependencies = resolvedPom.resolveDependencies(Scope.Runtime, mpd, ctx);
+                MavenResolutionSession session = MavenExecutionContextView.view(ctx).getResolutionSession();
+                resolvedGav = session.resolve(gav, gp.getMavenRepositories(), ctx).getGav();
+                transitiveDependencies = session.resolveDependencies(gav, gp.getMavenRepositories(), Scope.Runtime, ctx);
             }
             Map<String, GradleDependencyConfiguration> nameToConfiguration = gp.getNameToConfiguration();
             Map<String, GradleDependencyConfiguration> newNameToConfiguration = new HashMap<>(nameToConfiguration.size());
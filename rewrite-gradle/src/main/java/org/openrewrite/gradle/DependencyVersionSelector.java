@@ -23,7 +23,7 @@
 import org.openrewrite.internal.StringUtils;
 import org.openrewrite.internal.lang.Nullable;
 import org.openrewrite.maven.MavenDownloadingException;
-import org.openrewrite.maven.internal.MavenPomDownloader;
+import org.openrewrite.maven.MavenExecutionContextView;
 import org.openrewrite.maven.table.MavenMetadataFailures;
 import org.openrewrite.maven.tree.*;
 import org.openrewrite.semver.*;
@@ -164,8 +164,8 @@ private Optional<String> findNewerVersion(GroupArtifactVersion gav,
     }
 
     private MavenMetadata downloadMetadata(String groupId, String artifactId, List<MavenRepository> repositories, ExecutionContext ctx) throws MavenDownloadingException {
-        return new MavenPomDownloader(ctx).downloadMetadata(
-                new GroupArtifact(groupId, artifactId), null, repositories);
+        return MavenExecutionContextView.view(ctx).getResolutionSession()
+                .downloadMetadata(new GroupArtifact(groupId, artifactId), repositories, ctx);
     }
 
     private List<MavenRepository> determineRepos(@Nullable String configuration) {
@@ -27,9 +27,7 @@
 import org.openrewrite.java.JavaParser;
 
 import java.nio.file.Path;
-import java.util.Collection;
-import java.util.Collections;
-import java.util.List;
+import java.util.*;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
@@ -76,13 +74,54 @@ public Stream<SourceFile> parseInputs(Iterable<Input> sources, @Nullable Path re
                     .build();
         }
 
-        return StreamSupport.stream(sources.spliterator(), false)
-                .flatMap(source -> {
-                    if (source.getPath().endsWith("settings.gradle")) {
-                        return settingsParser.parseInputs(Collections.singletonList(source), relativeTo, ctx);
-                    }
-                    return buildParser.parseInputs(Collections.singletonList(source), relativeTo, ctx);
-                });
+        // all build scripts are parsed in one call, and all settings scripts in another, so that the scripts of
+        // each kind share the classpath of their parser, and the results are then read back in the order of the inputs
+        List<Input> inputs = new ArrayList<>();
+        sources.forEach(inputs::add);
+        Stream<SourceFile> settings = settingsParser.parseInputs(
+                () -> inputs.stream().filter(GradleParser::isSettings).iterator(), relativeTo, ctx);
+        Stream<SourceFile> builds = buildParser.parseInputs(
+                () -> inputs.stream().filter(source -> !isSettings(source)).iterator(), relativeTo, ctx);
+        Iterator<SourceFile> parsedSettings = settings.iterator();
+        Iterator<SourceFile> parsedBuilds = builds.iterator();
+        Runnable close = () -> {
+            settings.close();
+            builds.close();
+        };
+
+        Iterator<Input> order = inputs.iterator();
+        Iterator<SourceFile> parsed = new Iterator<SourceFile>() {
+            @Override
+            public boolean hasNext() {
+                if (order.hasNext()) {
+                    return true;
+                }
+                close.run();
+                return false;
+            }
+
+            @Override
+            public SourceFile next() {
+                return isSettings(order.next()) ? parsedSettings.next() : parsedBuilds.next();
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(parsed, Spliterator.ORDERED), false)
+                .onClose(close);
+    }
+
+    private static boolean isSettings(Input source) {
+        return source.getPath().endsWith("settings.gradle");
+    }
+
+    @Override
+    public GradleParser reset() {
+        if (buildParser != null) {
+            buildParser.reset();
+        }
+        if (settingsParser != null) {
+            settingsParser.reset();
+        }
+        return this;
     }
 
     @Override
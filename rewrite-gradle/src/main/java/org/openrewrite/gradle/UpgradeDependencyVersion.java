@@ -38,7 +38,8 @@
 import org.openrewrite.marker.Markup;
 import org.openrewrite.maven.MavenDownloadingException;
 import org.openrewrite.maven.MavenDownloadingExceptions;
-import org.openrewrite.maven.internal.MavenPomDownloader;
+import org.openrewrite.maven.MavenExecutionContextView;
+import org.openrewrite.maven.MavenResolutionSession;
 import org.openrewrite.maven.table.MavenMetadataFailures;
 import org.openrewrite.maven.tree.*;
 import org.openrewrite.properties.PropertiesVisitor;
@@ -49,7 +50,6 @@
 
 import java.util.*;
 
-import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
 import static java.util.Objects.requireNonNull;
 
@@ -665,11 +665,9 @@ static GradleProject replaceVersion(GradleProject gp, ExecutionContext ctx, Grou
                 return gp;
             }
 
-            MavenPomDownloader mpd = new MavenPomDownloader(ctx);
-            Pom pom = mpd.download(gav, null, null, gp.getMavenRepositories());
-            ResolvedPom resolvedPom = pom.resolve(emptyList(), mpd, gp.getMavenRepositories(), ctx);
-            ResolvedGroupArtifactVersion resolvedGav = resolvedPom.getGav();
-            List<ResolvedDependency> transitiveDependencies = resolvedPom.resolveDependencies(Scope.Runtime, mpd, ctx);
+            MavenResolutionSession session = MavenExecutionContextView.view(ctx).getResolutionSession();
+            ResolvedGroupArtifactVersion resolvedGav = session.resolve(gav, gp.getMavenRepositories(), ctx).getGav();
+            List<ResolvedDependency> transitiveDependencies = session.resolveDependencies(gav, gp.getMavenRepositories(), Scope.Runtime, ctx);
             Map<String, GradleDependencyConfiguration> nameToConfiguration = gp.getNameToConfiguration();
             Map<String, GradleDependencyConfiguration> newNameToConfiguration = new HashMap<>(nameToConfiguration.size());
             boolean anyChanged = false;
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.gradle;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.Tree;
+import org.openrewrite.gradle.marker.GradleProject;
+import org.openrewrite.maven.MavenDownloadingException;
+import org.openrewrite.maven.MavenExecutionContextView;
+import org.openrewrite.maven.cache.InMemoryMavenPomCache;
+import org.openrewrite.maven.tree.GroupArtifact;
+import org.openrewrite.maven.tree.GroupArtifactVersion;
+import org.openrewrite.maven.tree.MavenRepository;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DependencyVersionSelectorTest {
+
+    @Test
+    void selectsFromMetadataOfProjectRepositories(@TempDir Path repository) throws IOException, MavenDownloadingException {
+        Path metadata = repository.resolve("org/example/lib/maven-metadata.xml");
+        Files.createDirectories(metadata.getParent());
+        //language=xml
+        Files.writeString(metadata, """
+          <metadata>
+            <groupId>org.example</groupId>
+            <artifactId>lib</artifactId>
+            <versioning>
+              <versions>
+                <version>1.0.0</version>
+                <version>1.1.0</version>
+                <version>2.0.0</version>
+              </versions>
+            </versioning>
+          </metadata>
+          """);
+
+        MavenRepository repo = MavenRepository.builder()
+          .id("local-test")
+          .uri(repository.toUri().toString())
+          .knownToExist(true)
+          .build();
+        GradleProject gradleProject = new GradleProject(Tree.randomId(), "project", ":", List.of(),
+          List.of(repo), List.of(), Map.of());
+        MavenExecutionContextView ctx = MavenExecutionContextView.view(new InMemoryExecutionContext(t -> {
+            throw new AssertionError(t);
+        }));
+        ctx.setPomCache(new InMemoryMavenPomCache());
+        ctx.setAddCentralRepository(false);
+        ctx.setAddLocalRepository(false);
+
+        DependencyVersionSelector selector = new DependencyVersionSelector(null, gradleProject, null);
+        assertThat(selector.select(new GroupArtifact("org.example", "lib"), "implementation", "latest.release", null, ctx))
+          .isEqualTo("2.0.0");
+        assertThat(selector.select(new GroupArtifactVersion("org.example", "lib", "1.0.0"), "implementation", "1.x", null, ctx))
+          .isEqualTo("1.1.0");
+    }
+}
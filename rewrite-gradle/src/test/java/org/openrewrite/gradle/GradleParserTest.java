@@ -16,15 +16,40 @@
 package org.openrewrite.gradle;
 
 import org.junit.jupiter.api.Test;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.Parser;
+import org.openrewrite.SourceFile;
 import org.openrewrite.java.tree.J;
 import org.openrewrite.test.RewriteTest;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.openrewrite.gradle.Assertions.buildGradle;
 import static org.openrewrite.gradle.Assertions.settingsGradle;
 
 class GradleParserTest implements RewriteTest {
 
+    @Test
+    void returnsBuildAndSettingsScriptsInInputOrder() {
+        List<Parser.Input> inputs = Stream.of("build.gradle", "settings.gradle", "sub/build.gradle", "sub/settings.gradle")
+          .map(path -> new Parser.Input(Paths.get(path),
+            () -> new ByteArrayInputStream("repositories { mavenCentral() }".getBytes(StandardCharsets.UTF_8))))
+          .collect(Collectors.toList());
+        List<SourceFile> parsed = GradleParser.builder().build()
+          .parseInputs(inputs, null, new InMemoryExecutionContext(t -> {
+              throw new AssertionError(t);
+          }))
+          .collect(Collectors.toList());
+        assertThat(parsed).extracting(s -> s.getSourcePath().toString().replace('\\', '/'))
+          .containsExactly("build.gradle", "settings.gradle", "sub/build.gradle", "sub/settings.gradle");
+    }
+
     @Test
     void buildGradleAndSettingsGradle() {
         rewriteRun(
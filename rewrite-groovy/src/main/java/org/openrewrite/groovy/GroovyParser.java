@@ -63,6 +63,9 @@ public class GroovyParser implements Parser {
     private final JavaTypeCache typeCache;
     private final List<Consumer<CompilerConfiguration>> compilerCustomizers;
 
+    @Nullable
+    private CompilerConfiguration configuration;
+
     @Override
     public Stream<SourceFile> parse(@Language("groovy") String... sources) {
         Pattern packagePattern = Pattern.compile("^package\\s+([^;]+);");
@@ -95,8 +98,106 @@ public Stream<SourceFile> parse(@Language("groovy") String... sources) {
         );
     }
 
+    /**
+     * The source files are parsed lazily, one input at a time. Every input of one call shares a class loader of the
+     * classpath, which is closed as soon as the last source file has been read from the returned stream. A caller
+     * that stops reading early should close the stream instead.
+     */
     @Override
     public Stream<SourceFile> parseInputs(Iterable<Input> sources, @Nullable Path relativeTo, ExecutionContext ctx) {
+        ParsingExecutionContextView pctx = ParsingExecutionContextView.view(ctx);
+        Compilation compilation = new Compilation(compilerConfiguration());
+        Iterator<Input> inputs = sources.iterator();
+        Iterator<SourceFile> parsed = new Iterator<SourceFile>() {
+            @Override
+            public boolean hasNext() {
+                if (inputs.hasNext()) {
+                    return true;
+                }
+                compilation.close();
+                return false;
+            }
+
+            @Override
+            public SourceFile next() {
+                return parse(inputs.next(), compilation, relativeTo, pctx, ctx);
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(parsed, Spliterator.ORDERED), false)
+                .onClose(compilation::close);
+    }
+
+    private SourceFile parse(Input input, Compilation compilation, @Nullable Path relativeTo,
+                             ParsingExecutionContextView pctx, ExecutionContext ctx) {
+        CompilerConfiguration configuration = compilation.configuration;
+        GroovyClassLoader classLoader = compilation.classLoader();
+        ParseWarningCollector errorCollector = new ParseWarningCollector(configuration, this);
+        try {
+            SourceUnit unit = new SourceUnit(
+                    "doesntmatter",
+                    new InputStreamReaderSource(input.getSource(ctx), configuration),
+                    configuration,
+                    classLoader,
+                    errorCollector
+            );
+
+            pctx.getParsingListener().startedParsing(input);
+            // each file still gets a compilation unit of its own, because every script is
+            // compiled to a class of the same name
+            CompilationUnit compUnit = new CompilationUnit(configuration, null, classLoader, classLoader);
+            compUnit.setClassNodeResolver(compilation.classNodeResolver);
+            compUnit.addSource(unit);
+            compUnit.compile(Phases.CANONICALIZATION);
+            ModuleNode ast = unit.getAST();
+
+            for (ClassNode aClass : ast.getClasses()) {
+                try {
+                    StaticTypeCheckingVisitor staticTypeCheckingVisitor = new StaticTypeCheckingVisitor(unit, aClass);
+                    staticTypeCheckingVisitor.setCompilationUnit(compUnit);
+                    staticTypeCheckingVisitor.visitClass(aClass);
+                } catch (NoClassDefFoundError ignored) {
+                }
+            }
+
+            CompiledGroovySource compiled = new CompiledGroovySource(input, unit, ast);
+            List<ParseWarning> warnings = errorCollector.getWarningMarkers();
+            GroovyParserVisitor mappingVisitor = new GroovyParserVisitor(
+                    compiled.getInput().getRelativePath(relativeTo),
+                    compiled.getInput().getFileAttributes(),
+                    compiled.getInput().getSource(ctx),
+                    typeCache,
+                    ctx
+            );
+            G.CompilationUnit gcu = mappingVisitor.visit(compiled.getSourceUnit(), compiled.getModule());
+            if (warnings.size() > 0) {
+                Markers m = gcu.getMarkers();
+                for (ParseWarning warning : warnings) {
+                    m = m.add(warning);
+                }
+                gcu = gcu.withMarkers(m);
+            }
+            pctx.getParsingListener().parsed(compiled.getInput(), gcu);
+            return requirePrintEqualsInput(gcu, input, relativeTo, ctx);
+        } catch (Throwable t) {
+            ctx.getOnError().accept(t);
+            return ParseError.build(this, input, relativeTo, ctx, t);
+        } finally {
+            if (logCompilationWarningsAndErrors && (errorCollector.hasErrors() || errorCollector.hasWarnings())) {
+                try (StringWriter sw = new StringWriter();
+                     PrintWriter pw = new PrintWriter(sw)) {
+                    errorCollector.write(pw, new Janitor());
+                    org.slf4j.LoggerFactory.getLogger(GroovyParser.class).warn(sw.toString());
+                } catch (IOException ignored) {
+                    // unreachable
+                }
+            }
+        }
+    }
+
+    private CompilerConfiguration compilerConfiguration() {
+        if (configuration != null) {
+            return configuration;
+        }
         CompilerConfiguration configuration = new CompilerConfiguration();
         configuration.setTolerance(Integer.MAX_VALUE);
         configuration.setWarningLevel(WarningMessage.NONE);
@@ -113,69 +214,8 @@ public Stream<SourceFile> parseInputs(Iterable<Input> sources, @Nullable Path re
         for (Consumer<CompilerConfiguration> compilerCustomizer : compilerCustomizers) {
             compilerCustomizer.accept(configuration);
         }
-
-        ParsingExecutionContextView pctx = ParsingExecutionContextView.view(ctx);
-        return StreamSupport.stream(sources.spliterator(), false)
-                .map(input -> {
-                    ParseWarningCollector errorCollector = new ParseWarningCollector(configuration, this);
-                    try (GroovyClassLoader classLoader = new GroovyClassLoader(getClass().getClassLoader(), configuration, true)) {
-                        SourceUnit unit = new SourceUnit(
-                                "doesntmatter",
-                                new InputStreamReaderSource(input.getSource(ctx), configuration),
-                                configuration,
-                                classLoader,
-                                errorCollector
-                        );
-
-                        pctx.getParsingListener().startedParsing(input);
-                        CompilationUnit compUnit = new CompilationUnit(configuration, null, classLoader, classLoader);
-                        compUnit.addSource(unit);
-                        compUnit.compile(Phases.CANONICALIZATION);
-                        ModuleNode ast = unit.getAST();
-
-                        for (ClassNode aClass : ast.getClasses()) {
-                            try {
-                                StaticTypeCheckingVisitor staticTypeCheckingVisitor = new StaticTypeCheckingVisitor(unit, aClass);
-                                staticTypeCheckingVisitor.setCompilationUnit(compUnit);
-                                staticTypeCheckingVisitor.visitClass(aClass);
-                            } catch (NoClassDefFoundError ignored) {
-                            }
-                        }
-
-                        CompiledGroovySource compiled = new CompiledGroovySource(input, unit, ast);
-                        List<ParseWarning> warnings = errorCollector.getWarningMarkers();
-                        GroovyParserVisitor mappingVisitor = new GroovyParserVisitor(
-                                compiled.getInput().getRelativePath(relativeTo),
-                                compiled.getInput().getFileAttributes(),
-                                compiled.getInput().getSource(ctx),
-                                typeCache,
-                                ctx
-                        );
-                        G.CompilationUnit gcu = mappingVisitor.visit(compiled.getSourceUnit(), compiled.getModule());
-                        if (warnings.size() > 0) {
-                            Markers m = gcu.getMarkers();
-                            for (ParseWarning warning : warnings) {
-                                m = m.add(warning);
-                            }
-                            gcu = gcu.withMarkers(m);
-                        }
-                        pctx.getParsingListener().parsed(compiled.getInput(), gcu);
-                        return requirePrintEqualsInput(gcu, input, relativeTo, ctx);
-                    } catch (Throwable t) {
-                        ctx.getOnError().accept(t);
-                        return ParseError.build(this, input, relativeTo, ctx, t);
-                    } finally {
-                        if (logCompilationWarningsAndErrors && (errorCollector.hasErrors() || errorCollector.hasWarnings())) {
-                            try (StringWriter sw = new StringWriter();
-                                 PrintWriter pw = new PrintWriter(sw)) {
-                                errorCollector.write(pw, new Janitor());
-                                org.slf4j.LoggerFactory.getLogger(GroovyParser.class).warn(sw.toString());
-                            } catch (IOException ignored) {
-                                // unreachable
-                            }
-                        }
-                    }
-                });
+        this.configuration = configuration;
+        return configuration;
     }
 
     @Override
@@ -195,6 +235,46 @@ public Path sourcePathFromSourceText(Path prefix, String sourceCode) {
         return prefix.resolve("file.groovy");
     }
 
+    /**
+     * What the inputs of one call to {@link #parseInputs} share, so that the classpath is opened, and the classes on
+     * it are looked up and turned into class nodes, once per call rather than once per file.
+     */
+    private static class Compilation {
+        private final CompilerConfiguration configuration;
+        private final ClassNodeResolver classNodeResolver = new ClassNodeResolver();
+
+        @Nullable
+        private GroovyClassLoader classLoader;
+
+        private boolean closed;
+
+        Compilation(CompilerConfiguration configuration) {
+            this.configuration = configuration;
+        }
+
+        GroovyClassLoader classLoader() {
+            if (closed) {
+                throw new IllegalStateException("The stream of parsed source files has been closed");
+            }
+            if (classLoader == null) {
+                classLoader = new GroovyClassLoader(GroovyParser.class.getClassLoader(), configuration, true);
+            }
+            return classLoader;
+        }
+
+        void close() {
+            closed = true;
+            if (classLoader != null) {
+                try {
+                    classLoader.close();
+                } catch (IOException ignored) {
+                    // nothing to do about a class loader that could not release its classpath
+                }
+                classLoader = null;
+            }
+        }
+    }
+
     public static GroovyParser.Builder builder() {
         return new Builder();
     }
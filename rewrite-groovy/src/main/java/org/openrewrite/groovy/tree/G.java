@@ -229,7 +229,8 @@ public TypesInUse getTypesInUse() {
             } else {
                 cache = this.typesInUse.get();
                 if (cache == null || cache.getCu() != this) {
-                    cache = TypesInUse.build(this);
+                    // the cache may have been carried over from the compilation unit this one was edited from
+                    cache = TypesInUse.build(this, cache);
                     this.typesInUse = new SoftReference<>(cache);
                 }
             }
@@ -263,7 +264,7 @@ public JRightPadded<Package> getPackageDeclaration() {
 
             public G.CompilationUnit withPackageDeclaration(@Nullable JRightPadded<Package> packageDeclaration) {
                 return t.packageDeclaration == packageDeclaration ? t :
-                        new G.CompilationUnit(t.id, t.shebang, t.prefix, t.markers, t.sourcePath, t.fileAttributes,
+                        new G.CompilationUnit(t.typesInUse, null, t.id, t.shebang, t.prefix, t.markers, t.sourcePath, t.fileAttributes,
                                 t.charsetName, t.charsetBomMarked, t.checksum, packageDeclaration, t.statements, t.eof);
 
             }
@@ -296,7 +297,7 @@ public G.CompilationUnit withClasses(List<JRightPadded<ClassDeclaration>> classe
 
                 List<JRightPadded<ClassDeclaration>> originalClasses = t.getPadding().getClasses();
                 if (originalClasses.size() != classes.size()) {
-                    return new G.CompilationUnit(t.id, t.shebang, t.prefix, t.markers, t.sourcePath, t.fileAttributes, t.charsetName, t.charsetBomMarked, t.checksum, t.packageDeclaration, statements, t.eof);
+                    return new G.CompilationUnit(t.typesInUse, null, t.id, t.shebang, t.prefix, t.markers, t.sourcePath, t.fileAttributes, t.charsetName, t.charsetBomMarked, t.checksum, t.packageDeclaration, statements, t.eof);
                 } else {
                     boolean hasChanges = false;
                     for (int i = 0; i < originalClasses.size(); i++) {
@@ -305,7 +306,7 @@ public G.CompilationUnit withClasses(List<JRightPadded<ClassDeclaration>> classe
                             break;
                         }
                     }
-                    return !hasChanges ? t : new G.CompilationUnit(t.id, t.shebang, t.prefix, t.markers, t.sourcePath, t.fileAttributes, t.charsetName, t.charsetBomMarked, t.checksum, t.packageDeclaration, statements, t.eof);
+                    return !hasChanges ? t : new G.CompilationUnit(t.typesInUse, null, t.id, t.shebang, t.prefix, t.markers, t.sourcePath, t.fileAttributes, t.charsetName, t.charsetBomMarked, t.checksum, t.packageDeclaration, statements, t.eof);
                 }
             }
 
@@ -331,7 +332,7 @@ public G.CompilationUnit withImports(List<JRightPadded<Import>> imports) {
 
                 List<JRightPadded<Import>> originalImports = t.getPadding().getImports();
                 if (originalImports.size() != imports.size()) {
-                    return new G.CompilationUnit(t.id, t.shebang, t.prefix, t.markers, t.sourcePath, t.fileAttributes, t.charsetName, t.charsetBomMarked, t.checksum, t.packageDeclaration, statements, t.eof);
+                    return new G.CompilationUnit(t.typesInUse, null, t.id, t.shebang, t.prefix, t.markers, t.sourcePath, t.fileAttributes, t.charsetName, t.charsetBomMarked, t.checksum, t.packageDeclaration, statements, t.eof);
                 } else {
                     boolean hasChanges = false;
                     for (int i = 0; i < originalImports.size(); i++) {
@@ -340,7 +341,7 @@ public G.CompilationUnit withImports(List<JRightPadded<Import>> imports) {
                             break;
                         }
                     }
-                    return !hasChanges ? t : new G.CompilationUnit(t.id, t.shebang, t.prefix, t.markers, t.sourcePath, t.fileAttributes, t.charsetName, t.charsetBomMarked, t.checksum, t.packageDeclaration, statements, t.eof);
+                    return !hasChanges ? t : new G.CompilationUnit(t.typesInUse, null, t.id, t.shebang, t.prefix, t.markers, t.sourcePath, t.fileAttributes, t.charsetName, t.charsetBomMarked, t.checksum, t.packageDeclaration, statements, t.eof);
                 }
             }
 
@@ -349,7 +350,7 @@ public List<JRightPadded<Statement>> getStatements() {
             }
 
             public G.CompilationUnit withStatements(List<JRightPadded<Statement>> statements) {
-                return t.statements == statements ? t : new G.CompilationUnit(t.id, t.shebang, t.prefix, t.markers, t.sourcePath,
+                return t.statements == statements ? t : new G.CompilationUnit(t.typesInUse, null, t.id, t.shebang, t.prefix, t.markers, t.sourcePath,
                         t.fileAttributes, t.charsetName, t.charsetBomMarked, t.checksum, t.packageDeclaration, statements, t.eof);
             }
         }
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.groovy;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.SourceFile;
+import org.openrewrite.groovy.tree.G;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.TypeUtils;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GroovyParserTest {
+
+    @Test
+    void parsesEachFileOnItsOwnWithOneParser() {
+        GroovyParser parser = GroovyParser.builder().build();
+        for (int run = 0; run < 2; run++) {
+            List<SourceFile> cus = parser.parse(new InMemoryExecutionContext(t -> {
+                  throw new AssertionError(t);
+              }),
+              "class A { List<String> names }",
+              "def a = new ArrayList<String>()",
+              "class A { Map<String, Integer> counts }"
+            ).collect(Collectors.toList());
+
+            assertThat(cus).hasSize(3).allMatch(G.CompilationUnit.class::isInstance);
+            assertThat(fieldType((G.CompilationUnit) cus.get(0))).isEqualTo("java.util.List");
+            assertThat(fieldType((G.CompilationUnit) cus.get(2))).isEqualTo("java.util.Map");
+            parser.reset();
+        }
+    }
+
+    @Test
+    void eachCallOpensItsOwnClasspath() {
+        GroovyParser parser = GroovyParser.builder().build();
+
+        // stopping early and closing the stream releases the classpath of the first call only
+        try (Stream<SourceFile> parsed = parser.parse(new InMemoryExecutionContext(t -> {
+              throw new AssertionError(t);
+          }),
+          "class A { List<String> names }",
+          "class B { Map<String, Integer> counts }"
+        )) {
+            assertThat(fieldType((G.CompilationUnit) parsed.findFirst().orElseThrow())).isEqualTo("java.util.List");
+        }
+
+        // reading a stream to its end releases its classpath without closing it
+        List<SourceFile> cus = parser.parse(new InMemoryExecutionContext(t -> {
+              throw new AssertionError(t);
+          }),
+          "class A { List<String> names }",
+          "class B { Map<String, Integer> counts }"
+        ).collect(Collectors.toList());
+        assertThat(fieldType((G.CompilationUnit) cus.get(0))).isEqualTo("java.util.List");
+        assertThat(fieldType((G.CompilationUnit) cus.get(1))).isEqualTo("java.util.Map");
+    }
+
+    private static String fieldType(G.CompilationUnit cu) {
+        J.VariableDeclarations field = (J.VariableDeclarations) cu.getClasses().get(0).getBody().getStatements().get(0);
+        //noinspection ConstantConditions
+        return TypeUtils.asFullyQualified(field.getType()).getFullyQualifiedName();
+    }
+}
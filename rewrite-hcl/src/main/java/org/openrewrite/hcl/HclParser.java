@@ -23,6 +23,7 @@
 import org.openrewrite.hcl.internal.grammar.HCLLexer;
 import org.openrewrite.hcl.internal.grammar.HCLParser;
 import org.openrewrite.hcl.tree.Hcl;
+import org.openrewrite.internal.AntlrParsing;
 import org.openrewrite.internal.EncodingDetectingInputStream;
 import org.openrewrite.internal.lang.Nullable;
 import org.openrewrite.marker.Markers;
@@ -37,6 +38,8 @@
 import java.util.stream.Stream;
 
 public class HclParser implements Parser {
+    private static final AntlrParsing ANTLR_PARSING = new AntlrParsing();
+
     private final List<NamedStyles> styles;
 
     private HclParser(List<NamedStyles> styles) {
@@ -52,7 +55,7 @@ public Stream<SourceFile> parseInputs(Iterable<Input> sourceFiles, @Nullable Pat
                 EncodingDetectingInputStream is = input.getSource(ctx);
                 String sourceStr = is.readFully();
 
-                HCLLexer lexer = new HCLLexer(CharStreams.fromString(sourceStr));
+                HCLLexer lexer = ANTLR_PARSING.lexer(new HCLLexer(AntlrParsing.charStream(sourceStr)));
                 lexer.removeErrorListeners();
                 lexer.addErrorListener(new ForwardingErrorListener(input.getPath(), ctx));
 
@@ -66,7 +69,7 @@ public Stream<SourceFile> parseInputs(Iterable<Input> sourceFiles, @Nullable Pat
                         is.getCharset(),
                         is.isCharsetBomMarked(),
                         input.getFileAttributes()
-                ).visitConfigFile(parser.configFile());
+                ).visitConfigFile(ANTLR_PARSING.parse(parser, HCLParser::configFile));
 
                 configFile = configFile.withMarkers(Markers.build(styles));
 
@@ -49,12 +49,23 @@ public class JsonPathMatcher {
 
     private final String jsonPath;
 
+    /**
+     * The path is parsed on first use and then shared by every match, since the parse tree is only ever read.
+     */
+    @EqualsAndHashCode.Exclude
+    @Nullable
+    private volatile JsonPathParser.JsonPathContext parsedPath;
+
     public JsonPathMatcher(String jsonPath) {
         this.jsonPath = jsonPath;
     }
 
     public <T> Optional<T> find(Cursor cursor) {
-        LinkedList<Tree> cursorPath = cursor.getPathAsStream()
+        return find(cursor, cursor.getPathAsStream().collect(Collectors.toList()));
+    }
+
+    private <T> Optional<T> find(Cursor cursor, List<Object> path) {
+        LinkedList<Tree> cursorPath = path.stream()
                 .filter(o -> o instanceof Tree)
                 .map(Tree.class::cast)
                 .collect(Collectors.toCollection(LinkedList::new));
@@ -69,7 +80,7 @@ public <T> Optional<T> find(Cursor cursor) {
         } else {
             start = cursorPath.peekFirst();
         }
-        JsonPathParser.JsonPathContext ctx = jsonPath().jsonPath();
+        JsonPathParser.JsonPathContext ctx = jsonPath();
         // The stop may be optimized by interpreting the ExpressionContext and pre-determining the last visit.
         JsonPathParser.ExpressionContext stop = (JsonPathParser.ExpressionContext) ctx.children.get(ctx.children.size() - 1);
         @SuppressWarnings("ConstantConditions") JsonPathParserVisitor<Object> v = new JsonPathParserHclVisitor(cursorPath, start, stop, false);
@@ -81,7 +92,7 @@ public <T> Optional<T> find(Cursor cursor) {
 
     public boolean matches(Cursor cursor) {
         List<Object> cursorPath = cursor.getPathAsStream().collect(Collectors.toList());
-        return find(cursor).map(o -> {
+        return find(cursor, cursorPath).map(o -> {
             if (o instanceof List) {
                 //noinspection unchecked
                 List<Object> l = (List<Object>) o;
@@ -92,8 +103,13 @@ public boolean matches(Cursor cursor) {
         }).orElse(false);
     }
 
-    private JsonPathParser jsonPath() {
-        return new JsonPathParser(new CommonTokenStream(new JsonPathLexer(CharStreams.fromString(this.jsonPath))));
+    private JsonPathParser.JsonPathContext jsonPath() {
+        JsonPathParser.JsonPathContext path = parsedPath;
+        if (path == null) {
+            path = new JsonPathParser(new CommonTokenStream(new JsonPathLexer(CharStreams.fromString(this.jsonPath)))).jsonPath();
+            parsedPath = path;
+        }
+        return path;
     }
 
     @SuppressWarnings({"ConstantConditions", "unchecked"})
@@ -25,6 +25,7 @@
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
 
 import static java.util.Collections.emptyList;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -239,6 +240,56 @@ void findJsonPathMatches() {
         );
     }
 
+    @Test
+    void reusedMatcherSameAsFreshMatcher() {
+        List<Hcl.ConfigFile> configFiles = HclParser.builder().build().parse(
+          """
+            provider "azurerm" {
+              features {
+                key_vault {
+                  purge_soft_delete_on_destroy = true
+                }
+              }
+              attr = 1
+            }
+            """,
+          """
+            provider "aws" {
+              attr = 2
+            }
+            """
+          )
+          .map(Hcl.ConfigFile.class::cast)
+          .toList();
+        for (String jsonPath : List.of("$.provider.features.key_vault", "$.*.features")) {
+            var reused = new JsonPathMatcher(jsonPath);
+            List<Object> reusedResults = results(configFiles, () -> reused);
+            List<Object> freshResults = results(configFiles, () -> new JsonPathMatcher(jsonPath));
+            assertThat(reusedResults).isEqualTo(freshResults).contains(true);
+        }
+    }
+
+    /**
+     * @return What {@link JsonPathMatcher#matches} and {@link JsonPathMatcher#find} return for every block
+     * of every config file.
+     */
+    private List<Object> results(List<Hcl.ConfigFile> configFiles, Supplier<JsonPathMatcher> matcher) {
+        List<Object> results = new ArrayList<>();
+        for (Hcl.ConfigFile configFile : configFiles) {
+            new HclVisitor<List<Object>>() {
+                @Override
+                public Hcl visitBlock(Hcl.Block block, List<Object> p) {
+                    var b = super.visitBlock(block, p);
+                    JsonPathMatcher m = matcher.get();
+                    p.add(m.matches(getCursor()));
+                    p.add(m.find(getCursor()));
+                    return b;
+                }
+            }.visit(configFile, results);
+        }
+        return results;
+    }
+
     @SuppressWarnings("SameParameterValue")
     private void assertMatched(List<String> before, List<String> after, String jsonPath,
                                boolean printMatches) {
@@ -60,7 +60,9 @@
 import static java.util.stream.Collectors.toList;
 
 /**
- * This parser is NOT thread-safe, as the OpenJDK parser maintains in-memory caches in static state.
+ * A single instance of this parser is NOT thread-safe, as the OpenJDK parser maintains in-memory caches in
+ * its compiler context. Separate instances each have their own context and may parse on separate threads,
+ * see {@link org.openrewrite.java.ParallelJavaParser}.
  */
 @NonNullApi
 public class ReloadableJava17Parser implements JavaParser {
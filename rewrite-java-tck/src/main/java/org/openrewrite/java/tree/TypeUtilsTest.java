@@ -23,7 +23,9 @@
 import org.openrewrite.test.SourceSpec;
 
 import java.util.function.Consumer;
+import java.util.regex.Pattern;
 
+import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.openrewrite.java.Assertions.java;
@@ -372,4 +374,53 @@ public J.VariableDeclarations.NamedVariable visitVariable(J.VariableDeclarations
           )
         );
     }
+
+    @Test
+    void isAssignableToSeesHierarchyCompletedAfterFirstCheck() {
+        var type = JavaType.ShallowClass.build("org.example.Sub");
+        assertThat(TypeUtils.isAssignableTo("org.example.Outer.Base", type)).isFalse();
+
+        type.unsafeSet(emptyList(), JavaType.ShallowClass.build("org.example.Outer$Base"), null, emptyList(),
+          singletonList(JavaType.ShallowClass.build("java.io.Serializable")), emptyList(), emptyList());
+
+        assertThat(TypeUtils.isAssignableTo("org.example.Outer.Base", type)).isTrue();
+        assertThat(TypeUtils.isAssignableTo("org.example.Outer$Base", type)).isTrue();
+        assertThat(TypeUtils.isAssignableTo("java.io.Serializable", type)).isTrue();
+        assertThat(TypeUtils.isAssignableTo(Pattern.compile("java\\.io\\..*"), type)).isTrue();
+        assertThat(TypeUtils.isAssignableTo("java.lang.Runnable", type)).isFalse();
+    }
+
+    @Test
+    void isAssignableToSeesAncestorCompletedAfterFirstCheck() {
+        var base = JavaType.ShallowClass.build("org.example.Base");
+        var sub = JavaType.ShallowClass.build("org.example.Sub");
+        sub.unsafeSet(emptyList(), base, null, emptyList(), emptyList(), emptyList(), emptyList());
+        var parameterizedSub = new JavaType.Parameterized(null, sub, emptyList());
+        assertThat(TypeUtils.isAssignableTo("org.example.Base", sub)).isTrue();
+        assertThat(TypeUtils.isAssignableTo("java.io.Serializable", sub)).isFalse();
+        assertThat(TypeUtils.isAssignableTo("java.io.Serializable", parameterizedSub)).isFalse();
+
+        // only the ancestor is completed, after the closure of its subtypes was computed
+        base.unsafeSet(emptyList(), null, null, emptyList(),
+          singletonList(JavaType.ShallowClass.build("java.io.Serializable")), emptyList(), emptyList());
+
+        assertThat(TypeUtils.isAssignableTo("java.io.Serializable", sub)).isTrue();
+        assertThat(TypeUtils.isAssignableTo("java.io.Serializable", parameterizedSub)).isTrue();
+        assertThat(sub.isAssignableTo("java.io.Serializable")).isTrue();
+    }
+
+    @Test
+    void closureIsKeptWhenUnrelatedTypeIsCompleted() {
+        var base = JavaType.ShallowClass.build("org.example.Base");
+        var sub = JavaType.ShallowClass.build("org.example.Sub");
+        sub.unsafeSet(emptyList(), base, null, emptyList(), emptyList(), emptyList(), emptyList());
+        SupertypeClosure closure = sub.getSupertypeClosure();
+
+        JavaType.ShallowClass.build("org.example.Unrelated")
+          .unsafeSet(emptyList(), base, null, emptyList(), emptyList(), emptyList(), emptyList());
+        assertThat(sub.getSupertypeClosure()).isSameAs(closure);
+
+        base.unsafeSet(emptyList(), null, null, emptyList(), emptyList(), emptyList(), emptyList());
+        assertThat(sub.getSupertypeClosure()).isNotSameAs(closure);
+    }
 }
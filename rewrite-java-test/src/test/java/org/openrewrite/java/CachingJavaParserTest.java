@@ -0,0 +1,82 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openrewrite.CachingParser;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.Parser;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaType;
+import org.openrewrite.java.tree.TypeUtils;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+class CachingJavaParserTest {
+
+    @Test
+    void typeAttributionSurvivesCache(@TempDir Path cache) {
+        Parser.Input input = Parser.Input.fromString(Paths.get("a/A.java"),
+          //language=java
+          """
+            package a;
+            import java.util.List;
+            class A {
+                List<String> l;
+                int size() {
+                    return l.size();
+                }
+            }
+            """);
+
+        J.CompilationUnit parsed = parse(cache, input);
+        J.CompilationUnit read = parse(cache, input);
+        assertThat(read).isNotSameAs(parsed);
+        assertThat(read.getId()).isEqualTo(parsed.getId());
+
+        J.ClassDeclaration a = read.getClasses().get(0);
+        assertThat(TypeUtils.isOfClassType(a.getType(), "a.A")).isTrue();
+
+        J.VariableDeclarations field = (J.VariableDeclarations) a.getBody().getStatements().get(0);
+        JavaType.Parameterized listOfString = (JavaType.Parameterized) field.getType();
+        assertThat(listOfString.getFullyQualifiedName()).isEqualTo("java.util.List");
+        assertThat(TypeUtils.isOfClassType(listOfString.getTypeParameters().get(0), "java.lang.String")).isTrue();
+
+        J.MethodDeclaration size = (J.MethodDeclaration) a.getBody().getStatements().get(1);
+        J.MethodInvocation invocation = (J.MethodInvocation) ((J.Return) size.getBody().getStatements().get(0)).getExpression();
+        JavaType.Method methodType = invocation.getMethodType();
+        assertThat(methodType).isNotNull();
+        assertThat(methodType.getDeclaringType().getFullyQualifiedName()).isEqualTo("java.util.List");
+        assertThat(methodType.getReturnType()).isEqualTo(JavaType.Primitive.Int);
+    }
+
+    private static J.CompilationUnit parse(Path cache, Parser.Input input) {
+        JavaParser javaParser = JavaParser.fromJavaVersion().build();
+        return (J.CompilationUnit) new CachingParser(javaParser, cache,
+          CachingParser.fingerprint(javaParser, emptyList()), Long.MAX_VALUE, Duration.ofDays(7))
+          .parseInputs(singletonList(input), null, new InMemoryExecutionContext(t -> fail("Failed to parse", t)))
+          .findFirst()
+          .orElseThrow(IllegalStateException::new);
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MethodMatcherSetTest {
+
+    @Test
+    void sameAsIndividualMatchers() {
+        J.CompilationUnit cu = JavaParser.fromJavaVersion().build()
+          .parse(
+            new InMemoryExecutionContext(),
+            //language=java
+            """
+              import java.util.*;
+              
+              class Test {
+                  void test(List<String> list, Map<String, Integer> map, StringBuilder sb) {
+                      list.add("a");
+                      list.add(0, "b");
+                      list.size();
+                      map.put("a", 1);
+                      map.get("a");
+                      sb.append("a").append(1).toString();
+                      Collections.emptyList();
+                      Collections.unmodifiableList(list);
+                      Objects.equals(list, map);
+                      new ArrayList<String>().isEmpty();
+                  }
+              }
+              """
+          )
+          .findFirst()
+          .map(J.CompilationUnit.class::cast)
+          .orElseThrow();
+
+        List<JavaType.Method> methods = new ArrayList<>(cu.getTypesInUse().getUsedMethods());
+        assertThat(methods).isNotEmpty();
+
+        List<MethodMatcher> matchers = Stream.of(
+            new MethodMatcher("java.util.List add(..)"),
+            new MethodMatcher("java.util.List add(int, ..)"),
+            new MethodMatcher("java.util.Collection size()", true),
+            new MethodMatcher("java.util.Collection size()"),
+            new MethodMatcher("java.util.Map put(String, Integer)"),
+            new MethodMatcher("java.util.Map put(Object, Object)"),
+            new MethodMatcher("java.util.Map *(..)"),
+            new MethodMatcher("java.lang.StringBuilder append(int)"),
+            new MethodMatcher("java.lang.Object toString()", true),
+            new MethodMatcher("java.util.Collections unmodifiable*(..)"),
+            new MethodMatcher("java.util.Collections emptyList()"),
+            new MethodMatcher("java.util..* *(..)"),
+            new MethodMatcher("*..* equals(..)"),
+            new MethodMatcher("java.util.Collection isEmpty()", true),
+            new MethodMatcher("java.util.Set add(..)")
+          )
+          .collect(Collectors.toList());
+        // past the bound on remembered names, the answers are computed anew each time
+        for (MethodMatcherSet set : List.of(new MethodMatcherSet(matchers), new MethodMatcherSet(matchers, 1))) {
+            for (JavaType.Method method : methods) {
+                List<MethodMatcher> expected = matchers.stream()
+                  .filter(m -> m.matches(method))
+                  .collect(Collectors.toList());
+                assertThat(set.matching(method)).as(method.toString()).containsExactlyElementsOf(expected);
+                assertThat(set.matchesAny(method)).isEqualTo(!expected.isEmpty());
+            }
+        }
+    }
+
+    @Test
+    void noMatchers() {
+        assertThat(new MethodMatcherSet(List.of()).matching((JavaType.Method) null)).isEmpty();
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.Parser;
+import org.openrewrite.SourceFile;
+import org.openrewrite.java.internal.JavaTypeCache;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaType;
+
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Collections.emptyList;
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+class ParallelJavaParserTest {
+
+    @Test
+    void batchesParsedConcurrentlySeeOnlyCompleteTypes() {
+        List<ParallelJavaParser.Batch> batches = List.of(
+          batch("a", "A1", "A2"),
+          batch("b", "B1", "B2")
+        );
+
+        JavaTypeCache typeCache = new JavaTypeCache();
+        List<SourceFile> sourceFiles = new ParallelJavaParser(JavaParser.fromJavaVersion(), 2, typeCache)
+          .parse(batches, null, failOnError())
+          .collect(toList());
+
+        assertThat(sourceFiles).extracting(s -> s.getSourcePath().toString())
+          .containsExactly(Paths.get("a/A1.java").toString(), Paths.get("a/A2.java").toString(),
+            Paths.get("b/B1.java").toString(), Paths.get("b/B2.java").toString());
+
+        for (int batch = 0; batch < 2; batch++) {
+            JavaType.FullyQualified first = listType(sourceFiles.get(batch * 2));
+            JavaType.FullyQualified second = listType(sourceFiles.get(batch * 2 + 1));
+            assertThat(second).isSameAs(first);
+            assertThat(first.getFullyQualifiedName()).isEqualTo("java.util.List");
+            assertThat(first.getMethods()).isNotEmpty();
+            assertThat(first.getInterfaces()).extracting(JavaType.FullyQualified::getFullyQualifiedName)
+              .contains("java.util.Collection");
+        }
+        assertThat(typeCache.<JavaType.FullyQualified>get("java.util.List")).isNotNull();
+    }
+
+    @Test
+    void batchesParsedLaterShareTypes() {
+        List<ParallelJavaParser.Batch> batches = List.of(
+          batch("a", "A"),
+          batch("b", "B")
+        );
+
+        List<SourceFile> sourceFiles = new ParallelJavaParser(JavaParser.fromJavaVersion(), 1, new JavaTypeCache())
+          .parse(batches, null, failOnError())
+          .collect(toList());
+
+        assertThat(listType(sourceFiles.get(1))).isSameAs(listType(sourceFiles.get(0)));
+    }
+
+    @Test
+    void sourceTypesAreNotSharedBetweenBatches() {
+        List<ParallelJavaParser.Batch> batches = List.of(
+          new ParallelJavaParser.Batch(emptyList(), List.of(
+            Parser.Input.fromString(Paths.get("a/com/example/Foo.java"),
+              "package com.example; public class Foo { public int a; }"),
+            Parser.Input.fromString(Paths.get("a/com/example/UseFoo.java"),
+              "package com.example; class UseFoo { Foo foo; }"))),
+          new ParallelJavaParser.Batch(emptyList(), List.of(
+            Parser.Input.fromString(Paths.get("b/com/example/Foo.java"),
+              "package com.example; public class Foo { public String b; }"),
+            Parser.Input.fromString(Paths.get("b/com/example/UseFoo.java"),
+              "package com.example; class UseFoo { Foo foo; }")))
+        );
+
+        // one batch at a time, so that the second batch starts after the first has shared its types
+        List<SourceFile> sourceFiles = new ParallelJavaParser(JavaParser.fromJavaVersion(), 1, new JavaTypeCache())
+          .parse(batches, null, failOnError())
+          .collect(toList());
+
+        assertThat(fieldType(sourceFiles.get(1)).getMembers()).extracting(JavaType.Variable::getName)
+          .containsExactly("a");
+        assertThat(fieldType(sourceFiles.get(3)).getMembers()).extracting(JavaType.Variable::getName)
+          .containsExactly("b");
+    }
+
+    private static ParallelJavaParser.Batch batch(String pkg, String... classNames) {
+        List<Parser.Input> inputs = new ArrayList<>();
+        for (String className : classNames) {
+            inputs.add(Parser.Input.fromString(Paths.get(pkg + "/" + className + ".java"),
+              "package " + pkg + "; class " + className + " { java.util.List<String> l; }"));
+        }
+        return new ParallelJavaParser.Batch(emptyList(), inputs);
+    }
+
+    private static ExecutionContext failOnError() {
+        return new InMemoryExecutionContext(t -> fail("Failed to parse sources", t));
+    }
+
+    private static JavaType.FullyQualified listType(SourceFile sourceFile) {
+        return ((JavaType.Parameterized) fieldType(sourceFile)).getType();
+    }
+
+    private static JavaType.FullyQualified fieldType(SourceFile sourceFile) {
+        assertThat(sourceFile).isInstanceOf(J.CompilationUnit.class);
+        J.CompilationUnit cu = (J.CompilationUnit) sourceFile;
+        J.VariableDeclarations field = (J.VariableDeclarations) cu.getClasses().get(0).getBody().getStatements().get(0);
+        return (JavaType.FullyQualified) field.getType();
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.format;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.Cursor;
+import org.openrewrite.Tree;
+import org.openrewrite.internal.lang.Nullable;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.style.IntelliJ;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.style.GeneralFormatStyle;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.openrewrite.java.format.AutodetectGeneralFormatStyle.autodetectGeneralFormatStyle;
+
+/**
+ * {@link AutoFormatVisitor} runs some of its steps in shared traversals, which must format exactly like the steps
+ * run one traversal at a time.
+ */
+class AutoFormatVisitorTest {
+
+    private static final String SOURCE = "" +
+                                         "package a;\r\n" +
+                                         "import java.util.List;  \n" +
+                                         "class Test{\r\n" +
+                                         "\tint a ;   \n" +
+                                         "  List<String>   l;\n\n\n\n" +
+                                         "    void test( int x ){ if(x>0){\r\n" +
+                                         "    \t  System.out.println( x );   }\r\n" +
+                                         "  }\t\n" +
+                                         "    void other() {int y=1;}  \n" +
+                                         "    @Deprecated\tpublic  static int  third( java.util.function.IntUnaryOperator f ) {\n" +
+                                         "\t\t/* tabbed\n\t\t   comment */ int z=f.applyAsInt( 1 );\n" +
+                                         "\t\tRunnable r=()->{ int w;\n\t\t};\n" +
+                                         "\t\treturn z ;\n" +
+                                         "    }\n" +
+                                         "}  \r\n";
+
+    @Test
+    void autoFormatSameAsSeparatePasses() {
+        J.CompilationUnit cu = parse();
+        for (Tree stopAfter : stopAfters(cu)) {
+            J separate = separatePasses(cu, stopAfter);
+            J autoFormatted = new AutoFormatVisitor<Integer>(stopAfter).visit(cu, 0, new Cursor(null, "root"));
+            assertThat(autoFormatted).isNotNull();
+            assertThat(autoFormatted.printAll()).isEqualTo(separate.printAll());
+        }
+    }
+
+    @Test
+    void normalizeFormatAndMinimumViableSpacingSameAsSeparatePasses() {
+        J.CompilationUnit cu = parse();
+        for (Tree stopAfter : stopAfters(cu)) {
+            J separate = new NormalizeFormatVisitor<Integer>(stopAfter).visit(cu, 0, new Cursor(null, "root"));
+            separate = new MinimumViableSpacingVisitor<Integer>(stopAfter).visit(separate, 0, new Cursor(null, "root"));
+            J fused = new NormalizeFormatAndMinimumViableSpacingVisitor<Integer>(stopAfter).visit(cu, 0, new Cursor(null, "root"));
+            assertThat(separate).isNotNull();
+            assertThat(fused).isNotNull();
+            assertThat(fused.printAll()).isEqualTo(separate.printAll());
+        }
+    }
+
+    @Test
+    void spacesAndNormalizeTabsOrSpacesSameAsSeparatePasses() {
+        J.CompilationUnit cu = parse();
+        for (Tree stopAfter : stopAfters(cu)) {
+            J separate = new SpacesVisitor<Integer>(IntelliJ.spaces(), null, null, stopAfter).visit(cu, 0, new Cursor(null, "root"));
+            separate = new NormalizeTabsOrSpacesVisitor<Integer>(IntelliJ.tabsAndIndents(), stopAfter).visit(separate, 0, new Cursor(null, "root"));
+            J fused = new SpacesAndNormalizeTabsOrSpacesVisitor<Integer>(IntelliJ.spaces(), null, null,
+              IntelliJ.tabsAndIndents(), stopAfter).visit(cu, 0, new Cursor(null, "root"));
+            assertThat(separate).isNotNull();
+            assertThat(fused).isNotNull();
+            assertThat(fused.printAll()).isEqualTo(separate.printAll());
+        }
+    }
+
+    private static J.CompilationUnit parse() {
+        return JavaParser.fromJavaVersion().build().parse(SOURCE)
+          .findFirst()
+          .map(J.CompilationUnit.class::cast)
+          .orElseThrow(IllegalStateException::new);
+    }
+
+    /**
+     * Format the whole compilation unit, and only up to the end of its first method.
+     */
+    private static Tree[] stopAfters(J.CompilationUnit cu) {
+        return new Tree[]{null, cu.getClasses().get(0).getBody().getStatements().get(2)};
+    }
+
+    /**
+     * Every step of {@link AutoFormatVisitor} as a traversal of its own.
+     */
+    private static J separatePasses(J.CompilationUnit cu, @Nullable Tree stopAfter) {
+        J t = new NormalizeFormatVisitor<Integer>(stopAfter).visit(cu, 0, new Cursor(null, "root"));
+        t = new MinimumViableSpacingVisitor<Integer>(stopAfter).visit(t, 0, new Cursor(null, "root"));
+        t = new BlankLinesVisitor<Integer>(IntelliJ.blankLines(), stopAfter).visit(t, 0, new Cursor(null, "root"));
+        t = new WrappingAndBracesVisitor<Integer>(IntelliJ.wrappingAndBraces(), stopAfter).visit(t, 0, new Cursor(null, "root"));
+        t = new SpacesVisitor<Integer>(IntelliJ.spaces(), null, null, stopAfter).visit(t, 0, new Cursor(null, "root"));
+        t = new NormalizeTabsOrSpacesVisitor<Integer>(IntelliJ.tabsAndIndents(), stopAfter).visit(t, 0, new Cursor(null, "root"));
+        t = new TabsAndIndentsVisitor<Integer>(IntelliJ.tabsAndIndents(), stopAfter).visit(t, 0, new Cursor(null, "root"));
+        GeneralFormatStyle style = autodetectGeneralFormatStyle(cu);
+        t = new NormalizeLineBreaksVisitor<Integer>(style, stopAfter).visit(t, 0, new Cursor(null, "root"));
+        t = new RemoveTrailingWhitespaceVisitor<Integer>(stopAfter).visit(t, 0, new Cursor(null, "root"));
+        assertThat(t).isNotNull();
+        return t;
+    }
+}
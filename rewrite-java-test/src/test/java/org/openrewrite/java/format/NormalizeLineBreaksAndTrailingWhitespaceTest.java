@@ -0,0 +1,55 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.format;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.Cursor;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.style.GeneralFormatStyle;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NormalizeLineBreaksAndTrailingWhitespaceTest {
+
+    @Test
+    void sameAsNormalizingLineBreaksThenRemovingTrailingWhitespace() {
+        String source = "" +
+                        "/**  \r\n" +
+                        " * javadoc\t\n" +
+                        " */\r\n" +
+                        "class Test {  \n" +
+                        "    // some comment  \r\n" +
+                        "    public void test() {\t\r\n" +
+                        "        System.out.println();   \n" +
+                        "    }\r\n" +
+                        "}  \r\n  ";
+        J.CompilationUnit cu = JavaParser.fromJavaVersion().build().parse(source)
+          .findFirst()
+          .map(J.CompilationUnit.class::cast)
+          .orElseThrow(IllegalStateException::new);
+
+        for (boolean useCRLF : new boolean[]{true, false}) {
+            GeneralFormatStyle style = new GeneralFormatStyle(useCRLF);
+            J sequential = new NormalizeLineBreaksVisitor<Integer>(style, null).visit(cu, 0, new Cursor(null, "root"));
+            sequential = new RemoveTrailingWhitespaceVisitor<Integer>(null).visit(sequential, 0, new Cursor(null, "root"));
+            J fused = new NormalizeLineBreaksAndTrailingWhitespaceVisitor<Integer>(style, null).visit(cu, 0, new Cursor(null, "root"));
+
+            assertThat(fused).isNotNull();
+            assertThat(fused.printAll()).isEqualTo(sequential.printAll());
+        }
+    }
+}
@@ -16,10 +16,16 @@
 package org.openrewrite.java.internal;
 
 import org.junit.jupiter.api.Test;
+import org.openrewrite.InMemoryExecutionContext;
 import org.openrewrite.Issue;
+import org.openrewrite.internal.ListUtils;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaType;
 import org.openrewrite.java.tree.TypeUtils;
 import org.openrewrite.test.RewriteTest;
 
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -63,4 +69,50 @@ public class Foo {}
         );
     }
 
+    @Test
+    void carriedForwardThroughEdits() {
+        J.CompilationUnit cu = JavaParser.fromJavaVersion().build()
+          .parse(
+            new InMemoryExecutionContext(),
+            //language=java
+            """
+              import java.util.ArrayList;
+              import java.util.List;
+              
+              class Test {
+                  List<String> list = new ArrayList<>();
+              
+                  void removed() {
+                      System.out.println(list);
+                  }
+              
+                  class Inner {
+                      StringBuilder kept() {
+                          return new StringBuilder();
+                      }
+                  }
+              }
+              """
+          )
+          .findFirst()
+          .map(J.CompilationUnit.class::cast)
+          .orElseThrow();
+        TypesInUse before = cu.getTypesInUse();
+
+        J.CompilationUnit edited = cu.withClasses(ListUtils.map(cu.getClasses(), c -> c.withBody(c.getBody().withStatements(
+          ListUtils.map(c.getBody().getStatements(), s -> s instanceof J.MethodDeclaration ? null : s)))));
+
+        TypesInUse incremental = TypesInUse.build(edited, before);
+        TypesInUse full = TypesInUse.build(edited);
+        assertThat(incremental.getTypesInUse()).containsExactlyInAnyOrderElementsOf(full.getTypesInUse());
+        assertThat(incremental.getUsedMethods()).containsExactlyInAnyOrderElementsOf(full.getUsedMethods());
+        assertThat(incremental.getDeclaredMethods()).containsExactlyInAnyOrderElementsOf(full.getDeclaredMethods());
+        assertThat(incremental.getVariables()).containsExactlyInAnyOrderElementsOf(full.getVariables());
+
+        Set<String> usedMethods = incremental.getUsedMethods().stream()
+          .map(JavaType.Method::getName)
+          .collect(Collectors.toSet());
+        assertThat(usedMethods).doesNotContain("println");
+        assertThat(edited.getTypesInUse().getDeclaredMethods()).extracting(JavaType.Method::getName).containsExactly("kept");
+    }
 }
@@ -38,8 +38,6 @@ dependencies {
     implementation("org.apache.commons:commons-text:latest.release")
     implementation("io.github.classgraph:classgraph:latest.release")
 
-    implementation("org.xerial.snappy:snappy-java:1.1.10.+")
-
     api("com.fasterxml.jackson.core:jackson-annotations")
 
     implementation("io.github.fastfilter:fastfilter:latest.release")
@@ -28,17 +28,23 @@
 import org.openrewrite.style.NamedStyles;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.UncheckedIOException;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.net.URI;
+import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.*;
 import java.util.function.Function;
 import java.util.regex.Matcher;
@@ -299,6 +305,7 @@ default boolean accept(Path path) {
         protected Collection<String> artifactNames = Collections.emptyList();
         protected Collection<byte[]> classBytesClasspath = Collections.emptyList();
         protected JavaTypeCache javaTypeCache = new JavaTypeCache();
+        private boolean typeCacheShared;
 
         @Nullable
         protected Collection<Input> dependsOn;
@@ -318,6 +325,7 @@ public B logCompilationWarningsAndErrors(boolean logCompilationWarningsAndErrors
 
         public B typeCache(JavaTypeCache javaTypeCache) {
             this.javaTypeCache = javaTypeCache;
+            this.typeCacheShared = true;
             return (B) this;
         }
 
@@ -394,6 +402,63 @@ protected Collection<Path> resolvedClasspath() {
         @Override
         public abstract P build();
 
+        /**
+         * @return A key that is equal for builders of the same kind with the same classpath, dependencies, charset
+         * and styles, so that a parser built by one of them can be reset and reused in place of building a parser
+         * from another. A type cache given with {@link #typeCache(JavaTypeCache)} takes part by identity, since the
+         * caller may share it and a reset parser clears it, while a builder's own type cache is not part of the key.
+         * Class bytes and dependencies take part by a hash of their content, since neither compares by content itself.
+         */
+        @Incubating(since = "8.19.0")
+        public Object getConfigurationKey() {
+            return Arrays.asList(
+                    getClass(),
+                    new ArrayList<>(resolvedClasspath()),
+                    contentHash(),
+                    charset,
+                    logCompilationWarningsAndErrors,
+                    new ArrayList<>(styles),
+                    typeCacheShared ? javaTypeCache : null
+            );
+        }
+
+        private String contentHash() {
+            MessageDigest md;
+            try {
+                md = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+            for (byte[] classBytes : classBytesClasspath) {
+                updateLengthPrefixed(md, classBytes);
+            }
+            if (dependsOn != null) {
+                // tells no dependencies apart from no class bytes
+                md.update((byte) 1);
+                ExecutionContext ctx = new InMemoryExecutionContext();
+                for (Input input : dependsOn) {
+                    updateLengthPrefixed(md, input.getPath().toString().getBytes(StandardCharsets.UTF_8));
+                    try (InputStream is = input.getSource(ctx)) {
+                        ByteArrayOutputStream source = new ByteArrayOutputStream();
+                        byte[] buffer = new byte[4096];
+                        int n;
+                        while ((n = is.read(buffer)) != -1) {
+                            source.write(buffer, 0, n);
+                        }
+                        updateLengthPrefixed(md, source.toByteArray());
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+            }
+            return new Checksum("SHA-256", md.digest()).getHexValue();
+        }
+
+        private static void updateLengthPrefixed(MessageDigest md, byte[] bytes) {
+            md.update(ByteBuffer.allocate(Integer.BYTES).putInt(bytes.length).array());
+            md.update(bytes);
+        }
+
         @Override
         public String getDslName() {
             return "java";
@@ -403,6 +468,8 @@ public String getDslName() {
         public Builder<P, B> clone() {
             Builder<P, B> clone = (Builder<P, B>) super.clone();
             clone.javaTypeCache = this.javaTypeCache.clone();
+            // nothing else holds the copy
+            clone.typeCacheShared = false;
             return clone;
         }
     }
@@ -179,7 +179,17 @@ public Pattern getArgumentPattern() {
         return argumentPattern;
     }
 
-    private boolean matchesTargetTypeName(String fullyQualifiedTypeName) {
+    @Nullable
+    String getTargetType() {
+        return targetType;
+    }
+
+    @Nullable
+    String getMethodName() {
+        return methodName;
+    }
+
+    boolean matchesTargetTypeName(String fullyQualifiedTypeName) {
         return this.targetType != null && fullyQualifiedNamesAreEqual(this.targetType, fullyQualifiedTypeName) ||
                this.targetTypePattern != null && this.targetTypePattern.matcher(fullyQualifiedTypeName).matches();
     }
@@ -193,18 +203,32 @@ boolean matchesTargetType(@Nullable JavaType.FullyQualified type) {
     }
 
     @SuppressWarnings("BooleanMethodIsAlwaysInverted")
-    private boolean matchesMethodName(String methodName) {
+    boolean matchesMethodName(String methodName) {
         return this.methodName != null && this.methodName.equals(methodName) ||
                this.methodNamePattern != null && methodNamePattern.matcher(methodName).matches();
     }
 
-    private boolean matchesParameterTypes(List<JavaType> parameterTypes) {
+    boolean matchesParameterTypes(List<JavaType> parameterTypes) {
         if (argumentPattern == ANY_ARGUMENTS_PATTERN) {
             return true;
         } else if (argumentPattern == EMPTY_ARGUMENTS_PATTERN) {
             return parameterTypes.isEmpty();
         }
+        return matchesParameterSignature(parameterSignature(parameterTypes));
+    }
 
+    /**
+     * @return Whether the parameter types can be matched without building a {@link #parameterSignature(List)}.
+     */
+    boolean matchesParameterTypesWithoutSignature() {
+        return argumentPattern == ANY_ARGUMENTS_PATTERN || argumentPattern == EMPTY_ARGUMENTS_PATTERN;
+    }
+
+    boolean matchesParameterSignature(String parameterSignature) {
+        return argumentPattern.matcher(parameterSignature).matches();
+    }
+
+    static String parameterSignature(List<JavaType> parameterTypes) {
         StringJoiner joiner = new StringJoiner(",");
         for (JavaType javaType : parameterTypes) {
             String s = typePattern(javaType);
@@ -212,7 +236,7 @@ private boolean matchesParameterTypes(List<JavaType> parameterTypes) {
                 joiner.add(s);
             }
         }
-        return argumentPattern.matcher(joiner.toString()).matches();
+        return joiner.toString();
     }
 
     public boolean matches(@Nullable JavaType.Method type) {
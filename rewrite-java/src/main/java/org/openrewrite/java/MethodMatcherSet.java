@@ -0,0 +1,247 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java;
+
+import org.openrewrite.Incubating;
+import org.openrewrite.internal.lang.Nullable;
+import org.openrewrite.java.tree.JavaType;
+import org.openrewrite.java.tree.MethodCall;
+import org.openrewrite.java.tree.TypeUtils;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import static java.util.Collections.emptyList;
+
+/**
+ * Matches a method type against many {@link MethodMatcher} at once, giving the same answer as asking each matcher in
+ * turn. Matchers with an exact declaring type or method name are found by hashing those names, and matchers with
+ * wildcards are tested against each distinct declaring type and method name only once, after which the answer is
+ * remembered. Answers are remembered for a bounded number of names, past which they are computed each time, so that
+ * a long-lived set does not grow with every type it is asked about. Only the matchers that accept both the declaring type and the method name have their parameter types
+ * checked, against a parameter signature that is built once for all of them.
+ * <p>
+ * A set is safe to use from several threads.
+ */
+@Incubating(since = "8.19.0")
+public class MethodMatcherSet {
+    private static final BitSet NONE = new BitSet();
+    private static final int MAX_MEMOIZED_NAMES = 4096;
+
+    private final List<MethodMatcher> matchers;
+
+    private final Map<String, BitSet> byTargetType = new HashMap<>();
+    private final BitSet targetTypePatterns = new BitSet();
+
+    private final Map<String, BitSet> byMethodName = new HashMap<>();
+    private final BitSet methodNamePatterns = new BitSet();
+
+    private final BitSet matchOverrides = new BitSet();
+
+    private final int maxMemoizedNames;
+    private final Map<String, BitSet> targetTypeNameCandidates = new ConcurrentHashMap<>();
+    private final Map<String, BitSet> methodNameCandidates = new ConcurrentHashMap<>();
+
+    public MethodMatcherSet(Collection<MethodMatcher> matchers) {
+        this(matchers, MAX_MEMOIZED_NAMES);
+    }
+
+    /**
+     * @param maxMemoizedNames The number of declaring type names, and separately of method names, whose matching
+     *                         matchers are remembered.
+     */
+    MethodMatcherSet(Collection<MethodMatcher> matchers, int maxMemoizedNames) {
+        this.maxMemoizedNames = maxMemoizedNames;
+        this.matchers = new ArrayList<>(matchers);
+        for (int i = 0; i < this.matchers.size(); i++) {
+            MethodMatcher matcher = this.matchers.get(i);
+
+            String targetType = matcher.getTargetType();
+            if (targetType == null) {
+                targetTypePatterns.set(i);
+            } else {
+                byTargetType.computeIfAbsent(TypeUtils.toFullyQualifiedName(targetType), t -> new BitSet()).set(i);
+            }
+
+            String methodName = matcher.getMethodName();
+            if (methodName == null) {
+                methodNamePatterns.set(i);
+            } else {
+                byMethodName.computeIfAbsent(methodName, n -> new BitSet()).set(i);
+            }
+
+            if (matcher.isMatchOverrides()) {
+                matchOverrides.set(i);
+            }
+        }
+    }
+
+    public static MethodMatcherSet of(String... signatures) {
+        List<MethodMatcher> matchers = new ArrayList<>(signatures.length);
+        for (String signature : signatures) {
+            matchers.add(new MethodMatcher(signature));
+        }
+        return new MethodMatcherSet(matchers);
+    }
+
+    public List<MethodMatcher> getMatchers() {
+        return Collections.unmodifiableList(matchers);
+    }
+
+    public boolean matchesAny(@Nullable MethodCall methodCall) {
+        return methodCall != null && matchesAny(methodCall.getMethodType());
+    }
+
+    public boolean matchesAny(@Nullable JavaType.Method type) {
+        BitSet matching = matchingIndices(type, true);
+        return !matching.isEmpty();
+    }
+
+    public List<MethodMatcher> matching(@Nullable MethodCall methodCall) {
+        return methodCall == null ? emptyList() : matching(methodCall.getMethodType());
+    }
+
+    /**
+     * @param type A method type.
+     * @return The matchers that match the method type, in the order they were given to this set.
+     */
+    public List<MethodMatcher> matching(@Nullable JavaType.Method type) {
+        BitSet matching = matchingIndices(type, false);
+        if (matching.isEmpty()) {
+            return emptyList();
+        }
+        List<MethodMatcher> matched = new ArrayList<>(matching.cardinality());
+        for (int i = matching.nextSetBit(0); i >= 0; i = matching.nextSetBit(i + 1)) {
+            matched.add(matchers.get(i));
+        }
+        return matched;
+    }
+
+    /**
+     * @param type A method type.
+     * @return The positions of the matchers that match the method type, in the order they were given to this set.
+     */
+    public BitSet matchingIndices(@Nullable JavaType.Method type) {
+        return matchingIndices(type, false);
+    }
+
+    private BitSet matchingIndices(@Nullable JavaType.Method type, boolean firstOnly) {
+        if (type == null || matchers.isEmpty()) {
+            return new BitSet();
+        }
+
+        BitSet names = memoized(methodNameCandidates, type.getName(), this::matchingMethodName);
+        if (names.isEmpty()) {
+            return new BitSet();
+        }
+        BitSet candidates = matchingTargetType(type.getDeclaringType());
+        candidates.and(names);
+
+        String parameterSignature = null;
+        for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+            MethodMatcher matcher = matchers.get(i);
+            boolean matches;
+            if (matcher.matchesParameterTypesWithoutSignature()) {
+                matches = matcher.matchesParameterTypes(type.getParameterTypes());
+            } else {
+                if (parameterSignature == null) {
+                    parameterSignature = MethodMatcher.parameterSignature(type.getParameterTypes());
+                }
+                matches = matcher.matchesParameterSignature(parameterSignature);
+            }
+            if (!matches) {
+                candidates.clear(i);
+            } else if (firstOnly) {
+                break;
+            }
+        }
+        return candidates;
+    }
+
+    /**
+     * @return The remembered matchers for a name, or else the newly computed ones, which are only remembered while
+     * there is room. Several threads may compute the same name, and may together overshoot the bound by a few names.
+     */
+    private BitSet memoized(Map<String, BitSet> memo, String name, Function<String, BitSet> matching) {
+        BitSet candidates = memo.get(name);
+        if (candidates == null) {
+            candidates = matching.apply(name);
+            if (memo.size() < maxMemoizedNames) {
+                memo.put(name, candidates);
+            }
+        }
+        return candidates;
+    }
+
+    private BitSet matchingMethodName(String methodName) {
+        BitSet matching = new BitSet();
+        matching.or(byMethodName.getOrDefault(methodName, NONE));
+        for (int i = methodNamePatterns.nextSetBit(0); i >= 0; i = methodNamePatterns.nextSetBit(i + 1)) {
+            if (matchers.get(i).matchesMethodName(methodName)) {
+                matching.set(i);
+            }
+        }
+        return matching;
+    }
+
+    private BitSet matchingTargetTypeName(String fullyQualifiedName) {
+        BitSet matching = new BitSet();
+        matching.or(byTargetType.getOrDefault(TypeUtils.toFullyQualifiedName(fullyQualifiedName), NONE));
+        for (int i = targetTypePatterns.nextSetBit(0); i >= 0; i = targetTypePatterns.nextSetBit(i + 1)) {
+            if (matchers.get(i).matchesTargetTypeName(fullyQualifiedName)) {
+                matching.set(i);
+            }
+        }
+        return matching;
+    }
+
+    /**
+     * The same as {@link TypeUtils#isOfTypeWithName(JavaType.FullyQualified, boolean, java.util.function.Predicate)}
+     * for every matcher at once, where only matchers that match overrides look at the supertypes.
+     */
+    private BitSet matchingTargetType(@Nullable JavaType.FullyQualified type) {
+        if (type == null || type instanceof JavaType.Unknown) {
+            return new BitSet();
+        }
+        BitSet matching = (BitSet) memoized(targetTypeNameCandidates, type.getFullyQualifiedName(),
+                this::matchingTargetTypeName).clone();
+        if (!matchOverrides.isEmpty()) {
+            BitSet inherited = new BitSet();
+            inherited.or(memoized(targetTypeNameCandidates, "java.lang.Object", this::matchingTargetTypeName));
+            Set<String> visited = new HashSet<>();
+            visited.add(type.getFullyQualifiedName());
+            addSupertypes(type.getSupertype(), inherited, visited);
+            for (JavaType.FullyQualified anInterface : type.getInterfaces()) {
+                addSupertypes(anInterface, inherited, visited);
+            }
+            inherited.and(matchOverrides);
+            matching.or(inherited);
+        }
+        return matching;
+    }
+
+    private void addSupertypes(@Nullable JavaType.FullyQualified type, BitSet matching, Set<String> visited) {
+        if (type == null || type instanceof JavaType.Unknown || !visited.add(type.getFullyQualifiedName())) {
+            return;
+        }
+        matching.or(memoized(targetTypeNameCandidates, type.getFullyQualifiedName(), this::matchingTargetTypeName));
+        addSupertypes(type.getSupertype(), matching, visited);
+        for (JavaType.FullyQualified anInterface : type.getInterfaces()) {
+            addSupertypes(anInterface, matching, visited);
+        }
+    }
+}
@@ -0,0 +1,400 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java;
+
+import lombok.Value;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.Incubating;
+import org.openrewrite.Parser;
+import org.openrewrite.SourceFile;
+import org.openrewrite.internal.EncodingDetectingInputStream;
+import org.openrewrite.internal.lang.Nullable;
+import org.openrewrite.java.internal.JavaTypeCache;
+import org.openrewrite.java.tree.JavaType;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Parses several batches of Java sources concurrently, for example the main and test source sets of
+ * every module in a multi-module build. Each batch is parsed, entered, attributed and mapped to
+ * {@link org.openrewrite.java.tree.J} by its own {@link JavaParser} on its own thread, so a batch must
+ * contain every source its sources refer to that is not on its classpath.
+ * <p>
+ * Types are cached in place before they are complete, so the types a batch maps are cached for that batch alone
+ * while it is being parsed, and are shared once it has been parsed. A batch therefore never observes a type that
+ * another batch is still completing, and a type is mapped at most once within a batch. Batches that start after
+ * a type has been shared use that same {@link JavaType} instance, while batches parsed at the same time may each
+ * map their own instance of it.
+ * <p>
+ * Only JDK and dependency types are shared. A type is shared only if every class it names, and every supertype of
+ * those, was read from the JDK or from a classpath entry, and not from a package that the sources of the batch
+ * declare. JDK types are added to the shared {@link JavaTypeCache}. Dependency types are shared with the classpath
+ * entry each class was read from, and only batches whose classpath provides those classes from the same entries
+ * use them, so that different versions of a library are never merged, and neither are the source types of two
+ * batches that declare the same class.
+ */
+@Incubating(since = "8.19.0")
+public class ParallelJavaParser {
+    private static final Pattern PACKAGE_DECLARATION = Pattern.compile("\\bpackage\\s+([\\w.]+)\\s*;");
+
+    @Nullable
+    private static final ClassLoader JDK_CLASS_LOADER = ClassLoader.getSystemClassLoader().getParent();
+
+    /**
+     * The origin of classes read from the JDK.
+     */
+    private static final String JDK = "<jdk>";
+
+    /**
+     * The origin of classes that must not be shared, because they are, or may be, declared by the sources of a batch.
+     */
+    private static final String UNSHARED = "";
+
+    private final JavaParser.Builder<? extends JavaParser, ?> parserBuilder;
+    private final int parallelism;
+
+    /**
+     * Types that name only JDK classes.
+     */
+    private final JavaTypeCache typeCache;
+
+    /**
+     * Types that name dependency classes, by signature, each with the classpath entries its classes were read from.
+     */
+    private final Map<String, List<DependencyType>> dependencyTypes = new ConcurrentHashMap<>();
+
+    /**
+     * The class files in each jar on the classpath of any batch.
+     */
+    private final Map<Path, Set<String>> jarClassFiles = new ConcurrentHashMap<>();
+
+    /**
+     * @param parserBuilder A template for the parser of each batch, which may be that of any Java version,
+     *                      e.g. {@link JavaParser#fromJavaVersion()}. The classpath of each batch replaces
+     *                      whatever classpath the template specifies.
+     * @param parallelism   The maximum number of batches to parse at the same time.
+     */
+    public ParallelJavaParser(JavaParser.Builder<? extends JavaParser, ?> parserBuilder, int parallelism) {
+        this(parserBuilder, parallelism, new JavaTypeCache());
+    }
+
+    public ParallelJavaParser(JavaParser.Builder<? extends JavaParser, ?> parserBuilder, int parallelism,
+                              JavaTypeCache typeCache) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1, but was " + parallelism);
+        }
+        this.parserBuilder = parserBuilder;
+        this.parallelism = parallelism;
+        this.typeCache = typeCache;
+    }
+
+    /**
+     * @return The source files of every batch, in the order of the batches and of the inputs within each batch.
+     */
+    public Stream<SourceFile> parse(List<Batch> batches, @Nullable Path relativeTo, ExecutionContext ctx) {
+        if (batches.isEmpty()) {
+            return Stream.empty();
+        }
+
+        AtomicInteger threadNumber = new AtomicInteger(1);
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, batches.size()), r -> {
+            Thread t = new Thread(r, "rewrite-java-parser-" + threadNumber.getAndIncrement());
+            t.setDaemon(true);
+            return t;
+        });
+
+        try {
+            List<Future<List<SourceFile>>> parsed = new ArrayList<>(batches.size());
+            for (Batch batch : batches) {
+                parsed.add(executor.submit(() -> {
+                    Origins origins = new Origins(batch.getClasspath(), declaredPackages(batch, ctx));
+                    BatchTypeCache batchTypeCache = new BatchTypeCache(origins);
+                    List<SourceFile> sourceFiles = buildParser(batch, batchTypeCache)
+                            .parseInputs(batch.getInputs(), relativeTo, ctx)
+                            .collect(Collectors.toList());
+                    // every type this batch mapped is complete now
+                    share(batchTypeCache, origins);
+                    return sourceFiles;
+                }));
+            }
+
+            List<SourceFile> sourceFiles = new ArrayList<>();
+            for (Future<List<SourceFile>> batch : parsed) {
+                sourceFiles.addAll(batch.get());
+            }
+            return sourceFiles.stream();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while parsing Java sources", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private JavaParser buildParser(Batch batch, JavaTypeCache batchTypeCache) {
+        JavaParser.Builder<? extends JavaParser, ?> builder = parserBuilder.clone();
+        builder.classpath(batch.getClasspath());
+        builder.typeCache(batchTypeCache);
+        return builder.build();
+    }
+
+    private static Set<String> declaredPackages(Batch batch, ExecutionContext ctx) {
+        Set<String> packages = new HashSet<>();
+        for (Parser.Input input : batch.getInputs()) {
+            String source;
+            try (EncodingDetectingInputStream is = input.getSource(ctx)) {
+                source = is.readFully();
+            } catch (IOException e) {
+                throw new IllegalStateException("Unable to read " + input.getPath(), e);
+            }
+            boolean declared = false;
+            Matcher matcher = PACKAGE_DECLARATION.matcher(source);
+            // every match, in case one is in a comment before the real declaration
+            while (matcher.find()) {
+                packages.add(matcher.group(1));
+                declared = true;
+            }
+            if (!declared) {
+                packages.add("");
+            }
+        }
+        return packages;
+    }
+
+    private void share(JavaTypeCache batchTypeCache, Origins origins) {
+        JavaTypeCache jdkTypes = new JavaTypeCache();
+        batchTypeCache.forEach((signature, type) -> {
+            Map<String, String> classOrigins = new HashMap<>();
+            if (!(type instanceof JavaType) ||
+                !collectOrigins((JavaType) type, origins, classOrigins, Collections.newSetFromMap(new IdentityHashMap<>()))) {
+                return;
+            }
+            if (classOrigins.values().stream().allMatch(JDK::equals)) {
+                jdkTypes.put(signature, type);
+                return;
+            }
+            DependencyType dependencyType = new DependencyType(type, classOrigins);
+            dependencyTypes.compute(signature, (s, shared) -> {
+                if (shared == null) {
+                    return Collections.singletonList(dependencyType);
+                }
+                for (DependencyType d : shared) {
+                    if (d.getClassOrigins().equals(classOrigins)) {
+                        return shared;
+                    }
+                }
+                List<DependencyType> more = new ArrayList<>(shared.size() + 1);
+                more.addAll(shared);
+                more.add(dependencyType);
+                return more;
+            });
+        });
+        typeCache.putAllAbsent(jdkTypes);
+    }
+
+    /**
+     * Collect the origin of every class a type names, and of their supertypes.
+     *
+     * @return false if any of them must not be shared.
+     */
+    private static boolean collectOrigins(@Nullable JavaType type, Origins origins, Map<String, String> classOrigins,
+                                          Set<JavaType> visited) {
+        if (type == null || type instanceof JavaType.Primitive || !visited.add(type)) {
+            return true;
+        } else if (type instanceof JavaType.Unknown) {
+            return false;
+        } else if (type instanceof JavaType.Parameterized) {
+            JavaType.Parameterized parameterized = (JavaType.Parameterized) type;
+            return collectOrigins(parameterized.getType(), origins, classOrigins, visited) &&
+                   collectAllOrigins(parameterized.getTypeParameters(), origins, classOrigins, visited);
+        } else if (type instanceof JavaType.FullyQualified) {
+            JavaType.FullyQualified fq = (JavaType.FullyQualified) type;
+            String fqn = fq.getFullyQualifiedName();
+            String origin = origins.of(fqn);
+            if (UNSHARED.equals(origin)) {
+                return false;
+            }
+            classOrigins.put(fqn, origin);
+            return collectOrigins(fq.getSupertype(), origins, classOrigins, visited) &&
+                   collectAllOrigins(fq.getInterfaces(), origins, classOrigins, visited);
+        } else if (type instanceof JavaType.Array) {
+            return collectOrigins(((JavaType.Array) type).getElemType(), origins, classOrigins, visited);
+        } else if (type instanceof JavaType.GenericTypeVariable) {
+            return collectAllOrigins(((JavaType.GenericTypeVariable) type).getBounds(), origins, classOrigins, visited);
+        } else if (type instanceof JavaType.Method) {
+            JavaType.Method method = (JavaType.Method) type;
+            return collectOrigins(method.getDeclaringType(), origins, classOrigins, visited) &&
+                   collectOrigins(method.getReturnType(), origins, classOrigins, visited) &&
+                   collectAllOrigins(method.getParameterTypes(), origins, classOrigins, visited);
+        } else if (type instanceof JavaType.Variable) {
+            JavaType.Variable variable = (JavaType.Variable) type;
+            return collectOrigins(variable.getOwner(), origins, classOrigins, visited) &&
+                   collectOrigins(variable.getType(), origins, classOrigins, visited);
+        } else if (type instanceof JavaType.Intersection) {
+            return collectAllOrigins(((JavaType.Intersection) type).getBounds(), origins, classOrigins, visited);
+        } else if (type instanceof JavaType.MultiCatch) {
+            return collectAllOrigins(((JavaType.MultiCatch) type).getThrowableTypes(), origins, classOrigins, visited);
+        }
+        return false;
+    }
+
+    private static boolean collectAllOrigins(List<? extends JavaType> types, Origins origins,
+                                             Map<String, String> classOrigins, Set<JavaType> visited) {
+        for (JavaType type : types) {
+            if (!collectOrigins(type, origins, classOrigins, visited)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Set<String> jarClassFiles(Path jar) {
+        return jarClassFiles.computeIfAbsent(jar, j -> {
+            Set<String> classFiles = new HashSet<>();
+            try (ZipFile zip = new ZipFile(j.toFile())) {
+                Enumeration<? extends ZipEntry> entries = zip.entries();
+                while (entries.hasMoreElements()) {
+                    String name = entries.nextElement().getName();
+                    if (name.endsWith(".class")) {
+                        classFiles.add(name);
+                    }
+                }
+            } catch (IOException e) {
+                // none of the classes of an unreadable jar can be attributed to it, so none of them are shared
+            }
+            return classFiles;
+        });
+    }
+
+    /**
+     * Where the classes a batch names are read from, resolved the way javac resolves them:
+     * from the JDK first, then from the first entry of the classpath that contains them.
+     */
+    private class Origins {
+        private final Collection<Path> classpath;
+        private final Set<String> declaredPackages;
+        private final Map<String, String> origins = new ConcurrentHashMap<>();
+
+        Origins(Collection<Path> classpath, Set<String> declaredPackages) {
+            this.classpath = classpath;
+            this.declaredPackages = declaredPackages;
+        }
+
+        /**
+         * @return {@link #JDK}, the classpath entry the class is read from, or {@link #UNSHARED}.
+         */
+        String of(String fullyQualifiedName) {
+            return origins.computeIfAbsent(fullyQualifiedName, fqn -> {
+                int lastDot = fqn.lastIndexOf('.');
+                if (declaredPackages.contains(lastDot < 0 ? "" : fqn.substring(0, lastDot))) {
+                    return UNSHARED;
+                }
+                String classFile = fqn.replace('.', '/') + ".class";
+                if (JDK_CLASS_LOADER != null && JDK_CLASS_LOADER.getResource(classFile) != null) {
+                    return JDK;
+                }
+                for (Path entry : classpath) {
+                    if (Files.isDirectory(entry) ?
+                            Files.isRegularFile(entry.resolve(classFile)) :
+                            jarClassFiles(entry).contains(classFile)) {
+                        return entry.toString();
+                    }
+                }
+                return UNSHARED;
+            });
+        }
+    }
+
+    @Value
+    private static class DependencyType {
+        Object type;
+
+        /**
+         * The classpath entry (or {@link #JDK}) each class the type names was read from.
+         */
+        Map<String, String> classOrigins;
+    }
+
+    /**
+     * Caches the types one batch maps, and looks up types it has not mapped itself in the types that
+     * batches parsed before it shared, if this batch reads their classes from the same places.
+     */
+    private class BatchTypeCache extends JavaTypeCache {
+        private final Origins origins;
+
+        BatchTypeCache(Origins origins) {
+            this.origins = origins;
+        }
+
+        @Override
+        @Nullable
+        public <T> T get(String signature) {
+            T type = super.get(signature);
+            if (type == null) {
+                type = typeCache.get(signature);
+            }
+            if (type == null) {
+                List<DependencyType> shared = dependencyTypes.get(signature);
+                if (shared != null) {
+                    for (DependencyType dependencyType : shared) {
+                        if (readsFromSameOrigins(dependencyType)) {
+                            //noinspection unchecked
+                            return (T) dependencyType.getType();
+                        }
+                    }
+                }
+            }
+            return type;
+        }
+
+        private boolean readsFromSameOrigins(DependencyType dependencyType) {
+            for (Map.Entry<String, String> classOrigin : dependencyType.getClassOrigins().entrySet()) {
+                if (!classOrigin.getValue().equals(origins.of(classOrigin.getKey()))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * A set of inputs that share a classpath and can be attributed together, such as one source set of one module.
+     */
+    @Value
+    public static class Batch {
+        Collection<Path> classpath;
+        List<Parser.Input> inputs;
+    }
+}
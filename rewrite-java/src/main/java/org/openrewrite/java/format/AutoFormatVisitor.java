@@ -30,6 +30,13 @@
 import static java.util.Objects.requireNonNull;
 import static org.openrewrite.java.format.AutodetectGeneralFormatStyle.autodetectGeneralFormatStyle;
 
+/**
+ * Formats a tree according to the styles of its source file, one formatting step after another. Steps that give
+ * the same result whether or not the step before them has finished the whole tree share a traversal: normalizing
+ * the format and minimum viable spacing, spaces and normalizing tabs or spaces, and normalizing line breaks and
+ * removing trailing whitespace. Blank lines, wrapping and braces and tabs and indents each measure or print what
+ * the steps before them produced elsewhere in the tree, so they keep a traversal of their own.
+ */
 public class AutoFormatVisitor<P> extends JavaIsoVisitor<P> {
     @Nullable
     private final Tree stopAfter;
@@ -53,9 +60,7 @@ public J visit(@Nullable Tree tree, P p, Cursor cursor) {
                 (JavaSourceFile) tree :
                 cursor.firstEnclosingOrThrow(JavaSourceFile.class);
 
-        J t = new NormalizeFormatVisitor<>(stopAfter).visit(tree, p, cursor.fork());
-
-        t = new MinimumViableSpacingVisitor<>(stopAfter).visit(t, p, cursor.fork());
+        J t = new NormalizeFormatAndMinimumViableSpacingVisitor<P>(stopAfter).visit(tree, p, cursor.fork());
 
         t = new BlankLinesVisitor<>(Optional.ofNullable(((SourceFile) cu).getStyle(BlankLinesStyle.class))
                 .orElse(IntelliJ.blankLines()), stopAfter)
@@ -65,27 +70,24 @@ public J visit(@Nullable Tree tree, P p, Cursor cursor) {
                 .orElse(IntelliJ.wrappingAndBraces()), stopAfter)
                 .visit(t, p, cursor.fork());
 
-        t = new SpacesVisitor<>(
+        t = new SpacesAndNormalizeTabsOrSpacesVisitor<P>(
                 Optional.ofNullable(((SourceFile) cu).getStyle(SpacesStyle.class)).orElse(IntelliJ.spaces()),
                 ((SourceFile) cu).getStyle(EmptyForInitializerPadStyle.class),
                 ((SourceFile) cu).getStyle(EmptyForIteratorPadStyle.class),
+                Optional.ofNullable(((SourceFile) cu).getStyle(TabsAndIndentsStyle.class)).orElse(IntelliJ.tabsAndIndents()),
                 stopAfter
         ).visit(t, p, cursor.fork());
 
-        t = new NormalizeTabsOrSpacesVisitor<>(Optional.ofNullable(((SourceFile) cu).getStyle(TabsAndIndentsStyle.class))
-                .orElse(IntelliJ.tabsAndIndents()), stopAfter)
-                .visit(t, p, cursor.fork());
-
         t = new TabsAndIndentsVisitor<>(Optional.ofNullable(((SourceFile) cu).getStyle(TabsAndIndentsStyle.class))
                 .orElse(IntelliJ.tabsAndIndents()), stopAfter)
                 .visit(t, p, cursor.fork());
 
-        t = new NormalizeLineBreaksVisitor<>(Optional.ofNullable(((SourceFile) cu).getStyle(GeneralFormatStyle.class))
+        // normalizing line breaks and then removing trailing whitespace only rewrites each space on its own,
+        // so both are done in the same traversal
+        t = new NormalizeLineBreaksAndTrailingWhitespaceVisitor<>(Optional.ofNullable(((SourceFile) cu).getStyle(GeneralFormatStyle.class))
                 .orElse(autodetectGeneralFormatStyle(cu)), stopAfter)
                 .visit(t, p, cursor.fork());
 
-        t = new RemoveTrailingWhitespaceVisitor<>(stopAfter).visit(t, p, cursor.fork());
-
         return t;
     }
 
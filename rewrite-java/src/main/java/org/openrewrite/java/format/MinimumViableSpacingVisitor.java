@@ -16,6 +16,7 @@
 package org.openrewrite.java.format;
 
 import lombok.RequiredArgsConstructor;
+import org.openrewrite.Cursor;
 import org.openrewrite.Tree;
 import org.openrewrite.internal.ListUtils;
 import org.openrewrite.internal.lang.Nullable;
@@ -32,8 +33,14 @@
 
     @Override
     public J.ClassDeclaration visitClassDeclaration(J.ClassDeclaration classDecl, P p) {
-        J.ClassDeclaration c = super.visitClassDeclaration(classDecl, p);
+        return minimumViableSpacing(super.visitClassDeclaration(classDecl, p));
+    }
 
+    /**
+     * Separates the parts of a class declaration that has already been visited.
+     */
+    J.ClassDeclaration minimumViableSpacing(J.ClassDeclaration classDecl) {
+        J.ClassDeclaration c = classDecl;
         boolean first = c.getLeadingAnnotations().isEmpty();
         if (!c.getModifiers().isEmpty()) {
             if (!first && Space.firstPrefix(c.getModifiers()).getWhitespace().isEmpty()) {
@@ -96,8 +103,11 @@ public J.ClassDeclaration visitClassDeclaration(J.ClassDeclaration classDecl, P
 
     @Override
     public J.MethodDeclaration visitMethodDeclaration(J.MethodDeclaration method, P p) {
-        J.MethodDeclaration m = super.visitMethodDeclaration(method, p);
+        return minimumViableSpacing(super.visitMethodDeclaration(method, p));
+    }
 
+    J.MethodDeclaration minimumViableSpacing(J.MethodDeclaration method) {
+        J.MethodDeclaration m = method;
         boolean first = m.getLeadingAnnotations().isEmpty();
         if (!m.getModifiers().isEmpty()) {
             if (!first && Space.firstPrefix(m.getModifiers()).getWhitespace().isEmpty()) {
@@ -162,18 +172,32 @@ public J.MethodDeclaration visitMethodDeclaration(J.MethodDeclaration method, P
 
     @Override
     public J.Return visitReturn(J.Return return_, P p) {
-        J.Return r = super.visitReturn(return_, p);
+        return minimumViableSpacing(super.visitReturn(return_, p), return_);
+    }
+
+    /**
+     * @param r       The return statement after it has been visited.
+     * @param return_ The return statement before it was visited.
+     */
+    J.Return minimumViableSpacing(J.Return r, J.Return return_) {
         if (r.getExpression() != null && r.getExpression().getPrefix().getWhitespace().isEmpty() &&
             !return_.getMarkers().findFirst(ImplicitReturn.class).isPresent()) {
-            r = r.withExpression(r.getExpression().withPrefix(r.getExpression().getPrefix().withWhitespace(" ")));
+            return r.withExpression(r.getExpression().withPrefix(r.getExpression().getPrefix().withWhitespace(" ")));
         }
         return r;
     }
 
     @Override
     public J.VariableDeclarations visitVariableDeclarations(J.VariableDeclarations multiVariable, P p) {
-        J.VariableDeclarations v = super.visitVariableDeclarations(multiVariable, p);
+        return minimumViableSpacing(super.visitVariableDeclarations(multiVariable, p), getCursor());
+    }
 
+    /**
+     * @param multiVariable The variable declarations after they have been visited.
+     * @param cursor        The cursor pointing at the variable declarations.
+     */
+    J.VariableDeclarations minimumViableSpacing(J.VariableDeclarations multiVariable, Cursor cursor) {
+        J.VariableDeclarations v = multiVariable;
         boolean first = v.getLeadingAnnotations().isEmpty();
 
         /*
@@ -200,7 +224,7 @@ public J.VariableDeclarations visitVariableDeclarations(J.VariableDeclarations m
             }
         }
 
-        J firstEnclosing = getCursor().getParentOrThrow().firstEnclosing(J.class);
+        J firstEnclosing = cursor.getParentOrThrow().firstEnclosing(J.class);
         if (!(firstEnclosing instanceof J.Lambda)) {
             if (Space.firstPrefix(v.getVariables()).isEmpty()) {
                 v = v.withVariables(Space.formatFirstPrefix(v.getVariables(),
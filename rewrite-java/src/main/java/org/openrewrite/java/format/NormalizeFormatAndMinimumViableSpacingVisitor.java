@@ -0,0 +1,84 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.format;
+
+import org.openrewrite.Tree;
+import org.openrewrite.internal.lang.Nullable;
+import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaSourceFile;
+
+/**
+ * Does the work of a {@link NormalizeFormatVisitor} followed by a {@link MinimumViableSpacingVisitor}
+ * in one traversal. Both only rewrite a declaration or return statement once its children have been visited,
+ * reading nothing but the parts of that same element, and {@link MinimumViableSpacingVisitor} only ever
+ * adds a space where {@link NormalizeFormatVisitor} has already left the element as it will stay.
+ * So applying one after the other to each element on the way up gives the same result as two traversals.
+ */
+class NormalizeFormatAndMinimumViableSpacingVisitor<P> extends JavaIsoVisitor<P> {
+    @Nullable
+    private final Tree stopAfter;
+
+    private final NormalizeFormatVisitor<P> normalizeFormat;
+    private final MinimumViableSpacingVisitor<P> minimumViableSpacing;
+
+    NormalizeFormatAndMinimumViableSpacingVisitor(@Nullable Tree stopAfter) {
+        this.stopAfter = stopAfter;
+        this.normalizeFormat = new NormalizeFormatVisitor<>(stopAfter);
+        this.minimumViableSpacing = new MinimumViableSpacingVisitor<>(stopAfter);
+    }
+
+    @Override
+    public J.ClassDeclaration visitClassDeclaration(J.ClassDeclaration classDecl, P p) {
+        return minimumViableSpacing.minimumViableSpacing(normalizeFormat.normalize(
+                super.visitClassDeclaration(classDecl, p)));
+    }
+
+    @Override
+    public J.MethodDeclaration visitMethodDeclaration(J.MethodDeclaration method, P p) {
+        return minimumViableSpacing.minimumViableSpacing(normalizeFormat.normalize(
+                super.visitMethodDeclaration(method, p)));
+    }
+
+    @Override
+    public J.Return visitReturn(J.Return return_, P p) {
+        return minimumViableSpacing.minimumViableSpacing(super.visitReturn(return_, p), return_);
+    }
+
+    @Override
+    public J.VariableDeclarations visitVariableDeclarations(J.VariableDeclarations multiVariable, P p) {
+        return minimumViableSpacing.minimumViableSpacing(normalizeFormat.normalize(
+                super.visitVariableDeclarations(multiVariable, p)), getCursor());
+    }
+
+    @Nullable
+    @Override
+    public J postVisit(J tree, P p) {
+        if (stopAfter != null && stopAfter.isScope(tree)) {
+            getCursor().putMessageOnFirstEnclosing(JavaSourceFile.class, "stop", true);
+        }
+        return super.postVisit(tree, p);
+    }
+
+    @Nullable
+    @Override
+    public J visit(@Nullable Tree tree, P p) {
+        if (getCursor().getNearestMessage("stop") != null) {
+            return (J) tree;
+        }
+        return super.visit(tree, p);
+    }
+}
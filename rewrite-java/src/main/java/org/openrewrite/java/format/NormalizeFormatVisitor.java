@@ -45,8 +45,14 @@ public NormalizeFormatVisitor() {
 
     @Override
     public J.ClassDeclaration visitClassDeclaration(J.ClassDeclaration classDecl, P p) {
-        J.ClassDeclaration c = super.visitClassDeclaration(classDecl, p);
+        return normalize(super.visitClassDeclaration(classDecl, p));
+    }
 
+    /**
+     * Moves the whitespace of a class declaration whose parts have already been visited onto the declaration.
+     */
+    J.ClassDeclaration normalize(J.ClassDeclaration classDecl) {
+        J.ClassDeclaration c = classDecl;
         if (!c.getLeadingAnnotations().isEmpty()) {
             c = concatenatePrefix(c, Space.firstPrefix(c.getLeadingAnnotations()));
             c = c.withLeadingAnnotations(Space.formatFirstPrefix(c.getLeadingAnnotations(), Space.EMPTY));
@@ -75,11 +81,14 @@ public J.ClassDeclaration visitClassDeclaration(J.ClassDeclaration classDecl, P
         return c.withName(c.getName().withPrefix(c.getName().getPrefix().withWhitespace(" ")));
     }
 
-    @SuppressWarnings("ConstantConditions")
     @Override
     public J.MethodDeclaration visitMethodDeclaration(J.MethodDeclaration method, P p) {
-        J.MethodDeclaration m = super.visitMethodDeclaration(method, p);
+        return normalize(super.visitMethodDeclaration(method, p));
+    }
 
+    @SuppressWarnings("ConstantConditions")
+    J.MethodDeclaration normalize(J.MethodDeclaration method) {
+        J.MethodDeclaration m = method;
         if (!m.getLeadingAnnotations().isEmpty()) {
             m = concatenatePrefix(m, Space.firstPrefix(m.getLeadingAnnotations()));
             m = m.withLeadingAnnotations(Space.formatFirstPrefix(m.getLeadingAnnotations(), Space.EMPTY));
@@ -113,11 +122,14 @@ public J.MethodDeclaration visitMethodDeclaration(J.MethodDeclaration method, P
         return m;
     }
 
-    @SuppressWarnings("ConstantConditions")
     @Override
     public J.VariableDeclarations visitVariableDeclarations(J.VariableDeclarations multiVariable, P p) {
-        J.VariableDeclarations v = super.visitVariableDeclarations(multiVariable, p);
+        return normalize(super.visitVariableDeclarations(multiVariable, p));
+    }
 
+    @SuppressWarnings("ConstantConditions")
+    J.VariableDeclarations normalize(J.VariableDeclarations multiVariable) {
+        J.VariableDeclarations v = multiVariable;
         if (!v.getLeadingAnnotations().isEmpty()) {
             v = concatenatePrefix(v, Space.firstPrefix(v.getLeadingAnnotations()));
             v = v.withLeadingAnnotations(Space.formatFirstPrefix(v.getLeadingAnnotations(), Space.EMPTY));
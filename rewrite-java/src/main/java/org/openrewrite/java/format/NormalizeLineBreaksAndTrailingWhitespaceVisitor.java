@@ -0,0 +1,76 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.format;
+
+import org.openrewrite.Tree;
+import org.openrewrite.internal.lang.Nullable;
+import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaSourceFile;
+import org.openrewrite.java.tree.Space;
+import org.openrewrite.style.GeneralFormatStyle;
+
+/**
+ * Does the work of a {@link NormalizeLineBreaksVisitor} followed by a {@link RemoveTrailingWhitespaceVisitor}
+ * in one traversal. Both only rewrite each {@link Space} they visit, from nothing but that space and its location,
+ * and neither changes the shape of the tree or where they stop, so applying one after the other to each space
+ * gives the same result as two traversals.
+ */
+class NormalizeLineBreaksAndTrailingWhitespaceVisitor<P> extends JavaIsoVisitor<P> {
+    @Nullable
+    private final Tree stopAfter;
+
+    private final NormalizeLineBreaksVisitor<P> normalizeLineBreaks;
+    private final RemoveTrailingWhitespaceVisitor<P> removeTrailingWhitespace;
+
+    NormalizeLineBreaksAndTrailingWhitespaceVisitor(GeneralFormatStyle style, @Nullable Tree stopAfter) {
+        this.stopAfter = stopAfter;
+        this.normalizeLineBreaks = new NormalizeLineBreaksVisitor<>(style, stopAfter);
+        this.removeTrailingWhitespace = new RemoveTrailingWhitespaceVisitor<>(stopAfter);
+    }
+
+    @Override
+    public J.CompilationUnit visitCompilationUnit(J.CompilationUnit cu, P p) {
+        // what RemoveTrailingWhitespaceVisitor would see as the end of file once line breaks are normalized
+        String eof = RemoveTrailingWhitespaceVisitor.lineBreaksOf(normalizeLineBreaks
+                .visitSpace(cu.getEof(), Space.Location.COMPILATION_UNIT_EOF, p).getWhitespace());
+        J.CompilationUnit c = super.visitCompilationUnit(cu, p);
+        return c.withEof(c.getEof().withWhitespace(eof));
+    }
+
+    @Override
+    public Space visitSpace(Space space, Space.Location loc, P p) {
+        return removeTrailingWhitespace.visitSpace(normalizeLineBreaks.visitSpace(space, loc, p), loc, p);
+    }
+
+    @Nullable
+    @Override
+    public J postVisit(J tree, P p) {
+        if (stopAfter != null && stopAfter.isScope(tree)) {
+            getCursor().putMessageOnFirstEnclosing(JavaSourceFile.class, "stop", true);
+        }
+        return super.postVisit(tree, p);
+    }
+
+    @Nullable
+    @Override
+    public J visit(@Nullable Tree tree, P p) {
+        if (getCursor().getNearestMessage("stop") != null) {
+            return (J) tree;
+        }
+        return super.visit(tree, p);
+    }
+}
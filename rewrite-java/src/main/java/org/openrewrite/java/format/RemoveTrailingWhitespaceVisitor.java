@@ -38,17 +38,20 @@ public RemoveTrailingWhitespaceVisitor() {
 
     @Override
     public J.CompilationUnit visitCompilationUnit(J.CompilationUnit cu, P p) {
-        String eof = cu.getEof().getWhitespace();
+        String eof = lineBreaksOf(cu.getEof().getWhitespace());
+        J.CompilationUnit c = super.visitCompilationUnit(cu, p);
+        return c.withEof(c.getEof().withWhitespace(eof));
+    }
+
+    static String lineBreaksOf(String whitespace) {
         StringBuilder builder = new StringBuilder();
-        for (int i = 0; i < eof.length(); i++) {
-            char c = eof.charAt(i);
+        for (int i = 0; i < whitespace.length(); i++) {
+            char c = whitespace.charAt(i);
             if (c == '\n' || c == '\r') {
                 builder.appendCodePoint(c);
             }
         }
-        eof = builder.toString();
-        J.CompilationUnit c = super.visitCompilationUnit(cu, p);
-        return c.withEof(c.getEof().withWhitespace(eof));
+        return builder.toString();
     }
 
     @Override
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.format;
+
+import org.openrewrite.Tree;
+import org.openrewrite.internal.lang.Nullable;
+import org.openrewrite.java.style.EmptyForInitializerPadStyle;
+import org.openrewrite.java.style.EmptyForIteratorPadStyle;
+import org.openrewrite.java.style.SpacesStyle;
+import org.openrewrite.java.style.TabsAndIndentsStyle;
+import org.openrewrite.java.tree.Space;
+
+/**
+ * Does the work of a {@link SpacesVisitor} followed by a {@link NormalizeTabsOrSpacesVisitor} in one traversal.
+ * {@link SpacesVisitor} only looks at and rewrites whitespace without line breaks, and only to a single space or
+ * nothing, while {@link NormalizeTabsOrSpacesVisitor} only rewrites what follows the first line break of each
+ * {@link Space} and the comments in it. Neither sees what the other changes, so normalizing each space as it
+ * is visited gives the same result as two traversals.
+ */
+class SpacesAndNormalizeTabsOrSpacesVisitor<P> extends SpacesVisitor<P> {
+    private final NormalizeTabsOrSpacesVisitor<P> normalizeTabsOrSpaces;
+
+    SpacesAndNormalizeTabsOrSpacesVisitor(SpacesStyle style,
+                                          @Nullable EmptyForInitializerPadStyle emptyForInitializerPadStyle,
+                                          @Nullable EmptyForIteratorPadStyle emptyForIteratorPadStyle,
+                                          TabsAndIndentsStyle tabsAndIndentsStyle,
+                                          @Nullable Tree stopAfter) {
+        super(style, emptyForInitializerPadStyle, emptyForIteratorPadStyle, stopAfter);
+        this.normalizeTabsOrSpaces = new NormalizeTabsOrSpacesVisitor<>(tabsAndIndentsStyle, stopAfter);
+    }
+
+    @Override
+    public Space visitSpace(Space space, Space.Location loc, P p) {
+        return normalizeTabsOrSpaces.visitSpace(super.visitSpace(space, loc, p), loc, p);
+    }
+}
@@ -15,55 +15,86 @@
  */
 package org.openrewrite.java.internal;
 
-import lombok.Value;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
 import org.openrewrite.internal.lang.Nullable;
-import org.xerial.snappy.Snappy;
 
-import java.io.IOException;
-import java.io.UncheckedIOException;
-import java.nio.charset.StandardCharsets;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.ToDoubleFunction;
 
+/**
+ * A cache of types by signature that is safe to share between parsers running on several threads.
+ * <p>
+ * Every cache reports to {@link Metrics#globalRegistry} as part of one "Java types" cache: the combined size of
+ * the caches that are still reachable, and the hits and misses of all caches.
+ */
 public class JavaTypeCache implements Cloneable {
 
-    // empirical value: below this size, the compressed key is larger or only slightly smaller
-    // although also note that a String object has a 24 bytes overhead vs. the 16 bytes of a BytesKey object
+    /**
+     * @deprecated Signatures are no longer compressed, and are cached as they are.
+     */
+    @Deprecated
     public static final int COMPRESSION_THRESHOLD = 50;
 
-    @SuppressWarnings("ClassCanBeRecord")
-    @Value
-    private static class BytesKey {
-        byte[] data;
+    private static final Set<JavaTypeCache> LIVE_CACHES = Collections.synchronizedSet(
+            Collections.newSetFromMap(new WeakHashMap<>()));
+    private static final LongAdder TOTAL_HITS = new LongAdder();
+    private static final LongAdder TOTAL_MISSES = new LongAdder();
+
+    static {
+        monitor(Metrics.globalRegistry, "Java types", JavaTypeCache.class, c -> totalSize(),
+                c -> TOTAL_HITS.sum(), c -> TOTAL_MISSES.sum());
     }
 
-    Map<Object, Object> typeCache = new HashMap<>();
+    /**
+     * Keyed by the signature itself, which caches its own hash code, so that equal keys are always equal signatures.
+     */
+    Map<String, Object> typeCache = new ConcurrentHashMap<>();
+
+    private LongAdder hits = new LongAdder();
+    private LongAdder misses = new LongAdder();
+
+    public JavaTypeCache() {
+        LIVE_CACHES.add(this);
+    }
 
     @Nullable
     public <T> T get(String signature) {
+        Object type = typeCache.get(signature);
+        if (type == null) {
+            misses.increment();
+            TOTAL_MISSES.increment();
+        } else {
+            hits.increment();
+            TOTAL_HITS.increment();
+        }
         //noinspection unchecked
-        return (T) typeCache.get(key(signature));
+        return (T) type;
     }
 
     public void put(String signature, Object o) {
-        typeCache.put(key(signature), o);
+        typeCache.put(signature, o);
     }
 
-    @Nullable
-    private static boolean snappyUsable = true;
-
-    private Object key(String signature) {
-        if (signature.length() > COMPRESSION_THRESHOLD && snappyUsable) {
-            try {
-                return new BytesKey(Snappy.compress(signature.getBytes(StandardCharsets.UTF_8)));
-            } catch (IOException e) {
-                throw new UncheckedIOException(e);
-            } catch (NoClassDefFoundError e) {
-                // Some systems fail to load Snappy native components, so fall back to not compressing
-                snappyUsable = false;
-            }
-        }
-        return signature;
+    /**
+     * Add the types of another cache whose signatures are not cached here yet.
+     *
+     * @param other The cache to add types from.
+     */
+    public void putAllAbsent(JavaTypeCache other) {
+        other.typeCache.forEach(typeCache::putIfAbsent);
+    }
+
+    /**
+     * @param action Called with the signature and type of every entry of this cache.
+     */
+    public void forEach(BiConsumer<String, Object> action) {
+        typeCache.forEach(action);
     }
 
     public void clear() {
@@ -74,11 +105,66 @@ public int size() {
         return typeCache.size();
     }
 
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Report the size of this cache and its hit and miss counts to a meter registry, using the
+     * same meter names as Micrometer's cache binders. Every cache already reports to
+     * {@link Metrics#globalRegistry} together with all other caches.
+     *
+     * @param registry  The registry to report to.
+     * @param cacheName A name that distinguishes this cache from other type caches.
+     * @return This cache.
+     */
+    public JavaTypeCache monitor(MeterRegistry registry, String cacheName) {
+        monitor(registry, cacheName, this, JavaTypeCache::size, JavaTypeCache::hitCount, JavaTypeCache::missCount);
+        return this;
+    }
+
+    private static <T> void monitor(MeterRegistry registry, String cacheName, T obj,
+                                    ToDoubleFunction<T> size,
+                                    ToDoubleFunction<T> hits,
+                                    ToDoubleFunction<T> misses) {
+        Gauge.builder("cache.size", obj, size)
+                .tag("cache", cacheName)
+                .description("The number of entries in this cache")
+                .register(registry);
+        FunctionCounter.builder("cache.gets", obj, hits)
+                .tag("cache", cacheName)
+                .tag("result", "hit")
+                .description("The number of times cache lookup methods have returned a cached value")
+                .register(registry);
+        FunctionCounter.builder("cache.gets", obj, misses)
+                .tag("cache", cacheName)
+                .tag("result", "miss")
+                .description("The number of times cache lookup methods have returned an uncached value")
+                .register(registry);
+    }
+
+    private static long totalSize() {
+        long size = 0;
+        synchronized (LIVE_CACHES) {
+            for (JavaTypeCache cache : LIVE_CACHES) {
+                size += cache.size();
+            }
+        }
+        return size;
+    }
+
     @Override
     public JavaTypeCache clone() {
         try {
             JavaTypeCache clone = (JavaTypeCache) super.clone();
-            clone.typeCache = new HashMap<>(this.typeCache);
+            clone.typeCache = new ConcurrentHashMap<>(this.typeCache);
+            clone.hits = new LongAdder();
+            clone.misses = new LongAdder();
+            LIVE_CACHES.add(clone);
             return clone;
         } catch (CloneNotSupportedException e) {
             throw new RuntimeException(e);
@@ -19,16 +19,19 @@
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import org.openrewrite.Cursor;
+import org.openrewrite.Incubating;
+import org.openrewrite.Tree;
 import org.openrewrite.internal.lang.Nullable;
 import org.openrewrite.java.JavaIsoVisitor;
 import org.openrewrite.java.tree.J;
 import org.openrewrite.java.tree.JavaSourceFile;
+import org.openrewrite.java.tree.JRightPadded;
 import org.openrewrite.java.tree.JavaType;
+import org.openrewrite.java.tree.Statement;
 
-import java.util.IdentityHashMap;
-import java.util.Objects;
-import java.util.Set;
+import java.util.*;
 
+import static java.util.Collections.emptyMap;
 import static java.util.Collections.newSetFromMap;
 
 @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
@@ -40,14 +43,37 @@ public class TypesInUse {
     private final Set<JavaType.Method> usedMethods;
     private final Set<JavaType.Variable> variables;
 
+    /**
+     * What each class member found in {@link #cu} contributes, so that a later build can skip members
+     * that an edit left untouched.
+     */
+    @Getter(AccessLevel.NONE)
+    private final Map<J, Contribution> memberContributions;
+
     public static TypesInUse build(JavaSourceFile cu) {
-        FindTypesInUse findTypesInUse = new FindTypesInUse();
+        return build(cu, null);
+    }
+
+    /**
+     * Build the types in use of a compilation unit that was produced by editing another one whose types in use
+     * are already known. The members of classes that are the same instances in both compilation units are not
+     * visited again, since their types can't have changed, so the cost of the build is proportional to the
+     * size of the edited members rather than to the size of the whole compilation unit.
+     *
+     * @param cu       The compilation unit to find types in use in.
+     * @param previous The types in use of a compilation unit that {@code cu} was derived from, if known.
+     * @return The types in use of {@code cu}.
+     */
+    @Incubating(since = "8.19.0")
+    public static TypesInUse build(JavaSourceFile cu, @Nullable TypesInUse previous) {
+        FindTypesInUse findTypesInUse = new FindTypesInUse(previous == null ? emptyMap() : previous.memberContributions);
         findTypesInUse.visit(cu, 0);
         return new TypesInUse(cu,
                 findTypesInUse.getTypes(),
                 findTypesInUse.getDeclaredMethods(),
                 findTypesInUse.getUsedMethods(),
-                findTypesInUse.getVariables());
+                findTypesInUse.getVariables(),
+                findTypesInUse.memberContributions);
     }
 
     @Getter
@@ -57,6 +83,90 @@ public static class FindTypesInUse extends JavaIsoVisitor<Integer> {
         private final Set<JavaType.Method> usedMethods = newSetFromMap(new IdentityHashMap<>());
         private final Set<JavaType.Variable> variables = newSetFromMap(new IdentityHashMap<>());
 
+        @Getter(AccessLevel.NONE)
+        private final Map<J, Contribution> previousMemberContributions;
+
+        @Getter(AccessLevel.NONE)
+        private final Map<J, Contribution> memberContributions = new IdentityHashMap<>();
+
+        /**
+         * The contribution of the class member currently being visited, if any.
+         */
+        @Getter(AccessLevel.NONE)
+        @Nullable
+        private Contribution contribution;
+
+        public FindTypesInUse() {
+            this(emptyMap());
+        }
+
+        private FindTypesInUse(Map<J, Contribution> previousMemberContributions) {
+            this.previousMemberContributions = previousMemberContributions;
+        }
+
+        @Override
+        public @Nullable J visit(@Nullable Tree tree, Integer p) {
+            if (!(tree instanceof Statement) || !isClassMember()) {
+                return super.visit(tree, p);
+            }
+
+            J member = (J) tree;
+            Contribution enclosing = contribution;
+            Contribution previous = previousMemberContributions.get(member);
+            if (previous != null) {
+                carryForward(member, previous);
+                add(previous);
+                if (enclosing != null) {
+                    enclosing.addAll(previous);
+                    enclosing.members.add(member);
+                }
+                return member;
+            }
+
+            contribution = new Contribution();
+            try {
+                return super.visit(tree, p);
+            } finally {
+                Contribution visited = contribution;
+                memberContributions.put(member, visited);
+                contribution = enclosing;
+                if (enclosing != null) {
+                    enclosing.addAll(visited);
+                    enclosing.members.add(member);
+                }
+            }
+        }
+
+        private boolean isClassMember() {
+            Cursor cursor = getCursor();
+            if (!(cursor.getValue() instanceof JRightPadded)) {
+                return false;
+            }
+            Cursor block = cursor.getParent();
+            if (block == null || !(block.getValue() instanceof J.Block)) {
+                return false;
+            }
+            Cursor owner = block.getParent();
+            return owner != null && (owner.getValue() instanceof J.ClassDeclaration || owner.getValue() instanceof J.NewClass);
+        }
+
+        private void carryForward(J member, Contribution previous) {
+            memberContributions.put(member, previous);
+            for (J nested : previous.members) {
+                Contribution nestedContribution = previousMemberContributions.get(nested);
+                if (nestedContribution != null) {
+                    carryForward(nested, nestedContribution);
+                }
+            }
+        }
+
+        private void add(Contribution c) {
+            types.addAll(c.types);
+            declaredMethods.addAll(c.declaredMethods);
+            usedMethods.addAll(c.usedMethods);
+            variables.addAll(c.variables);
+        }
+
         @Override
         public J.Import visitImport(J.Import _import, Integer p) {
             return _import;
@@ -81,18 +191,52 @@ public J.Identifier visitIdentifier(J.Identifier identifier, Integer p) {
                 Cursor cursor = getCursor();
                 if (javaType instanceof JavaType.Variable) {
                     variables.add((JavaType.Variable) javaType);
+                    if (contribution != null) {
+                        contribution.variables.add((JavaType.Variable) javaType);
+                    }
                 } else if (javaType instanceof JavaType.Method) {
                     if (cursor.getValue() instanceof J.MethodDeclaration) {
                         declaredMethods.add((JavaType.Method) javaType);
+                        if (contribution != null) {
+                            contribution.declaredMethods.add((JavaType.Method) javaType);
+                        }
                     } else {
                         usedMethods.add((JavaType.Method) javaType);
+                        if (contribution != null) {
+                            contribution.usedMethods.add((JavaType.Method) javaType);
+                        }
                     }
                 } else if (!(cursor.getValue() instanceof J.ClassDeclaration) && !(cursor.getValue() instanceof J.Lambda)) {
                     // ignore type representing class declaration itself and inferred lambda types
                     types.add(javaType);
+                    if (contribution != null) {
+                        contribution.types.add(javaType);
+                    }
                 }
             }
             return javaType;
         }
     }
+
+    /**
+     * The types found in one class member, including those of any classes nested in it.
+     */
+    private static class Contribution {
+        final Set<JavaType> types = newSetFromMap(new IdentityHashMap<>());
+        final Set<JavaType.Method> declaredMethods = newSetFromMap(new IdentityHashMap<>());
+        final Set<JavaType.Method> usedMethods = newSetFromMap(new IdentityHashMap<>());
+        final Set<JavaType.Variable> variables = newSetFromMap(new IdentityHashMap<>());
+
+        /**
+         * The members of classes nested in this member, which have contributions of their own.
+         */
+        final List<J> members = new ArrayList<>(0);
+
+        void addAll(Contribution c) {
+            types.addAll(c.types);
+            declaredMethods.addAll(c.declaredMethods);
+            usedMethods.addAll(c.usedMethods);
+            variables.addAll(c.variables);
+        }
+    }
 }
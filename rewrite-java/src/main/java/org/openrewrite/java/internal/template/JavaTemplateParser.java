@@ -25,6 +25,7 @@
 import org.openrewrite.Parser;
 import org.openrewrite.internal.ListUtils;
 import org.openrewrite.internal.PropertyPlaceholderHelper;
+import org.openrewrite.internal.lang.Nullable;
 import org.openrewrite.java.JavaParser;
 import org.openrewrite.java.RandomizeIdVisitor;
 import org.openrewrite.java.tree.*;
@@ -61,6 +62,9 @@ public class JavaTemplateParser {
     private final BlockStatementTemplateGenerator statementTemplateGenerator;
     private final AnnotationTemplateGenerator annotationTemplateGenerator;
 
+    @Nullable
+    private volatile Object parserConfigurationKey;
+
     public JavaTemplateParser(boolean contextSensitive, Parser.Builder parser, Consumer<String> onAfterVariableSubstitution,
                               Consumer<String> onBeforeParseTemplate, Set<String> imports) {
         this(
@@ -254,14 +258,28 @@ private JavaSourceFile compileTemplate(@Language("java") String stub) {
         ExecutionContext ctx = new InMemoryExecutionContext();
         ctx.putMessage(JavaParser.SKIP_SOURCE_SET_TYPE_GENERATION, true);
         ctx.putMessage(ExecutionContext.REQUIRE_PRINT_EQUALS_INPUT, false);
-        Parser jp = parser.build();
-        return (stub.contains("@SubAnnotation") ?
+        Object key = parserConfigurationKey();
+        Parser jp = key == null ? parser.build() : TemplateParserPool.borrow(key, parser);
+        JavaSourceFile cu = (stub.contains("@SubAnnotation") ?
                 jp.reset().parse(ctx, stub, SUBSTITUTED_ANNOTATION) :
                 jp.reset().parse(ctx, stub))
                 .findFirst()
                 .filter(JavaSourceFile.class::isInstance) // Filters out ParseErrors
                 .map(JavaSourceFile.class::cast)
                 .orElseThrow(() -> new IllegalArgumentException("Could not parse as Java"));
+        if (key != null) {
+            // only a parser that compiled its stub without failing is lent out again
+            TemplateParserPool.release(key, jp);
+        }
+        return cu;
+    }
+
+    @Nullable
+    private Object parserConfigurationKey() {
+        if (parserConfigurationKey == null && parser instanceof JavaParser.Builder) {
+            parserConfigurationKey = ((JavaParser.Builder<?, ?>) parser).getConfigurationKey();
+        }
+        return parserConfigurationKey;
     }
 
     /**
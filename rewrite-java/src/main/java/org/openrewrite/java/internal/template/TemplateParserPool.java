@@ -0,0 +1,72 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.internal.template;
+
+import org.openrewrite.Parser;
+
+import java.lang.ref.SoftReference;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Keeps the parsers that template stubs were compiled with, so that the next stub compiled with the same parser
+ * configuration reuses the compiler context, file manager and classpath symbols of a warm parser instead of
+ * building them again. A parser is only ever lent to one thread at a time, and is reset before each stub.
+ * <p>
+ * Idle parsers are softly referenced, and only the most recently used configurations are kept.
+ */
+class TemplateParserPool {
+    private static final int MAX_CONFIGURATIONS = 16;
+    private static final int MAX_IDLE_PARSERS = Runtime.getRuntime().availableProcessors();
+
+    private static final Map<Object, Deque<SoftReference<Parser>>> idle =
+            new LinkedHashMap<Object, Deque<SoftReference<Parser>>>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Object, Deque<SoftReference<Parser>>> eldest) {
+                    return size() > MAX_CONFIGURATIONS;
+                }
+            };
+
+    private TemplateParserPool() {
+    }
+
+    static Parser borrow(Object configurationKey, Parser.Builder parserBuilder) {
+        synchronized (idle) {
+            Deque<SoftReference<Parser>> parsers = idle.get(configurationKey);
+            if (parsers != null) {
+                SoftReference<Parser> ref;
+                while ((ref = parsers.pollFirst()) != null) {
+                    Parser parser = ref.get();
+                    if (parser != null) {
+                        return parser;
+                    }
+                }
+            }
+        }
+        return parserBuilder.build();
+    }
+
+    static void release(Object configurationKey, Parser parser) {
+        synchronized (idle) {
+            Deque<SoftReference<Parser>> parsers = idle.computeIfAbsent(configurationKey, k -> new ArrayDeque<>());
+            if (parsers.size() < MAX_IDLE_PARSERS) {
+                parsers.addFirst(new SoftReference<>(parser));
+            }
+        }
+    }
+}
@@ -1587,7 +1587,8 @@ public TypesInUse getTypesInUse() {
             } else {
                 cache = this.typesInUse.get();
                 if (cache == null || cache.getCu() != this) {
-                    cache = TypesInUse.build(this);
+                    // the cache may have been carried over from the compilation unit this one was edited from
+                    cache = TypesInUse.build(this, cache);
                     this.typesInUse = new SoftReference<>(cache);
                 }
             }
@@ -1620,7 +1621,7 @@ public JRightPadded<Package> getPackageDeclaration() {
             }
 
             public CompilationUnit withPackageDeclaration(@Nullable JRightPadded<Package> packageDeclaration) {
-                return t.packageDeclaration == packageDeclaration ? t : new CompilationUnit(t.id, t.prefix, t.markers, t.sourcePath, t.fileAttributes, t.charsetName, t.charsetBomMarked, null,
+                return t.packageDeclaration == packageDeclaration ? t : new CompilationUnit(t.typesInUse, null, t.id, t.prefix, t.markers, t.sourcePath, t.fileAttributes, t.charsetName, t.charsetBomMarked, null,
                         packageDeclaration, t.imports, t.classes, t.eof);
             }
 
@@ -1631,7 +1632,7 @@ public List<JRightPadded<Import>> getImports() {
 
             @Override
             public CompilationUnit withImports(List<JRightPadded<Import>> imports) {
-                return t.imports == imports ? t : new CompilationUnit(t.id, t.prefix, t.markers, t.sourcePath, t.fileAttributes, t.charsetName, t.charsetBomMarked, null,
+                return t.imports == imports ? t : new CompilationUnit(t.typesInUse, null, t.id, t.prefix, t.markers, t.sourcePath, t.fileAttributes, t.charsetName, t.charsetBomMarked, null,
                         t.packageDeclaration, imports, t.classes, t.eof);
             }
         }
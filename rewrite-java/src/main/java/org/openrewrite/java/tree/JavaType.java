@@ -80,19 +80,8 @@ static JavaType buildType(String typeName) {
 
     default boolean isAssignableFrom(Pattern pattern) {
         if (this instanceof FullyQualified) {
-            FullyQualified fq = (FullyQualified) this;
-            if (pattern.matcher(fq.getFullyQualifiedName()).matches()) {
-                return true;
-            }
-            if (fq.getSupertype() != null && fq.getSupertype().isAssignableFrom(pattern)) {
-                return true;
-            }
-            for (FullyQualified anInterface : fq.getInterfaces()) {
-                if (anInterface.isAssignableFrom(pattern)) {
-                    return true;
-                }
-            }
-            return false;
+            return ((FullyQualified) this).getSupertypeClosure()
+                    .anyMatch(fq -> !(fq instanceof Unknown) && pattern.matcher(fq.getFullyQualifiedName()).matches());
         } else if (this instanceof GenericTypeVariable) {
             GenericTypeVariable generic = (GenericTypeVariable) this;
             for (JavaType bound : generic.getBounds()) {
@@ -187,6 +176,20 @@ public Intersection unsafeSet(JavaType[] bounds) {
     }
 
     abstract class FullyQualified implements JavaType {
+        /**
+         * Computed on the first assignability check, and again on the next one after the hierarchy of this type or
+         * one of its ancestors changed.
+         */
+        @Nullable
+        @JsonIgnore
+        transient SupertypeClosure supertypeClosure;
+
+        /**
+         * Advanced whenever the hierarchy of this type is set in place.
+         */
+        @JsonIgnore
+        transient volatile int hierarchyVersion;
+
         public abstract String getFullyQualifiedName();
 
         public abstract FullyQualified withFullyQualifiedName(String fullyQualifiedName);
@@ -328,9 +331,17 @@ public String getPackageName() {
         }
 
         public boolean isAssignableTo(String fullyQualifiedName) {
-            return TypeUtils.fullyQualifiedNamesAreEqual(getFullyQualifiedName(), fullyQualifiedName) ||
-                   getInterfaces().stream().anyMatch(anInterface -> anInterface.isAssignableTo(fullyQualifiedName))
-                   || (getSupertype() != null && getSupertype().isAssignableTo(fullyQualifiedName));
+            return getSupertypeClosure().hasName(fullyQualifiedName);
+        }
+
+        SupertypeClosure getSupertypeClosure() {
+            SupertypeClosure closure = supertypeClosure;
+            if (closure == null || !closure.isCurrent()) {
+                // threads racing here compute equal closures, each safely published through its final fields
+                closure = SupertypeClosure.of(this);
+                supertypeClosure = closure;
+            }
+            return closure;
         }
 
         public boolean isAssignableFrom(@Nullable JavaType type) {
@@ -560,6 +571,7 @@ public Class unsafeSet(@Nullable List<JavaType> typeParameters, @Nullable FullyQ
             this.interfaces = arrayOrNullIfEmpty(interfaces, EMPTY_FULLY_QUALIFIED_ARRAY);
             this.members = arrayOrNullIfEmpty(members, EMPTY_VARIABLE_ARRAY);
             this.methods = arrayOrNullIfEmpty(methods, EMPTY_METHOD_ARRAY);
+            SupertypeClosure.hierarchyChanged(this);
             return this;
         }
 
@@ -574,6 +586,7 @@ public Class unsafeSet(@Nullable JavaType[] typeParameters, @Nullable FullyQuali
             this.interfaces = ListUtils.nullIfEmpty(interfaces);
             this.members = ListUtils.nullIfEmpty(members);
             this.methods = ListUtils.nullIfEmpty(methods);
+            SupertypeClosure.hierarchyChanged(this);
             return this;
         }
 
@@ -698,6 +711,7 @@ public Parameterized unsafeSet(@Nullable FullyQualified type, @Nullable List<Jav
             assert type != this;
             this.type = unknownIfNull(type);
             this.typeParameters = arrayOrNullIfEmpty(typeParameters, EMPTY_JAVA_TYPE_ARRAY);
+            SupertypeClosure.hierarchyChanged(this);
             return this;
         }
 
@@ -705,6 +719,7 @@ public Parameterized unsafeSet(@Nullable FullyQualified type, @Nullable JavaType
             assert type != this;
             this.type = unknownIfNull(type);
             this.typeParameters = ListUtils.nullIfEmpty(typeParameters);
+            SupertypeClosure.hierarchyChanged(this);
             return this;
         }
 
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.tree;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.function.Predicate;
+
+/**
+ * A type together with every supertype and interface reachable from it, flattened once so that assignability
+ * checks against a fully qualified name are a set lookup rather than a walk of the type hierarchy.
+ * <p>
+ * Ancestors are collected the same way {@link TypeUtils#isAssignableTo(String, JavaType)} has always walked them:
+ * through {@link JavaType.FullyQualified#getSupertype()} and {@link JavaType.FullyQualified#getInterfaces()} of
+ * each type reached, each type instance only once.
+ * <p>
+ * A closure depends on the hierarchies of all of its ancestors, and type mappers complete those hierarchies in
+ * place, in any order. So each type carries a version that advances whenever its own hierarchy is set, and a
+ * closure remembers the version of every type it read a hierarchy from. Completing a type only makes the closures
+ * that reached it stale, and those are computed again on their next use.
+ */
+final class SupertypeClosure {
+    private static final AtomicIntegerFieldUpdater<JavaType.FullyQualified> HIERARCHY_VERSION =
+            AtomicIntegerFieldUpdater.newUpdater(JavaType.FullyQualified.class, "hierarchyVersion");
+
+    private final JavaType.FullyQualified[] types;
+
+    /**
+     * Every type whose supertype or interfaces were read to compute this closure. This includes the types
+     * that parameterized types in the closure delegate to.
+     */
+    private final JavaType.FullyQualified[] observed;
+
+    /**
+     * The version of each type in {@link #observed}, read before its hierarchy was.
+     */
+    private final int[] observedVersions;
+
+    /**
+     * Fully qualified names of every type in the closure, with '$' replaced by '.'.
+     */
+    private final Set<String> names;
+
+    /**
+     * The signatures of the parameterized types in the closure, which match a name given with its type parameters.
+     */
+    private final Set<String> parameterizedSignatures;
+
+    private SupertypeClosure(JavaType.FullyQualified[] types, JavaType.FullyQualified[] observed, int[] observedVersions,
+                             Set<String> names, Set<String> parameterizedSignatures) {
+        this.types = types;
+        this.observed = observed;
+        this.observedVersions = observedVersions;
+        this.names = names;
+        this.parameterizedSignatures = parameterizedSignatures;
+    }
+
+    /**
+     * Called whenever the supertype, interfaces or type of a fully qualified type are set in place.
+     */
+    static void hierarchyChanged(JavaType.FullyQualified type) {
+        HIERARCHY_VERSION.incrementAndGet(type);
+    }
+
+    /**
+     * @return Whether no type this closure was computed from has had its hierarchy set since.
+     */
+    boolean isCurrent() {
+        for (int i = 0; i < observed.length; i++) {
+            if (observed[i].hierarchyVersion != observedVersions[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static SupertypeClosure of(JavaType.FullyQualified type) {
+        Set<JavaType.FullyQualified> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        List<JavaType.FullyQualified> types = new ArrayList<>();
+        List<JavaType.FullyQualified> observed = new ArrayList<>();
+        List<Integer> observedVersions = new ArrayList<>();
+        Set<String> names = new HashSet<>();
+        Set<String> parameterizedSignatures = new HashSet<>();
+
+        Deque<JavaType.FullyQualified> toVisit = new ArrayDeque<>();
+        toVisit.push(type);
+        while (!toVisit.isEmpty()) {
+            JavaType.FullyQualified next = toVisit.pop();
+            if (!visited.add(next)) {
+                continue;
+            }
+            types.add(next);
+            for (JavaType.FullyQualified o = next; ; o = ((JavaType.Parameterized) o).getType()) {
+                // the version is read before the hierarchy it guards
+                observed.add(o);
+                observedVersions.add(o.hierarchyVersion);
+                if (!(o instanceof JavaType.Parameterized)) {
+                    break;
+                }
+            }
+            names.add(TypeUtils.toFullyQualifiedName(next.getFullyQualifiedName()));
+            if (next instanceof JavaType.Parameterized) {
+                parameterizedSignatures.add(next.toString());
+            }
+
+            List<JavaType.FullyQualified> interfaces = next.getInterfaces();
+            for (int i = interfaces.size() - 1; i >= 0; i--) {
+                toVisit.push(interfaces.get(i));
+            }
+            JavaType.FullyQualified supertype = next.getSupertype();
+            if (supertype != null) {
+                toVisit.push(supertype);
+            }
+        }
+
+        int[] versions = new int[observedVersions.size()];
+        for (int i = 0; i < versions.length; i++) {
+            versions[i] = observedVersions.get(i);
+        }
+        return new SupertypeClosure(types.toArray(JavaType.EMPTY_FULLY_QUALIFIED_ARRAY),
+                observed.toArray(JavaType.EMPTY_FULLY_QUALIFIED_ARRAY), versions, names,
+                parameterizedSignatures.isEmpty() ? Collections.emptySet() : parameterizedSignatures);
+    }
+
+    /**
+     * @param fullyQualifiedName A fully qualified name, or the signature of a parameterized type.
+     * @return Whether the type or one of its ancestors has this name.
+     */
+    boolean isAssignableTo(String fullyQualifiedName) {
+        return parameterizedSignatures.contains(fullyQualifiedName) || hasName(fullyQualifiedName);
+    }
+
+    /**
+     * @return Whether the type or one of its ancestors has this fully qualified name, ignoring type parameters.
+     */
+    boolean hasName(String fullyQualifiedName) {
+        return names.contains(TypeUtils.toFullyQualifiedName(fullyQualifiedName));
+    }
+
+    boolean anyMatch(Predicate<? super JavaType.FullyQualified> predicate) {
+        for (JavaType.FullyQualified type : types) {
+            if (predicate.test(type)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -23,7 +23,6 @@
 import java.util.*;
 import java.util.function.Predicate;
 import java.util.regex.Pattern;
-import java.util.stream.IntStream;
 
 public class TypeUtils {
     private static final JavaType.Class TYPE_OBJECT = JavaType.ShallowClass.build("java.lang.Object");
@@ -171,15 +170,8 @@ public static boolean isOfTypeWithName(
                 return true;
             }
 
-            if (isOfTypeWithName(type.getSupertype(), true, matcher)) {
-                return true;
-            }
-
-            for (JavaType.FullyQualified anInterface : type.getInterfaces()) {
-                if (isOfTypeWithName(anInterface, true, matcher)) {
-                    return true;
-                }
-            }
+            return type.getSupertypeClosure().anyMatch(supertype -> !(supertype instanceof JavaType.Unknown) &&
+                                                                    matcher.test(supertype.getFullyQualifiedName()));
         }
         return false;
     }
@@ -194,20 +186,31 @@ public static boolean isAssignableTo(@Nullable JavaType to, @Nullable JavaType f
             } else if (to instanceof JavaType.Parameterized) {
                 JavaType.Parameterized toParameterized = (JavaType.Parameterized) to;
                 if (!(from instanceof JavaType.Parameterized)) {
-                    return from instanceof JavaType.FullyQualified &&
-                           isAssignableTo(toParameterized.getType(), from) &&
-                           toParameterized.getTypeParameters().stream()
-                                   .allMatch(p -> (p instanceof JavaType.GenericTypeVariable &&
-                                                   ((JavaType.GenericTypeVariable) p).getName().equals("?")) ||
-                                                  isAssignableTo(p, TYPE_OBJECT));
+                    if (!(from instanceof JavaType.FullyQualified) || !isAssignableTo(toParameterized.getType(), from)) {
+                        return false;
+                    }
+                    for (JavaType p : toParameterized.getTypeParameters()) {
+                        if (!(p instanceof JavaType.GenericTypeVariable && ((JavaType.GenericTypeVariable) p).getName().equals("?")) &&
+                            !isAssignableTo(p, TYPE_OBJECT)) {
+                            return false;
+                        }
+                    }
+                    return true;
                 }
                 JavaType.Parameterized fromParameterized = (JavaType.Parameterized) from;
                 List<JavaType> toParameters = toParameterized.getTypeParameters();
                 List<JavaType> fromParameters = fromParameterized.getTypeParameters();
                 int parameterCount = toParameters.size();
-                return parameterCount == fromParameters.size() &&
-                       isAssignableTo(toParameterized.getType(), fromParameterized.getType()) &&
-                       IntStream.range(0, parameterCount).allMatch(i -> isAssignableTo(toParameters.get(i), fromParameters.get(i)));
+                if (parameterCount != fromParameters.size() ||
+                    !isAssignableTo(toParameterized.getType(), fromParameterized.getType())) {
+                    return false;
+                }
+                for (int i = 0; i < parameterCount; i++) {
+                    if (!isAssignableTo(toParameters.get(i), fromParameters.get(i))) {
+                        return false;
+                    }
+                }
+                return true;
             } else if (to instanceof JavaType.FullyQualified) {
                 JavaType.FullyQualified toFq = (JavaType.FullyQualified) to;
                 if (from instanceof JavaType.Primitive) {
@@ -314,22 +317,7 @@ public static boolean isAssignableTo(@Nullable JavaType to, @Nullable JavaType f
     public static boolean isAssignableTo(String to, @Nullable JavaType from) {
         try {
             if (from instanceof JavaType.FullyQualified) {
-                if (from instanceof JavaType.Parameterized) {
-                    if (to.equals(from.toString())) {
-                        return true;
-                    }
-                }
-                JavaType.FullyQualified classFrom = (JavaType.FullyQualified) from;
-                if (fullyQualifiedNamesAreEqual(to, classFrom.getFullyQualifiedName()) ||
-                    isAssignableTo(to, classFrom.getSupertype())) {
-                    return true;
-                }
-                for (JavaType.FullyQualified i : classFrom.getInterfaces()) {
-                    if (isAssignableTo(to, i)) {
-                        return true;
-                    }
-                }
-                return false;
+                return ((JavaType.FullyQualified) from).getSupertypeClosure().isAssignableTo(to);
             } else if (from instanceof JavaType.GenericTypeVariable) {
                 JavaType.GenericTypeVariable genericFrom = (JavaType.GenericTypeVariable) from;
                 for (JavaType bound : genericFrom.getBounds()) {
@@ -375,17 +363,7 @@ public static boolean isAssignableTo(Pattern to, @Nullable JavaType from) {
     public static boolean isAssignableTo(Predicate<JavaType> predicate, @Nullable JavaType from) {
         try {
             if (from instanceof JavaType.FullyQualified) {
-                JavaType.FullyQualified classFrom = (JavaType.FullyQualified) from;
-
-                if (predicate.test(classFrom) || isAssignableTo(predicate, classFrom.getSupertype())) {
-                    return true;
-                }
-                for (JavaType.FullyQualified anInterface : classFrom.getInterfaces()) {
-                    if (isAssignableTo(predicate, anInterface)) {
-                        return true;
-                    }
-                }
-                return false;
+                return ((JavaType.FullyQualified) from).getSupertypeClosure().anyMatch(predicate);
             } else if (from instanceof JavaType.GenericTypeVariable) {
                 JavaType.GenericTypeVariable genericFrom = (JavaType.GenericTypeVariable) from;
                 for (JavaType bound : genericFrom.getBounds()) {
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.internal;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JavaTypeCacheTest {
+    private static final String LONG_SIGNATURE = "java.util.Map<java.lang.String, java.util.List<java.util.Map<java.lang.Integer, java.lang.Object>>>";
+
+    @Test
+    void longSignatures() {
+        JavaTypeCache cache = new JavaTypeCache();
+        cache.put(LONG_SIGNATURE, "type");
+        cache.put(LONG_SIGNATURE.replace("Integer", "Long"), "other");
+
+        assertThat(cache.<String>get(LONG_SIGNATURE)).isEqualTo("type");
+        assertThat(cache.<String>get(LONG_SIGNATURE.replace("Integer", "Long"))).isEqualTo("other");
+        assertThat(cache.<String>get(LONG_SIGNATURE.replace("Integer", "Short"))).isNull();
+    }
+
+    @Test
+    void concurrentPuts() {
+        JavaTypeCache cache = new JavaTypeCache();
+        IntStream.range(0, 10_000).parallel().forEach(i -> cache.put(LONG_SIGNATURE + i, i));
+        assertThat(cache.size()).isEqualTo(10_000);
+        assertThat(cache.<Integer>get(LONG_SIGNATURE + 42)).isEqualTo(42);
+    }
+
+    @Test
+    void metrics() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        JavaTypeCache cache = new JavaTypeCache().monitor(registry, "test");
+        cache.put("java.lang.String", "type");
+        cache.get("java.lang.String");
+        cache.get("java.lang.Integer");
+
+        assertThat(registry.get("cache.size").tag("cache", "test").gauge().value()).isEqualTo(1);
+        assertThat(registry.get("cache.gets").tag("result", "hit").functionCounter().count()).isEqualTo(1);
+        assertThat(registry.get("cache.gets").tag("result", "miss").functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void reportsToGlobalRegistry() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        Metrics.globalRegistry.add(registry);
+        try {
+            JavaTypeCache cache = new JavaTypeCache();
+            cache.put("java.lang.String", "type");
+            double hits = registry.get("cache.gets").tag("cache", "Java types").tag("result", "hit")
+              .functionCounter().count();
+
+            cache.get("java.lang.String");
+
+            assertThat(registry.get("cache.gets").tag("cache", "Java types").tag("result", "hit")
+              .functionCounter().count()).isGreaterThan(hits);
+            assertThat(registry.get("cache.size").tag("cache", "Java types").gauge().value()).isGreaterThanOrEqualTo(1);
+        } finally {
+            Metrics.globalRegistry.remove(registry);
+        }
+    }
+}
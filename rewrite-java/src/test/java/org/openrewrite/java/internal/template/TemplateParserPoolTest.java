@@ -0,0 +1,90 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.internal.template;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.Parser;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.internal.JavaTypeCache;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.TypeUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TemplateParserPoolTest {
+
+    @Test
+    void configurationKeyComparesDependenciesAndClassBytesByContent() {
+        assertThat(JavaParser.fromJavaVersion().dependsOn("class A {}").getConfigurationKey())
+          .isEqualTo(JavaParser.fromJavaVersion().dependsOn("class A {}").getConfigurationKey())
+          .isNotEqualTo(JavaParser.fromJavaVersion().dependsOn("class B {}").getConfigurationKey())
+          .isNotEqualTo(JavaParser.fromJavaVersion().getConfigurationKey());
+
+        assertThat(JavaParser.fromJavaVersion().classpath(new byte[]{1, 2}).getConfigurationKey())
+          .isEqualTo(JavaParser.fromJavaVersion().classpath(new byte[]{1, 2}).getConfigurationKey())
+          .isNotEqualTo(JavaParser.fromJavaVersion().classpath(new byte[]{1, 3}).getConfigurationKey());
+    }
+
+    @Test
+    void sharedTypeCacheIsPartOfKey() {
+        JavaTypeCache typeCache = new JavaTypeCache();
+        assertThat(JavaParser.fromJavaVersion().typeCache(typeCache).getConfigurationKey())
+          .isEqualTo(JavaParser.fromJavaVersion().typeCache(typeCache).getConfigurationKey())
+          .isNotEqualTo(JavaParser.fromJavaVersion().typeCache(new JavaTypeCache()).getConfigurationKey())
+          .isNotEqualTo(JavaParser.fromJavaVersion().getConfigurationKey());
+
+        // a builder's own type cache is reset with the parser without anyone else seeing it
+        assertThat(JavaParser.fromJavaVersion().getConfigurationKey())
+          .isEqualTo(JavaParser.fromJavaVersion().getConfigurationKey());
+    }
+
+    @Test
+    void pooledParserCompilesDifferentStubsBackToBack() {
+        JavaParser.Builder<?, ?> builder = JavaParser.fromJavaVersion()
+          .dependsOn("package org.example; public class A { public int count; }");
+
+        Parser first = TemplateParserPool.borrow(builder.getConfigurationKey(), builder);
+        J.CompilationUnit cu = compile(first, "class Stub1 { org.example.A a; }");
+        assertThat(fieldType(cu)).isEqualTo("org.example.A");
+        TemplateParserPool.release(builder.getConfigurationKey(), first);
+
+        // a builder of the same configuration gets the warm parser
+        JavaParser.Builder<?, ?> sameConfiguration = JavaParser.fromJavaVersion()
+          .dependsOn("package org.example; public class A { public int count; }");
+        Parser second = TemplateParserPool.borrow(sameConfiguration.getConfigurationKey(), sameConfiguration);
+        assertThat(second).isSameAs(first);
+        cu = compile(second, "class Stub2 { java.util.List<String> names; }");
+        assertThat(cu.getClasses().get(0).getSimpleName()).isEqualTo("Stub2");
+        assertThat(fieldType(cu)).isEqualTo("java.util.List");
+        TemplateParserPool.release(sameConfiguration.getConfigurationKey(), second);
+    }
+
+    private static J.CompilationUnit compile(Parser parser, String stub) {
+        return (J.CompilationUnit) parser.reset()
+          .parse(new InMemoryExecutionContext(t -> {
+              throw new AssertionError(t);
+          }), stub)
+          .findFirst()
+          .orElseThrow();
+    }
+
+    private static String fieldType(J.CompilationUnit cu) {
+        J.VariableDeclarations field = (J.VariableDeclarations) cu.getClasses().get(0).getBody().getStatements().get(0);
+        //noinspection ConstantConditions
+        return TypeUtils.asFullyQualified(field.getType()).getFullyQualifiedName();
+    }
+}
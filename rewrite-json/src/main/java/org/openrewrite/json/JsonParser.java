@@ -19,6 +19,8 @@
 import org.intellij.lang.annotations.Language;
 import org.openrewrite.*;
 import org.openrewrite.Parser;
+import org.openrewrite.internal.AntlrParsing;
+import org.openrewrite.internal.EncodingDetectingInputStream;
 import org.openrewrite.internal.lang.Nullable;
 import org.openrewrite.json.internal.JsonParserVisitor;
 import org.openrewrite.json.internal.grammar.JSON5Lexer;
@@ -28,19 +30,21 @@
 import org.openrewrite.tree.ParsingEventListener;
 import org.openrewrite.tree.ParsingExecutionContextView;
 
-import java.io.InputStream;
 import java.nio.file.Path;
 import java.util.stream.Stream;
 
 public class JsonParser implements Parser {
+    private static final AntlrParsing ANTLR_PARSING = new AntlrParsing();
+
     @Override
     public Stream<SourceFile> parseInputs(Iterable<Input> sourceFiles, @Nullable Path relativeTo, ExecutionContext ctx) {
         ParsingEventListener parsingListener = ParsingExecutionContextView.view(ctx).getParsingListener();
         return acceptedInputs(sourceFiles).map(input -> {
             parsingListener.startedParsing(input);
-            try (InputStream sourceStream = input.getSource(ctx)) {
-                JSON5Parser parser = new JSON5Parser(new CommonTokenStream(new JSON5Lexer(
-                        CharStreams.fromStream(sourceStream))));
+            try (EncodingDetectingInputStream is = input.getSource(ctx)) {
+                String sourceStr = is.readFully();
+                JSON5Parser parser = new JSON5Parser(new CommonTokenStream(ANTLR_PARSING.lexer(new JSON5Lexer(
+                        AntlrParsing.charStream(sourceStr)))));
 
                 parser.removeErrorListeners();
                 parser.addErrorListener(new ForwardingErrorListener(input.getPath(), ctx));
@@ -48,8 +52,10 @@ public Stream<SourceFile> parseInputs(Iterable<Input> sourceFiles, @Nullable Pat
                 Json.Document document = new JsonParserVisitor(
                         input.getRelativePath(relativeTo),
                         input.getFileAttributes(),
-                        input.getSource(ctx)
-                ).visitJson5(parser.json5());
+                        sourceStr,
+                        is.getCharset(),
+                        is.isCharsetBomMarked()
+                ).visitJson5(ANTLR_PARSING.parse(parser, JSON5Parser::json5));
                 parsingListener.parsed(input, document);
                 return requirePrintEqualsInput(document, input, relativeTo, ctx);
             } catch (Throwable t) {
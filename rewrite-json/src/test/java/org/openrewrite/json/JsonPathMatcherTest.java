@@ -24,6 +24,7 @@
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Supplier;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -834,6 +835,40 @@ public Json visitDocument(Json.Document document, List<Json> p) {
           .hasSize(1);
     }
 
+    @Test
+    void reusedMatcherSameAsFreshMatcher() {
+        List<Json.Document> documents = new JsonParser().parse(simple.get(0), sliceList.get(0))
+          .map(Json.Document.class::cast)
+          .toList();
+        for (String jsonPath : List.of("$.root.literal", "$..literal", "$.list[1].property")) {
+            var reused = new JsonPathMatcher(jsonPath);
+            List<Object> reusedResults = results(documents, () -> reused);
+            List<Object> freshResults = results(documents, () -> new JsonPathMatcher(jsonPath));
+            assertThat(reusedResults).isEqualTo(freshResults).contains(true);
+        }
+    }
+
+    /**
+     * @return What {@link JsonPathMatcher#matches} and {@link JsonPathMatcher#find} return for every member
+     * of every document.
+     */
+    private List<Object> results(List<Json.Document> documents, Supplier<JsonPathMatcher> matcher) {
+        List<Object> results = new ArrayList<>();
+        for (Json.Document d : documents) {
+            new JsonVisitor<List<Object>>() {
+                @Override
+                public Json visitMember(Json.Member member, List<Object> p) {
+                    var e = super.visitMember(member, p);
+                    JsonPathMatcher m = matcher.get();
+                    p.add(m.matches(getCursor()));
+                    p.add(m.find(getCursor()));
+                    return e;
+                }
+            }.visit(d, results);
+        }
+        return results;
+    }
+
     private void assertNotMatched(String jsonPath, List<String> before) {
         var results = visit(before,
           jsonPath, false);
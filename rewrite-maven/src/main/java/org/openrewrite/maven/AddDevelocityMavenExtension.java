@@ -339,7 +339,8 @@ private Xml.Document addEnterpriseExtension(Xml.Document extensionsXml, Executio
 
     private String getLatestVersion(ExecutionContext ctx) {
         MavenExecutionContextView mctx = MavenExecutionContextView.view(ctx);
-        MavenPomDownloader pomDownloader = new MavenPomDownloader(Collections.emptyMap(), ctx, mctx.getSettings(), mctx.getActiveProfiles());
+        MavenPomDownloader pomDownloader = mctx.getResolutionSession()
+                .getDownloader(Collections.emptyMap(), mctx.getSettings(), mctx.getActiveProfiles(), ctx);
         VersionComparator versionComparator = new LatestRelease(null);
         GroupArtifact gradleEnterpriseExtension = new GroupArtifact("com.gradle", "gradle-enterprise-maven-extension");
         try {
@@ -191,7 +191,8 @@ public Xml.Tag visitTag(Xml.Tag tag, ExecutionContext ctx) {
                             }
 
                             // Retain managed versions from the old parent that are not managed in the new parent
-                            MavenPomDownloader mpd = new MavenPomDownloader(mrr.getProjectPoms(), ctx, mrr.getMavenSettings(), mrr.getActiveProfiles());
+                            MavenPomDownloader mpd = MavenExecutionContextView.view(ctx).getResolutionSession()
+                                    .getDownloader(mrr.getProjectPoms(), mrr.getMavenSettings(), mrr.getActiveProfiles(), ctx);
                             ResolvedPom newParent = mpd.download(new GroupArtifactVersion(targetGroupId, targetArtifactId, targetVersion.get()), null, resolvedPom, resolvedPom.getRepositories())
                                     .resolve(emptyList(), mpd, ctx);
                             List<ResolvedManagedDependency> dependenciesWithoutExplicitVersions = getDependenciesUnmanagedByNewParent(mrr, newParent);
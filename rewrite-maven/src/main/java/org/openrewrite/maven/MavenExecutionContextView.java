@@ -17,6 +17,7 @@
 
 import org.openrewrite.DelegatingExecutionContext;
 import org.openrewrite.ExecutionContext;
+import org.openrewrite.Incubating;
 import org.openrewrite.internal.lang.Nullable;
 import org.openrewrite.maven.cache.InMemoryMavenPomCache;
 import org.openrewrite.maven.cache.MavenPomCache;
@@ -25,6 +26,8 @@
 
 import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -47,6 +50,9 @@ public class MavenExecutionContextView extends DelegatingExecutionContext {
     private static final String MAVEN_POM_CACHE = "org.openrewrite.maven.pomCache";
     private static final String MAVEN_RESOLUTION_LISTENER = "org.openrewrite.maven.resolutionListener";
     private static final String MAVEN_RESOLUTION_TIME = "org.openrewrite.maven.resolutionTime";
+    private static final String MAVEN_RESOLUTION_PARALLELISM = "org.openrewrite.maven.resolutionParallelism";
+    private static final String MAVEN_RESOLUTION_POOL = "org.openrewrite.maven.resolutionPool";
+    private static final String MAVEN_RESOLUTION_SESSION = "org.openrewrite.maven.resolutionSession";
 
     public MavenExecutionContextView(ExecutionContext delegate) {
         super(delegate);
@@ -60,12 +66,14 @@ public static MavenExecutionContextView view(ExecutionContext ctx) {
     }
 
     public MavenExecutionContextView recordResolutionTime(Duration time) {
-        this.computeMessage(MAVEN_RESOLUTION_TIME, time.toMillis(), () -> 0L, Long::sum);
+        // modules may be resolved on several threads at once
+        this.<LongAdder>computeMessageIfAbsent(MAVEN_RESOLUTION_TIME, k -> new LongAdder()).add(time.toMillis());
         return this;
     }
 
     public Duration getResolutionTime() {
-        return Duration.ofMillis(getMessage(MAVEN_RESOLUTION_TIME, 0L));
+        LongAdder resolutionTime = getMessage(MAVEN_RESOLUTION_TIME);
+        return Duration.ofMillis(resolutionTime == null ? 0L : resolutionTime.sum());
     }
 
     public MavenExecutionContextView setResolutionListener(ResolutionEventListener listener) {
@@ -77,6 +85,59 @@ public ResolutionEventListener getResolutionListener() {
         return getMessage(MAVEN_RESOLUTION_LISTENER, ResolutionEventListener.NOOP);
     }
 
+    /**
+     * Set the number of threads used to resolve poms. When greater than one, independent project poms
+     * are resolved concurrently, and the poms and metadata of each level of a dependency graph are downloaded
+     * concurrently ahead of resolving that level. The resolved dependency graphs are the same as with serial
+     * resolution.
+     * <p>
+     * When greater than one, the {@link ResolutionEventListener} and {@link MavenPomCache} in use must be
+     * thread-safe.
+     *
+     * @param parallelism The number of threads to resolve poms on.
+     */
+    @Incubating(since = "8.19.0")
+    public MavenExecutionContextView setResolutionParallelism(int parallelism) {
+        putMessage(MAVEN_RESOLUTION_PARALLELISM, parallelism);
+        return this;
+    }
+
+    @Incubating(since = "8.19.0")
+    public int getResolutionParallelism() {
+        return getMessage(MAVEN_RESOLUTION_PARALLELISM, 1);
+    }
+
+    /**
+     * Set the pool that poms are resolved on when the resolution parallelism is greater than one, so that
+     * every module and dependency graph level resolved concurrently shares the same bounded set of threads.
+     * When none is set, each dependency graph is resolved on a pool of its own.
+     *
+     * @param pool The pool to resolve poms on, or {@code null} to remove it.
+     */
+    @Incubating(since = "8.19.0")
+    public MavenExecutionContextView setResolutionPool(@Nullable ForkJoinPool pool) {
+        putMessage(MAVEN_RESOLUTION_POOL, pool);
+        return this;
+    }
+
+    @Incubating(since = "8.19.0")
+    @Nullable
+    public ForkJoinPool getResolutionPool() {
+        return getMessage(MAVEN_RESOLUTION_POOL);
+    }
+
+    /**
+     * Get the resolution session shared by every recipe that resolves artifacts with this execution context,
+     * creating it the first time it is asked for.
+     *
+     * @return The resolution session for this execution context.
+     */
+    @Incubating(since = "8.19.0")
+    public MavenResolutionSession getResolutionSession() {
+        // created without counting as a change made by whichever recipe asks for it first
+        return computeMessageIfAbsent(MAVEN_RESOLUTION_SESSION, k -> new MavenResolutionSession());
+    }
+
     public MavenExecutionContextView setMirrors(@Nullable Collection<MavenRepositoryMirror> mirrors) {
         putMessage(MAVEN_MIRRORS, mirrors);
         return this;
@@ -34,6 +34,11 @@
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Stream;
@@ -108,26 +113,26 @@ public Stream<SourceFile> parseInputs(Iterable<Input> sources, @Nullable Path re
         MavenSettings sanitizedSettings = mavenCtx.getSettings() == null ? null : mavenCtx.getSettings()
                 .withServers(null);
 
-        for (Map.Entry<Xml.Document, Pom> docToPom : projectPoms.entrySet()) {
-            try {
-                ResolvedPom resolvedPom = docToPom.getValue().resolve(activeProfiles, downloader, ctx);
-                MavenResolutionResult model = new MavenResolutionResult(randomId(), null, resolvedPom, emptyList(), null, emptyMap(), sanitizedSettings, mavenCtx.getActiveProfiles());
-                if (!skipDependencyResolution) {
-                    model = model.resolveDependencies(downloader, ctx);
+        int parallelism = mavenCtx.getResolutionParallelism();
+        ForkJoinPool pool = mavenCtx.getResolutionPool();
+        boolean ownsPool = parallelism > 1 && pool == null;
+        if (ownsPool) {
+            pool = newResolutionPool(parallelism);
+            mavenCtx.setResolutionPool(pool);
+        }
+        try {
+            if (parallelism > 1 && projectPoms.size() > 1) {
+                parsed.addAll(resolveConcurrently(projectPoms, downloader, sanitizedSettings, pool, ctx));
+            } else {
+                for (Map.Entry<Xml.Document, Pom> docToPom : projectPoms.entrySet()) {
+                    parsed.add(resolve(docToPom.getKey(), docToPom.getValue(), downloader, sanitizedSettings,
+                            ctx.getOnError(), ctx));
                 }
-                parsed.add(docToPom.getKey().withMarkers(docToPom.getKey().getMarkers().compute(model, (old, n) -> n)));
-            } catch (MavenDownloadingExceptions e) {
-                ParseExceptionResult parseExceptionResult = new ParseExceptionResult(
-                        randomId(),
-                        MavenParser.class.getSimpleName(),
-                        e.getClass().getSimpleName(),
-                        e.warn(docToPom.getKey()).printAll(), // Shows any underlying MavenDownloadingException
-                        null);
-                parsed.add(docToPom.getKey().withMarkers(docToPom.getKey().getMarkers().add(parseExceptionResult)));
-                ctx.getOnError().accept(e);
-            } catch (MavenDownloadingException | UncheckedIOException e) {
-                parsed.add(docToPom.getKey().withMarkers(docToPom.getKey().getMarkers().add(ParseExceptionResult.build(this, e))));
-                ctx.getOnError().accept(e);
+            }
+        } finally {
+            if (ownsPool) {
+                mavenCtx.setResolutionPool(null);
+                pool.shutdownNow();
             }
         }
 
@@ -166,6 +171,80 @@ public Stream<SourceFile> parseInputs(Iterable<Input> sources, @Nullable Path re
         return parsed.stream();
     }
 
+    /**
+     * Resolve independent project poms on several threads. Errors are reported to the execution context
+     * on the calling thread, and results are returned, in the order of the project poms.
+     */
+    private List<SourceFile> resolveConcurrently(Map<Xml.Document, Pom> projectPoms, MavenPomDownloader downloader,
+                                                 @Nullable MavenSettings sanitizedSettings, ForkJoinPool pool,
+                                                 ExecutionContext ctx) {
+        try {
+            List<List<Throwable>> errors = new ArrayList<>(projectPoms.size());
+            List<Future<Xml.Document>> futures = new ArrayList<>(projectPoms.size());
+            for (Map.Entry<Xml.Document, Pom> docToPom : projectPoms.entrySet()) {
+                List<Throwable> moduleErrors = new ArrayList<>(0);
+                errors.add(moduleErrors);
+                futures.add(pool.submit(() -> resolve(docToPom.getKey(), docToPom.getValue(), downloader,
+                        sanitizedSettings, moduleErrors::add, ctx)));
+            }
+
+            List<SourceFile> resolved = new ArrayList<>(projectPoms.size());
+            for (int i = 0; i < futures.size(); i++) {
+                resolved.add(futures.get(i).get());
+                errors.get(i).forEach(ctx.getOnError());
+            }
+            return resolved;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while resolving poms", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            } else if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * One pool is shared by the modules resolved concurrently and the levels of their dependency graphs
+     * downloaded ahead of resolution, so that the number of resolver threads stays bounded by the parallelism.
+     */
+    private static ForkJoinPool newResolutionPool(int parallelism) {
+        return new ForkJoinPool(parallelism, p -> {
+            ForkJoinWorkerThread t = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+            t.setName("rewrite-maven-resolver-" + t.getPoolIndex());
+            return t;
+        }, null, false);
+    }
+
+    private Xml.Document resolve(Xml.Document document, Pom pom, MavenPomDownloader downloader,
+                                 @Nullable MavenSettings sanitizedSettings, Consumer<Throwable> onError,
+                                 ExecutionContext ctx) {
+        MavenExecutionContextView mavenCtx = MavenExecutionContextView.view(ctx);
+        try {
+            ResolvedPom resolvedPom = pom.resolve(activeProfiles, downloader, ctx);
+            MavenResolutionResult model = new MavenResolutionResult(randomId(), null, resolvedPom, emptyList(), null, emptyMap(), sanitizedSettings, mavenCtx.getActiveProfiles());
+            if (!skipDependencyResolution) {
+                model = model.resolveDependencies(downloader, ctx);
+            }
+            return document.withMarkers(document.getMarkers().compute(model, (old, n) -> n));
+        } catch (MavenDownloadingExceptions e) {
+            ParseExceptionResult parseExceptionResult = new ParseExceptionResult(
+                    randomId(),
+                    MavenParser.class.getSimpleName(),
+                    e.getClass().getSimpleName(),
+                    e.warn(document).printAll(), // Shows any underlying MavenDownloadingException
+                    null);
+            onError.accept(e);
+            return document.withMarkers(document.getMarkers().add(parseExceptionResult));
+        } catch (MavenDownloadingException | UncheckedIOException e) {
+            onError.accept(e);
+            return document.withMarkers(document.getMarkers().add(ParseExceptionResult.build(this, e)));
+        }
+    }
+
     @Override
     public boolean accept(Path path) {
         return "pom.xml".equals(path.toString()) || path.toString().endsWith(".pom");
@@ -0,0 +1,215 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.maven;
+
+import lombok.Value;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.Incubating;
+import org.openrewrite.internal.lang.Nullable;
+import org.openrewrite.maven.internal.MavenPomDownloader;
+import org.openrewrite.maven.tree.*;
+
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static java.util.Collections.emptyList;
+
+/**
+ * Downloads and resolves artifacts that are not part of any project being parsed, such as the dependencies recipes
+ * add to or upgrade in Gradle and Maven build files. Metadata, resolved poms and their resolved dependencies are
+ * remembered, so that every build file in a run that asks about the same artifact from the same repositories shares
+ * one resolution. Failures are not remembered. Recipes that resolve poms of a parsed project get a downloader for
+ * that project from the session as well.
+ * <p>
+ * A session is safe to use from several threads. Threads that ask for the same artifact at the same time wait for
+ * the one that resolves it, and see the same result or failure. Each caller passes its own execution context, which
+ * is used for whatever it has to download or resolve itself.
+ *
+ * @see MavenExecutionContextView#getResolutionSession()
+ */
+@Incubating(since = "8.19.0")
+public class MavenResolutionSession {
+    private final Map<Key, CompletableFuture<MavenMetadata>> metadata = new ConcurrentHashMap<>();
+    private final Map<Key, CompletableFuture<ResolvedPom>> resolvedPoms = new ConcurrentHashMap<>();
+    private final Map<DependenciesKey, CompletableFuture<List<ResolvedDependency>>> resolvedDependencies = new ConcurrentHashMap<>();
+    private final Map<DownloaderKey, ProjectDownloader> projectDownloaders = new ConcurrentHashMap<>();
+
+    /**
+     * Get a downloader for the poms of a project, resolved with the given settings and profiles. The downloader is
+     * shared until any of the project poms change, or it is asked for with another execution context.
+     *
+     * @param projectPoms    The poms of the project, or none when resolving artifacts outside of any project.
+     * @param mavenSettings  The Maven settings to use, overriding any set on the execution context.
+     * @param activeProfiles The active profiles to use, overriding any set on the execution context.
+     * @param ctx            The execution context of the caller.
+     */
+    public MavenPomDownloader getDownloader(Map<Path, Pom> projectPoms, @Nullable MavenSettings mavenSettings,
+                                            @Nullable List<String> activeProfiles, ExecutionContext ctx) {
+        DownloaderKey key = new DownloaderKey(projectPoms.keySet(), mavenSettings, activeProfiles);
+        return projectDownloaders.compute(key, (k, existing) -> existing != null && existing.isFor(projectPoms, ctx) ?
+                existing :
+                new ProjectDownloader(new HashMap<>(projectPoms), ctx,
+                        new MavenPomDownloader(projectPoms, ctx, mavenSettings, activeProfiles))).getDownloader();
+    }
+
+    public MavenMetadata downloadMetadata(GroupArtifact groupArtifact, List<MavenRepository> repositories,
+                                          ExecutionContext ctx) throws MavenDownloadingException {
+        Key key = new Key(new GroupArtifactVersion(groupArtifact.getGroupId(), groupArtifact.getArtifactId(), null),
+                new ArrayList<>(repositories));
+        return resolveOnce(metadata, key, () -> new MavenPomDownloader(ctx)
+                .downloadMetadata(groupArtifact, null, repositories));
+    }
+
+    /**
+     * Download a pom and resolve its parents, properties and managed dependencies.
+     */
+    public ResolvedPom resolve(GroupArtifactVersion gav, List<MavenRepository> repositories,
+                               ExecutionContext ctx) throws MavenDownloadingException {
+        Key key = new Key(gav, new ArrayList<>(repositories));
+        return resolveOnce(resolvedPoms, key, () -> {
+            MavenPomDownloader downloader = new MavenPomDownloader(ctx);
+            Pom pom = downloader.download(gav, null, null, repositories);
+            return pom.resolve(emptyList(), downloader, repositories, ctx);
+        });
+    }
+
+    /**
+     * Download a pom and resolve its dependencies in the given scope.
+     */
+    public List<ResolvedDependency> resolveDependencies(GroupArtifactVersion gav, List<MavenRepository> repositories,
+                                                        Scope scope, ExecutionContext ctx) throws MavenDownloadingException, MavenDownloadingExceptions {
+        ResolvedPom resolvedPom = resolve(gav, repositories, ctx);
+        DependenciesKey key = new DependenciesKey(new Key(gav, new ArrayList<>(repositories)), scope);
+        return resolveOnce(resolvedDependencies, key, () ->
+                resolvedPom.resolveDependencies(scope, new MavenPomDownloader(ctx), ctx));
+    }
+
+    /**
+     * Resolve a value at most once at a time for each key. The first caller resolves it, while callers that ask for
+     * the same key in the meantime wait for that result and have any failure rethrown on their own thread. Only
+     * successful results are kept.
+     */
+    @SuppressWarnings("unchecked")
+    private static <K, T, E extends Exception> T resolveOnce(Map<K, CompletableFuture<T>> resolved, K key,
+                                                             Resolution<T, E> resolution) throws E {
+        CompletableFuture<T> resolving = new CompletableFuture<>();
+        CompletableFuture<T> existing = resolved.putIfAbsent(key, resolving);
+        if (existing != null) {
+            try {
+                return existing.join();
+            } catch (CompletionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                } else if (cause instanceof Error) {
+                    throw (Error) cause;
+                } else if (cause instanceof Exception) {
+                    // the only checked exception a resolution of this key can fail with
+                    throw (E) cause;
+                }
+                throw e;
+            }
+        }
+
+        T value;
+        try {
+            value = resolution.resolve();
+        } catch (Throwable t) {
+            resolved.remove(key, resolving);
+            resolving.completeExceptionally(t);
+            throw t;
+        }
+        resolving.complete(value);
+        return value;
+    }
+
+    @FunctionalInterface
+    private interface Resolution<T, E extends Exception> {
+        T resolve() throws E;
+    }
+
+    @Value
+    private static class Key {
+        GroupArtifactVersion gav;
+        List<MavenRepository> repositories;
+    }
+
+    @Value
+    private static class DependenciesKey {
+        Key key;
+        Scope scope;
+    }
+
+    /**
+     * Settings compare as equal whatever their contents, so they are told apart by identity instead.
+     */
+    private static class DownloaderKey {
+        private final Set<Path> projectPomPaths;
+
+        @Nullable
+        private final MavenSettings mavenSettings;
+
+        @Nullable
+        private final List<String> activeProfiles;
+
+        DownloaderKey(Set<Path> projectPomPaths, @Nullable MavenSettings mavenSettings, @Nullable List<String> activeProfiles) {
+            this.projectPomPaths = new HashSet<>(projectPomPaths);
+            this.mavenSettings = mavenSettings;
+            this.activeProfiles = activeProfiles == null ? null : new ArrayList<>(activeProfiles);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof DownloaderKey)) {
+                return false;
+            }
+            DownloaderKey that = (DownloaderKey) o;
+            return mavenSettings == that.mavenSettings &&
+                   projectPomPaths.equals(that.projectPomPaths) &&
+                   Objects.equals(activeProfiles, that.activeProfiles);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(projectPomPaths, System.identityHashCode(mavenSettings), activeProfiles);
+        }
+    }
+
+    @Value
+    private static class ProjectDownloader {
+        Map<Path, Pom> projectPoms;
+        ExecutionContext ctx;
+        MavenPomDownloader downloader;
+
+        boolean isFor(Map<Path, Pom> projectPoms, ExecutionContext ctx) {
+            if (this.ctx != ctx) {
+                return false;
+            }
+            for (Map.Entry<Path, Pom> projectPom : projectPoms.entrySet()) {
+                if (this.projectPoms.get(projectPom.getKey()) != projectPom.getValue()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -19,7 +19,6 @@
 import org.openrewrite.SourceFile;
 import org.openrewrite.TreeVisitor;
 import org.openrewrite.internal.lang.Nullable;
-import org.openrewrite.maven.internal.MavenPomDownloader;
 import org.openrewrite.maven.tree.*;
 import org.openrewrite.xml.XPathMatcher;
 import org.openrewrite.xml.XmlVisitor;
@@ -359,7 +358,8 @@ public MavenMetadata downloadMetadata(String groupId, String artifactId, Executi
     }
 
     public MavenMetadata downloadMetadata(String groupId, String artifactId, @Nullable ResolvedPom containingPom, ExecutionContext ctx) throws MavenDownloadingException {
-        return new MavenPomDownloader(emptyMap(), ctx, getResolutionResult().getMavenSettings(), getResolutionResult().getActiveProfiles())
+        return MavenExecutionContextView.view(ctx).getResolutionSession()
+                .getDownloader(emptyMap(), getResolutionResult().getMavenSettings(), getResolutionResult().getActiveProfiles(), ctx)
                 .downloadMetadata(new GroupArtifact(groupId, artifactId), containingPom, getResolutionResult().getPom().getRepositories());
     }
 
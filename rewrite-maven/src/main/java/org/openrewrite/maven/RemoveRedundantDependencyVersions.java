@@ -234,7 +234,8 @@ private boolean matchesVersion(ResolvedManagedDependency d, ExecutionContext ctx
                 }
                 try {
                     GroupArtifactVersion parentGav = mrr.getPom().getRequested().getParent().getGav();
-                    MavenPomDownloader mpd = new MavenPomDownloader(mrr.getProjectPoms(), ctx, mrr.getMavenSettings(), mrr.getActiveProfiles());
+                    MavenPomDownloader mpd = MavenExecutionContextView.view(ctx).getResolutionSession()
+                            .getDownloader(mrr.getProjectPoms(), mrr.getMavenSettings(), mrr.getActiveProfiles(), ctx);
                     ResolvedPom parentPom = mpd.download(parentGav, null, mrr.getPom(), mrr.getPom().getRepositories())
                             .resolve(Collections.emptyList(), mpd, ctx);
                     ResolvedManagedDependency parentManagedVersion = parentPom.getDependencyManagement().stream()
@@ -153,8 +153,8 @@ private List<GroupArtifact> mapExclusions(Xml.Tag tag) {
     }
 
     private MavenResolutionResult updateResult(ExecutionContext ctx, MavenResolutionResult resolutionResult, Map<Path, Pom> projectPoms) throws MavenDownloadingExceptions {
-        MavenPomDownloader downloader = new MavenPomDownloader(projectPoms, ctx, getResolutionResult().getMavenSettings(),
-                getResolutionResult().getActiveProfiles());
+        MavenPomDownloader downloader = MavenExecutionContextView.view(ctx).getResolutionSession()
+                .getDownloader(projectPoms, getResolutionResult().getMavenSettings(), getResolutionResult().getActiveProfiles(), ctx);
 
         AtomicReference<MavenDownloadingExceptions> exceptions = new AtomicReference<>();
         try {
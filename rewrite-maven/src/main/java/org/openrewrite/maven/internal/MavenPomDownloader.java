@@ -147,7 +147,8 @@ byte[] sendRequest(HttpSender.Request request) throws IOException, HttpSenderRes
         long start = System.nanoTime();
         try {
             return Failsafe.with(retryPolicy).get(() -> {
-                try (HttpSender.Response response = httpSender.send(request)) {
+                // coalesced so that identical requests made by concurrent resolvers are sent once
+                try (HttpSender.Response response = httpSender.sendCoalesced(request)) {
                     if (!response.isSuccessful()) {
                         throw new HttpSenderResponseException(null, response.getCode(),
                                 new String(response.getBodyAsBytes()));
@@ -40,6 +40,8 @@
 import org.openrewrite.maven.tree.Plugin.Execution;
 
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 import java.util.function.Function;
 import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
@@ -808,7 +810,40 @@ public List<ResolvedDependency> resolveDependencies(Scope scope, MavenPomDownloa
 
     public List<ResolvedDependency> resolveDependencies(Scope scope, Map<GroupArtifact, VersionRequirement> requirements,
                                                         MavenPomDownloader downloader, ExecutionContext ctx) throws MavenDownloadingExceptions {
+        MavenExecutionContextView mavenCtx = MavenExecutionContextView.view(ctx);
+        int parallelism = mavenCtx.getResolutionParallelism();
+        ForkJoinPool pool = parallelism > 1 ? mavenCtx.getResolutionPool() : null;
+        boolean ownsPool = parallelism > 1 && pool == null;
+        if (ownsPool) {
+            pool = new ForkJoinPool(parallelism);
+        }
+        try {
+            return resolveDependencyGraph(scope, requirements, pool, downloader, ctx);
+        } finally {
+            if (ownsPool) {
+                pool.shutdownNow();
+            }
+        }
+    }
+
+    /**
+     * Resolve the dependency graph breadth-first under the given requirements.
+     * <p>
+     * When a newly seen requirement changes the version selected for a dependency that has already been resolved,
+     * resolution goes back to the depth at which that dependency was first seen and continues from there with the
+     * knowledge of the new requirement. Depths above it never saw the dependency, so the choices made there stand.
+     */
+    private List<ResolvedDependency> resolveDependencyGraph(Scope scope, Map<GroupArtifact, VersionRequirement> requirements,
+                                                           @Nullable ForkJoinPool pool, MavenPomDownloader downloader,
+                                                           ExecutionContext ctx) throws MavenDownloadingExceptions {
+        ResolutionEventListener listener = MavenExecutionContextView.view(ctx).getResolutionListener();
         List<ResolvedDependency> dependencies = new ArrayList<>();
+        Set<GroupArtifactClassifier> resolvedArtifacts = new HashSet<>();
+        Map<GroupArtifact, Integer> firstSeenAtDepth = new HashMap<>();
+        List<ResolvedDependency> resolvedInOrder = new ArrayList<>();
+        List<ResolvedPom> resolvedInOrderDefinedIn = new ArrayList<>();
+        List<MavenDownloadingException> exceptions = new ArrayList<>();
+        List<DepthStart> depthStarts = new ArrayList<>();
 
         List<DependencyAndDependent> dependenciesAtDepth = new ArrayList<>();
         for (Dependency requestedDependency : getRequestedDependencies()) {
@@ -819,11 +854,16 @@ public List<ResolvedDependency> resolveDependencies(Scope scope, Map<GroupArtifa
             }
         }
 
-        MavenDownloadingExceptions exceptions = null;
         int depth = 0;
         while (!dependenciesAtDepth.isEmpty()) {
+            depthStarts.add(new DepthStart(dependenciesAtDepth, dependencies.size(), resolvedInOrder.size(), exceptions.size()));
             List<DependencyAndDependent> dependenciesAtNextDepth = new ArrayList<>();
+            if (pool != null) {
+                prefetch(dependenciesAtDepth, depth, requirements, resolvedArtifacts, pool, downloader, ctx);
+            }
 
+            int resolveAgainFromDepth = -1;
+            resolveDepth:
             for (DependencyAndDependent dd : dependenciesAtDepth) {
                 //First get the dependency (relative to the pom it was defined in)
                 Dependency d = dd.getDefinedIn().getValues(dd.getDependency(), depth);
@@ -839,6 +879,7 @@ public List<ResolvedDependency> resolveDependencies(Scope scope, Map<GroupArtifa
                     }
 
                     GroupArtifact ga = new GroupArtifact(d.getGroupId(), d.getArtifactId());
+                    Integer seenAtDepth = firstSeenAtDepth.putIfAbsent(ga, depth);
                     VersionRequirement existingRequirement = requirements.get(ga);
                     if (existingRequirement == null) {
                         VersionRequirement newRequirement = VersionRequirement.fromVersion(d.getVersion(), depth);
@@ -859,15 +900,10 @@ public List<ResolvedDependency> resolveDependencies(Scope scope, Map<GroupArtifa
                         }
                         d = d.withGav(d.getGav().withVersion(newRequiredVersion));
 
-                        if (!Objects.equals(existingRequiredVersion, newRequiredVersion)) {
-                            // start over from the top with the knowledge of this new requirement and throwing
-                            // away any in progress resolution because this requirement could cause a change
-                            // to just about anything we've seen to this point
-                            MavenExecutionContextView.view(ctx)
-                                    .getResolutionListener()
-                                    .clear();
-                            return resolveDependencies(scope, requirements, downloader, ctx);
-                        } else if (contains(dependencies, ga, d.getClassifier())) {
+                        if (!Objects.equals(existingRequiredVersion, newRequiredVersion) && seenAtDepth != null) {
+                            resolveAgainFromDepth = seenAtDepth;
+                            break resolveDepth;
+                        } else if (resolvedArtifacts.contains(new GroupArtifactClassifier(ga.getGroupId(), ga.getArtifactId(), d.getClassifier()))) {
                             // we've already resolved this previously and the requirement didn't change,
                             // so just skip and continue on
                             continue;
@@ -880,16 +916,8 @@ public List<ResolvedDependency> resolveDependencies(Scope scope, Map<GroupArtifa
                         throw new MavenDownloadingException("Could not resolve property", null, d.getGav());
                     }
 
-                    Pom dPom = downloader.download(d.getGav(), null, dd.definedIn, getRepositories());
-
-                    MavenPomCache cache = MavenExecutionContextView.view(ctx).getPomCache();
-                    ResolvedPom resolvedPom = cache.getResolvedDependencyPom(dPom.getGav());
-                    if (resolvedPom == null) {
-                        resolvedPom = new ResolvedPom(dPom, getActiveProfiles(), emptyMap(),
-                                emptyList(), initialRepositories, emptyList(), emptyList(), emptyList(), emptyList());
-                        resolvedPom.resolver(ctx, downloader).resolveParentsRecursively(dPom);
-                        cache.putResolvedDependencyPom(dPom.getGav(), resolvedPom);
-                    }
+                    Pom dPom = downloader.download(d.getGav(), null, dd.getDefinedIn(), getRepositories());
+                    ResolvedPom resolvedPom = resolveDependencyPom(dPom, downloader, ctx);
 
                     ResolvedDependency resolved = new ResolvedDependency(dPom.getRepository(),
                             resolvedPom.getGav(), dd.getDependency(), emptyList(),
@@ -900,9 +928,9 @@ public List<ResolvedDependency> resolveDependencies(Scope scope, Map<GroupArtifa
                             depth,
                             emptyList());
 
-                    MavenExecutionContextView.view(ctx)
-                            .getResolutionListener()
-                            .dependency(scope, resolved, dd.getDefinedIn());
+                    listener.dependency(scope, resolved, dd.getDefinedIn());
+                    resolvedInOrder.add(resolved);
+                    resolvedInOrderDefinedIn.add(dd.getDefinedIn());
 
                     // build link between the including dependency and this one
                     ResolvedDependency includedBy = dd.getDependent();
@@ -915,6 +943,7 @@ public List<ResolvedDependency> resolveDependencies(Scope scope, Map<GroupArtifa
 
                     if (dd.getScope().transitiveOf(scope) == scope) {
                         dependencies.add(resolved);
+                        resolvedArtifacts.add(new GroupArtifactClassifier(resolved.getGroupId(), resolved.getArtifactId(), resolved.getClassifier()));
                     } else {
                         continue;
                     }
@@ -947,29 +976,117 @@ public List<ResolvedDependency> resolveDependencies(Scope scope, Map<GroupArtifa
                         }
                     }
                 } catch (MavenDownloadingException e) {
-                    exceptions = MavenDownloadingExceptions.append(exceptions, e.setRoot(dd.getRootDependent().getGav()));
+                    exceptions.add(e.setRoot(dd.getRootDependent().getGav()));
                 }
             }
 
+            if (resolveAgainFromDepth >= 0) {
+                // throw away everything resolved from the depth at which the dependency whose version changed was
+                // first seen, and resolve from that depth again with the knowledge of the new requirement
+                DepthStart start = depthStarts.get(resolveAgainFromDepth);
+                depthStarts.subList(resolveAgainFromDepth, depthStarts.size()).clear();
+                dependencies.subList(start.getDependencies(), dependencies.size()).clear();
+                resolvedArtifacts.clear();
+                for (ResolvedDependency resolved : dependencies) {
+                    resolvedArtifacts.add(new GroupArtifactClassifier(resolved.getGroupId(), resolved.getArtifactId(), resolved.getClassifier()));
+                }
+                for (DependencyAndDependent dd : start.getDependenciesAtDepth()) {
+                    if (dd.getDependent() != null) {
+                        dd.getDependent().unsafeSetDependencies(emptyList());
+                    }
+                }
+                int from = resolveAgainFromDepth;
+                firstSeenAtDepth.values().removeIf(seenAtDepth -> seenAtDepth >= from);
+                exceptions.subList(start.getExceptions(), exceptions.size()).clear();
+                resolvedInOrder.subList(start.getResolved(), resolvedInOrder.size()).clear();
+                resolvedInOrderDefinedIn.subList(start.getResolved(), resolvedInOrderDefinedIn.size()).clear();
+
+                listener.clear();
+                for (int k = 0; k < resolvedInOrder.size(); k++) {
+                    listener.dependency(scope, resolvedInOrder.get(k), resolvedInOrderDefinedIn.get(k));
+                }
+
+                dependenciesAtDepth = start.getDependenciesAtDepth();
+                depth = resolveAgainFromDepth;
+                continue;
+            }
+
             dependenciesAtDepth = dependenciesAtNextDepth;
             depth++;
         }
 
-        if (exceptions != null) {
-            throw exceptions;
+        MavenDownloadingExceptions allExceptions = null;
+        for (MavenDownloadingException exception : exceptions) {
+            allExceptions = MavenDownloadingExceptions.append(allExceptions, exception);
+        }
+        if (allExceptions != null) {
+            throw allExceptions;
         }
 
         return dependencies;
     }
 
-    private boolean contains(List<ResolvedDependency> dependencies, GroupArtifact ga, @Nullable String classifier) {
-        for (ResolvedDependency it : dependencies) {
-            if (it.getGroupId().equals(ga.getGroupId()) && it.getArtifactId().equals(ga.getArtifactId()) &&
-                (Objects.equals(classifier, it.getClassifier()))) {
-                return true;
+    private ResolvedPom resolveDependencyPom(Pom dPom, MavenPomDownloader downloader, ExecutionContext ctx) throws MavenDownloadingException {
+        MavenPomCache cache = MavenExecutionContextView.view(ctx).getPomCache();
+        ResolvedPom resolvedPom = cache.getResolvedDependencyPom(dPom.getGav());
+        if (resolvedPom == null) {
+            resolvedPom = new ResolvedPom(dPom, getActiveProfiles(), emptyMap(),
+                    emptyList(), initialRepositories, emptyList(), emptyList(), emptyList(), emptyList());
+            resolvedPom.resolver(ctx, downloader).resolveParentsRecursively(dPom);
+            cache.putResolvedDependencyPom(dPom.getGav(), resolvedPom);
+        }
+        return resolvedPom;
+    }
+
+    /**
+     * Download the metadata and poms of the dependencies at one depth of the dependency graph concurrently, so that
+     * resolving that depth finds them in the pom cache rather than waiting on each download in turn. Only the versions
+     * that resolving this depth would select are downloaded, and dependencies it would skip because they have already
+     * been resolved are left out. Only caches are affected, so the resolved graph is the same as when nothing is
+     * prefetched. Failures are ignored here and are reported when the dependency is resolved.
+     */
+    private void prefetch(List<DependencyAndDependent> dependenciesAtDepth, int depth,
+                          Map<GroupArtifact, VersionRequirement> requirements,
+                          Set<GroupArtifactClassifier> resolvedArtifacts, ForkJoinPool pool,
+                          MavenPomDownloader downloader, ExecutionContext ctx) {
+        Map<GroupArtifact, VersionRequirement> toDownload = new LinkedHashMap<>();
+        Map<GroupArtifact, DependencyAndDependent> firstDefinedBy = new HashMap<>();
+        for (DependencyAndDependent dd : dependenciesAtDepth) {
+            Dependency d = getValues(dd.getDefinedIn().getValues(dd.getDependency(), depth), depth);
+            if (d.getVersion() == null || (d.getType() != null && !"jar".equals(d.getType()) && !"pom".equals(d.getType())) ||
+                d.getGroupId() == null || d.getGroupId().contains("${") || d.getArtifactId().contains("${") ||
+                resolvedArtifacts.contains(new GroupArtifactClassifier(d.getGroupId(), d.getArtifactId(), d.getClassifier()))) {
+                continue;
             }
+            GroupArtifact ga = new GroupArtifact(d.getGroupId(), d.getArtifactId());
+            VersionRequirement requirement = toDownload.containsKey(ga) ? toDownload.get(ga) : requirements.get(ga);
+            toDownload.put(ga, requirement == null ?
+                    VersionRequirement.fromVersion(d.getVersion(), depth) :
+                    requirement.addRequirement(d.getVersion()));
+            firstDefinedBy.putIfAbsent(ga, dd);
         }
-        return false;
+        if (toDownload.size() < 2) {
+            return;
+        }
+
+        List<ForkJoinTask<?>> downloads = new ArrayList<>(toDownload.size());
+        for (Map.Entry<GroupArtifact, VersionRequirement> gaRequirement : toDownload.entrySet()) {
+            GroupArtifact ga = gaRequirement.getKey();
+            downloads.add(ForkJoinTask.adapt(() -> {
+                try {
+                    String version = gaRequirement.getValue().resolve(ga, downloader, getRepositories());
+                    if (version != null && !version.contains("${")) {
+                        DependencyAndDependent dd = firstDefinedBy.get(ga);
+                        Pom dPom = downloader.download(new GroupArtifactVersion(ga.getGroupId(), ga.getArtifactId(), version),
+                                null, dd.getDefinedIn(), getRepositories());
+                        resolveDependencyPom(dPom, downloader, ctx);
+                    }
+                } catch (MavenDownloadingException | RuntimeException ignored) {
+                    // reported when this dependency is resolved
+                }
+            }));
+        }
+        pool.invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(downloads)));
     }
 
     private Scope getDependencyScope(Dependency d2, ResolvedPom containingPom) {
@@ -1034,6 +1151,28 @@ private Dependency getValues(Dependency dep, int depth) {
                 .withScope(scope);
     }
 
+    @Value
+    private static class GroupArtifactClassifier {
+        @Nullable
+        String groupId;
+
+        String artifactId;
+
+        @Nullable
+        String classifier;
+    }
+
+    /**
+     * Where resolution of one depth of the dependency graph started, so that it can be resolved again.
+     */
+    @Value
+    private static class DepthStart {
+        List<DependencyAndDependent> dependenciesAtDepth;
+        int dependencies;
+        int resolved;
+        int exceptions;
+    }
+
     @Value
     private static class DependencyAndDependent {
         Dependency dependency;
@@ -22,6 +22,7 @@
 import org.openrewrite.internal.StringUtils;
 import org.openrewrite.internal.lang.Nullable;
 import org.openrewrite.maven.MavenDownloadingException;
+import org.openrewrite.maven.MavenExecutionContextView;
 import org.openrewrite.maven.internal.MavenPomDownloader;
 import org.openrewrite.maven.tree.GroupArtifact;
 import org.openrewrite.maven.tree.MavenMetadata;
@@ -91,7 +92,8 @@ public static MavenWrapper create(
                 .findAny()
                 .orElse(DistributionType.Bin);
 
-        MavenPomDownloader pomDownloader = new MavenPomDownloader(Collections.emptyMap(), ctx, null, null);
+        MavenPomDownloader pomDownloader = MavenExecutionContextView.view(ctx).getResolutionSession()
+                .getDownloader(Collections.emptyMap(), null, null, ctx);
 
         VersionComparator wrapperVersionComparator = StringUtils.isBlank(wrapperVersion) ?
                 new LatestRelease(null) :
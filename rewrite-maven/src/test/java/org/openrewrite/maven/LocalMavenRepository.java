@@ -0,0 +1,93 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.maven;
+
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.maven.cache.InMemoryMavenPomCache;
+import org.openrewrite.maven.tree.MavenRepository;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * A file based repository of {@code org.example} artifacts for tests that resolve small dependency graphs
+ * without going to the network.
+ */
+public class LocalMavenRepository {
+    private final Path path;
+
+    public LocalMavenRepository(Path path) {
+        this.path = path;
+    }
+
+    /**
+     * Publish the pom and jar of an {@code org.example} artifact.
+     *
+     * @param dependencies Its dependencies on other {@code org.example} artifacts, as {@code artifactId:version}.
+     */
+    public LocalMavenRepository publish(String artifactId, String version, String... dependencies) throws IOException {
+        StringBuilder dependencyTags = new StringBuilder();
+        for (String dependency : dependencies) {
+            int separator = dependency.indexOf(':');
+            //language=xml
+            dependencyTags.append("""
+              <dependency>
+                <groupId>org.example</groupId>
+                <artifactId>%s</artifactId>
+                <version>%s</version>
+              </dependency>
+              """.formatted(dependency.substring(0, separator), dependency.substring(separator + 1)));
+        }
+
+        Path dir = path.resolve("org/example/" + artifactId + "/" + version);
+        Files.createDirectories(dir);
+        //language=xml
+        Files.writeString(dir.resolve(artifactId + "-" + version + ".pom"), """
+          <project>
+            <groupId>org.example</groupId>
+            <artifactId>%s</artifactId>
+            <version>%s</version>
+            <dependencies>%s</dependencies>
+          </project>
+          """.formatted(artifactId, version, dependencyTags));
+        Files.writeString(dir.resolve(artifactId + "-" + version + ".jar"), "jar");
+        return this;
+    }
+
+    public MavenRepository toMavenRepository() {
+        return MavenRepository.builder()
+          .id("local")
+          .uri(path.toUri().toString())
+          .knownToExist(true)
+          .deriveMetadataIfMissing(true)
+          .build();
+    }
+
+    /**
+     * @return An execution context that resolves from this repository alone, with a pom cache of its own,
+     * and that fails on any error.
+     */
+    public MavenExecutionContextView executionContext() {
+        MavenExecutionContextView ctx = MavenExecutionContextView.view(new InMemoryExecutionContext(t -> {
+            throw new AssertionError(t);
+        }));
+        ctx.setPomCache(new InMemoryMavenPomCache());
+        ctx.setAddCentralRepository(false);
+        ctx.setLocalRepository(toMavenRepository());
+        return ctx;
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.maven;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.maven.cache.InMemoryMavenPomCache;
+import org.openrewrite.maven.internal.MavenPomDownloader;
+import org.openrewrite.maven.tree.*;
+import org.openrewrite.test.RewriteTest;
+import org.openrewrite.xml.tree.Xml;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.openrewrite.maven.Assertions.pomXml;
+import static org.openrewrite.test.RewriteTest.toRecipe;
+
+class MavenResolutionSessionTest implements RewriteTest {
+
+    @Test
+    void sharedByExecutionContext(@TempDir Path localRepository) throws Exception {
+        LocalMavenRepository repository = new LocalMavenRepository(localRepository)
+          .publish("lib-b", "1")
+          .publish("lib-a", "1", "lib-b:1");
+        List<MavenRepository> repositories = singletonList(repository.toMavenRepository());
+
+        MavenExecutionContextView ctx = repository.executionContext();
+        MavenResolutionSession session = ctx.getResolutionSession();
+        assertThat(MavenExecutionContextView.view(ctx).getResolutionSession()).isSameAs(session);
+
+        GroupArtifactVersion gav = new GroupArtifactVersion("org.example", "lib-a", "1");
+        ResolvedPom resolved = session.resolve(gav, repositories, ctx);
+        assertThat(session.resolve(gav, repositories, ctx)).isSameAs(resolved);
+
+        List<ResolvedDependency> dependencies = session.resolveDependencies(gav, repositories, Scope.Runtime, ctx);
+        assertThat(dependencies).extracting(ResolvedDependency::getArtifactId).containsExactly("lib-b");
+        assertThat(session.resolveDependencies(gav, repositories, Scope.Runtime, ctx)).isSameAs(dependencies);
+
+        MavenMetadata metadata = session.downloadMetadata(new GroupArtifact("org.example", "lib-a"), repositories, ctx);
+        assertThat(metadata.getVersioning().getVersions()).containsExactly("1");
+        assertThat(session.downloadMetadata(new GroupArtifact("org.example", "lib-a"), repositories, ctx)).isSameAs(metadata);
+    }
+
+    @Test
+    void concurrentResolutionsShareOneResult(@TempDir Path localRepository) throws Exception {
+        LocalMavenRepository repository = new LocalMavenRepository(localRepository)
+          .publish("lib-b", "1")
+          .publish("lib-a", "1", "lib-b:1");
+        List<MavenRepository> repositories = singletonList(repository.toMavenRepository());
+        MavenExecutionContextView ctx = repository.executionContext();
+        MavenResolutionSession session = ctx.getResolutionSession();
+        GroupArtifactVersion gav = new GroupArtifactVersion("org.example", "lib-a", "1");
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<List<ResolvedDependency>>> resolutions = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                resolutions.add(executor.submit(() -> session.resolveDependencies(gav, repositories, Scope.Runtime, ctx)));
+            }
+            List<ResolvedDependency> first = resolutions.get(0).get();
+            for (Future<List<ResolvedDependency>> resolution : resolutions) {
+                assertThat(resolution.get()).isSameAs(first);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void failureIsNotRemembered(@TempDir Path localRepository) throws Exception {
+        LocalMavenRepository repository = new LocalMavenRepository(localRepository);
+        List<MavenRepository> repositories = singletonList(repository.toMavenRepository());
+        MavenResolutionSession session = new MavenResolutionSession();
+        GroupArtifactVersion gav = new GroupArtifactVersion("org.example", "lib-a", "1");
+
+        // tolerates the download error that the context of the local repository would fail the test on
+        MavenExecutionContextView tolerant = MavenExecutionContextView.view(new InMemoryExecutionContext());
+        tolerant.setPomCache(new InMemoryMavenPomCache());
+        tolerant.setAddCentralRepository(false);
+        tolerant.setLocalRepository(repository.toMavenRepository());
+        assertThatThrownBy(() -> session.resolve(gav, repositories, tolerant)).isInstanceOf(MavenDownloadingException.class);
+
+        repository.publish("lib-a", "1");
+        assertThat(session.resolve(gav, repositories, repository.executionContext()).getGav().getArtifactId())
+          .isEqualTo("lib-a");
+    }
+
+    @Test
+    void projectDownloaderSharedUntilProjectPomsChange(@TempDir Path localRepository) throws Exception {
+        LocalMavenRepository repository = new LocalMavenRepository(localRepository)
+          .publish("lib-a", "1")
+          .publish("lib-a", "2");
+        List<MavenRepository> repositories = singletonList(repository.toMavenRepository());
+        MavenExecutionContextView ctx = repository.executionContext();
+        MavenResolutionSession session = ctx.getResolutionSession();
+
+        MavenPomDownloader outsideAnyProject = session.getDownloader(emptyMap(), null, null, ctx);
+        assertThat(session.getDownloader(emptyMap(), null, null, ctx)).isSameAs(outsideAnyProject);
+
+        Path pomPath = Paths.get("pom.xml");
+        Pom pom = session.resolve(new GroupArtifactVersion("org.example", "lib-a", "1"), repositories, ctx).getRequested();
+        Map<Path, Pom> projectPoms = singletonMap(pomPath, pom);
+        MavenPomDownloader forProject = session.getDownloader(projectPoms, null, null, ctx);
+        assertThat(forProject).isNotSameAs(outsideAnyProject);
+        assertThat(session.getDownloader(singletonMap(pomPath, pom), null, null, ctx)).isSameAs(forProject);
+        assertThat(session.getDownloader(singletonMap(pomPath, pom), null, null, repository.executionContext()))
+          .isNotSameAs(forProject);
+
+        Pom changed = session.resolve(new GroupArtifactVersion("org.example", "lib-a", "2"), repositories, ctx).getRequested();
+        assertThat(session.getDownloader(singletonMap(pomPath, changed), null, null, ctx)).isNotSameAs(forProject);
+    }
+
+    @Test
+    void creatingSessionIsNotAChange(@TempDir Path localRepository) {
+        rewriteRun(
+          spec -> spec
+            .executionContext(new LocalMavenRepository(localRepository).executionContext())
+            .recipe(toRecipe(() -> new MavenIsoVisitor<>() {
+                @Override
+                public Xml.Document visitDocument(Xml.Document document, ExecutionContext ctx) {
+                    MavenExecutionContextView.view(ctx).getResolutionSession();
+                    return document;
+                }
+            })),
+          pomXml(
+            """
+              <project>
+                <groupId>org.example</groupId>
+                <artifactId>app</artifactId>
+                <version>1</version>
+              </project>
+              """
+          )
+        );
+    }
+}
@@ -0,0 +1,198 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.maven;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openrewrite.Parser;
+import org.openrewrite.maven.tree.*;
+import org.openrewrite.test.RewriteTest;
+import org.openrewrite.xml.tree.Xml;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.openrewrite.maven.Assertions.pomXml;
+
+class ParallelMavenResolutionTest implements RewriteTest {
+
+    @Test
+    void resolveModulesConcurrently(@TempDir Path localRepository) throws IOException {
+        LocalMavenRepository repository = new LocalMavenRepository(localRepository)
+          .publish("lib-c", "1")
+          .publish("lib-b", "1", "lib-c:1")
+          .publish("lib-a", "1", "lib-b:1", "lib-c:1")
+          .publish("lib-d", "1", "lib-c:1");
+
+        rewriteRun(
+          spec -> spec.executionContext(repository.executionContext().setResolutionParallelism(4)),
+          pomXml(
+            """
+              <project>
+                <groupId>org.example</groupId>
+                <artifactId>module-a</artifactId>
+                <version>1</version>
+                <dependencies>
+                  <dependency>
+                    <groupId>org.example</groupId>
+                    <artifactId>lib-a</artifactId>
+                    <version>1</version>
+                  </dependency>
+                  <dependency>
+                    <groupId>org.example</groupId>
+                    <artifactId>lib-b</artifactId>
+                    <version>1</version>
+                  </dependency>
+                </dependencies>
+              </project>
+              """,
+            spec -> spec.path("module-a/pom.xml").afterRecipe(doc ->
+              assertThat(compileDependencies(doc)).containsExactly("lib-a:1@0", "lib-b:1@0", "lib-c:1@1"))
+          ),
+          pomXml(
+            """
+              <project>
+                <groupId>org.example</groupId>
+                <artifactId>module-d</artifactId>
+                <version>1</version>
+                <dependencies>
+                  <dependency>
+                    <groupId>org.example</groupId>
+                    <artifactId>lib-d</artifactId>
+                    <version>1</version>
+                  </dependency>
+                  <dependency>
+                    <groupId>org.example</groupId>
+                    <artifactId>lib-b</artifactId>
+                    <version>1</version>
+                  </dependency>
+                </dependencies>
+              </project>
+              """,
+            spec -> spec.path("module-d/pom.xml").afterRecipe(doc ->
+              assertThat(compileDependencies(doc)).containsExactly("lib-d:1@0", "lib-b:1@0", "lib-c:1@1"))
+          )
+        );
+    }
+
+    @Test
+    void parallelResolutionMatchesSerial(@TempDir Path localRepository) throws IOException {
+        LocalMavenRepository repository = new LocalMavenRepository(localRepository)
+          .publish("lib-c", "1")
+          .publish("lib-c", "1.5")
+          .publish("lib-c", "2")
+          .publish("lib-b", "1", "lib-c:[1,2)")
+          .publish("lib-a", "1", "lib-b:1", "lib-c:1")
+          .publish("lib-d", "1", "lib-c:1");
+        //language=xml
+        String[] poms = {
+          """
+            <project>
+              <groupId>org.example</groupId>
+              <artifactId>module-a</artifactId>
+              <version>1</version>
+              <dependencies>
+                <dependency>
+                  <groupId>org.example</groupId>
+                  <artifactId>lib-a</artifactId>
+                  <version>1</version>
+                </dependency>
+                <dependency>
+                  <groupId>org.example</groupId>
+                  <artifactId>lib-c</artifactId>
+                  <version>[1,2)</version>
+                </dependency>
+              </dependencies>
+            </project>
+            """,
+          """
+            <project>
+              <groupId>org.example</groupId>
+              <artifactId>module-d</artifactId>
+              <version>1</version>
+              <dependencies>
+                <dependency>
+                  <groupId>org.example</groupId>
+                  <artifactId>lib-d</artifactId>
+                  <version>1</version>
+                </dependency>
+                <dependency>
+                  <groupId>org.example</groupId>
+                  <artifactId>lib-b</artifactId>
+                  <version>1</version>
+                  <scope>test</scope>
+                </dependency>
+              </dependencies>
+            </project>
+            """
+        };
+
+        List<MavenResolutionResult> serial = resolve(repository.executionContext(), poms);
+
+        // the metadata of the version range is prefetched with lib-a, before either is resolved
+        List<String> events = Collections.synchronizedList(new ArrayList<>());
+        MavenExecutionContextView parallelCtx = repository.executionContext().setResolutionParallelism(4);
+        parallelCtx.setResolutionListener(new ResolutionEventListener() {
+            @Override
+            public void downloadMetadata(GroupArtifactVersion gav) {
+                events.add("metadata " + gav.getArtifactId());
+            }
+
+            @Override
+            public void dependency(Scope scope, ResolvedDependency resolvedDependency, ResolvedPom containing) {
+                events.add("dependency " + resolvedDependency.getArtifactId() + " of " + containing.getArtifactId());
+            }
+        });
+        List<MavenResolutionResult> parallel = resolve(parallelCtx, poms);
+
+        assertThat(parallel).hasSameSizeAs(serial);
+        for (int i = 0; i < serial.size(); i++) {
+            assertThat(parallel.get(i).getPom()).usingRecursiveComparison().isEqualTo(serial.get(i).getPom());
+            assertThat(parallel.get(i).getDependencies()).usingRecursiveComparison().isEqualTo(serial.get(i).getDependencies());
+        }
+        assertThat(serial.get(0).getDependencies().get(Scope.Compile))
+          .extracting(d -> d.getArtifactId() + ":" + d.getVersion())
+          .contains("lib-c:1.5");
+        assertThat(events).contains("metadata lib-c", "dependency lib-a of module-a");
+        assertThat(events.indexOf("metadata lib-c")).isLessThan(events.indexOf("dependency lib-a of module-a"));
+    }
+
+    private static List<MavenResolutionResult> resolve(MavenExecutionContextView ctx, String... poms) {
+        List<Parser.Input> inputs = new ArrayList<>();
+        for (int i = 0; i < poms.length; i++) {
+            byte[] pom = poms[i].getBytes(StandardCharsets.UTF_8);
+            inputs.add(new Parser.Input(Paths.get("module-" + i + "/pom.xml"), () -> new ByteArrayInputStream(pom)));
+        }
+        return MavenParser.builder().build().parseInputs(inputs, null, ctx)
+          .map(pom -> pom.getMarkers().findFirst(MavenResolutionResult.class).orElseThrow())
+          .collect(toList());
+    }
+
+    private static List<String> compileDependencies(Xml.Document doc) {
+        return doc.getMarkers().findFirst(MavenResolutionResult.class).orElseThrow()
+          .getDependencies().get(Scope.Compile).stream()
+          .map(d -> d.getArtifactId() + ":" + d.getVersion() + "@" + d.getDepth())
+          .collect(toList());
+    }
+}
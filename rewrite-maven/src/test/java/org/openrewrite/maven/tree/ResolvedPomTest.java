@@ -17,8 +17,13 @@
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openrewrite.maven.LocalMavenRepository;
 import org.openrewrite.test.RewriteTest;
+import org.openrewrite.xml.tree.Xml;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -278,4 +283,103 @@ void resolveExecutionsFromDifferentParents() {
           )
         );
     }
+
+    @Test
+    void rangeChangingSelectedVersionOfResolvedDependency(@TempDir Path localRepository) throws IOException {
+        LocalMavenRepository repository = new LocalMavenRepository(localRepository)
+          .publish("lib-c", "1")
+          .publish("lib-c", "2")
+          .publish("lib-a", "1", "lib-c:1")
+          .publish("lib-b", "1", "lib-c:[2,3)");
+
+        rewriteRun(
+          spec -> spec.executionContext(repository.executionContext()),
+          pomXml(
+            """
+              <project>
+                <groupId>org.example</groupId>
+                <artifactId>app</artifactId>
+                <version>1</version>
+                <dependencies>
+                  <dependency>
+                    <groupId>org.example</groupId>
+                    <artifactId>lib-a</artifactId>
+                    <version>1</version>
+                  </dependency>
+                  <dependency>
+                    <groupId>org.example</groupId>
+                    <artifactId>lib-b</artifactId>
+                    <version>1</version>
+                  </dependency>
+                </dependencies>
+              </project>
+              """,
+            spec -> spec.afterRecipe(doc -> {
+                // lib-c is resolved once, at the version satisfying lib-b's range, beneath the nearer lib-a
+                List<ResolvedDependency> compile = compileDependencies(doc);
+                assertThat(compile).extracting(ResolvedPomTest::describe)
+                  .containsExactly("lib-a:1@0", "lib-b:1@0", "lib-c:2@1");
+                assertThat(compile.get(0).getDependencies()).extracting(ResolvedPomTest::describe).containsExactly("lib-c:2@1");
+                assertThat(compile.get(1).getDependencies()).isEmpty();
+            })
+          )
+        );
+    }
+
+    @Test
+    void rangeChangingSelectedVersionOfTransitiveDependency(@TempDir Path localRepository) throws IOException {
+        LocalMavenRepository repository = new LocalMavenRepository(localRepository)
+          .publish("lib-c", "1")
+          .publish("lib-c", "2")
+          .publish("lib-x", "1", "lib-c:1")
+          .publish("lib-y", "1", "lib-c:[2,3)")
+          .publish("lib-a", "1", "lib-x:1")
+          .publish("lib-b", "1", "lib-y:1");
+
+        rewriteRun(
+          spec -> spec.executionContext(repository.executionContext()),
+          pomXml(
+            """
+              <project>
+                <groupId>org.example</groupId>
+                <artifactId>app</artifactId>
+                <version>1</version>
+                <dependencies>
+                  <dependency>
+                    <groupId>org.example</groupId>
+                    <artifactId>lib-a</artifactId>
+                    <version>1</version>
+                  </dependency>
+                  <dependency>
+                    <groupId>org.example</groupId>
+                    <artifactId>lib-b</artifactId>
+                    <version>1</version>
+                  </dependency>
+                </dependencies>
+              </project>
+              """,
+            spec -> spec.afterRecipe(doc -> {
+                // only the depth at which lib-c is first seen is resolved again, beneath the lib-x and lib-y kept from before
+                List<ResolvedDependency> compile = compileDependencies(doc);
+                assertThat(compile).extracting(ResolvedPomTest::describe)
+                  .containsExactly("lib-a:1@0", "lib-b:1@0", "lib-x:1@1", "lib-y:1@1", "lib-c:2@2");
+                ResolvedDependency libX = compile.get(2);
+                ResolvedDependency libY = compile.get(3);
+                assertThat(compile.get(0).getDependencies()).containsExactly(libX);
+                assertThat(compile.get(1).getDependencies()).containsExactly(libY);
+                assertThat(libX.getDependencies()).extracting(ResolvedPomTest::describe).containsExactly("lib-c:2@2");
+                assertThat(libY.getDependencies()).isEmpty();
+            })
+          )
+        );
+    }
+
+    private static List<ResolvedDependency> compileDependencies(Xml.Document doc) {
+        return doc.getMarkers().findFirst(MavenResolutionResult.class).orElseThrow()
+          .getDependencies().get(Scope.Compile);
+    }
+
+    private static String describe(ResolvedDependency dependency) {
+        return dependency.getArtifactId() + ":" + dependency.getVersion() + "@" + dependency.getDepth();
+    }
 }
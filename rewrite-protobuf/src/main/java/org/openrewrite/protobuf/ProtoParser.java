@@ -21,6 +21,7 @@
 import org.openrewrite.InMemoryExecutionContext;
 import org.openrewrite.Parser;
 import org.openrewrite.SourceFile;
+import org.openrewrite.internal.AntlrParsing;
 import org.openrewrite.internal.EncodingDetectingInputStream;
 import org.openrewrite.internal.lang.Nullable;
 import org.openrewrite.marker.Markers;
@@ -39,6 +40,7 @@
 import static org.openrewrite.Tree.randomId;
 
 public class ProtoParser implements Parser {
+    private static final AntlrParsing ANTLR_PARSING = new AntlrParsing();
 
     @Override
     public Stream<SourceFile> parseInputs(Iterable<Input> sourceFiles, @Nullable Path relativeTo, ExecutionContext ctx) {
@@ -49,12 +51,6 @@ public Stream<SourceFile> parseInputs(Iterable<Input> sourceFiles, @Nullable Pat
                     try {
                         EncodingDetectingInputStream is = input.getSource(ctx);
                         String sourceStr = is.readFully();
-                        Protobuf2Parser parser = new Protobuf2Parser(new CommonTokenStream(new Protobuf2Lexer(
-                                CharStreams.fromString(sourceStr))));
-
-                        parser.removeErrorListeners();
-                        parser.addErrorListener(new ForwardingErrorListener(input.getPath(), ctx));
-
                         if (sourceStr.contains("proto3")) {
                             // Pending Proto3 support, the best we can do is plain text & not skip files
                             return new PlainText(
@@ -70,13 +66,19 @@ public Stream<SourceFile> parseInputs(Iterable<Input> sourceFiles, @Nullable Pat
                             );
                         }
 
+                        Protobuf2Parser parser = new Protobuf2Parser(new CommonTokenStream(ANTLR_PARSING.lexer(new Protobuf2Lexer(
+                                AntlrParsing.charStream(sourceStr)))));
+
+                        parser.removeErrorListeners();
+                        parser.addErrorListener(new ForwardingErrorListener(input.getPath(), ctx));
+
                         Proto.Document document = new ProtoParserVisitor(
                                 path,
                                 input.getFileAttributes(),
                                 sourceStr,
                                 is.getCharset(),
                                 is.isCharsetBomMarked()
-                        ).visitProto(parser.proto());
+                        ).visitProto(ANTLR_PARSING.parse(parser, Protobuf2Parser::proto));
                         parsingListener.parsed(input, document);
                         return requirePrintEqualsInput(document, input, relativeTo, ctx);
                     } catch (Throwable t) {
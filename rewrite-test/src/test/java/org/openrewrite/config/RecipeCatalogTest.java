@@ -0,0 +1,260 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.config;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openrewrite.style.NamedStyles;
+import org.openrewrite.test.RewriteTest;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Properties;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.openrewrite.test.SourceSpecs.text;
+
+class RecipeCatalogTest implements RewriteTest {
+
+    @Test
+    void activateRecipeFromCatalog(@TempDir Path dir) throws IOException {
+        Path jar = dir.resolve("recipes.jar");
+        writeJar(jar, "Hello");
+        Path catalogs = dir.resolve("catalogs");
+
+        try (URLClassLoader classLoader = classLoader(jar)) {
+            Environment env = Environment.builder()
+              .scanJar(jar, List.of(), classLoader, catalogs)
+              .build();
+            assertThat(env.listRecipeDescriptors())
+              .extracting(RecipeDescriptor::getName)
+              .contains("test.ChangeTextToHello");
+            assertThat(catalogs).isDirectoryContaining("regex:.*recipes\\.jar-[0-9a-f]+\\.catalog");
+
+            rewriteRun(
+              spec -> spec.recipe(env.activateRecipes("test.ChangeTextToHello")),
+              text("hi", "Hello")
+            );
+        }
+    }
+
+    @Test
+    void readsCatalogUntilJarChanges(@TempDir Path dir) throws IOException {
+        Path jar = dir.resolve("recipes.jar");
+        writeJar(jar, "Hello");
+        Path catalogs = dir.resolve("catalogs");
+
+        try (URLClassLoader classLoader = classLoader(jar)) {
+            RecipeCatalog scanned = RecipeCatalog.load(jar, new Properties(), List.of(), classLoader, catalogs, new HashMap<>());
+            RecipeCatalog read = RecipeCatalog.load(jar, new Properties(), List.of(), classLoader, catalogs, new HashMap<>());
+            assertThat(read).isEqualTo(scanned);
+            assertThat(read.getYamlResources().get(0).getRecipeNames()).containsExactly("test.ChangeTextToHello");
+        }
+
+        writeJar(jar, "Goodbye");
+        try (URLClassLoader classLoader = classLoader(jar)) {
+            assertThat(RecipeCatalog.loadIfCurrent(jar, new Properties(), catalogs, new HashMap<>())).isNull();
+            RecipeCatalog rescanned = RecipeCatalog.load(jar, new Properties(), List.of(), classLoader, catalogs, new HashMap<>());
+            assertThat(rescanned.getJarFingerprint().getContentChecksum()).isEqualTo(RecipeCatalog.contentChecksum(jar));
+            assertThat(rescanned.getYamlResources().get(0).getYaml()).contains("Goodbye");
+        }
+    }
+
+    @Test
+    void keepsCatalogWhenOnlyModificationTimeChanges(@TempDir Path dir) throws IOException {
+        Path jar = dir.resolve("recipes.jar");
+        writeJar(jar, "Hello");
+        Path catalogs = dir.resolve("catalogs");
+
+        try (URLClassLoader classLoader = classLoader(jar)) {
+            RecipeCatalog.load(jar, new Properties(), List.of(), classLoader, catalogs, new HashMap<>());
+        }
+        FileTime touched = FileTime.fromMillis(Files.getLastModifiedTime(jar).toMillis() + 60_000);
+        Files.setLastModifiedTime(jar, touched);
+
+        RecipeCatalog read = RecipeCatalog.loadIfCurrent(jar, new Properties(), catalogs, new HashMap<>());
+        assertThat(read).isNotNull();
+        assertThat(read.getJarFingerprint().getLastModified()).isEqualTo(touched.toMillis());
+
+        // written back with the new modification time, so that the jar isn't hashed again
+        assertThat(RecipeCatalog.loadIfCurrent(jar, new Properties(), catalogs, new HashMap<>())).isEqualTo(read);
+    }
+
+    @Test
+    void jarsOfTheSameNameHaveTheirOwnCatalog(@TempDir Path dir) throws IOException {
+        Path hello = dir.resolve("hello/recipes.jar");
+        Path goodbye = dir.resolve("goodbye/recipes.jar");
+        Files.createDirectories(hello.getParent());
+        Files.createDirectories(goodbye.getParent());
+        writeJar(hello, "Hello");
+        writeJar(goodbye, "Goodbye");
+        Path catalogs = dir.resolve("catalogs");
+
+        try (URLClassLoader helloClassLoader = classLoader(hello);
+             URLClassLoader goodbyeClassLoader = classLoader(goodbye)) {
+            RecipeCatalog.load(hello, new Properties(), List.of(), helloClassLoader, catalogs, new HashMap<>());
+            RecipeCatalog.load(goodbye, new Properties(), List.of(), goodbyeClassLoader, catalogs, new HashMap<>());
+
+            assertThat(RecipeCatalog.loadIfCurrent(hello, new Properties(), catalogs, new HashMap<>()))
+              .isNotNull()
+              .satisfies(c -> assertThat(c.getYamlResources().get(0).getYaml()).contains("Hello"));
+            assertThat(RecipeCatalog.loadIfCurrent(goodbye, new Properties(), catalogs, new HashMap<>()))
+              .isNotNull()
+              .satisfies(c -> assertThat(c.getYamlResources().get(0).getYaml()).contains("Goodbye"));
+        }
+    }
+
+    @Test
+    void rescansJarWhenIncludedDependencyChanges(@TempDir Path dir) throws IOException {
+        Path jar = dir.resolve("recipes.jar");
+        Path dependency = dir.resolve("dependency.jar");
+        writeJarIncluding(jar, "test.ChangeTextToHelloAndGoodbye", "test.ChangeTextToGoodbye");
+        writeJar(dependency, "test.ChangeTextToGoodbye", "Goodbye");
+        Path catalogs = dir.resolve("catalogs");
+
+        try (URLClassLoader classLoader = classLoader(jar, dependency)) {
+            Environment.builder().scanJar(jar, List.of(dependency), classLoader, catalogs).build();
+        }
+        RecipeCatalog before = RecipeCatalog.loadIfCurrent(jar, new Properties(), catalogs, new HashMap<>());
+        assertThat(before).isNotNull();
+        assertThat(before.getReferencedJars()).containsKey(dependency.toAbsolutePath().normalize().toString());
+
+        // the jar itself is unchanged, but its declarative recipe is described with the dependency's recipe
+        writeJar(dependency, "test.ChangeTextToGoodbye", "Farewell");
+        assertThat(RecipeCatalog.loadIfCurrent(jar, new Properties(), catalogs, new HashMap<>())).isNull();
+
+        try (URLClassLoader classLoader = classLoader(jar, dependency)) {
+            Environment.builder().scanJar(jar, List.of(dependency), classLoader, catalogs).build();
+        }
+        assertThat(RecipeCatalog.loadIfCurrent(jar, new Properties(), catalogs, new HashMap<>())).isNotNull();
+    }
+
+    @Test
+    void keepsCatalogWhenUnreferencedDependencyChanges(@TempDir Path dir) throws IOException {
+        Path jar = dir.resolve("recipes.jar");
+        Path dependency = dir.resolve("dependency.jar");
+        writeJar(jar, "Hello");
+        writeJar(dependency, "test.ChangeTextToGoodbye", "Goodbye");
+        Path catalogs = dir.resolve("catalogs");
+
+        try (URLClassLoader classLoader = classLoader(jar, dependency)) {
+            Environment.builder().scanJar(jar, List.of(dependency), classLoader, catalogs).build();
+        }
+        RecipeCatalog before = RecipeCatalog.loadIfCurrent(jar, new Properties(), catalogs, new HashMap<>());
+        assertThat(before).isNotNull();
+        assertThat(before.getReferencedJars()).doesNotContainKey(dependency.toAbsolutePath().normalize().toString());
+
+        writeJar(dependency, "test.ChangeTextToGoodbye", "Farewell");
+        assertThat(RecipeCatalog.loadIfCurrent(jar, new Properties(), catalogs, new HashMap<>())).isEqualTo(before);
+    }
+
+    @Test
+    void removesTemporaryFileWhenCatalogCannotBeWritten(@TempDir Path dir) throws IOException {
+        Path jar = dir.resolve("recipes.jar");
+        writeJar(jar, "Hello");
+        Path catalogs = dir.resolve("catalogs");
+
+        try (URLClassLoader classLoader = classLoader(jar)) {
+            RecipeCatalog.load(jar, new Properties(), List.of(), classLoader, catalogs, new HashMap<>());
+            Path catalogFile;
+            try (Stream<Path> files = Files.list(catalogs)) {
+                catalogFile = files.findFirst().orElseThrow();
+            }
+
+            // a non-empty directory in place of the catalog fails the move of the temporary file onto it
+            Files.delete(catalogFile);
+            Files.createDirectories(catalogFile.resolve("in-the-way"));
+            RecipeCatalog.load(jar, new Properties(), List.of(), classLoader, catalogs, new HashMap<>());
+        }
+        assertThat(catalogs).isDirectoryNotContaining("glob:**.tmp");
+    }
+
+    @Test
+    void scanRuntimeClasspathWithCatalogs(@TempDir Path catalogs) {
+        for (int i = 0; i < 2; i++) {
+            Environment env = Environment.builder()
+              .scanRuntimeClasspath(catalogs)
+              .build();
+            assertThat(env.listRecipeDescriptors())
+              .extracting(RecipeDescriptor::getName)
+              .contains("org.openrewrite.text.ChangeText", "org.openrewrite.HelloJon2");
+            assertThat(env.listStyles())
+              .extracting(NamedStyles::getName)
+              .contains("org.openrewrite.SampleStyle");
+            assertThat(catalogs).isDirectoryContaining("glob:**.catalog");
+
+            rewriteRun(
+              spec -> spec.recipe(env.activateRecipes("org.openrewrite.text.ChangeTextToJon")),
+              text("some text that isn't jon", "Hello Jon!")
+            );
+        }
+    }
+
+    private static URLClassLoader classLoader(Path... jars) throws IOException {
+        URL[] urls = new URL[jars.length];
+        for (int i = 0; i < jars.length; i++) {
+            urls[i] = jars[i].toUri().toURL();
+        }
+        return new URLClassLoader(urls, RecipeCatalogTest.class.getClassLoader());
+    }
+
+    private static void writeJar(Path jar, String toText) throws IOException {
+        writeJar(jar, "test.ChangeTextToHello", toText);
+    }
+
+    private static void writeJar(Path jar, String recipeName, String toText) throws IOException {
+        //language=yml
+        writeJarWithYaml(jar, """
+          type: specs.openrewrite.org/v1beta/recipe
+          name: %s
+          displayName: Change text
+          recipeList:
+              - org.openrewrite.text.ChangeText:
+                  toText: %s
+          """.formatted(recipeName, toText));
+    }
+
+    private static void writeJarIncluding(Path jar, String recipeName, String includedRecipeName) throws IOException {
+        //language=yml
+        writeJarWithYaml(jar, """
+          type: specs.openrewrite.org/v1beta/recipe
+          name: %s
+          displayName: Change text
+          recipeList:
+              - %s
+          """.formatted(recipeName, includedRecipeName));
+    }
+
+    private static void writeJarWithYaml(Path jar, String yaml) throws IOException {
+        try (OutputStream os = Files.newOutputStream(jar);
+             JarOutputStream jos = new JarOutputStream(os)) {
+            jos.putNextEntry(new ZipEntry("META-INF/rewrite/text.yml"));
+            jos.write(yaml.getBytes(StandardCharsets.UTF_8));
+            jos.closeEntry();
+        }
+    }
+}
@@ -19,6 +19,7 @@
 import org.intellij.lang.annotations.Language;
 import org.openrewrite.*;
 import org.openrewrite.Parser;
+import org.openrewrite.internal.AntlrParsing;
 import org.openrewrite.internal.EncodingDetectingInputStream;
 import org.openrewrite.internal.lang.Nullable;
 import org.openrewrite.tree.ParseError;
@@ -33,6 +34,8 @@
 import java.util.stream.Stream;
 
 public class XmlParser implements Parser {
+    private static final AntlrParsing ANTLR_PARSING = new AntlrParsing();
+
     @Override
     public Stream<SourceFile> parseInputs(Iterable<Input> sourceFiles, @Nullable Path relativeTo, ExecutionContext ctx) {
         ParsingEventListener parsingListener = ParsingExecutionContextView.view(ctx).getParsingListener();
@@ -42,8 +45,8 @@ public Stream<SourceFile> parseInputs(Iterable<Input> sourceFiles, @Nullable Pat
             try (EncodingDetectingInputStream is = input.getSource(ctx)) {
                 String sourceStr = is.readFully();
 
-                XMLParser parser = new XMLParser(new CommonTokenStream(new XMLLexer(
-                        CharStreams.fromString(sourceStr))));
+                XMLParser parser = new XMLParser(new CommonTokenStream(ANTLR_PARSING.lexer(new XMLLexer(
+                        AntlrParsing.charStream(sourceStr)))));
 
                 parser.removeErrorListeners();
                 parser.addErrorListener(new ForwardingErrorListener(input.getPath(), ctx));
@@ -54,7 +57,7 @@ public Stream<SourceFile> parseInputs(Iterable<Input> sourceFiles, @Nullable Pat
                         sourceStr,
                         is.getCharset(),
                         is.isCharsetBomMarked()
-                ).visitDocument(parser.document());
+                ).visitDocument(ANTLR_PARSING.parse(parser, XMLParser::document));
                 parsingListener.parsed(input, document);
                 return requirePrintEqualsInput(document, input, relativeTo, ctx);
             } catch (Throwable t) {
@@ -17,11 +17,16 @@
 
 import org.junit.jupiter.api.Test;
 import org.openrewrite.ExecutionContext;
+import org.openrewrite.InMemoryExecutionContext;
 import org.openrewrite.Issue;
 import org.openrewrite.test.RecipeSpec;
 import org.openrewrite.test.RewriteTest;
 import org.openrewrite.xml.tree.Xml;
 
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.openrewrite.test.RewriteTest.toRecipe;
 import static org.openrewrite.xml.Assertions.xml;
@@ -372,4 +377,13 @@ void preserveWhitespaceOnEntities() {
           )
         );
     }
+
+    @Test
+    void syntaxErrorsAreReported() {
+        List<Throwable> errors = new ArrayList<>();
+        new XmlParser().parse(new InMemoryExecutionContext(errors::add), "<project><</project>")
+          .forEach(sourceFile -> {
+          });
+        assertThat(errors).anyMatch(XmlParsingException.class::isInstance);
+    }
 }
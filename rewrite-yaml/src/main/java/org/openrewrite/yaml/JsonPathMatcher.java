@@ -31,6 +31,7 @@
 import org.openrewrite.yaml.tree.Yaml;
 
 import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.BiPredicate;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -47,18 +48,29 @@
 @EqualsAndHashCode
 public class JsonPathMatcher {
 
+    private static final String CONTAINS_ALIASES = "org.openrewrite.yaml.JsonPathMatcher.containsAliases";
+
     private final String jsonPath;
 
+    /**
+     * The path is parsed on first use and then shared by every match, since the parse tree is only ever read.
+     */
+    @EqualsAndHashCode.Exclude
+    @Nullable
+    private volatile JsonPathParser.JsonPathContext parsedPath;
+
     public JsonPathMatcher(String jsonPath) {
         this.jsonPath = jsonPath;
     }
 
     public <T> Optional<T> find(Cursor cursor) {
-        LinkedList<Tree> cursorPath = cursor.getPathAsStream()
+        return find(cursor, resolveAliases(cursor));
+    }
+
+    private <T> Optional<T> find(Cursor cursor, List<Object> resolvedPath) {
+        LinkedList<Tree> cursorPath = resolvedPath.stream()
                 .filter(o -> o instanceof Tree)
                 .map(Tree.class::cast)
-                .map(t -> new ReplaceAliasWithAnchorValueVisitor<Integer>()
-                        .visitNonNull(t, 0))
                 .collect(Collectors.toCollection(LinkedList::new));
         if (cursorPath.isEmpty()) {
             return Optional.empty();
@@ -71,7 +83,7 @@ public <T> Optional<T> find(Cursor cursor) {
         } else {
             start = cursorPath.peekFirst();
         }
-        JsonPathParser.JsonPathContext ctx = jsonPath().jsonPath();
+        JsonPathParser.JsonPathContext ctx = jsonPath();
         // The stop may be optimized by interpreting the ExpressionContext and pre-determining the last visit.
         JsonPathParser.ExpressionContext stop = (JsonPathParser.ExpressionContext) ctx.children.get(ctx.children.size() - 1);
         @SuppressWarnings("ConstantConditions") JsonPathParserVisitor<Object> v = new JsonPathMatcher.JsonPathYamlVisitor(cursorPath, start, stop, false);
@@ -82,16 +94,9 @@ public <T> Optional<T> find(Cursor cursor) {
     }
 
     public boolean matches(Cursor cursor) {
-        Object cursorValue = new ReplaceAliasWithAnchorValueVisitor<Integer>().visit((Tree)cursor.getValue(), 0);
-        List<Object> cursorPath = cursor.getPathAsStream()
-                .map(cp -> {
-                    if (cp instanceof Yaml) {
-                        cp = new ReplaceAliasWithAnchorValueVisitor<Integer>().visit((Yaml) cp, 0);
-                    }
-                    return cp;
-                })
-                .collect(Collectors.toList());
-        return find(cursor).map(o -> {
+        List<Object> cursorPath = resolveAliases(cursor);
+        Object cursorValue = cursorPath.get(0);
+        return find(cursor, cursorPath).map(o -> {
             if (o instanceof List) {
                 //noinspection unchecked
                 List<Object> l = (List<Object>) o;
@@ -102,8 +107,109 @@ public boolean matches(Cursor cursor) {
         }).orElse(false);
     }
 
-    private JsonPathParser jsonPath() {
-        return new JsonPathParser(new CommonTokenStream(new JsonPathLexer(CharStreams.fromString(this.jsonPath))));
+    /**
+     * @return The cursor path, starting with the cursor's value, with aliases replaced by the values of their anchors.
+     */
+    private static List<Object> resolveAliases(Cursor cursor) {
+        if (!containsAliases(cursor)) {
+            return cursor.getPathAsStream().collect(Collectors.toList());
+        }
+        return cursor.getPathAsStream()
+                .map(cp -> {
+                    if (cp instanceof Yaml) {
+                        cp = new ReplaceAliasWithAnchorValueVisitor<Integer>().visit((Yaml) cp, 0);
+                    }
+                    return cp;
+                })
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Replacing aliases means visiting every tree in the cursor path, which near the root of a large
+     * document is the whole document, for every node that is matched. Most documents have no aliases at
+     * all, so whether the enclosing documents contain any is determined once and remembered on its cursor.
+     * <p>
+     * The trees in the cursor path need not all be part of those documents, since a visitor may replace a tree
+     * before visiting its children, for instance giving it an alias. Trees in the cursor path that aren't are
+     * searched for aliases themselves.
+     */
+    private static boolean containsAliases(Cursor cursor) {
+        for (Cursor c = cursor; c != null; c = c.getParent()) {
+            if (c.getValue() instanceof Yaml.Documents) {
+                Yaml.Documents documents = c.getValue();
+                AliasIndex index = c.computeMessageIfAbsent(CONTAINS_ALIASES, k -> new AliasIndex(documents));
+                if (index.containsAliases) {
+                    return true;
+                }
+                for (Cursor p = cursor; p != c; p = p.getParent()) {
+                    if (p.getValue() instanceof Yaml && index.containsAliases(p.getValue())) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static class AliasIndex {
+        /**
+         * Every tree of the documents, by identity.
+         */
+        private final Set<Tree> trees = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        private final boolean containsAliases;
+
+        AliasIndex(Yaml.Documents documents) {
+            AtomicBoolean found = new AtomicBoolean();
+            new YamlVisitor<Integer>() {
+                @Override
+                public Yaml visit(@Nullable Tree tree, Integer p) {
+                    if (tree != null) {
+                        trees.add(tree);
+                    }
+                    return super.visit(tree, p);
+                }
+
+                @Override
+                public Yaml visitAlias(Yaml.Alias alias, Integer p) {
+                    found.set(true);
+                    return alias;
+                }
+            }.visit(documents, 0);
+            this.containsAliases = found.get();
+        }
+
+        /**
+         * Only called when the documents contain no aliases, so only the parts of the tree that aren't part of
+         * the documents need to be searched.
+         */
+        boolean containsAliases(Yaml yaml) {
+            return new YamlVisitor<AtomicBoolean>() {
+                @Override
+                public Yaml visit(@Nullable Tree tree, AtomicBoolean found) {
+                    if (tree == null || trees.contains(tree) || found.get()) {
+                        return (Yaml) tree;
+                    }
+                    return super.visit(tree, found);
+                }
+
+                @Override
+                public Yaml visitAlias(Yaml.Alias alias, AtomicBoolean found) {
+                    found.set(true);
+                    return alias;
+                }
+            }.reduce(yaml, new AtomicBoolean()).get();
+        }
+    }
+
+    private JsonPathParser.JsonPathContext jsonPath() {
+        JsonPathParser.JsonPathContext path = parsedPath;
+        if (path == null) {
+            path = new JsonPathParser(new CommonTokenStream(new JsonPathLexer(CharStreams.fromString(this.jsonPath)))).jsonPath();
+            parsedPath = path;
+        }
+        return path;
     }
 
     @SuppressWarnings({"ConstantConditions", "unchecked"})
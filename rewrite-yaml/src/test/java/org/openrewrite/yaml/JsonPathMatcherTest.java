@@ -17,12 +17,15 @@
 
 import org.junit.jupiter.api.Test;
 import org.openrewrite.Issue;
+import org.openrewrite.Tree;
 import org.openrewrite.internal.StringUtils;
+import org.openrewrite.marker.Markers;
 import org.openrewrite.yaml.tree.Yaml;
 
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Supplier;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -112,6 +115,82 @@ void findsAlias() {
         );
     }
 
+    //language=yaml
+    private final String aliased = """
+      bar:
+        &abc yo: friend
+      baz:
+        *abc: friendly
+      """;
+
+    //language=yaml
+    private final String unaliased = """
+      bar:
+        yo: friend
+      baz:
+        yo: friendly
+      """;
+
+    @Test
+    void findAndMatchWithAndWithoutAliases() {
+        assertMatched("$.*.yo", List.of(aliased), List.of("&abc yo: friend", "*abc: friendly"));
+        assertThat(found("$.*.yo", aliased)).containsExactly("&abc yo: friend", "*abc: friendly");
+
+        assertMatched("$.*.yo", List.of(unaliased), List.of("yo: friend", "yo: friendly"));
+        assertThat(found("$.*.yo", unaliased)).containsExactly("yo: friend", "yo: friendly");
+    }
+
+    @Test
+    void matchesAliasAddedEarlierInTheSameTraversal() {
+        //language=yaml
+        Yaml.Documents documents = parse("""
+          bar:
+            &abc yo: friend
+          baz:
+            other: friendly
+          """);
+        var matcher = new JsonPathMatcher("$.*.yo");
+        List<String> matches = new YamlVisitor<List<String>>() {
+            @Override
+            public Yaml visitDocument(Yaml.Document document, List<String> p) {
+                // give baz's key an alias to bar's anchor before its entries are visited, so that the documents the
+                // traversal started from contain no alias at all
+                Yaml.Mapping root = (Yaml.Mapping) document.getBlock();
+                Yaml.Anchor anchor = ((Yaml.Scalar) root.getEntries().get(0).getKey()).getAnchor();
+                Yaml.Mapping.Entry baz = root.getEntries().get(1);
+                Yaml.Mapping bazMapping = (Yaml.Mapping) baz.getValue();
+                Yaml.Mapping.Entry other = bazMapping.getEntries().get(0);
+                Yaml.Alias alias = new Yaml.Alias(Tree.randomId(), other.getKey().getPrefix(), Markers.EMPTY, anchor);
+                bazMapping = bazMapping.withEntries(List.of(other.withKey(alias)));
+                root = root.withEntries(List.of(root.getEntries().get(0), baz.withValue(bazMapping)));
+                return super.visitDocument(document.withBlock(root), p);
+            }
+
+            @Override
+            public Yaml visitMappingEntry(Yaml.Mapping.Entry entry, List<String> p) {
+                Yaml e = super.visitMappingEntry(entry, p);
+                if (matcher.matches(getCursor())) {
+                    p.add(e.withPrefix("").printTrimmed(getCursor().getParentOrThrow()));
+                }
+                return e;
+            }
+        }.reduce(documents, new ArrayList<>());
+        assertThat(matches).containsExactly("&abc yo: friend", "*abc: friendly");
+    }
+
+    @Test
+    void reusedMatcherSameAsFreshMatcher() {
+        List<Yaml.Documents> documents = new YamlParser().parse(simple.get(0), complex.get(0), aliased, unaliased)
+          .map(Yaml.Documents.class::cast)
+          .toList();
+        for (String jsonPath : List.of("$.root.literal", "$.object.literal", "$..literal", "$.*.yo")) {
+            var reused = new JsonPathMatcher(jsonPath);
+            List<Object> reusedResults = results(documents, () -> reused);
+            List<Object> freshResults = results(documents, () -> new JsonPathMatcher(jsonPath));
+            assertThat(reusedResults).isEqualTo(freshResults).contains(true);
+        }
+    }
+
     @Test
     void doesNotMatchMissingProperty() {
         assertNotMatched(
@@ -782,6 +861,54 @@ private void assertMatched(String jsonPath, List<String> before, List<String> af
         }
     }
 
+    /**
+     * @return The mapping entries that are among what the path finds from their own cursor.
+     */
+    private List<String> found(String jsonPath, String yaml) {
+        var matcher = new JsonPathMatcher(jsonPath);
+        return new YamlVisitor<List<String>>() {
+            @Override
+            public Yaml visitMappingEntry(Yaml.Mapping.Entry entry, List<String> p) {
+                Yaml e = super.visitMappingEntry(entry, p);
+                boolean found = matcher.find(getCursor())
+                  .map(f -> f instanceof List<?> l ? l.contains(entry) : f.equals(entry))
+                  .orElse(false);
+                if (found) {
+                    p.add(e.withPrefix("").printTrimmed(getCursor().getParentOrThrow()));
+                }
+                return e;
+            }
+        }.reduce(parse(yaml), new ArrayList<>());
+    }
+
+    /**
+     * @return What {@link JsonPathMatcher#matches} and {@link JsonPathMatcher#find} return for every mapping entry
+     * of every document, in a traversal of its own for each document.
+     */
+    private List<Object> results(List<Yaml.Documents> documents, Supplier<JsonPathMatcher> matcher) {
+        List<Object> results = new ArrayList<>();
+        for (Yaml.Documents d : documents) {
+            new YamlVisitor<List<Object>>() {
+                @Override
+                public Yaml visitMappingEntry(Yaml.Mapping.Entry entry, List<Object> p) {
+                    Yaml e = super.visitMappingEntry(entry, p);
+                    JsonPathMatcher m = matcher.get();
+                    p.add(m.matches(getCursor()));
+                    p.add(m.find(getCursor()));
+                    return e;
+                }
+            }.visit(d, results);
+        }
+        return results;
+    }
+
+    private static Yaml.Documents parse(String yaml) {
+        return new YamlParser().parse(yaml)
+          .map(Yaml.Documents.class::cast)
+          .findFirst()
+          .orElseThrow(() -> new IllegalArgumentException("Could not parse as YAML"));
+    }
+
     private List<String> visit(List<String> before, String jsonPath, boolean printMatches) {
         var matcher = new JsonPathMatcher(jsonPath);
         return new YamlVisitor<List<String>>() {
@@ -21,10 +21,6 @@
 import lombok.EqualsAndHashCode;
 import org.openrewrite.internal.lang.Nullable;
 
-import java.util.Collections;
-import java.util.Map;
-import java.util.WeakHashMap;
-
 /**
  * Toml white space.
  */
@@ -39,9 +35,15 @@ public class Space {
     /*
      * Most occurrences of spaces will have no comments or markers and will be repeated frequently throughout a source file.
      * e.g.: a single space between keywords, or the common indentation of every line in a block.
-     * So use flyweights to avoid storing many instances of functionally identical spaces
+     * So use flyweights to avoid storing many instances of functionally identical spaces.
+     *
+     * Flyweights are kept in a fixed size table indexed by the hash of the whitespace. The table is read and
+     * written without locking, so that parsers running on several threads don't contend for it, and when two
+     * whitespace strings share a slot the most recent one replaces the other. The fields of a space are final,
+     * so a space read from the table by another thread is always fully constructed.
      */
-    private static final Map<String, Space> flyweights = Collections.synchronizedMap(new WeakHashMap<>());
+    private static final int FLYWEIGHT_SLOTS = 1 << 12;
+    private static final Space[] flyweights = new Space[FLYWEIGHT_SLOTS];
 
     private Space(@Nullable String whitespace) {
         this.whitespace = whitespace == null || whitespace.isEmpty() ? null : whitespace;
@@ -52,8 +54,15 @@ public static Space build(@Nullable String whitespace) {
         if (whitespace == null || whitespace.isEmpty()) {
             return Space.EMPTY;
         } else if (whitespace.length() <= 100) {
-            //noinspection StringOperationCanBeSimplified
-            return flyweights.computeIfAbsent(whitespace, k -> new Space(new String(whitespace)));
+            int h = whitespace.hashCode();
+            int slot = (h ^ (h >>> 16)) & (FLYWEIGHT_SLOTS - 1);
+            Space flyweight = flyweights[slot];
+            if (flyweight == null || !whitespace.equals(flyweight.whitespace)) {
+                //noinspection StringOperationCanBeSimplified
+                flyweight = new Space(new String(whitespace));
+                flyweights[slot] = flyweight;
+            }
+            return flyweight;
         }
         return new Space(whitespace);
     }